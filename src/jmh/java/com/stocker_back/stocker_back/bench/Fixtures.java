@@ -0,0 +1,172 @@
+package com.stocker_back.stocker_back.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stocker_back.stocker_back.domain.LatestQuote;
+import com.stocker_back.stocker_back.domain.StockSymbol;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 벤치마크 공용 고정 데이터 (네트워크/DB 없이 실행)
+ *
+ * - fixtures/finnhub-trade-frames.jsonl: Finnhub WebSocket 프레임 (ping 포함, 한 줄에 한 프레임)
+ * - 심볼/시세 엔티티는 고정 시드로 생성하여 실행마다 같은 값 사용
+ */
+public final class Fixtures {
+
+    public static final String TRADE_FRAMES = "/fixtures/finnhub-trade-frames.jsonl";
+    public static final int SP500_SIZE = 503;
+
+    private static final Pattern SYMBOL = Pattern.compile("\"s\":\"([^\"]+)\"");
+
+    private Fixtures() {
+    }
+
+    /**
+     * WebSocket 프레임 원문
+     */
+    public static List<String> tradeFrames() {
+        InputStream in = Fixtures.class.getResourceAsStream(TRADE_FRAMES);
+        if (in == null) {
+            throw new IllegalStateException("Missing fixture " + TRADE_FRAMES);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<String> frames = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    frames.add(line);
+                }
+            }
+            return frames;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * S&P 500 크기의 심볼 목록 (프레임에 나오는 심볼 + 부족한 만큼 생성)
+     */
+    public static List<StockSymbol> sp500Symbols() {
+        Set<String> symbols = new LinkedHashSet<>();
+        for (String frame : tradeFrames()) {
+            Matcher matcher = SYMBOL.matcher(frame);
+            while (matcher.find()) {
+                symbols.add(matcher.group(1));
+            }
+        }
+        for (int i = 0; symbols.size() < SP500_SIZE; i++) {
+            symbols.add("S" + (char) ('A' + i / 26 % 26) + (char) ('A' + i % 26));
+        }
+
+        List<StockSymbol> result = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            result.add(StockSymbol.builder()
+                    .symbol(symbol)
+                    .description(symbol + " INC")
+                    .name(symbol + " Inc.")
+                    .logo("https://static2.finnhub.io/file/publicdatany/finnhubimage/stock_logo/" + symbol + ".png")
+                    .isSp500(true)
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * 심볼별 최신 시세 (고정 시드)
+     */
+    public static List<LatestQuote> latestQuotes(List<StockSymbol> symbols) {
+        Random random = new Random(42);
+        List<LatestQuote> quotes = new ArrayList<>(symbols.size());
+        for (StockSymbol symbol : symbols) {
+            BigDecimal close = price(20 + random.nextDouble() * 880);
+            BigDecimal current = close.multiply(BigDecimal.valueOf(1 + random.nextGaussian() * 0.01))
+                    .setScale(4, RoundingMode.HALF_UP);
+            quotes.add(LatestQuote.builder()
+                    .symbol(symbol.getSymbol())
+                    .currentPrice(current)
+                    .openPrice(close)
+                    .highPrice(current.max(close).multiply(new BigDecimal("1.005")).setScale(4, RoundingMode.HALF_UP))
+                    .lowPrice(current.min(close).multiply(new BigDecimal("0.995")).setScale(4, RoundingMode.HALF_UP))
+                    .previousClosePrice(close)
+                    .volume(100_000L + random.nextInt(20_000_000))
+                    .timestamp(1718654400L)
+                    .updatedAt(LocalDateTime.of(2024, 6, 17, 16, 0))
+                    .build());
+        }
+        return quotes;
+    }
+
+    /**
+     * 애플리케이션과 같은 방식(JavaTimeModule 등록)으로 구성한 ObjectMapper
+     */
+    public static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * 리포지토리 인터페이스 대역 (handler가 null을 반환하면 반환 타입 기본값 사용)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + "Stub";
+                };
+            }
+            Object result = handler != null ? handler.invoke(proxy, method, args) : null;
+            if (result == null && List.class.isAssignableFrom(method.getReturnType())) {
+                return List.of();
+            }
+            if (result == null && method.getReturnType() == java.util.Optional.class) {
+                return java.util.Optional.empty();
+            }
+            return result;
+        });
+    }
+
+    public static <T> T stub(Class<T> type) {
+        return stub(type, null);
+    }
+
+    /**
+     * @Value 설정 필드 주입 (Spring 컨텍스트 없이 서비스 생성 시)
+     */
+    public static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot set field " + name + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static BigDecimal price(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
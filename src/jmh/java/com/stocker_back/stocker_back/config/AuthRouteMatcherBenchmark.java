@@ -0,0 +1,49 @@
+package com.stocker_back.stocker_back.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증 경로 규칙 매칭 벤치마크 (AuthenticationInterceptor.ROUTES)
+ * 공개/인증/관리자 경로가 섞인 요청 URI 목록을 한 번씩 매칭합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AuthRouteMatcherBenchmark {
+
+    private final String[] uris = {
+            "/api/sp500/table",
+            "/api/trades/stream/AAPL",
+            "/api/watchlist",
+            "/api/watchlist/MSFT",
+            "/api/auth/me",
+            "/api/auth/login",
+            "/api/profile/settings",
+            "/api/admin/system/status",
+            "/api/auth/admin/sessions/42",
+            "/api/stocks/admin/update",
+            "/api/virtual-account/portfolio",
+            "/swagger-ui/index.html"
+    };
+
+    @Benchmark
+    public void matchRoutes(Blackhole blackhole) {
+        for (String uri : uris) {
+            blackhole.consume(AuthenticationInterceptor.ROUTES.match(uri));
+        }
+    }
+}
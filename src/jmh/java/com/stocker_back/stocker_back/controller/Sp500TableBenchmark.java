@@ -0,0 +1,97 @@
+package com.stocker_back.stocker_back.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stocker_back.stocker_back.bench.Fixtures;
+import com.stocker_back.stocker_back.domain.LatestQuote;
+import com.stocker_back.stocker_back.domain.StockSymbol;
+import com.stocker_back.stocker_back.domain.Trade;
+import com.stocker_back.stocker_back.repository.LatestQuoteRepository;
+import com.stocker_back.stocker_back.repository.StockSymbolRepository;
+import com.stocker_back.stocker_back.repository.TradeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * S&P 500 테이블 응답 벤치마크 (503개 종목)
+ *
+ * - buildTable: Sp500Controller.buildStockTableData로 행 구성 (절반은 최근 체결가, 절반은 최신 시세 사용)
+ * - serializeTable: 구성된 행 목록의 JSON 직렬화
+ *
+ * 체결 조회는 고정 결과를 돌려주는 대역이므로 DB 왕복 시간은 포함되지 않습니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class Sp500TableBenchmark {
+
+    private Sp500Controller controller;
+    private ObjectMapper objectMapper;
+    private List<StockSymbol> symbols;
+    private Map<String, LatestQuote> latestQuotes;
+    private List<Map<String, Object>> tableData;
+
+    @Setup
+    public void setUp() {
+        symbols = Fixtures.sp500Symbols();
+        latestQuotes = new HashMap<>();
+        Map<String, List<Trade>> recentTrades = new HashMap<>();
+        List<LatestQuote> quotes = Fixtures.latestQuotes(symbols);
+        for (int i = 0; i < quotes.size(); i++) {
+            LatestQuote quote = quotes.get(i);
+            latestQuotes.put(quote.getSymbol(), quote);
+            if (i % 2 == 0) {
+                recentTrades.put(quote.getSymbol(), List.of(Trade.builder()
+                        .symbol(quote.getSymbol())
+                        .priceMicros(Trade.toPriceMicros(quote.getCurrentPrice()))
+                        .volume(100)
+                        .timestamp(System.currentTimeMillis())
+                        .receivedAt(System.currentTimeMillis())
+                        .build()));
+            }
+        }
+
+        TradeRepository tradeRepository = Fixtures.stub(TradeRepository.class, (proxy, method, args) ->
+                "findTradesBySymbolAfter".equals(method.getName()) ? recentTrades.get((String) args[0]) : null);
+        controller = new Sp500Controller(null,
+                Fixtures.stub(StockSymbolRepository.class),
+                Fixtures.stub(LatestQuoteRepository.class),
+                tradeRepository,
+                null);
+        objectMapper = Fixtures.objectMapper();
+        tableData = buildTable();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> buildTable() {
+        List<Map<String, Object>> rows = new ArrayList<>(symbols.size());
+        for (StockSymbol symbol : symbols) {
+            rows.add(controller.buildStockTableData(symbol, latestQuotes.get(symbol.getSymbol())));
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public byte[] serializeTable() throws Exception {
+        return objectMapper.writeValueAsBytes(Map.of(
+                "success", true,
+                "data", tableData,
+                "totalCount", tableData.size()));
+    }
+}
@@ -0,0 +1,132 @@
+package com.stocker_back.stocker_back.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stocker_back.stocker_back.bench.Fixtures;
+import com.stocker_back.stocker_back.domain.LatestQuote;
+import com.stocker_back.stocker_back.domain.StockSymbol;
+import com.stocker_back.stocker_back.domain.VirtualAccount;
+import com.stocker_back.stocker_back.domain.VirtualHolding;
+import com.stocker_back.stocker_back.dto.PortfolioSnapshotDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 계좌 손익 계산 벤치마크 (BigDecimal)
+ *
+ * - buyAndSellPositions: 20개 보유 종목에 매수(평균단가 재계산) 후 같은 수량 매도(실현손익)
+ *   보유 수량이 0이 되지 않으므로 리포지토리 저장/삭제는 호출되지 않습니다.
+ * - serializePortfolioSnapshot: 20개 종목 평가 스냅샷의 JSON 직렬화
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class VirtualAccountPnlBenchmark {
+
+    private static final int POSITIONS = 20;
+    private static final BigDecimal ORDER_QUANTITY = new BigDecimal("3");
+
+    private VirtualAccountService service;
+    private VirtualAccount account;
+    private Map<String, VirtualHolding> holdings;
+    private String[] symbols;
+    private BigDecimal[] prices;
+    private PortfolioSnapshotDto snapshot;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        // 손익 계산 경로에서 사용하지 않는 의존성은 비워 둠
+        service = new VirtualAccountService(null, null, null, null, null, null, null, null, null);
+        account = VirtualAccount.builder()
+                .balance(new BigDecimal("1000000000"))
+                .totalBuyAmount(BigDecimal.ZERO)
+                .totalRealizedProfit(BigDecimal.ZERO)
+                .buyTradeCount(0L)
+                .sellTradeCount(0L)
+                .build();
+
+        List<StockSymbol> stockSymbols = Fixtures.sp500Symbols().subList(0, POSITIONS);
+        List<LatestQuote> quotes = Fixtures.latestQuotes(stockSymbols);
+        holdings = new HashMap<>();
+        symbols = new String[POSITIONS];
+        prices = new BigDecimal[POSITIONS];
+        List<PortfolioSnapshotDto.PositionDto> positions = new ArrayList<>(POSITIONS);
+        BigDecimal holdingsValue = BigDecimal.ZERO;
+        BigDecimal costBasis = BigDecimal.ZERO;
+        for (int i = 0; i < POSITIONS; i++) {
+            LatestQuote quote = quotes.get(i);
+            BigDecimal quantity = BigDecimal.valueOf(10 + i);
+            symbols[i] = quote.getSymbol();
+            prices[i] = quote.getCurrentPrice();
+            holdings.put(symbols[i], VirtualHolding.builder()
+                    .virtualAccount(account)
+                    .symbol(symbols[i])
+                    .quantity(quantity)
+                    .avgPrice(quote.getPreviousClosePrice())
+                    .build());
+
+            BigDecimal marketValue = prices[i].multiply(quantity);
+            BigDecimal cost = quote.getPreviousClosePrice().multiply(quantity);
+            holdingsValue = holdingsValue.add(marketValue);
+            costBasis = costBasis.add(cost);
+            positions.add(PortfolioSnapshotDto.PositionDto.builder()
+                    .symbol(symbols[i])
+                    .logo(stockSymbols.get(i).getLogo())
+                    .quantity(quantity)
+                    .avgPrice(quote.getPreviousClosePrice())
+                    .currentPrice(prices[i])
+                    .marketValue(marketValue)
+                    .unrealizedProfit(marketValue.subtract(cost))
+                    .build());
+        }
+        BigDecimal total = holdingsValue.add(account.getBalance());
+        for (PortfolioSnapshotDto.PositionDto position : positions) {
+            position.setWeight(position.getMarketValue().divide(total, 4, RoundingMode.HALF_UP)
+                    .multiply(new BigDecimal("100")));
+        }
+        snapshot = PortfolioSnapshotDto.builder()
+                .cashBalance(account.getBalance())
+                .holdingsValue(holdingsValue)
+                .totalMarketValue(total)
+                .costBasis(costBasis)
+                .unrealizedProfit(holdingsValue.subtract(costBasis))
+                .positions(positions)
+                .updatedAt(LocalDateTime.of(2024, 6, 17, 15, 59, 59))
+                .build();
+        objectMapper = Fixtures.objectMapper();
+    }
+
+    @Benchmark
+    public void buyAndSellPositions(Blackhole blackhole) {
+        for (int i = 0; i < POSITIONS; i++) {
+            blackhole.consume(service.applyBuy(account, holdings, symbols[i], ORDER_QUANTITY, prices[i]));
+            blackhole.consume(service.applySell(account, holdings, symbols[i], ORDER_QUANTITY, prices[i]));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializePortfolioSnapshot() throws Exception {
+        return objectMapper.writeValueAsBytes(snapshot);
+    }
+}
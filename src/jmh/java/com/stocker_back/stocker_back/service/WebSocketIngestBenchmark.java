@@ -0,0 +1,128 @@
+package com.stocker_back.stocker_back.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stocker_back.stocker_back.bench.Fixtures;
+import com.stocker_back.stocker_back.domain.Trade;
+import com.stocker_back.stocker_back.dto.FinnhubTradeDTO;
+import com.stocker_back.stocker_back.repository.BulkCopyRepository;
+import com.stocker_back.stocker_back.repository.StockSymbolRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket 수신 경로 벤치마크 (고정 프레임 재생)
+ *
+ * - handleMessage: 프레임 파싱 + 최신가 갱신 + 틱 리스너 통지 (+ 저장 활성화 시 간격 샘플링/버퍼 적재)
+ * - processTradeDataWithInterval: 파싱된 체결 1건의 간격 샘플링
+ * - convertToTrade: 체결 1건의 Trade 엔티티 변환
+ *
+ * 저장 버퍼는 COPY 대신 건수만 반환하는 대역으로 비웁니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WebSocketIngestBenchmark {
+
+    private static final String CONNECTION_ID = "connection-1";
+
+    @Param({"false", "true"})
+    public boolean dataSaving;
+
+    private MultiKeyFinnhubWebSocketService service;
+    private String[] frames;
+    private FinnhubTradeDTO.TradeData[] trades;
+    private int frameCursor;
+    private int tradeCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BulkCopyRepository discardingCopy = new BulkCopyRepository(null, null) {
+            @Override
+            public long copyTrades(List<Trade> batch) {
+                return batch.size();
+            }
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = new MultiKeyFinnhubWebSocketService(
+                Fixtures.stub(StockSymbolRepository.class),
+                discardingCopy,
+                List.of(),
+                meterRegistry,
+                new TickLatencyTracker(),
+                new TickRecorder(meterRegistry),
+                null,
+                null);
+        Fixtures.setField(service, "saveIntervalSeconds", 10);
+        Fixtures.setField(service, "flushIntervalMs", 1000L);
+        Fixtures.setField(service, "sessions", "regular");
+        service.init();
+        // 픽스처 체결 시각은 고정 과거 시각이므로 세션 분류 없이 정규장 저장 경로만 측정
+        service.setSessionFilterEnabled(false);
+        service.setDataSavingEnabled(dataSaving);
+
+        List<String> fixtureFrames = Fixtures.tradeFrames();
+        frames = fixtureFrames.toArray(new String[0]);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<FinnhubTradeDTO.TradeData> parsed = new ArrayList<>();
+        for (String frame : fixtureFrames) {
+            FinnhubTradeDTO dto = objectMapper.readValue(frame, FinnhubTradeDTO.class);
+            if (dto.getData() != null) {
+                parsed.addAll(dto.getData());
+            }
+        }
+        trades = parsed.toArray(new FinnhubTradeDTO.TradeData[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.cleanup();
+    }
+
+    @Benchmark
+    public void handleMessage() {
+        service.handleMessage(CONNECTION_ID, nextFrame());
+    }
+
+    @Benchmark
+    public void processTradeDataWithInterval() {
+        service.processTradeDataWithInterval(nextTrade(), CONNECTION_ID, System.nanoTime(), LocalDateTime.now());
+    }
+
+    @Benchmark
+    public Trade convertToTrade() {
+        return service.convertToTrade(nextTrade(), LocalDateTime.now());
+    }
+
+    private String nextFrame() {
+        String frame = frames[frameCursor];
+        frameCursor = frameCursor + 1 == frames.length ? 0 : frameCursor + 1;
+        return frame;
+    }
+
+    private FinnhubTradeDTO.TradeData nextTrade() {
+        FinnhubTradeDTO.TradeData trade = trades[tradeCursor];
+        tradeCursor = tradeCursor + 1 == trades.length ? 0 : tradeCursor + 1;
+        return trade;
+    }
+}
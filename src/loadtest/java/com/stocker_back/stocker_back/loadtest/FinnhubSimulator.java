@@ -0,0 +1,600 @@
+package com.stocker_back.stocker_back.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * 로컬 Finnhub 대역 서버 (부하 테스트용)
+ *
+ * WebSocket (기본 :8090)
+ * - subscribe/unsubscribe 처리, 구독 확인(ack) 프레임 전송
+ * - 연결당 구독 한도 초과 시 Finnhub와 같은 error 프레임 전송
+ * - 주기적 ping, 설정된 초당 메시지 수(최대 약 100k msgs/s)로 체결 프레임 생성
+ * - 설정된 주기마다 임의 연결을 비정상 종료 (재연결 경로 검증)
+ *
+ * REST (기본 :8089, /api/v1)
+ * - /quote, /stock/metric, /stock/profile2, /company-news
+ * - 설정된 지연 시간(+ 무작위 편차)과 비율만큼 429 응답 주입
+ *
+ * 실행: ./gradlew finnhubSimulator --args="--messages-per-second=20000 --rate-limit-ratio=0.05"
+ * 테스트/드라이버에서는 new FinnhubSimulator(options).start() 후 stop()으로 종료합니다.
+ */
+@Slf4j
+public class FinnhubSimulator {
+
+    private static final String ACK_FRAME = "{\"type\":\"ack\",\"data\":[]}";
+    private static final String PING_FRAME = "{\"type\":\"ping\"}";
+    private static final String TOO_MANY_SYMBOLS_FRAME = "{\"type\":\"error\",\"msg\":\"Subscribing to too many symbols\"}";
+    private static final String INVALID_MESSAGE_FRAME = "{\"type\":\"error\",\"msg\":\"Invalid message\"}";
+    private static final String RATE_LIMIT_BODY = "{\"error\":\"API limit reached. Please try again later. Remaining Limit: 0\"}";
+    private static final String[] CONDITIONS = {"[\"1\"]", "[\"1\",\"12\"]", "[\"1\",\"8\"]", "[\"12\",\"37\"]", null};
+    private static final int MAX_BATCH = 10_000;
+
+    private final Options options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimulatorWebSocketServer webSocketServer;
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    private HttpServer restServer;
+    private ExecutorService restExecutor;
+    private Thread generator;
+    private volatile boolean running;
+
+    // ===== Statistics =====
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder tradesSent = new LongAdder();
+    private final LongAdder errorFramesSent = new LongAdder();
+    private final LongAdder syntheticDisconnects = new LongAdder();
+    private final LongAdder rateLimitedResponses = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> restRequests = new ConcurrentHashMap<>();
+
+    public FinnhubSimulator(Options options) {
+        this.options = options;
+        this.webSocketServer = new SimulatorWebSocketServer(new InetSocketAddress(options.wsPort));
+    }
+
+    public static void main(String[] args) throws Exception {
+        FinnhubSimulator simulator = new FinnhubSimulator(Options.parse(args));
+        Runtime.getRuntime().addShutdownHook(new Thread(simulator::stop));
+        simulator.start();
+
+        long previousMessages = 0;
+        while (true) {
+            Thread.sleep(5000);
+            long messages = simulator.getMessagesSent();
+            log.info("📡 Simulator: {} connections, {} msgs/s, {} trades sent, {} REST requests ({} rate limited)",
+                    simulator.getOpenConnectionCount(), (messages - previousMessages) / 5,
+                    simulator.getTradesSent(), simulator.getRestRequests().values().stream().mapToLong(Long::longValue).sum(),
+                    simulator.getRateLimitedResponses());
+            previousMessages = messages;
+        }
+    }
+
+    // ===== Lifecycle =====
+
+    public void start() throws IOException {
+        running = true;
+
+        webSocketServer.setReuseAddr(true);
+        webSocketServer.start();
+
+        restExecutor = Executors.newFixedThreadPool(options.restThreads);
+        restServer = HttpServer.create(new InetSocketAddress(options.restPort), 0);
+        restServer.createContext("/api/v1/quote", exchange -> handleRest(exchange, "quote", this::quoteBody));
+        restServer.createContext("/api/v1/stock/metric", exchange -> handleRest(exchange, "stock/metric", this::metricBody));
+        restServer.createContext("/api/v1/stock/profile2", exchange -> handleRest(exchange, "stock/profile2", this::profileBody));
+        restServer.createContext("/api/v1/company-news", exchange -> handleRest(exchange, "company-news", this::newsBody));
+        restServer.setExecutor(restExecutor);
+        restServer.start();
+
+        if (options.pingIntervalMs > 0) {
+            scheduler.scheduleAtFixedRate(() -> webSocketServer.broadcast(PING_FRAME),
+                    options.pingIntervalMs, options.pingIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        if (options.disconnectIntervalMs > 0) {
+            scheduler.scheduleAtFixedRate(this::disconnectRandomConnection,
+                    options.disconnectIntervalMs, options.disconnectIntervalMs, TimeUnit.MILLISECONDS);
+        }
+
+        generator = new Thread(this::generateTrades, "finnhub-simulator-generator");
+        generator.setDaemon(true);
+        generator.start();
+
+        log.info("🚀 Finnhub simulator started: REST http://localhost:{}/api/v1, WebSocket ws://localhost:{}",
+                options.restPort, options.wsPort);
+        log.info("   ├─ {} msgs/s, {} trades/msg, symbols: {}", options.messagesPerSecond, options.tradesPerMessage,
+                options.symbols.isEmpty() ? "subscribed" : options.symbols.size() + " configured");
+        log.info("   └─ REST latency {}ms (+{}ms jitter), 429 ratio {}, disconnect every {}ms",
+                options.restLatencyMs, options.restLatencyJitterMs, options.rateLimitRatio, options.disconnectIntervalMs);
+    }
+
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        scheduler.shutdownNow();
+        if (restServer != null) {
+            restServer.stop(0);
+            restExecutor.shutdownNow();
+        }
+        try {
+            webSocketServer.stop(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("✅ Finnhub simulator stopped ({} messages, {} trades sent)", getMessagesSent(), getTradesSent());
+    }
+
+    // ===== Statistics =====
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    public long getTradesSent() {
+        return tradesSent.sum();
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+
+    public int getOpenConnectionCount() {
+        return webSocketServer.getConnections().size();
+    }
+
+    public long getErrorFramesSent() {
+        return errorFramesSent.sum();
+    }
+
+    public long getSyntheticDisconnects() {
+        return syntheticDisconnects.sum();
+    }
+
+    public long getRateLimitedResponses() {
+        return rateLimitedResponses.sum();
+    }
+
+    public Map<String, Long> getRestRequests() {
+        Map<String, Long> requests = new TreeMap<>();
+        restRequests.forEach((endpoint, count) -> requests.put(endpoint, count.sum()));
+        return requests;
+    }
+
+    // ===== Trade Generation =====
+
+    /**
+     * 설정된 초당 메시지 수를 맞추도록 밀린 만큼 한 번에 전송 (연결 간 라운드 로빈)
+     */
+    private void generateTrades() {
+        SplittableRandom random = new SplittableRandom(options.seed);
+        Map<String, double[]> prices = new HashMap<>();
+        long start = System.nanoTime();
+        long sent = 0;
+        int cursor = 0;
+
+        while (running) {
+            long now = System.nanoTime();
+            long due = (long) ((now - start) / 1_000_000_000.0 * options.messagesPerSecond) - sent;
+            if (due <= 0) {
+                LockSupport.parkNanos(100_000);
+                continue;
+            }
+            if (due > options.messagesPerSecond) {
+                // 1초 이상 밀렸으면 따라잡지 않고 기준 시각을 다시 잡음
+                start = now;
+                sent = 0;
+                continue;
+            }
+
+            List<WebSocket> targets = streamingConnections();
+            if (targets.isEmpty()) {
+                sent += due;
+                LockSupport.parkNanos(1_000_000);
+                continue;
+            }
+
+            int batch = (int) Math.min(due, MAX_BATCH);
+            StringBuilder frame = new StringBuilder(96 * options.tradesPerMessage + 32);
+            for (int i = 0; i < batch; i++) {
+                cursor = cursor + 1 >= targets.size() ? 0 : cursor + 1;
+                WebSocket connection = targets.get(cursor);
+                String[] symbols = symbolsFor(connection);
+                if (symbols.length == 0 || !connection.isOpen()) {
+                    continue;
+                }
+                frame.setLength(0);
+                appendTradeFrame(frame, symbols, prices, random);
+                try {
+                    connection.send(frame.toString());
+                } catch (Exception e) {
+                    // 전송 중 닫힌 연결은 다음 목록 갱신 때 제외됨
+                    continue;
+                }
+                messagesSent.increment();
+                tradesSent.add(options.tradesPerMessage);
+            }
+            sent += batch;
+        }
+    }
+
+    private void appendTradeFrame(StringBuilder frame, String[] symbols, Map<String, double[]> prices, SplittableRandom random) {
+        long timestamp = System.currentTimeMillis();
+        frame.append("{\"data\":[");
+        for (int i = 0; i < options.tradesPerMessage; i++) {
+            String symbol = symbols[random.nextInt(symbols.length)];
+            double[] price = prices.computeIfAbsent(symbol, key -> new double[]{basePrice(key)});
+            price[0] = Math.max(1.0, price[0] * (1 + (random.nextDouble() - 0.5) * 0.001));
+            String conditions = CONDITIONS[random.nextInt(CONDITIONS.length)];
+
+            if (i > 0) {
+                frame.append(',');
+            }
+            frame.append('{');
+            if (conditions != null) {
+                frame.append("\"c\":").append(conditions).append(',');
+            }
+            frame.append("\"p\":").append(Math.round(price[0] * 10_000) / 10_000.0)
+                    .append(",\"s\":\"").append(symbol)
+                    .append("\",\"t\":").append(timestamp)
+                    .append(",\"v\":").append(1 + random.nextInt(500))
+                    .append('}');
+        }
+        frame.append("],\"type\":\"trade\"}");
+    }
+
+    /**
+     * 체결을 보낼 연결 목록 (고정 심볼이 설정되지 않았으면 구독이 있는 연결만)
+     */
+    private List<WebSocket> streamingConnections() {
+        List<WebSocket> targets = new ArrayList<>();
+        for (WebSocket connection : webSocketServer.getConnections()) {
+            if (connection.isOpen() && symbolsFor(connection).length > 0) {
+                targets.add(connection);
+            }
+        }
+        return targets;
+    }
+
+    private String[] symbolsFor(WebSocket connection) {
+        if (!options.symbols.isEmpty()) {
+            return options.symbolArray;
+        }
+        Session session = connection.getAttachment();
+        return session != null ? session.symbols : new String[0];
+    }
+
+    private void disconnectRandomConnection() {
+        List<WebSocket> connections = new ArrayList<>(webSocketServer.getConnections());
+        if (connections.isEmpty()) {
+            return;
+        }
+        WebSocket victim = connections.get(ThreadLocalRandom.current().nextInt(connections.size()));
+        // 닫기 핸드셰이크 없이 끊어 네트워크 단절을 흉내냄
+        victim.closeConnection(1006, "Synthetic disconnect");
+        syntheticDisconnects.increment();
+        log.info("🔌 Synthetic disconnect: {}", victim.getRemoteSocketAddress());
+    }
+
+    private static double basePrice(String symbol) {
+        return 20 + Math.floorMod(symbol.hashCode(), 88_000) / 100.0;
+    }
+
+    // ===== WebSocket =====
+
+    /**
+     * 연결별 구독 상태 (생성기 스레드가 읽는 배열은 변경 시마다 새로 만듦)
+     */
+    private static final class Session {
+        private final Set<String> subscribed = ConcurrentHashMap.newKeySet();
+        private volatile String[] symbols = new String[0];
+
+        private synchronized boolean subscribe(String symbol, int limit) {
+            if (subscribed.contains(symbol)) {
+                return true;
+            }
+            if (subscribed.size() >= limit) {
+                return false;
+            }
+            subscribed.add(symbol);
+            symbols = subscribed.toArray(new String[0]);
+            return true;
+        }
+
+        private synchronized void unsubscribe(String symbol) {
+            if (subscribed.remove(symbol)) {
+                symbols = subscribed.toArray(new String[0]);
+            }
+        }
+    }
+
+    private final class SimulatorWebSocketServer extends WebSocketServer {
+
+        private SimulatorWebSocketServer(InetSocketAddress address) {
+            super(address);
+        }
+
+        @Override
+        public void onOpen(WebSocket connection, ClientHandshake handshake) {
+            connection.setAttachment(new Session());
+            connectionsOpened.increment();
+            log.info("✅ Simulator WebSocket connected: {} ({})", connection.getRemoteSocketAddress(),
+                    handshake.getResourceDescriptor());
+        }
+
+        @Override
+        public void onClose(WebSocket connection, int code, String reason, boolean remote) {
+            log.info("🔌 Simulator WebSocket closed: {} (code: {}, reason: {})",
+                    connection.getRemoteSocketAddress(), code, reason);
+        }
+
+        @Override
+        public void onMessage(WebSocket connection, String message) {
+            Session session = connection.getAttachment();
+            try {
+                JsonNode node = objectMapper.readTree(message);
+                String type = node.path("type").asText();
+                String symbol = node.path("symbol").asText();
+                if (symbol.isEmpty()) {
+                    sendError(connection, INVALID_MESSAGE_FRAME);
+                } else if ("subscribe".equals(type)) {
+                    if (session.subscribe(symbol, options.maxSymbolsPerConnection)) {
+                        if (options.acks) {
+                            connection.send(ACK_FRAME);
+                        }
+                    } else {
+                        sendError(connection, TOO_MANY_SYMBOLS_FRAME);
+                    }
+                } else if ("unsubscribe".equals(type)) {
+                    session.unsubscribe(symbol);
+                } else {
+                    sendError(connection, INVALID_MESSAGE_FRAME);
+                }
+            } catch (Exception e) {
+                sendError(connection, INVALID_MESSAGE_FRAME);
+            }
+        }
+
+        @Override
+        public void onError(WebSocket connection, Exception ex) {
+            log.warn("⚠️ Simulator WebSocket error: {}", ex.getMessage());
+        }
+
+        @Override
+        public void onStart() {
+            setConnectionLostTimeout(0);
+        }
+
+        private void sendError(WebSocket connection, String frame) {
+            connection.send(frame);
+            errorFramesSent.increment();
+        }
+    }
+
+    // ===== REST =====
+
+    private void handleRest(HttpExchange exchange, String endpoint, Function<String, String> body) throws IOException {
+        restRequests.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long latency = options.restLatencyMs
+                    + (options.restLatencyJitterMs > 0 ? random.nextLong(options.restLatencyJitterMs + 1) : 0);
+            if (latency > 0) {
+                Thread.sleep(latency);
+            }
+
+            if (random.nextDouble() < options.rateLimitRatio) {
+                rateLimitedResponses.increment();
+                respond(exchange, 429, RATE_LIMIT_BODY);
+                return;
+            }
+
+            String symbol = queryParameter(exchange, "symbol");
+            if (symbol == null || symbol.isBlank()) {
+                respond(exchange, 422, "{\"error\":\"Missing symbol\"}");
+                return;
+            }
+            respond(exchange, 200, body.apply(symbol.toUpperCase()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String quoteBody(String symbol) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double previousClose = basePrice(symbol);
+        double current = previousClose * (1 + (random.nextDouble() - 0.5) * 0.04);
+        double change = current - previousClose;
+        return String.format("{\"c\":%.2f,\"d\":%.2f,\"dp\":%.4f,\"h\":%.2f,\"l\":%.2f,\"o\":%.2f,\"pc\":%.2f,\"t\":%d}",
+                current, change, change / previousClose * 100,
+                Math.max(current, previousClose) * 1.005, Math.min(current, previousClose) * 0.995,
+                previousClose * (1 + (random.nextDouble() - 0.5) * 0.01), previousClose,
+                System.currentTimeMillis() / 1000);
+    }
+
+    private String metricBody(String symbol) {
+        double price = basePrice(symbol);
+        return String.format("{\"metric\":{" +
+                        "\"10DayAverageTradingVolume\":%.4f,\"3MonthAverageTradingVolume\":%.4f," +
+                        "\"13WeekPriceReturnDaily\":4.1,\"26WeekPriceReturnDaily\":9.8,\"52WeekPriceReturnDaily\":18.2," +
+                        "\"5DayPriceReturnDaily\":-0.7,\"yearToDatePriceReturnDaily\":7.5,\"monthToDatePriceReturnDaily\":1.2," +
+                        "\"52WeekHigh\":%.2f,\"52WeekHighDate\":\"%s\",\"52WeekLow\":%.2f,\"52WeekLowDate\":\"%s\"," +
+                        "\"beta\":1.12,\"3MonthADReturnStd\":21.4,\"peTTM\":27.3,\"pbQuarterly\":8.1,\"psTTM\":6.4," +
+                        "\"pcfShareTTM\":22.9,\"roeTTM\":31.5,\"roaTTM\":12.2,\"roiTTM\":19.8,\"grossMarginTTM\":44.1," +
+                        "\"operatingMarginTTM\":29.7,\"netProfitMarginTTM\":24.3,\"totalDebt/totalEquityQuarterly\":1.4," +
+                        "\"longTermDebt/equityQuarterly\":1.1,\"dividendPerShareAnnual\":0.96," +
+                        "\"dividendYieldIndicatedAnnual\":0.52,\"dividendGrowthRate5Y\":5.8,\"revenueGrowth3Y\":8.9," +
+                        "\"revenueGrowth5Y\":10.4,\"epsGrowth3Y\":12.1,\"epsGrowth5Y\":15.6," +
+                        "\"bookValuePerShareAnnual\":%.2f,\"cashPerSharePerShareAnnual\":%.2f," +
+                        "\"currentRatioAnnual\":1.3,\"quickRatioAnnual\":1.1}," +
+                        "\"metricType\":\"all\",\"series\":{},\"symbol\":\"%s\"}",
+                25.5, 31.2, price * 1.2, LocalDate.now().minusMonths(2), price * 0.75,
+                LocalDate.now().minusMonths(9), price / 8, price / 20, symbol);
+    }
+
+    private String profileBody(String symbol) {
+        return String.format("{\"country\":\"US\",\"currency\":\"USD\",\"estimateCurrency\":\"USD\"," +
+                        "\"exchange\":\"NASDAQ NMS - GLOBAL MARKET\",\"finnhubIndustry\":\"Technology\",\"ipo\":\"1999-01-22\"," +
+                        "\"logo\":\"https://static2.finnhub.io/file/publicdatany/finnhubimage/stock_logo/%s.png\"," +
+                        "\"marketCapitalization\":%.2f,\"name\":\"%s Simulated Inc\",\"phone\":\"14085551234\"," +
+                        "\"shareOutstanding\":%.2f,\"ticker\":\"%s\",\"weburl\":\"https://www.example.com/%s\"}",
+                symbol, basePrice(symbol) * 2500, symbol, 2500.0, symbol, symbol.toLowerCase());
+    }
+
+    private String newsBody(String symbol) {
+        long now = System.currentTimeMillis() / 1000;
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < options.newsPerRequest; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(String.format("{\"category\":\"company\",\"datetime\":%d,\"headline\":\"%s simulated headline %d\"," +
+                            "\"id\":%d,\"image\":\"\",\"related\":\"%s\",\"source\":\"Simulator\"," +
+                            "\"summary\":\"Synthetic news item %d for %s.\",\"url\":\"https://www.example.com/news/%s/%d\"}",
+                    now - i * 3600L, symbol, i, Math.floorMod(symbol.hashCode(), 1_000_000) * 100L + i, symbol,
+                    i, symbol, symbol.toLowerCase(), i));
+        }
+        return body.append(']').toString();
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0 && name.equals(pair.substring(0, separator))) {
+                return URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // ===== Options =====
+
+    /**
+     * 시뮬레이터 설정 (--key=value 인자로 지정)
+     */
+    public static final class Options {
+        int restPort = 8089;
+        int wsPort = 8090;
+        int restThreads = 16;
+        int messagesPerSecond = 1000;
+        int tradesPerMessage = 1;
+        int maxSymbolsPerConnection = 50;
+        long pingIntervalMs = 10_000;
+        long disconnectIntervalMs = 0;
+        long restLatencyMs = 50;
+        long restLatencyJitterMs = 50;
+        double rateLimitRatio = 0.0;
+        int newsPerRequest = 10;
+        boolean acks = true;
+        long seed = 42;
+        List<String> symbols = List.of();
+        private String[] symbolArray = new String[0];
+
+        /**
+         * 인자 예: --messages-per-second=50000 --trades-per-message=3 --symbols=AAPL,MSFT
+         *         --disconnect-interval-ms=30000 --rest-latency-ms=100 --rate-limit-ratio=0.1
+         */
+        public static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Invalid argument: " + arg + " (expected --key=value)");
+                }
+                String key = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                options.set(key, value);
+            }
+            return options;
+        }
+
+        /**
+         * 알 수 없는 키는 무시 (부하 테스트 드라이버와 인자를 공유)
+         * @return 시뮬레이터 설정 키이면 true
+         */
+        public boolean set(String key, String value) {
+            switch (key) {
+                case "rest-port" -> restPort = Integer.parseInt(value);
+                case "ws-port" -> wsPort = Integer.parseInt(value);
+                case "rest-threads" -> restThreads = Integer.parseInt(value);
+                case "messages-per-second" -> messagesPerSecond = Integer.parseInt(value);
+                case "trades-per-message" -> tradesPerMessage = Math.max(1, Integer.parseInt(value));
+                case "max-symbols-per-connection" -> maxSymbolsPerConnection = Integer.parseInt(value);
+                case "ping-interval-ms" -> pingIntervalMs = Long.parseLong(value);
+                case "disconnect-interval-ms" -> disconnectIntervalMs = Long.parseLong(value);
+                case "rest-latency-ms" -> restLatencyMs = Long.parseLong(value);
+                case "rest-latency-jitter-ms" -> restLatencyJitterMs = Long.parseLong(value);
+                case "rate-limit-ratio" -> rateLimitRatio = Double.parseDouble(value);
+                case "news-per-request" -> newsPerRequest = Integer.parseInt(value);
+                case "acks" -> acks = Boolean.parseBoolean(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "symbols" -> {
+                    symbols = value.isBlank() ? List.of() : Arrays.stream(value.split(","))
+                            .map(String::trim).filter(s -> !s.isEmpty()).map(String::toUpperCase).toList();
+                    symbolArray = symbols.toArray(new String[0]);
+                }
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public int getRestPort() {
+            return restPort;
+        }
+
+        public int getWsPort() {
+            return wsPort;
+        }
+
+        public List<String> getSymbols() {
+            return symbols;
+        }
+    }
+}
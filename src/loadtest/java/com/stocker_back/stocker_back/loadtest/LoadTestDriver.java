@@ -0,0 +1,282 @@
+package com.stocker_back.stocker_back.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stocker_back.stocker_back.util.LatencyRecorder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 수집 파이프라인 부하 테스트 드라이버
+ *
+ * 1. (선택) FinnhubSimulator를 같은 프로세스에서 기동
+ * 2. 애플리케이션(simulator 프로필)이 시뮬레이터에 연결하도록 warmup 동안 대기
+ * 3. 관리 포트의 /actuator/prometheus 를 측정 전후로 수집하고, 그 사이 SSE 클라이언트 N개로 체결 수신
+ * 4. 수집 처리량(frames/s), 파싱/저장 시간, 저장 행 수, SSE 전달 지연(체결 시각 -> 수신) 백분위 출력
+ *
+ * 실행 순서:
+ *   ./gradlew bootRun --args='--spring.profiles.active=default,secret,simulator'
+ *   ./gradlew loadTest --args="--messages-per-second=20000 --symbols=AAPL,MSFT --sse-clients=200 --duration-seconds=60"
+ * 애플리케이션은 시뮬레이터 재연결을 시도하므로 먼저 띄워도 됩니다.
+ * 시뮬레이터를 따로 띄웠다면 --embedded-simulator=false 로 실행합니다.
+ * 관리 포트를 바꿨다면 --management-url=http://localhost:{management.server.port} 로 지정합니다.
+ * 그 외 --key=value 인자는 FinnhubSimulator.Options 로 전달됩니다.
+ */
+@Slf4j
+public class LoadTestDriver {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final LatencyRecorder deliveryLatency = new LatencyRecorder();
+    private final LongAdder sseEvents = new LongAdder();
+    private final LongAdder sseErrors = new LongAdder();
+    private volatile boolean measuring;
+
+    // ===== Driver Options =====
+    private String appUrl = "http://localhost:8080";
+    private String managementUrl = "http://localhost:8081";
+    private boolean embeddedSimulator = true;
+    private int sseClients = 50;
+    private int sseIntervalSeconds = 1;
+    private long warmupSeconds = 15;
+    private long durationSeconds = 60;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestDriver driver = new LoadTestDriver();
+        FinnhubSimulator.Options simulatorOptions = new FinnhubSimulator.Options();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Invalid argument: " + arg + " (expected --key=value)");
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (!driver.set(key, value) && !simulatorOptions.set(key, value)) {
+                throw new IllegalArgumentException("Unknown option: " + key);
+            }
+        }
+        driver.run(simulatorOptions);
+        System.exit(0);
+    }
+
+    private boolean set(String key, String value) {
+        switch (key) {
+            case "app-url" -> appUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+            case "management-url" -> managementUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+            case "embedded-simulator" -> embeddedSimulator = Boolean.parseBoolean(value);
+            case "sse-clients" -> sseClients = Integer.parseInt(value);
+            case "sse-interval-seconds" -> sseIntervalSeconds = Integer.parseInt(value);
+            case "warmup-seconds" -> warmupSeconds = Long.parseLong(value);
+            case "duration-seconds" -> durationSeconds = Long.parseLong(value);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void run(FinnhubSimulator.Options simulatorOptions) throws Exception {
+        FinnhubSimulator simulator = null;
+        if (embeddedSimulator) {
+            simulator = new FinnhubSimulator(simulatorOptions);
+            simulator.start();
+        }
+
+        try {
+            log.info("⏳ Warming up for {}s (application must run with the simulator profile)", warmupSeconds);
+            Thread.sleep(warmupSeconds * 1000);
+
+            List<String> symbols = simulatorOptions.getSymbols().isEmpty()
+                    ? List.of("AAPL", "MSFT", "NVDA", "AMZN", "GOOGL")
+                    : simulatorOptions.getSymbols();
+
+            ExecutorService clients = Executors.newFixedThreadPool(sseClients);
+            for (int i = 0; i < sseClients; i++) {
+                String symbol = symbols.get(i % symbols.size());
+                clients.submit(() -> consumeStream(symbol));
+            }
+            // SSE 초기 이벤트(DB 조회)는 측정에서 제외
+            Thread.sleep(Math.max(1, sseIntervalSeconds) * 1000L);
+
+            Map<String, Double> before = scrapeMetrics();
+            long simulatorMessagesBefore = simulator != null ? simulator.getMessagesSent() : 0;
+            measuring = true;
+            long start = System.nanoTime();
+
+            log.info("🚀 Measuring for {}s with {} SSE clients on {} symbols", durationSeconds, sseClients, symbols.size());
+            Thread.sleep(durationSeconds * 1000);
+
+            measuring = false;
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            Map<String, Double> after = scrapeMetrics();
+            long simulatorMessages = simulator != null ? simulator.getMessagesSent() - simulatorMessagesBefore : -1;
+            clients.shutdownNow();
+
+            report(before, after, elapsedSeconds, simulatorMessages, simulator);
+        } finally {
+            if (simulator != null) {
+                simulator.stop();
+            }
+        }
+    }
+
+    // ===== SSE Clients =====
+
+    /**
+     * SSE 스트림을 읽으며 trade.timestamp(체결 시각) 기준 전달 지연 기록
+     */
+    private void consumeStream(String symbol) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(appUrl + "/api/trades/stream/" + symbol + "?interval=" + sseIntervalSeconds))
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() != 200) {
+                sseErrors.increment();
+                log.warn("⚠️ SSE stream for {} returned {}", symbol, response.statusCode());
+                return;
+            }
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                String line;
+                while (!Thread.currentThread().isInterrupted() && (line = reader.readLine()) != null) {
+                    if (line.startsWith("data:")) {
+                        onEvent(line.substring(5).trim());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (!Thread.currentThread().isInterrupted()) {
+                sseErrors.increment();
+                log.warn("⚠️ SSE stream for {} failed: {}", symbol, e.getMessage());
+            }
+        }
+    }
+
+    private void onEvent(String data) {
+        long receivedMillis = System.currentTimeMillis();
+        if (!measuring) {
+            return;
+        }
+        try {
+            JsonNode trade = objectMapper.readTree(data).path("trade");
+            if (!"realtime".equals(trade.path("source").asText())) {
+                return;
+            }
+            long timestamp = trade.path("timestamp").asLong(0);
+            if (timestamp > 0) {
+                deliveryLatency.record((receivedMillis - timestamp) * 1000);
+            }
+            sseEvents.increment();
+        } catch (Exception e) {
+            sseErrors.increment();
+        }
+    }
+
+    // ===== Metrics =====
+
+    /**
+     * Prometheus 텍스트 형식에서 이름별 합계 수집 (태그는 합산)
+     */
+    private Map<String, Double> scrapeMetrics() {
+        Map<String, Double> metrics = new HashMap<>();
+        try {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(managementUrl + "/actuator/prometheus"))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.warn("⚠️ /actuator/prometheus returned {}", response.statusCode());
+                return metrics;
+            }
+            for (String line : response.body().split("\n")) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int nameEnd = line.indexOf('{') >= 0 ? line.indexOf('{') : line.indexOf(' ');
+                int valueStart = line.lastIndexOf(' ');
+                if (nameEnd <= 0 || valueStart <= 0) {
+                    continue;
+                }
+                try {
+                    double value = Double.parseDouble(line.substring(valueStart + 1));
+                    metrics.merge(line.substring(0, nameEnd), value, Double::sum);
+                } catch (NumberFormatException ignored) {
+                    // NaN 등 숫자가 아닌 값은 건너뜀
+                }
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to scrape /actuator/prometheus: {}", e.getMessage());
+        }
+        return metrics;
+    }
+
+    private void report(Map<String, Double> before, Map<String, Double> after, double elapsedSeconds,
+                        long simulatorMessages, FinnhubSimulator simulator) {
+        double frames = delta(before, after, "stocker_websocket_frames_total");
+        double persisted = delta(before, after, "stocker_trades_persisted_total");
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Duration:            %.1fs", elapsedSeconds));
+        if (simulatorMessages >= 0) {
+            lines.add(String.format("Simulator sent:      %.0f msgs/s (%d connections opened, %d synthetic disconnects)",
+                    simulatorMessages / elapsedSeconds, simulator.getConnectionsOpened(), simulator.getSyntheticDisconnects()));
+            lines.add("Simulator REST:      " + simulator.getRestRequests() + " (" + simulator.getRateLimitedResponses() + " rate limited)");
+        }
+        lines.add(String.format("Ingest:              %.0f frames/s", frames / elapsedSeconds));
+        lines.add(String.format("Parse:               %.3f ms mean",
+                meanMillis(before, after, "stocker_websocket_parse_seconds")));
+        lines.add(String.format("Persist:             %.0f rows/s, %.3f ms mean flush, %.0f pending at end",
+                persisted / elapsedSeconds, meanMillis(before, after, "stocker_trades_persist_seconds"),
+                after.getOrDefault("stocker_trades_pending", 0.0)));
+
+        LatencyRecorder.Snapshot snapshot = deliveryLatency.snapshot();
+        lines.add(String.format("SSE:                 %.0f events/s from %d clients (%d errors)",
+                sseEvents.sum() / elapsedSeconds, sseClients, sseErrors.sum()));
+        StringBuilder latency = new StringBuilder("SSE delivery:       ");
+        for (double percentile : PERCENTILES) {
+            latency.append(String.format(" p%s=%.2fms", percentile == Math.rint(percentile)
+                    ? String.valueOf((long) percentile) : String.valueOf(percentile), snapshot.percentile(percentile) / 1000.0));
+        }
+        latency.append(String.format(" max=%.2fms (n=%d)", snapshot.getMaxMicros() / 1000.0, snapshot.getCount()));
+        lines.add(latency.toString());
+
+        log.info("📊 Load test results");
+        lines.forEach(line -> log.info("   {}", line));
+    }
+
+    private static double delta(Map<String, Double> before, Map<String, Double> after, String name) {
+        return after.getOrDefault(name, 0.0) - before.getOrDefault(name, 0.0);
+    }
+
+    private static double meanMillis(Map<String, Double> before, Map<String, Double> after, String timer) {
+        double count = delta(before, after, timer + "_count");
+        return count == 0 ? 0 : delta(before, after, timer + "_sum") / count * 1000;
+    }
+}
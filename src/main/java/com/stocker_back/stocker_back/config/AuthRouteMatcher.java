@@ -0,0 +1,104 @@
+package com.stocker_back.stocker_back.config;
+
+import java.util.Arrays;
+
+/**
+ * 인증 경로 규칙 매처
+ *
+ * 경로 접두사 규칙을 시작 시 한 번 문자 트라이로 구성하고, 요청 URI를 한 번 순회하며
+ * 가장 강한 접근 수준(ADMIN > AUTHENTICATED > PUBLIC)을 결정합니다.
+ * 경로 어디에든 포함되면 관리자 권한이 필요한 세그먼트("/admin")도 지원합니다.
+ *
+ * 매칭 중에는 객체를 생성하지 않으며, 구성이 끝난 뒤에는 읽기 전용이므로 여러 스레드에서 동시에 사용할 수 있습니다.
+ */
+public final class AuthRouteMatcher {
+
+    public enum Access {
+        PUBLIC, AUTHENTICATED, ADMIN
+    }
+
+    private final Node root = new Node();
+    private String[] adminSegments = new String[0];
+
+    /**
+     * 접두사 규칙 추가 (URI가 prefix로 시작하면 access 적용)
+     */
+    public AuthRouteMatcher prefix(String prefix, Access access) {
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.childOrCreate(prefix.charAt(i));
+        }
+        node.access = stronger(node.access, access);
+        return this;
+    }
+
+    /**
+     * 포함 규칙 추가 (URI 어디에든 segment가 있으면 관리자 권한 필요)
+     */
+    public AuthRouteMatcher adminSegment(String segment) {
+        adminSegments = Arrays.copyOf(adminSegments, adminSegments.length + 1);
+        adminSegments[adminSegments.length - 1] = segment;
+        return this;
+    }
+
+    /**
+     * 요청 URI의 접근 수준 결정
+     */
+    public Access match(String uri) {
+        Access access = root.access;
+        Node node = root;
+        for (int i = 0; i < uri.length() && node != null; i++) {
+            node = node.child(uri.charAt(i));
+            if (node != null && node.access != null) {
+                access = stronger(access, node.access);
+            }
+        }
+        if (access == Access.ADMIN) {
+            return access;
+        }
+        for (String segment : adminSegments) {
+            if (uri.contains(segment)) {
+                return Access.ADMIN;
+            }
+        }
+        return access != null ? access : Access.PUBLIC;
+    }
+
+    private static Access stronger(Access current, Access candidate) {
+        if (current == null) {
+            return candidate;
+        }
+        return candidate.ordinal() > current.ordinal() ? candidate : current;
+    }
+
+    /**
+     * 트라이 노드 (자식 수가 적으므로 정렬되지 않은 배열로 보관)
+     */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private Access access;
+
+        private Node child(char key) {
+            char[] keys = this.keys;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char key) {
+            Node child = child(key);
+            if (child == null) {
+                child = new Node();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = key;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
@@ -2,7 +2,7 @@ package com.stocker_back.stocker_back.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stocker_back.stocker_back.domain.User;
-import com.stocker_back.stocker_back.repository.UserRepository;
+import com.stocker_back.stocker_back.service.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
@@ -19,8 +19,19 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuthenticationInterceptor implements HandlerInterceptor {
     
+    // 인증 경로 규칙 (시작 시 한 번 구성)
+    static final AuthRouteMatcher ROUTES = new AuthRouteMatcher()
+            // /admin이 포함된 모든 경로는 관리자 권한 필요
+            .adminSegment("/admin")
+            .prefix("/api/admin", AuthRouteMatcher.Access.ADMIN)       // 모든 관리자 API의 기본 경로 (데이터, 시스템, 사용자, 웹소켓, DB)
+            .prefix("/api/auth/admin", AuthRouteMatcher.Access.ADMIN)  // 관리자용 세션 관리
+            .prefix("/api/watchlist", AuthRouteMatcher.Access.AUTHENTICATED)
+            .prefix("/api/auth/me", AuthRouteMatcher.Access.AUTHENTICATED)
+            .prefix("/api/auth/logout", AuthRouteMatcher.Access.AUTHENTICATED)
+            .prefix("/api/profile", AuthRouteMatcher.Access.AUTHENTICATED);
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
     
     @Override
     public boolean preHandle(@NonNull HttpServletRequest request, 
@@ -31,8 +42,9 @@ public class AuthenticationInterceptor implements HandlerInterceptor {
         log.debug("AuthenticationInterceptor checking: {}", requestURI);
         
         // 인증이 필요한 경로인지 확인
-        if (requiresAuthentication(requestURI)) {
-            return handleAuthentication(request, response, requestURI);
+        AuthRouteMatcher.Access access = ROUTES.match(requestURI);
+        if (access != AuthRouteMatcher.Access.PUBLIC) {
+            return handleAuthentication(request, response, requestURI, access == AuthRouteMatcher.Access.ADMIN);
         }
         
         return true; // 공개 접근 허용
@@ -41,7 +53,8 @@ public class AuthenticationInterceptor implements HandlerInterceptor {
     /**
      * 인증 처리 (일반 사용자 및 관리자)
      */
-    private boolean handleAuthentication(HttpServletRequest request, HttpServletResponse response, String requestURI) throws Exception {
+    private boolean handleAuthentication(HttpServletRequest request, HttpServletResponse response, String requestURI,
+                                         boolean adminRequired) throws Exception {
         HttpSession session = request.getSession(false);
         Long userId = null;
         
@@ -54,15 +67,15 @@ public class AuthenticationInterceptor implements HandlerInterceptor {
             return sendUnauthorizedResponse(request, response, "로그인이 필요합니다");
         }
         
-        // 사용자 정보 조회
-        User user = userRepository.findById(userId).orElse(null);
+        // 사용자 정보 조회 (캐시 우선, 만료 시 DB 조회)
+        UserPrincipalCache.UserPrincipal user = userPrincipalCache.get(userId).orElse(null);
         if (user == null) {
             log.warn("User not found for userId: {} accessing: {}", userId, requestURI);
             return sendUnauthorizedResponse(request, response, "사용자 정보를 찾을 수 없습니다");
         }
         
         // 관리자 권한이 필요한 경로인지 확인
-        if (requiresAdminRole(requestURI)) {
+        if (adminRequired) {
             if (user.getRole() != User.Role.ADMIN) {
                 log.warn("Forbidden admin access attempt by userId: {} to: {}", userId, requestURI);
                 return sendForbiddenResponse(request, response, "관리자 권한이 필요합니다");
@@ -130,60 +143,6 @@ public class AuthenticationInterceptor implements HandlerInterceptor {
         return false;
     }
     
-    /**
-     * 관리자 권한이 필요한 경로인지 확인
-     */
-    private boolean requiresAdminRole(String requestURI) {
-        // /admin이 포함된 모든 경로는 관리자 권한 필요
-        if (requestURI.contains("/admin")) {
-            return true;
-        }
-        
-        String[] adminPaths = {
-            "/api/admin",           // 모든 관리자 API의 기본 경로
-            "/api/admin/data",      // 데이터 수집/수정 API
-            "/api/admin/system",    // 시스템 관리
-            "/api/admin/users",     // 사용자 관리
-            "/api/admin/websocket", // 웹소켓 제어
-            "/api/admin/database",  // 데이터베이스 관리
-            "/api/auth/admin"       // 관리자용 세션 관리
-        };
-        
-        for (String path : adminPaths) {
-            if (requestURI.startsWith(path)) {
-                return true;
-            }
-        }
-        
-        return false;
-    }
-    
-    /**
-     * 일반 인증이 필요한 경로인지 확인
-     */
-    private boolean requiresAuthentication(String requestURI) {
-        // 관리자 권한이 필요한 경로도 인증이 필요하므로 먼저 확인
-        if (requiresAdminRole(requestURI)) {
-            return true;
-        }
-        
-        String[] authenticatedPaths = {
-            "/api/watchlist",
-            "/api/auth/me",
-            "/api/auth/logout",
-            "/api/profile"
-            // 필요에 따라 추가
-        };
-        
-        for (String path : authenticatedPaths) {
-            if (requestURI.startsWith(path)) {
-                return true;
-            }
-        }
-        
-        return false;
-    }
-    
     /**
      * API 요청인지 확인
      */
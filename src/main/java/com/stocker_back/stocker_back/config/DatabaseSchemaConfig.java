@@ -0,0 +1,26 @@
+package com.stocker_back.stocker_back.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 데이터베이스 스키마 준비 순서 설정 클래스
+ * 
+ * Hibernate(ddl-auto=update)가 테이블을 검사/생성하기 전에
+ * JdbcTemplate 기반 스키마 작업(파티션 테이블 생성, id 시퀀스 전환 등)이 먼저 실행되도록
+ * EntityManagerFactory가 해당 빈들에 의존하도록 설정합니다.
+ * 의존 빈은 선언 순서대로 초기화됩니다.
+ */
+@Configuration
+public class DatabaseSchemaConfig {
+
+    /**
+     * EntityManagerFactory 생성 전에 trades 파티션 테이블을 준비하고 id 시퀀스를 전환
+     * (trades_id_seq는 파티션 서비스가 만든 뒤 시퀀스 마이그레이션에서 증가 값을 맞춤)
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor tradePartitionDependsOnPostProcessor() {
+        return new EntityManagerFactoryDependsOnPostProcessor("tradePartitionService", "idSequenceMigrationService");
+    }
+}
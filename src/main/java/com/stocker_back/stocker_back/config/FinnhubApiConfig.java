@@ -12,6 +12,9 @@ public class FinnhubApiConfig {
     @Value("${finnhub.api.key}")
     private String apiKey;
     
+    @Value("${finnhub.api.base-url:https://finnhub.io/api/v1}")
+    private String baseUrl; // 로컬 시뮬레이터 사용 시 http://localhost:8089/api/v1
+    
     @Value("${finnhub.api.connect-timeout:5000}")
     private int connectTimeout; // 기본값 5초
     
@@ -37,4 +40,8 @@ public class FinnhubApiConfig {
     public String getApiKey() {
         return apiKey;
     }
+    
+    public String getBaseUrl() {
+        return baseUrl;
+    }
 } 
\ No newline at end of file
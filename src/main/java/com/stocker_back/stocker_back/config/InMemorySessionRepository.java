@@ -0,0 +1,290 @@
+package com.stocker_back.stocker_back.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.MapSession;
+import org.springframework.session.SessionRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 프로세스 내 세션 저장소 (app.session.store=memory)
+ *
+ * 세션을 ConcurrentHashMap(내부적으로 bin 단위 잠금으로 분할)에 보관하여
+ * 요청마다 SPRING_SESSION 테이블을 읽고 쓰지 않습니다.
+ *
+ * - 만료: 분 단위 타이밍 휠. 세션 저장 시 만료 분(minute)의 슬롯에 id를 넣고,
+ *   매분 지난 슬롯만 확인해 만료된 세션을 제거 (조회 시에도 만료 여부를 다시 확인)
+ * - 재시작 대비: persistenceFile이 지정되면 변경이 있을 때 주기적으로(write-behind) 및 종료 시
+ *   전체 세션을 파일에 기록하고, 시작 시 만료되지 않은 세션을 복구
+ *
+ * 세션 속성은 직렬화 가능해야 합니다. 여러 노드에서 세션을 공유해야 하면 jdbc 저장소를 사용합니다.
+ */
+@Slf4j
+public class InMemorySessionRepository implements SessionRepository<MapSession> {
+
+    private static final long NEVER_EXPIRES = Long.MAX_VALUE;
+    private static final int WHEEL_SLOTS = 1024; // 분 단위 슬롯 (한 바퀴 약 17시간)
+    private static final long FULL_SWEEP_INTERVAL_MINUTES = 60;
+
+    private final Duration defaultMaxInactiveInterval;
+    private final Path persistenceFile;
+
+    private final ConcurrentHashMap<String, StoredSession> sessions = new ConcurrentHashMap<>(1024);
+    private final Set<String>[] wheel = newWheel();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private long lastSweptMinute;
+    private long lastFullSweepMinute;
+
+    /**
+     * @param persistenceFile 세션 스냅샷 파일 (null이면 메모리에만 보관)
+     */
+    public InMemorySessionRepository(Duration defaultMaxInactiveInterval, Path persistenceFile) {
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.persistenceFile = persistenceFile;
+        this.lastSweptMinute = currentMinute();
+        this.lastFullSweepMinute = lastSweptMinute;
+    }
+
+    // ===== SessionRepository =====
+
+    @Override
+    public MapSession createSession() {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        return session;
+    }
+
+    @Override
+    public void save(MapSession session) {
+        if (!session.getId().equals(session.getOriginalId())) {
+            // 세션 id 변경 (세션 고정 공격 방지)
+            deleteById(session.getOriginalId());
+        }
+        MapSession copy = new MapSession(session);
+        copy.setOriginalId(copy.getId()); // 이후 id 변경·삭제 시 저장된 id 기준으로 찾도록
+        long expiryMinute = expiryMinute(copy);
+        StoredSession previous = sessions.put(copy.getId(), new StoredSession(copy, expiryMinute));
+        if (previous == null || previous.expiryMinute != expiryMinute) {
+            if (previous != null) {
+                unschedule(copy.getId(), previous.expiryMinute);
+            }
+            schedule(copy.getId(), expiryMinute);
+        }
+        dirty.set(true);
+    }
+
+    @Override
+    public MapSession findById(String id) {
+        StoredSession stored = sessions.get(id);
+        if (stored == null) {
+            return null;
+        }
+        if (stored.session.isExpired()) {
+            deleteById(id);
+            return null;
+        }
+        return new MapSession(stored.session);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        StoredSession removed = sessions.remove(id);
+        if (removed != null) {
+            unschedule(id, removed.expiryMinute);
+            dirty.set(true);
+        }
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    // ===== Expiry / Persistence =====
+
+    /**
+     * 지난 분의 휠 슬롯을 확인하여 만료 세션 제거 (한 시간마다 전체 확인으로 누락 방지)
+     */
+    @Scheduled(fixedDelay = 60000)
+    public synchronized void sweepExpired() {
+        long now = currentMinute();
+        int removed = 0;
+
+        long from = Math.max(lastSweptMinute + 1, now - WHEEL_SLOTS + 1);
+        for (long minute = from; minute <= now; minute++) {
+            Iterator<String> iterator = wheel[slot(minute)].iterator();
+            while (iterator.hasNext()) {
+                String id = iterator.next();
+                StoredSession stored = sessions.get(id);
+                if (stored == null) {
+                    iterator.remove();
+                } else if (stored.session.isExpired()) {
+                    iterator.remove();
+                    if (sessions.remove(id, stored)) {
+                        removed++;
+                    }
+                } else if (slot(stored.expiryMinute) != slot(minute)) {
+                    iterator.remove(); // 다른 슬롯으로 옮겨진 id
+                }
+                // 같은 슬롯의 다음 바퀴에 만료되는 세션은 유지
+            }
+        }
+        lastSweptMinute = now;
+
+        if (now - lastFullSweepMinute >= FULL_SWEEP_INTERVAL_MINUTES) {
+            for (StoredSession stored : sessions.values()) {
+                if (stored.session.isExpired() && sessions.remove(stored.session.getId(), stored)) {
+                    removed++;
+                }
+            }
+            lastFullSweepMinute = now;
+        }
+
+        if (removed > 0) {
+            dirty.set(true);
+            log.info("🧹 Removed {} expired in-memory sessions ({} active)", removed, sessions.size());
+        }
+    }
+
+    /**
+     * 변경된 세션이 있으면 스냅샷 파일 기록 (write-behind)
+     */
+    @Scheduled(fixedDelayString = "${app.session.memory.persistence-interval-ms:30000}")
+    public void persistIfDirty() {
+        if (persistenceFile != null && dirty.getAndSet(false)) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * 시작 시 스냅샷 파일에서 만료되지 않은 세션 복구
+     */
+    @PostConstruct
+    public void restore() {
+        if (persistenceFile == null || !Files.exists(persistenceFile)) {
+            return;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(persistenceFile)))) {
+            int count = in.readInt();
+            int restored = 0;
+            for (int i = 0; i < count; i++) {
+                MapSession session = (MapSession) in.readObject();
+                if (!session.isExpired()) {
+                    long expiryMinute = expiryMinute(session);
+                    sessions.put(session.getId(), new StoredSession(session, expiryMinute));
+                    schedule(session.getId(), expiryMinute);
+                    restored++;
+                }
+            }
+            log.info("✅ Restored {} in-memory sessions from {}", restored, persistenceFile);
+        } catch (Exception e) {
+            log.error("❌ Failed to restore sessions from {}: {}", persistenceFile, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (persistenceFile != null) {
+            writeSnapshot();
+        }
+    }
+
+    // ===== Private Helper Methods =====
+
+    private synchronized void writeSnapshot() {
+        List<MapSession> snapshot = new ArrayList<>(sessions.size());
+        for (StoredSession stored : sessions.values()) {
+            if (!stored.session.isExpired()) {
+                snapshot.add(stored.session);
+            }
+        }
+        Path tempFile = persistenceFile.resolveSibling(persistenceFile.getFileName() + ".tmp");
+        try {
+            Path parent = persistenceFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(snapshot.size());
+                for (MapSession session : snapshot) {
+                    out.writeObject(session);
+                }
+            }
+            Files.move(tempFile, persistenceFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Persisted {} in-memory sessions to {}", snapshot.size(), persistenceFile);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.error("❌ Failed to persist sessions to {}: {}", persistenceFile, e.getMessage());
+        }
+    }
+
+    private void schedule(String id, long expiryMinute) {
+        if (expiryMinute != NEVER_EXPIRES) {
+            wheel[slot(expiryMinute)].add(id);
+        }
+    }
+
+    private void unschedule(String id, long expiryMinute) {
+        if (expiryMinute != NEVER_EXPIRES) {
+            wheel[slot(expiryMinute)].remove(id);
+        }
+    }
+
+    /**
+     * 세션이 만료되는 분 (올림, 해당 분의 슬롯을 확인할 때는 이미 만료된 상태)
+     */
+    private static long expiryMinute(MapSession session) {
+        Duration maxInactive = session.getMaxInactiveInterval();
+        if (maxInactive.isNegative()) {
+            return NEVER_EXPIRES;
+        }
+        long expiresAtMillis = session.getLastAccessedTime().plus(maxInactive).toEpochMilli();
+        return expiresAtMillis / 60000 + 1;
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / 60000;
+    }
+
+    private static int slot(long minute) {
+        return (int) (minute % WHEEL_SLOTS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String>[] newWheel() {
+        Set<String>[] wheel = (Set<String>[]) new Set[WHEEL_SLOTS];
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        return wheel;
+    }
+
+    /**
+     * 저장된 세션과 휠에 등록된 만료 분
+     */
+    private static final class StoredSession {
+        private final MapSession session;
+        private final long expiryMinute;
+
+        private StoredSession(MapSession session, long expiryMinute) {
+            this.session = session;
+            this.expiryMinute = expiryMinute;
+        }
+    }
+}
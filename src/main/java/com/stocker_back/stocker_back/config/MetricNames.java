@@ -0,0 +1,47 @@
+package com.stocker_back.stocker_back.config;
+
+/**
+ * 애플리케이션 메트릭 이름 (Micrometer)
+ *
+ * /actuator/prometheus 에서는 점(.)이 밑줄(_)로 바뀌고 단위 접미사가 붙습니다.
+ * (예: stocker.finnhub.requests -> stocker_finnhub_requests_seconds)
+ */
+public final class MetricNames {
+
+    // WebSocket 수신 (tag: connection)
+    public static final String WEBSOCKET_FRAMES = "stocker.websocket.frames";
+    public static final String WEBSOCKET_FRAME_RATE = "stocker.websocket.frames.rate";
+    public static final String WEBSOCKET_PARSE = "stocker.websocket.parse";
+
+    // 원본 프레임 기록/재생
+    public static final String RECORDER_FRAMES = "stocker.recorder.frames";
+    public static final String REPLAY_FRAMES = "stocker.replay.frames";
+
+    // 거래 버퍼 저장 (COPY)
+    public static final String TRADES_PENDING = "stocker.trades.pending";
+    public static final String TRADES_PERSIST = "stocker.trades.persist";
+    public static final String TRADES_PERSISTED = "stocker.trades.persisted";
+    public static final String TRADES_DROPPED = "stocker.trades.dropped";
+    public static final String TRADE_CONDITIONS_DROPPED = "stocker.trades.conditions.dropped";
+    public static final String TRADES_DEFAULT_PARTITION_ROWS = "stocker.trades.partition.default.rows";
+
+    // 장외 시간 1분 봉 (tag: session)
+    public static final String EXTENDED_TICKS = "stocker.extended.ticks";
+    public static final String EXTENDED_BARS_PERSISTED = "stocker.extended.bars.persisted";
+    public static final String EXTENDED_BARS_DROPPED = "stocker.extended.bars.dropped";
+
+    // Finnhub REST (tag: endpoint, status)
+    public static final String FINNHUB_REQUESTS = "stocker.finnhub.requests";
+    public static final String FINNHUB_RATE_LIMITED = "stocker.finnhub.rate_limited";
+    public static final String FINNHUB_RATE_LIMIT_WAIT = "stocker.finnhub.ratelimiter.wait";
+
+    // SSE 구독자 (tag: stream)
+    public static final String SSE_CLIENTS = "stocker.sse.clients";
+
+    // 배치 작업 (tag: job)
+    public static final String BATCH_ITEMS = "stocker.batch.items";
+    public static final String BATCH_DURATION = "stocker.batch.duration";
+
+    private MetricNames() {
+    }
+}
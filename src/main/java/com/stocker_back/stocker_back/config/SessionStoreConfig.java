@@ -0,0 +1,34 @@
+package com.stocker_back.stocker_back.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.session.SessionProperties;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+import java.nio.file.Path;
+
+/**
+ * 세션 저장소 선택 설정 클래스
+ *
+ * app.session.store=jdbc (기본값): spring-session-jdbc 자동 설정 사용 (SPRING_SESSION 테이블)
+ * app.session.store=memory: 프로세스 내 InMemorySessionRepository 사용
+ *   (SessionRepository 빈이 있으면 JDBC 자동 설정은 적용되지 않음)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.session.store", havingValue = "memory")
+@EnableSpringHttpSession
+public class SessionStoreConfig {
+
+    @Bean
+    public InMemorySessionRepository sessionRepository(
+            SessionProperties sessionProperties,
+            ServerProperties serverProperties,
+            @Value("${app.session.memory.persistence-file:}") String persistenceFile) {
+        return new InMemorySessionRepository(
+                sessionProperties.determineTimeout(() -> serverProperties.getServlet().getSession().getTimeout()),
+                persistenceFile.isBlank() ? null : Path.of(persistenceFile));
+    }
+}
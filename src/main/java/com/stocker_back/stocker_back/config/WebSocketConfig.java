@@ -27,6 +27,9 @@ public class WebSocketConfig {
     @Value("${finnhub.websocket.auto-connect:false}")
     private boolean autoConnectWebSocket;
     
+    @Value("${finnhub.websocket.save-on-auto-connect:false}")
+    private boolean saveOnAutoConnect;
+    
     @Value("${finnhub.scheduled.websocket.enabled:true}")
     private boolean scheduledWebSocketEnabled;
     
@@ -42,7 +45,9 @@ public class WebSocketConfig {
             log.info("   ├─ 🕐 Market hours monitoring: ACTIVE");
             log.info("   ├─ 🔄 WebSocket connection management: AUTOMATIC");
             log.info("   ├─ ⏱️  Data collection interval: Every 10 seconds during market hours");
-            log.info("   └─ 🇺🇸 Market hours: 9:30 AM - 4:00 PM ET (Monday-Friday)");
+            log.info("   ├─ 🇺🇸 Market hours: 9:30 AM - 4:00 PM ET (NYSE trading days, early closes applied)");
+            log.info("   └─ 🕐 Ingest sessions: {} (pre 4:00 AM, post until 8:00 PM ET)",
+                    multiKeyFinnhubWebSocketService.getIngestSessions());
             
             scheduledWebSocketService.setScheduledWebSocketEnabled(true);
         }
@@ -52,6 +57,11 @@ public class WebSocketConfig {
             try {
                 Thread.sleep(3000);
                 multiKeyFinnhubWebSocketService.connectAll();
+                if (saveOnAutoConnect) {
+                    // 시장 시간/거래 세션과 무관하게 저장 (시뮬레이터 부하 테스트용)
+                    multiKeyFinnhubWebSocketService.setSessionFilterEnabled(false);
+                    multiKeyFinnhubWebSocketService.enableDataSaving();
+                }
             } catch (Exception e) {
                 log.error("❌ Failed to auto-connect WebSocket", e);
             }
@@ -1,11 +1,16 @@
 package com.stocker_back.stocker_back.controller;
 
+import com.stocker_back.stocker_back.service.SystemStatusService;
+import com.stocker_back.stocker_back.service.TickLatencyTracker;
+import com.stocker_back.stocker_back.service.TickRecorder;
+import com.stocker_back.stocker_back.service.TickReplayService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @RestController
@@ -14,24 +19,184 @@ import java.util.Map;
 @Slf4j
 public class AdminController {
     
+    private final SystemStatusService systemStatusService;
+    private final TickLatencyTracker tickLatencyTracker;
+    private final TickRecorder tickRecorder;
+    private final TickReplayService tickReplayService;
+    
     /**
      * 시스템 상태 조회 (관리자 전용)
+     * JVM, DB 커넥션 풀, WebSocket 수신, Finnhub REST, SSE 구독자, 배치 처리량 요약
      */
     @GetMapping("/system/status")
     public ResponseEntity<?> getSystemStatus(HttpServletRequest request) {
         String adminUsername = (String) request.getAttribute("username");
         log.info("Admin {} requested system status", adminUsername);
         
+        try {
+            Map<String, Object> data = systemStatusService.getStatus();
+            data.put("requestedBy", adminUsername);
+            
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "시스템 상태 조회 성공",
+                "data", data
+            ));
+        } catch (Exception e) {
+            log.error("Error collecting system status", e);
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "시스템 상태 조회 중 오류가 발생했습니다"
+            ));
+        }
+    }
+    
+    /**
+     * 체결 틱 단계별 지연 시간 백분위 조회 (관리자 전용)
+     * receive/parse/publish/persist/deliver 단계별, WebSocket 연결 및 SSE 스트림별 요약
+     */
+    @GetMapping("/latency")
+    public ResponseEntity<?> getTickLatency(HttpServletRequest request) {
+        String adminUsername = (String) request.getAttribute("username");
+        log.info("Admin {} requested tick latency report", adminUsername);
+        
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "message", "틱 지연 시간 조회 성공",
+            "data", tickLatencyTracker.getReport()
+        ));
+    }
+    
+    /**
+     * 틱 지연 시간 기록 초기화 (관리자 전용)
+     */
+    @PostMapping("/latency/reset")
+    public ResponseEntity<?> resetTickLatency(HttpServletRequest request) {
+        String adminUsername = (String) request.getAttribute("username");
+        tickLatencyTracker.reset();
+        log.info("Admin {} reset tick latency recorders", adminUsername);
+        
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "message", "틱 지연 시간 기록이 초기화되었습니다"
+        ));
+    }
+    
+    /**
+     * WebSocket 프레임 기록 목록 및 기록 상태 조회 (관리자 전용)
+     */
+    @GetMapping("/replay/recordings")
+    public ResponseEntity<?> getRecordings(HttpServletRequest request) {
+        String adminUsername = (String) request.getAttribute("username");
+        log.info("Admin {} requested frame recordings", adminUsername);
+        
+        Map<String, Object> data = new HashMap<>();
+        data.put("recording", tickRecorder.isRecording());
+        data.put("currentRecording", tickRecorder.getCurrentRecording());
+        data.put("recordings", tickRecorder.listRecordings());
+        
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "message", "프레임 기록 목록 조회 성공",
+            "data", data
+        ));
+    }
+    
+    /**
+     * WebSocket 프레임 기록 시작 (관리자 전용)
+     */
+    @PostMapping("/replay/recordings/start")
+    public ResponseEntity<?> startRecording(HttpServletRequest request) {
+        String adminUsername = (String) request.getAttribute("username");
+        
+        try {
+            String recording = tickRecorder.start();
+            log.info("Admin {} started frame recording {}", adminUsername, recording);
+            
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "프레임 기록을 시작했습니다",
+                "data", Map.of("recording", recording)
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        }
+    }
+    
+    /**
+     * WebSocket 프레임 기록 중지 (관리자 전용)
+     */
+    @PostMapping("/replay/recordings/stop")
+    public ResponseEntity<?> stopRecording(HttpServletRequest request) {
+        String adminUsername = (String) request.getAttribute("username");
+        tickRecorder.stop();
+        log.info("Admin {} stopped frame recording", adminUsername);
+        
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "message", "프레임 기록을 중지했습니다"
+        ));
+    }
+    
+    /**
+     * 기록된 프레임 재생 시작 (관리자 전용, 시장 시간 외)
+     * speed: 1 = 기록 속도, N = N배속, 0 = 최대 속도
+     * persist: true이면 재생한 체결을 저장 (from/to: 수신 시각 epoch ms 구간)
+     */
+    @PostMapping("/replay/start")
+    public ResponseEntity<?> startReplay(
+            @RequestParam String recording,
+            @RequestParam(defaultValue = "1") double speed,
+            @RequestParam(defaultValue = "false") boolean persist,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            HttpServletRequest request) {
+        String adminUsername = (String) request.getAttribute("username");
+        
+        try {
+            Map<String, Object> replay = tickReplayService.start(recording, speed, persist, from, to);
+            log.info("Admin {} started replay of {}", adminUsername, recording);
+            
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "재생을 시작했습니다",
+                "data", replay
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        }
+    }
+    
+    /**
+     * 진행 중인 재생 중지 (관리자 전용)
+     */
+    @PostMapping("/replay/stop")
+    public ResponseEntity<?> stopReplay(HttpServletRequest request) {
+        String adminUsername = (String) request.getAttribute("username");
+        tickReplayService.stop();
+        log.info("Admin {} stopped replay", adminUsername);
+        
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "message", "재생 중지를 요청했습니다"
+        ));
+    }
+    
+    /**
+     * 재생 진행 상태 조회 (관리자 전용)
+     */
+    @GetMapping("/replay/status")
+    public ResponseEntity<?> getReplayStatus() {
         return ResponseEntity.ok(Map.of(
             "success", true,
-            "message", "시스템 상태 조회 성공",
-            "data", Map.of(
-                "status", "healthy",
-                "uptime", "72h 15m 32s",
-                "activeConnections", 156,
-                "memoryUsage", "45%",
-                "requestedBy", adminUsername
-            )
+            "message", "재생 상태 조회 성공",
+            "data", tickReplayService.getStatus()
         ));
     }
 } 
\ No newline at end of file
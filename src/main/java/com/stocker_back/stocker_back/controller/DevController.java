@@ -2,6 +2,7 @@ package com.stocker_back.stocker_back.controller;
 
 import com.stocker_back.stocker_back.domain.User;
 import com.stocker_back.stocker_back.repository.UserRepository;
+import com.stocker_back.stocker_back.service.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,7 @@ import java.util.Optional;
 public class DevController {
     
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
     
     /**
      * 개발용: 사용자에게 관리자 권한 부여
@@ -34,6 +36,7 @@ public class DevController {
         User user = userOptional.get();
         user.setRole(User.Role.ADMIN);
         userRepository.save(user);
+        userPrincipalCache.invalidate(user.getId());
         
         log.info("User {} has been granted ADMIN role", username);
         
@@ -125,7 +125,8 @@ public class SchedulerController {
             webSocketStatus.put("isDataSavingActive", webSocketSchedulerService.isDataSavingActive());
             webSocketStatus.put("isWebSocketConnected", webSocketSchedulerService.isWebSocketConnected());
             webSocketStatus.put("nextMarketEvent", webSocketSchedulerService.getNextMarketEvent());
-            webSocketStatus.put("schedule", "Pre-market: 9:00 AM, Market: 9:30 AM - 4:00 PM ET (Mon-Fri)");
+            webSocketStatus.put("schedule", "Pre-market: 9:00 AM, Market: 9:30 AM - 4:00 PM ET (NYSE trading days, early closes at 1:00 PM)");
+            webSocketStatus.put("ingestSessions", webSocketSchedulerService.getIngestSessions());
             webSocketStatus.put("purpose", "Real-time trade data collection");
             webSocketStatus.put("mode", "FULLY_AUTOMATED");
             
@@ -1,9 +1,14 @@
 package com.stocker_back.stocker_back.controller;
 
+import com.stocker_back.stocker_back.config.MetricNames;
 import com.stocker_back.stocker_back.domain.Trade;
 import com.stocker_back.stocker_back.dto.FinnhubTradeDTO;
 import com.stocker_back.stocker_back.repository.TradeRepository;
 import com.stocker_back.stocker_back.service.MultiKeyFinnhubWebSocketService;
+import com.stocker_back.stocker_back.service.SymbolInterestSource;
+import com.stocker_back.stocker_back.service.TickLatencyTracker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
@@ -16,6 +21,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.media.Content;
 
+import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -23,6 +29,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * SSE 실시간 거래 데이터 스트리밍 API 컨트롤러
@@ -32,15 +39,25 @@ import java.util.concurrent.TimeUnit;
 @RequestMapping("/api/trades/stream")
 @RequiredArgsConstructor
 @Tag(name = "Trade Stream", description = "실시간 거래 데이터 스트리밍 API")
-public class SimpleSSEController {
+public class SimpleSSEController implements SymbolInterestSource {
     
     private final MultiKeyFinnhubWebSocketService multiKeyWebSocketService;
     private final TradeRepository tradeRepository;
+    private final MeterRegistry meterRegistry;
+    private final TickLatencyTracker tickLatencyTracker;
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
     
     // 활성 SSE 연결 관리
     private final Map<String, SseEmitter> activeConnections = new ConcurrentHashMap<>();
     
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder(MetricNames.SSE_CLIENTS, activeConnections, Map::size)
+                .description("Connected SSE clients")
+                .tag("stream", "trades")
+                .register(meterRegistry);
+    }
+    
     @Operation(
         summary = "실시간 거래 데이터 스트리밍",
         description = "특정 주식 심볼의 실시간 거래 데이터를 SSE(Server-Sent Events)로 스트리밍합니다."
@@ -85,25 +102,45 @@ public class SimpleSSEController {
             log.error("❌ SSE 연결 에러: {}", upperSymbol, throwable);
         });
         
+        // 연결별로 마지막으로 전달 지연을 기록한 체결 시각 (같은 체결을 반복 전송할 때 중복 기록 방지)
+        AtomicLong lastDeliveredTradeAt = new AtomicLong(Long.MIN_VALUE);
+        
         // 즉시 첫 번째 데이터 전송
-        sendLatestTradeData(emitter, upperSymbol, true);
+        sendLatestTradeData(emitter, upperSymbol, true, lastDeliveredTradeAt);
         
         // 주기적으로 데이터 전송
         scheduler.scheduleAtFixedRate(() -> {
             if (activeConnections.containsKey(connectionId)) {
-                sendLatestTradeData(emitter, upperSymbol, false);
+                sendLatestTradeData(emitter, upperSymbol, false, lastDeliveredTradeAt);
             }
         }, interval, interval, TimeUnit.SECONDS);
         
         return emitter;
     }
     
+    /**
+     * 심볼별 활성 SSE 연결 수 (WebSocket 구독 순위용, 연결 id는 "SYMBOL_시각")
+     */
+    @Override
+    public Map<String, Integer> getSymbolInterest() {
+        Map<String, Integer> interest = new HashMap<>();
+        for (String connectionId : activeConnections.keySet()) {
+            int separator = connectionId.lastIndexOf('_');
+            if (separator > 0) {
+                interest.merge(connectionId.substring(0, separator), 1, Integer::sum);
+            }
+        }
+        return interest;
+    }
+    
     // ===== Private Helper Methods =====
     
     /**
      * 특정 심볼의 최신 거래 데이터 전송
+     * @param lastDeliveredTradeAt 이 연결에 마지막으로 전달한 실시간 체결 시각 (epoch ms)
      */
-    private void sendLatestTradeData(SseEmitter emitter, String symbol, boolean isInitial) {
+    private void sendLatestTradeData(SseEmitter emitter, String symbol, boolean isInitial,
+                                     AtomicLong lastDeliveredTradeAt) {
         try {
             Map<String, Object> data = new HashMap<>();
             data.put("symbol", symbol);
@@ -129,15 +166,12 @@ public class SimpleSSEController {
                 List<Trade> dbTrades = tradeRepository.findLatestTradesBySymbol(symbol);
                 if (!dbTrades.isEmpty()) {
                     Trade latestTrade = dbTrades.get(0);
-                    List<String> conditions = latestTrade.getTradeConditions() != null ? 
-                            Arrays.asList(latestTrade.getTradeConditions().split(",")) : 
-                            Collections.emptyList();
                     
                     data.put("trade", Map.of(
                             "price", latestTrade.getPrice(),
                             "volume", latestTrade.getVolume(),
                             "timestamp", latestTrade.getTimestamp(),
-                            "conditions", conditions,
+                            "conditions", latestTrade.getConditions(),
                             "source", "database"
                     ));
                 } else {
@@ -150,6 +184,16 @@ public class SimpleSSEController {
                     .name("trade_data")
                     .data(data));
             
+            // 체결 시각 -> 전송 완료 (실시간 데이터, 연결별로 새 체결일 때 한 번만)
+            // 연결 직후 스냅샷은 지난 체결이므로 기준 시각만 잡고 기록하지 않음
+            if (realtimeData != null && realtimeData.getTimestamp() != null) {
+                long tradeAt = realtimeData.getTimestamp();
+                long previous = lastDeliveredTradeAt.getAndAccumulate(tradeAt, Math::max);
+                if (!isInitial && tradeAt > previous) {
+                    tickLatencyTracker.recordSinceEpochMillis(TickLatencyTracker.Stage.DELIVER, "sse-trades", tradeAt);
+                }
+            }
+            
         } catch (IOException e) {
             log.error("SSE 데이터 전송 실패: {}", symbol, e);
             activeConnections.values().remove(emitter);
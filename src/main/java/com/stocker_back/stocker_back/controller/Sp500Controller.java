@@ -1,28 +1,30 @@
 package com.stocker_back.stocker_back.controller;
 
-import com.stocker_back.stocker_back.domain.Quote;
+import com.stocker_back.stocker_back.domain.ExtendedHoursBar;
+import com.stocker_back.stocker_back.domain.LatestQuote;
 import com.stocker_back.stocker_back.domain.StockSymbol;
 import com.stocker_back.stocker_back.domain.Trade;
-import com.stocker_back.stocker_back.repository.QuoteRepository;
+import com.stocker_back.stocker_back.repository.LatestQuoteRepository;
 import com.stocker_back.stocker_back.repository.StockSymbolRepository;
 import com.stocker_back.stocker_back.repository.TradeRepository;
+import com.stocker_back.stocker_back.service.ExtendedHoursBarService;
 import com.stocker_back.stocker_back.service.Sp500ScraperService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 
 @RestController
@@ -34,8 +36,9 @@ public class Sp500Controller {
 
     private final Sp500ScraperService sp500ScraperService;
     private final StockSymbolRepository stockSymbolRepository;
-    private final QuoteRepository quoteRepository;
+    private final LatestQuoteRepository latestQuoteRepository;
     private final TradeRepository tradeRepository;
+    private final ExtendedHoursBarService extendedHoursBarService;
 
     @Operation(
         summary = "S&P 500 리스트 업데이트",
@@ -115,22 +118,37 @@ public class Sp500Controller {
 
     @Operation(
         summary = "S&P 500 테이블 데이터 조회",
-        description = "S&P 500 주식들의 테이블 표시용 데이터를 조회합니다. (가격, 변화율, 시가총액 등)"
+        description = "S&P 500 주식들의 테이블 표시용 데이터를 조회합니다. (가격, 변화율, 시가총액 등) " +
+                      "extendedHours=true이면 최근 장외 시간(프리마켓/애프터마켓) 가격을 extendedHours 항목으로 함께 반환합니다."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "S&P 500 테이블 데이터 조회 성공"),
         @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @GetMapping("/table")
-    public ResponseEntity<Map<String, Object>> getSp500TableData() {
-        log.info("Received request to get S&P 500 table data");
+    public ResponseEntity<Map<String, Object>> getSp500TableData(
+            @Parameter(description = "장외 시간 가격 포함 여부")
+            @RequestParam(defaultValue = "false") boolean extendedHours) {
+        log.info("Received request to get S&P 500 table data (extendedHours: {})", extendedHours);
         
         try {
             // S&P 500 주식 심볼들 조회
             List<StockSymbol> sp500Symbols = stockSymbolRepository.findByIsSp500TrueAndProfileEmptyFalse();
             
+            // 최신 시세를 한 번의 쿼리로 조회
+            Map<String, LatestQuote> latestQuotes = new HashMap<>();
+            latestQuoteRepository.findLatestQuotes(sp500Symbols.stream().map(StockSymbol::getSymbol).toList())
+                    .forEach(quote -> latestQuotes.put(quote.getSymbol(), quote));
+            
+            // 장외 시간 최신 1분 봉 (1일 이내)
+            Map<String, ExtendedHoursBar> extendedBars = extendedHours
+                    ? extendedHoursBarService.getLatestBars(sp500Symbols.stream().map(StockSymbol::getSymbol).toList(),
+                            System.currentTimeMillis() - Duration.ofDays(1).toMillis())
+                    : Map.of();
+            
             List<Map<String, Object>> tableData = sp500Symbols.stream()
-                    .map(this::buildStockTableData)
+                    .map(stock -> buildStockTableData(stock, latestQuotes.get(stock.getSymbol()),
+                            extendedBars.get(stock.getSymbol())))
                     .filter(data -> data != null)
                     .toList();
             
@@ -155,9 +173,22 @@ public class Sp500Controller {
     /**
      * StockSymbol 데이터를 기반으로 테이블 데이터를 구성합니다.
      * @param stockSymbol 주식 심볼 엔티티
+     * @param latestQuote 해당 심볼의 최신 시세 (없으면 null)
+     * @return 테이블 데이터 Map (Sp500TableBenchmark에서 직접 호출)
+     */
+    Map<String, Object> buildStockTableData(StockSymbol stockSymbol, LatestQuote latestQuote) {
+        return buildStockTableData(stockSymbol, latestQuote, null);
+    }
+
+    /**
+     * StockSymbol 데이터를 기반으로 테이블 데이터를 구성합니다. (장외 시간 가격 포함)
+     * @param stockSymbol 주식 심볼 엔티티
+     * @param latestQuote 해당 심볼의 최신 시세 (없으면 null)
+     * @param extendedBar 해당 심볼의 최근 장외 1분 봉 (없으면 null, 이 경우 extendedHours 항목 생략)
      * @return 테이블 데이터 Map
      */
-    private Map<String, Object> buildStockTableData(StockSymbol stockSymbol) {
+    Map<String, Object> buildStockTableData(StockSymbol stockSymbol, LatestQuote latestQuote,
+                                            ExtendedHoursBar extendedBar) {
         String symbol = stockSymbol.getSymbol();
         
         Map<String, Object> stockData = new HashMap<>();
@@ -166,21 +197,14 @@ public class Sp500Controller {
         stockData.put("logo", stockSymbol.getLogo());
 
         // 현재가: Trade에서 최신 값 우선, 하루 안에 없으면 Quote 사용
-        BigDecimal currentPrice = getCurrentPrice(symbol);
+        BigDecimal currentPrice = getCurrentPrice(symbol, latestQuote);
         stockData.put("price", currentPrice);
         
-        // 이전 종가: Quote에서 가져오기
-        BigDecimal previousPrice = getPreviousPrice(symbol);
-        
-        // 거래량: Quote에서 가져오기
-        Long volume = getVolume(symbol);
-        stockData.put("volume", volume);
-        
-        // 고가, 저가: Quote에서 가져오기
-        BigDecimal high = getHigh(symbol);
-        BigDecimal low = getLow(symbol);
-        stockData.put("high", high);
-        stockData.put("low", low);
+        // 이전 종가, 거래량, 고가, 저가: 최신 Quote에서 가져오기
+        BigDecimal previousPrice = latestQuote != null ? latestQuote.getPreviousClosePrice() : BigDecimal.ZERO;
+        stockData.put("volume", latestQuote != null ? latestQuote.getVolume() : 0L);
+        stockData.put("high", latestQuote != null ? latestQuote.getHighPrice() : BigDecimal.ZERO);
+        stockData.put("low", latestQuote != null ? latestQuote.getLowPrice() : BigDecimal.ZERO);
         
         // 가격 변화 계산
         if (previousPrice != null && previousPrice.compareTo(BigDecimal.ZERO) > 0) {
@@ -195,17 +219,37 @@ public class Sp500Controller {
             stockData.put("percentChange", BigDecimal.ZERO);
         }
 
+        // 장외 시간 가격: 정규장 현재가 대비 변화
+        if (extendedBar != null) {
+            BigDecimal extendedPrice = extendedBar.getClose();
+            Map<String, Object> extended = new HashMap<>();
+            extended.put("session", extendedBar.getSession());
+            extended.put("price", extendedPrice);
+            extended.put("timestamp", extendedBar.getLastTradeAt());
+            if (currentPrice.compareTo(BigDecimal.ZERO) > 0) {
+                BigDecimal change = extendedPrice.subtract(currentPrice);
+                extended.put("change", change);
+                extended.put("percentChange", change.divide(currentPrice, 4, RoundingMode.HALF_UP)
+                                                    .multiply(BigDecimal.valueOf(100)));
+            } else {
+                extended.put("change", BigDecimal.ZERO);
+                extended.put("percentChange", BigDecimal.ZERO);
+            }
+            stockData.put("extendedHours", extended);
+        }
+
         return stockData;
     }
     
     /**
      * 현재가를 조회합니다. Trade에서 하루 안의 최신 값을 우선 사용하고, 없으면 Quote를 사용합니다.
      * @param symbol 주식 심볼
+     * @param latestQuote 해당 심볼의 최신 시세 (없으면 null)
      * @return 현재가
      */
-    private BigDecimal getCurrentPrice(String symbol) {
+    private BigDecimal getCurrentPrice(String symbol, LatestQuote latestQuote) {
         // 1. Trade에서 하루 안의 최신 데이터 조회
-        LocalDateTime oneDayAgo = LocalDateTime.now().minusDays(1);
+        long oneDayAgo = System.currentTimeMillis() - Duration.ofDays(1).toMillis();
         List<Trade> recentTrades = tradeRepository.findTradesBySymbolAfter(symbol, oneDayAgo);
         
         if (!recentTrades.isEmpty()) {
@@ -216,66 +260,12 @@ public class Sp500Controller {
         }
         
         // 2. Trade에 하루 안 데이터가 없으면 Quote 사용
-        Optional<Quote> latestQuoteOpt = quoteRepository.findLatestQuoteBySymbol(symbol);
-        if (latestQuoteOpt.isPresent()) {
-            Quote quote = latestQuoteOpt.get();
-            log.debug("Using Quote price for {}: {}", symbol, quote.getCurrentPrice());
-            return quote.getCurrentPrice();
+        if (latestQuote != null) {
+            log.debug("Using Quote price for {}: {}", symbol, latestQuote.getCurrentPrice());
+            return latestQuote.getCurrentPrice();
         }
         
         log.warn("No price data found for symbol: {}", symbol);
         return BigDecimal.ZERO;
     }
-    
-    /**
-     * 이전 종가를 조회합니다. Quote 테이블에서 가져옵니다.
-     * @param symbol 주식 심볼
-     * @return 이전 종가
-     */
-    private BigDecimal getPreviousPrice(String symbol) {
-        Optional<Quote> latestQuoteOpt = quoteRepository.findLatestQuoteBySymbol(symbol);
-        if (latestQuoteOpt.isPresent()) {
-            return latestQuoteOpt.get().getPreviousClosePrice();
-        }
-        return BigDecimal.ZERO;
-    }
-    
-    /**
-     * 거래량을 조회합니다. Quote 테이블에서 가져옵니다.
-     * @param symbol 주식 심볼
-     * @return 거래량
-     */
-    private Long getVolume(String symbol) {
-        Optional<Quote> latestQuoteOpt = quoteRepository.findLatestQuoteBySymbol(symbol);
-        if (latestQuoteOpt.isPresent()) {
-            return latestQuoteOpt.get().getVolume();
-        }
-        return 0L;
-    }
-    
-    /**
-     * 고가를 조회합니다. Quote 테이블에서 가져옵니다.
-     * @param symbol 주식 심볼
-     * @return 고가
-     */
-    private BigDecimal getHigh(String symbol) {
-        Optional<Quote> latestQuoteOpt = quoteRepository.findLatestQuoteBySymbol(symbol);
-        if (latestQuoteOpt.isPresent()) {
-            return latestQuoteOpt.get().getHighPrice();
-        }
-        return BigDecimal.ZERO;
-    }
-    
-    /**
-     * 저가를 조회합니다. Quote 테이블에서 가져옵니다.
-     * @param symbol 주식 심볼
-     * @return 저가
-     */
-    private BigDecimal getLow(String symbol) {
-        Optional<Quote> latestQuoteOpt = quoteRepository.findLatestQuoteBySymbol(symbol);
-        if (latestQuoteOpt.isPresent()) {
-            return latestQuoteOpt.get().getLowPrice();
-        }
-        return BigDecimal.ZERO;
-    }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.stocker_back.stocker_back.controller;
 
 import com.stocker_back.stocker_back.domain.Trade;
 import com.stocker_back.stocker_back.service.MultiKeyFinnhubWebSocketService;
+import com.stocker_back.stocker_back.service.TradeArchiveService;
 import com.stocker_back.stocker_back.repository.TradeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +19,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -31,8 +34,12 @@ import java.util.Map;
 @Tag(name = "Trade", description = "거래 데이터 및 웹소켓 관리 API")
 public class TradeController {
     
+    // 거래 내역 조회 최대 건수 (보관 구간을 포함한 응답 크기 제한)
+    private static final int MAX_HISTORY_LIMIT = 10000;
+    
     private final MultiKeyFinnhubWebSocketService multiKeyWebSocketService;
     private final TradeRepository tradeRepository;
+    private final TradeArchiveService tradeArchiveService;
     
     // ===== 거래 데이터 조회 API =====
     
@@ -82,9 +89,9 @@ public class TradeController {
     @GetMapping("/{symbol}/price")
     public ResponseEntity<Map<String, Object>> getLatestPrice(@PathVariable String symbol) {
         try {
-            BigDecimal latestPrice = tradeRepository.findLatestPriceBySymbol(symbol.toUpperCase());
+            Long latestPriceMicros = tradeRepository.findLatestPriceMicrosBySymbol(symbol.toUpperCase());
             
-            if (latestPrice == null) {
+            if (latestPriceMicros == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
                     "success", false,
                     "symbol", symbol.toUpperCase(),
@@ -96,7 +103,7 @@ public class TradeController {
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "symbol", symbol.toUpperCase(),
-                "price", latestPrice,
+                "price", BigDecimal.valueOf(latestPriceMicros, Trade.PRICE_SCALE),
                 "currency", "USD",
                 "message", "Successfully retrieved latest price for " + symbol.toUpperCase(),
                 "timestamp", LocalDateTime.now()
@@ -114,33 +121,53 @@ public class TradeController {
     
     /**
      * 시간 범위별 거래 데이터 조회
+     * DB에서 삭제된(보관된) 구간은 보관 파일에서, 나머지 구간은 DB에서 조회하여 합칩니다.
+     * 최신순 limit건까지 반환하며 보관 구간은 DB 결과로 채우고 남은 건수만 읽습니다.
      */
     @GetMapping("/history")
     public ResponseEntity<Map<String, Object>> getTradeHistory(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
-            @RequestParam(required = false) String symbol) {
+            @RequestParam(required = false) String symbol,
+            @RequestParam(defaultValue = "" + MAX_HISTORY_LIMIT) int limit) {
         try {
-            List<Trade> trades;
-            if (symbol != null && !symbol.isEmpty()) {
-                trades = tradeRepository.findTradesBetween(from, to)
-                        .stream()
-                        .filter(trade -> trade.getSymbol().equalsIgnoreCase(symbol))
-                        .toList();
-            } else {
-                trades = tradeRepository.findTradesBetween(from, to);
+            limit = Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT));
+            boolean hasSymbol = symbol != null && !symbol.isEmpty();
+            long fromMillis = from.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            long toMillis = to.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            Long archiveBoundary = tradeArchiveService.getArchiveBoundary();
+            long liveFrom = archiveBoundary != null ? Math.max(fromMillis, archiveBoundary) : fromMillis;
+            
+            List<Trade> trades = new ArrayList<>(hasSymbol
+                    ? tradeRepository.findTradesBySymbolBetween(symbol.toUpperCase(), liveFrom, toMillis)
+                    : tradeRepository.findTradesBetween(liveFrom, toMillis));
+            
+            if (trades.size() > limit) {
+                trades = new ArrayList<>(trades.subList(0, limit));
             }
             
+            // 보관 구간 (최신순 정렬 유지를 위해 DB 결과 뒤에 추가)
+            List<Trade> archivedTrades = tradeArchiveService.findArchivedTrades(fromMillis, toMillis,
+                    hasSymbol ? symbol : null, limit - trades.size());
+            trades.addAll(archivedTrades);
+            
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "data", trades,
                 "count", trades.size(),
+                "archivedCount", archivedTrades.size(),
                 "from", from,
                 "to", to,
                 "symbol", symbol != null ? symbol.toUpperCase() : "All",
                 "message", String.format("Successfully retrieved %d trades within time range", trades.size()),
                 "timestamp", LocalDateTime.now()
             ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "error", e.getMessage(),
+                "timestamp", LocalDateTime.now()
+            ));
         } catch (Exception e) {
             log.error("Failed to get trade history", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
@@ -1,16 +1,22 @@
 package com.stocker_back.stocker_back.controller;
 
 import com.stocker_back.stocker_back.domain.VirtualAccount;
+import com.stocker_back.stocker_back.dto.BasketOrderRequestDto;
+import com.stocker_back.stocker_back.dto.VirtualOrderRequestDto;
 import com.stocker_back.stocker_back.dto.VirtualTradeRequestDto;
+import com.stocker_back.stocker_back.service.PortfolioValuationEngine;
 import com.stocker_back.stocker_back.service.VirtualAccountService;
+import com.stocker_back.stocker_back.service.VirtualOrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.servlet.http.HttpSession;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,6 +27,8 @@ import java.util.Map;
 @Tag(name = "VirtualAccount", description = "모의 투자 계좌 API")
 public class VirtualAccountController {
     private final VirtualAccountService virtualAccountService;
+    private final PortfolioValuationEngine portfolioValuationEngine;
+    private final VirtualOrderService virtualOrderService;
 
     @Operation(summary = "가상 계좌 생성/초기화", description = "로그인한 사용자의 가상 계좌를 생성하거나 초기화합니다.")
     @PostMapping("/init")
@@ -132,6 +140,68 @@ public class VirtualAccountController {
         }
     }
 
+    @Operation(summary = "실시간 포트폴리오 평가 조회", description = "실시간 체결가로 평가된 포트폴리오 스냅샷(평가금액, 평가손익, 비중)을 조회합니다.")
+    @GetMapping("/snapshot")
+    public ResponseEntity<?> getPortfolioSnapshot(HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401).body(Map.of("success", false, "message", "로그인이 필요합니다"));
+        }
+        
+        try {
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "data", portfolioValuationEngine.getSnapshot(userId)
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            log.error("Error getting portfolio snapshot", e);
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "서버 오류가 발생했습니다"
+            ));
+        }
+    }
+
+    @Operation(summary = "실시간 포트폴리오 스트림", description = "포트폴리오 평가 스냅샷을 Server-Sent Events로 전송합니다. 보유 종목 가격이 바뀔 때마다 갱신됩니다.")
+    @GetMapping("/stream")
+    public ResponseEntity<?> streamPortfolio(HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401).body(Map.of("success", false, "message", "로그인이 필요합니다"));
+        }
+        
+        SseEmitter emitter = new SseEmitter(Long.MAX_VALUE);
+        try {
+            emitter.send(SseEmitter.event().name("portfolio_snapshot").data(portfolioValuationEngine.getSnapshot(userId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return ResponseEntity.ok(emitter);
+        }
+        
+        Runnable[] unsubscribe = new Runnable[1];
+        unsubscribe[0] = portfolioValuationEngine.subscribe(userId, snapshot -> {
+            try {
+                emitter.send(SseEmitter.event().name("portfolio_snapshot").data(snapshot));
+            } catch (IOException e) {
+                unsubscribe[0].run();
+            }
+        });
+        emitter.onCompletion(unsubscribe[0]);
+        emitter.onTimeout(unsubscribe[0]);
+        emitter.onError(e -> unsubscribe[0].run());
+        return ResponseEntity.ok(emitter);
+    }
+
     @Operation(summary = "가상 매수", description = "가상 계좌로 주식을 매수합니다.")
     @PostMapping("/buy")
     public ResponseEntity<?> buy(@RequestBody VirtualTradeRequestDto req, HttpSession session) {
@@ -144,8 +214,7 @@ public class VirtualAccountController {
         }
         
         try {
-            virtualAccountService.buy(userId, req.getSymbol(), req.getQuantity());
-            var account = virtualAccountService.createOrResetAccount(userId); // get updated account
+            var account = virtualAccountService.buy(userId, req.getSymbol(), req.getQuantity());
             var portfolio = virtualAccountService.getPortfolio(userId);
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -174,8 +243,7 @@ public class VirtualAccountController {
         }
         
         try {
-            virtualAccountService.sell(userId, req.getSymbol(), req.getQuantity());
-            var account = virtualAccountService.createOrResetAccount(userId); // get updated account
+            var account = virtualAccountService.sell(userId, req.getSymbol(), req.getQuantity());
             var portfolio = virtualAccountService.getPortfolio(userId);
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -191,4 +259,106 @@ public class VirtualAccountController {
             ));
         }
     }
+
+    @Operation(summary = "바스켓 주문", description = "여러 종목의 매수/매도를 같은 시점의 가격으로 한 번에 체결합니다. 하나라도 실패하면 아무것도 체결되지 않으며 레그별 결과를 반환합니다.")
+    @PostMapping("/basket")
+    public ResponseEntity<?> basket(@RequestBody BasketOrderRequestDto req, HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401).body(Map.of("success", false, "message", "로그인이 필요합니다"));
+        }
+        
+        try {
+            var result = virtualAccountService.executeBasket(userId, req.getLegs());
+            if (!result.isExecuted()) {
+                return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", result.getMessage(),
+                    "data", result
+                ));
+            }
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", result.getMessage(),
+                "data", result
+            ));
+        } catch (Exception e) {
+            log.error("Error in virtual basket order", e);
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        }
+    }
+
+    @Operation(summary = "지정가/스탑 주문 접수", description = "지정가(LIMIT) 또는 스탑(STOP) 주문을 접수합니다. 실시간 체결가가 조건을 만족하면 자동으로 체결됩니다.")
+    @PostMapping("/orders")
+    public ResponseEntity<?> placeOrder(@RequestBody VirtualOrderRequestDto req, HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401).body(Map.of("success", false, "message", "로그인이 필요합니다"));
+        }
+        
+        try {
+            var order = virtualOrderService.placeOrder(userId, req);
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "주문이 접수되었습니다",
+                "data", order
+            ));
+        } catch (Exception e) {
+            log.error("Error placing virtual order", e);
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        }
+    }
+
+    @Operation(summary = "주문 목록 조회", description = "로그인한 사용자의 지정가/스탑 주문 목록을 최신순으로 조회합니다.")
+    @GetMapping("/orders")
+    public ResponseEntity<?> getOrders(HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401).body(Map.of("success", false, "message", "로그인이 필요합니다"));
+        }
+        
+        try {
+            var orders = virtualOrderService.getOrders(userId);
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "data", orders
+            ));
+        } catch (Exception e) {
+            log.error("Error getting virtual orders", e);
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "message", "서버 오류가 발생했습니다"
+            ));
+        }
+    }
+
+    @Operation(summary = "주문 취소", description = "체결되지 않은 대기 주문을 취소합니다.")
+    @DeleteMapping("/orders/{orderId}")
+    public ResponseEntity<?> cancelOrder(@PathVariable Long orderId, HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(401).body(Map.of("success", false, "message", "로그인이 필요합니다"));
+        }
+        
+        try {
+            var order = virtualOrderService.cancelOrder(userId, orderId);
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "주문이 취소되었습니다",
+                "data", order
+            ));
+        } catch (Exception e) {
+            log.error("Error cancelling virtual order", e);
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        }
+    }
 } 
\ No newline at end of file
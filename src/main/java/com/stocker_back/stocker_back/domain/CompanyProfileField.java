@@ -0,0 +1,76 @@
+package com.stocker_back.stocker_back.domain;
+
+import com.stocker_back.stocker_back.dto.CompanyProfileDTO;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * stock_info의 회사 프로필 컬럼
+ *
+ * 프로필 갱신 시 저장된 값과 API 응답을 컬럼별로 비교하여 바뀐 컬럼만 UPDATE 하는 데 사용합니다.
+ * (BulkCopyRepository는 ordinal을 비트 위치로 사용)
+ */
+public enum CompanyProfileField {
+    COUNTRY("country", StockSymbol::getCountry, CompanyProfileDTO::getCountry,
+            (symbol, profile) -> symbol.setCountry(profile.getCountry())),
+    ESTIMATE_CURRENCY("estimate_currency", StockSymbol::getEstimateCurrency, CompanyProfileDTO::getEstimateCurrency,
+            (symbol, profile) -> symbol.setEstimateCurrency(profile.getEstimateCurrency())),
+    FINNHUB_INDUSTRY("finnhub_industry", StockSymbol::getFinnhubIndustry, CompanyProfileDTO::getFinnhubIndustry,
+            (symbol, profile) -> symbol.setFinnhubIndustry(profile.getFinnhubIndustry())),
+    IPO("ipo", StockSymbol::getIpo, CompanyProfileDTO::getIpo,
+            (symbol, profile) -> symbol.setIpo(profile.getIpo())),
+    LOGO("logo", StockSymbol::getLogo, CompanyProfileDTO::getLogo,
+            (symbol, profile) -> symbol.setLogo(profile.getLogo())),
+    NAME("name", StockSymbol::getName, CompanyProfileDTO::getName,
+            (symbol, profile) -> symbol.setName(profile.getName())),
+    PHONE("phone", StockSymbol::getPhone, CompanyProfileDTO::getPhone,
+            (symbol, profile) -> symbol.setPhone(profile.getPhone())),
+    SHARE_OUTSTANDING("share_outstanding", StockSymbol::getShareOutstanding, CompanyProfileDTO::getShareOutstanding,
+            (symbol, profile) -> symbol.setShareOutstanding(profile.getShareOutstanding())),
+    WEBURL("weburl", StockSymbol::getWeburl, CompanyProfileDTO::getWeburl,
+            (symbol, profile) -> symbol.setWeburl(profile.getWeburl()));
+
+    private final String column;
+    private final Function<StockSymbol, Object> stored;
+    private final Function<CompanyProfileDTO, Object> fetched;
+    private final BiConsumer<StockSymbol, CompanyProfileDTO> copier;
+
+    CompanyProfileField(String column, Function<StockSymbol, Object> stored,
+                        Function<CompanyProfileDTO, Object> fetched,
+                        BiConsumer<StockSymbol, CompanyProfileDTO> copier) {
+        this.column = column;
+        this.stored = stored;
+        this.fetched = fetched;
+        this.copier = copier;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * 엔티티에 저장된 값
+     */
+    public Object get(StockSymbol symbol) {
+        return stored.apply(symbol);
+    }
+
+    /**
+     * 저장된 값과 API 응답이 다른 컬럼을 엔티티에 반영
+     * @return 바뀐 컬럼 (없으면 빈 집합)
+     */
+    public static Set<CompanyProfileField> applyChanges(StockSymbol symbol, CompanyProfileDTO profile) {
+        Set<CompanyProfileField> changed = EnumSet.noneOf(CompanyProfileField.class);
+        for (CompanyProfileField field : values()) {
+            if (!Objects.equals(field.stored.apply(symbol), field.fetched.apply(profile))) {
+                field.copier.accept(symbol, profile);
+                changed.add(field);
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,90 @@
+package com.stocker_back.stocker_back.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 장외 시간(프리마켓/애프터마켓) 1분 봉
+ *
+ * 장외 체결은 정규장 trades 파티션/인덱스에 넣지 않고 심볼별 1분 OHLCV로만 보관합니다.
+ * 수집 중인 봉은 flush 주기마다 증분으로 upsert 되며, DB에서 고가/저가/거래량을 합쳐
+ * 같은 (symbol, bucket_start) 행으로 누적됩니다.
+ */
+@Entity
+@Table(name = "extended_hours_bars",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_extended_hours_bars_symbol_bucket", columnNames = {"symbol", "bucket_start"})
+       },
+       indexes = {
+           @Index(name = "idx_extended_hours_bars_bucket", columnList = "bucket_start")
+       })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExtendedHoursBar {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 20)
+    private String symbol;
+
+    @Column(nullable = false, name = "bucket_start")
+    private long bucketStart; // 봉 시작 시각 (epoch ms, 1분 단위)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 12)
+    private TradingSession session;
+
+    @JsonIgnore
+    @Column(nullable = false, name = "open_micros")
+    private long openMicros;
+
+    @JsonIgnore
+    @Column(nullable = false, name = "high_micros")
+    private long highMicros;
+
+    @JsonIgnore
+    @Column(nullable = false, name = "low_micros")
+    private long lowMicros;
+
+    @JsonIgnore
+    @Column(nullable = false, name = "close_micros")
+    private long closeMicros;
+
+    @Column(nullable = false)
+    private long volume;
+
+    @Column(nullable = false, name = "trade_count")
+    private int tradeCount;
+
+    @Column(nullable = false, name = "first_trade_at")
+    private long firstTradeAt; // 봉의 첫 체결 시각 (epoch ms, 시가 병합 기준)
+
+    @Column(nullable = false, name = "last_trade_at")
+    private long lastTradeAt; // 봉의 마지막 체결 시각 (epoch ms, 종가 병합 기준)
+
+    public BigDecimal getOpen() {
+        return BigDecimal.valueOf(openMicros, Trade.PRICE_SCALE);
+    }
+
+    public BigDecimal getHigh() {
+        return BigDecimal.valueOf(highMicros, Trade.PRICE_SCALE);
+    }
+
+    public BigDecimal getLow() {
+        return BigDecimal.valueOf(lowMicros, Trade.PRICE_SCALE);
+    }
+
+    public BigDecimal getClose() {
+        return BigDecimal.valueOf(closeMicros, Trade.PRICE_SCALE);
+    }
+}
@@ -15,8 +15,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class FinancialMetrics {
     
+    // id 시퀀스 할당 크기 (pooled optimizer, DB 시퀀스 INCREMENT BY와 같아야 함)
+    public static final int ID_ALLOCATION_SIZE = 100;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "basic_financials_id_gen")
+    @SequenceGenerator(name = "basic_financials_id_gen", sequenceName = "basic_financials_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false, length = 20)
@@ -0,0 +1,51 @@
+package com.stocker_back.stocker_back.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 심볼별 최신 시세 (심볼당 1행)
+ * quotes에 시세가 기록될 때 같은 트랜잭션에서 upsert 되므로 최신 시세 조회가 PK 조회로 끝납니다.
+ */
+@Entity
+@Table(name = "latest_quote")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatestQuote {
+    
+    @Id
+    @Column(length = 20)
+    private String symbol;
+    
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal currentPrice;
+    
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal openPrice;
+    
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal highPrice;
+    
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal lowPrice;
+    
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal previousClosePrice;
+    
+    @Column(nullable = false)
+    private Long volume;
+    
+    @Column(nullable = false)
+    private Long timestamp; // Unix timestamp from Finnhub
+    
+    @Column(nullable = false, name = "updated_at")
+    private LocalDateTime updatedAt;
+}
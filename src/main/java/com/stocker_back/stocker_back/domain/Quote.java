@@ -22,8 +22,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Quote {
     
+    // id 시퀀스 할당 크기 (pooled optimizer, DB 시퀀스 INCREMENT BY와 같아야 함)
+    public static final int ID_ALLOCATION_SIZE = 500;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quotes_id_gen")
+    @SequenceGenerator(name = "quotes_id_gen", sequenceName = "quotes_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false, length = 20)
@@ -15,8 +15,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class StockSymbol {
     
+    // id 시퀀스 할당 크기 (pooled optimizer, DB 시퀀스 INCREMENT BY와 같아야 함)
+    public static final int ID_ALLOCATION_SIZE = 200;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_info_id_gen")
+    @SequenceGenerator(name = "stock_info_id_gen", sequenceName = "stock_info_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false, length = 20)
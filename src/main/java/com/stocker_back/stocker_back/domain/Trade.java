@@ -1,5 +1,10 @@
 package com.stocker_back.stocker_back.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.StdConverter;
+import com.stocker_back.stocker_back.util.TradeConditions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,7 +12,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
 
 @Entity
 @Table(name = "trades", 
@@ -22,33 +31,89 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Trade {
     
+    // JSON 응답은 저장 형식 변경 전과 같은 속성 이름/형식을 유지
+    // (price: 소수, receivedAt: ISO 일시, tradeConditions: 쉼표 구분 문자열)
+    
+    // 가격 저장 배율 (micro-units, 가격 × 10^6)
+    public static final int PRICE_SCALE = 6;
+    
+    // id 시퀀스 할당 크기 (pooled optimizer, DB 시퀀스 INCREMENT BY와 같아야 함)
+    public static final int ID_ALLOCATION_SIZE = 500;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trades_id_gen")
+    @SequenceGenerator(name = "trades_id_gen", sequenceName = "trades_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false, length = 20)
     private String symbol;
     
-    @Column(nullable = false, precision = 19, scale = 6)
-    private BigDecimal price;
+    @JsonIgnore
+    @Column(nullable = false, name = "price_micros")
+    private long priceMicros; // 가격 × 10^6
     
     @Column(nullable = false)
-    private Long volume;
+    private long volume;
     
     @Column(nullable = false)
-    private Long timestamp; // Unix timestamp from Finnhub
+    private long timestamp; // Unix timestamp (ms) from Finnhub
     
+    @JsonSerialize(converter = EpochMillisToLocalDateTime.class)
     @Column(nullable = false, name = "received_at")
-    private LocalDateTime receivedAt; // When we received this data
+    private long receivedAt; // When we received this data (epoch ms)
     
     // Finnhub specific fields
-    @Column(name = "trade_conditions")
-    private String tradeConditions; // 거래 조건들 (comma separated)
+    @JsonIgnore
+    @Column(nullable = false, name = "conditions")
+    private long conditionBits; // 거래 조건 코드 비트셋 (TradeConditions 참고)
     
     @PrePersist
     protected void onCreate() {
-        if (receivedAt == null) {
-            receivedAt = LocalDateTime.now();
+        if (receivedAt == 0L) {
+            receivedAt = System.currentTimeMillis();
+        }
+    }
+    
+    /**
+     * 가격 (API 응답 호환용)
+     */
+    public BigDecimal getPrice() {
+        return BigDecimal.valueOf(priceMicros, PRICE_SCALE);
+    }
+    
+    /**
+     * 거래 조건 코드 목록
+     */
+    @JsonIgnore
+    public List<String> getConditions() {
+        return TradeConditions.toList(conditionBits);
+    }
+    
+    /**
+     * 거래 조건 코드 (API 응답 호환용, 쉼표 구분, 조건이 없으면 null)
+     */
+    @JsonProperty("tradeConditions")
+    public String getTradeConditions() {
+        return conditionBits != 0L ? String.join(",", getConditions()) : null;
+    }
+    
+    /**
+     * 가격을 micro-units로 변환
+     */
+    public static long toPriceMicros(BigDecimal price) {
+        if (price == null) {
+            return 0L;
+        }
+        return price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    /**
+     * epoch ms → 서버 시간대의 LocalDateTime (receivedAt JSON 직렬화용)
+     */
+    public static final class EpochMillisToLocalDateTime extends StdConverter<Long, LocalDateTime> {
+        @Override
+        public LocalDateTime convert(Long epochMillis) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.stocker_back.stocker_back.domain;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 미국 주식 거래 세션 (America/New_York)
+ * - PRE_MARKET: 04:00 ~ 정규장 개장
+ * - REGULAR: 09:30 ~ 16:00 (조기 폐장일은 캘린더의 폐장 시각)
+ * - AFTER_HOURS: 정규장 폐장 ~ 20:00 (조기 폐장일은 17:00)
+ */
+public enum TradingSession {
+    PRE_MARKET("pre"),
+    REGULAR("regular"),
+    AFTER_HOURS("post");
+
+    private final String code;
+
+    TradingSession(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public boolean isExtended() {
+        return this != REGULAR;
+    }
+
+    /**
+     * 설정 값(pre,regular,post)을 세션 집합으로 변환
+     */
+    public static Set<TradingSession> parseList(String value) {
+        Set<TradingSession> sessions = EnumSet.noneOf(TradingSession.class);
+        if (value == null || value.isBlank()) {
+            return sessions;
+        }
+        for (String token : value.split(",")) {
+            String code = token.trim().toLowerCase(Locale.ROOT);
+            if (code.isEmpty()) {
+                continue;
+            }
+            sessions.add(fromCode(code));
+        }
+        return sessions;
+    }
+
+    public static TradingSession fromCode(String code) {
+        for (TradingSession session : values()) {
+            if (session.code.equals(code) || session.name().equalsIgnoreCase(code)) {
+                return session;
+            }
+        }
+        throw new IllegalArgumentException("Unknown trading session: " + code + " (expected pre, regular or post)");
+    }
+}
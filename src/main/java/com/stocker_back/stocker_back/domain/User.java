@@ -19,8 +19,12 @@ import java.util.Collections;
 @NoArgsConstructor
 public class User implements UserDetails {
     
+    // id 시퀀스 할당 크기 (pooled optimizer, DB 시퀀스 INCREMENT BY와 같아야 함)
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_gen")
+    @SequenceGenerator(name = "users_id_gen", sequenceName = "users_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false, unique = true)
@@ -13,8 +13,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class VirtualAccount {
+    // id 시퀀스 할당 크기 (pooled optimizer, DB 시퀀스 INCREMENT BY와 같아야 함)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "virtual_account_id_gen")
+    @SequenceGenerator(name = "virtual_account_id_gen", sequenceName = "virtual_account_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -24,6 +28,19 @@ public class VirtualAccount {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal balance;
 
+    // ===== 거래 누적 집계 (매수/매도 시 갱신, null이면 아직 거래 내역에서 계산되지 않은 기존 계좌) =====
+    @Column(name = "total_buy_amount", precision = 19, scale = 2)
+    private BigDecimal totalBuyAmount;
+
+    @Column(name = "total_realized_profit", precision = 19, scale = 2)
+    private BigDecimal totalRealizedProfit;
+
+    @Column(name = "buy_trade_count")
+    private Long buyTradeCount;
+
+    @Column(name = "sell_trade_count")
+    private Long sellTradeCount;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -40,4 +57,53 @@ public class VirtualAccount {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
+
+    /**
+     * 누적 집계가 초기화되어 있는지 여부
+     */
+    public boolean hasTradeAggregates() {
+        return totalBuyAmount != null && totalRealizedProfit != null
+                && buyTradeCount != null && sellTradeCount != null;
+    }
+
+    /**
+     * 누적 집계를 주어진 값으로 설정
+     */
+    public void initTradeAggregates(BigDecimal totalBuyAmount, BigDecimal totalRealizedProfit,
+                                    long buyTradeCount, long sellTradeCount) {
+        this.totalBuyAmount = totalBuyAmount;
+        this.totalRealizedProfit = totalRealizedProfit;
+        this.buyTradeCount = buyTradeCount;
+        this.sellTradeCount = sellTradeCount;
+    }
+
+    /**
+     * 누적 집계 초기화 (계좌 리셋)
+     */
+    public void resetTradeAggregates() {
+        initTradeAggregates(BigDecimal.ZERO, BigDecimal.ZERO, 0L, 0L);
+    }
+
+    /**
+     * 매수 체결 반영
+     */
+    public void recordBuy(BigDecimal totalAmount) {
+        totalBuyAmount = totalBuyAmount.add(totalAmount);
+        buyTradeCount++;
+    }
+
+    /**
+     * 매도 체결 반영
+     */
+    public void recordSell(BigDecimal realizedProfit) {
+        totalRealizedProfit = totalRealizedProfit.add(realizedProfit);
+        sellTradeCount++;
+    }
+
+    /**
+     * 총 거래 횟수
+     */
+    public long getTotalTradeCount() {
+        return (buyTradeCount != null ? buyTradeCount : 0L) + (sellTradeCount != null ? sellTradeCount : 0L);
+    }
 } 
\ No newline at end of file
@@ -6,15 +6,22 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "virtual_holding")
+@Table(name = "virtual_holding", uniqueConstraints = {
+    // 계좌당 종목별 보유 행은 하나
+    @UniqueConstraint(name = "uk_virtual_holding_account_symbol", columnNames = {"virtual_account_id", "symbol"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class VirtualHolding {
+    // id 시퀀스 할당 크기 (pooled optimizer, DB 시퀀스 INCREMENT BY와 같아야 함)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "virtual_holding_id_gen")
+    @SequenceGenerator(name = "virtual_holding_id_gen", sequenceName = "virtual_holding_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,90 @@
+package com.stocker_back.stocker_back.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 가상 계좌 대기 주문 (지정가/스탑)
+ * OPEN 상태의 주문은 메모리 주문장에 올라가 실시간 체결가와 매칭됩니다.
+ */
+@Entity
+@Table(name = "virtual_order", indexes = {
+    @Index(name = "idx_virtual_order_status", columnList = "status"),
+    @Index(name = "idx_virtual_order_account_created", columnList = "virtual_account_id, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VirtualOrder {
+    // id 시퀀스 할당 크기 (pooled optimizer, DB 시퀀스 INCREMENT BY와 같아야 함)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "virtual_order_id_gen")
+    @SequenceGenerator(name = "virtual_order_id_gen", sequenceName = "virtual_order_id_seq", allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "virtual_account_id", nullable = false)
+    private VirtualAccount virtualAccount;
+
+    @Column(nullable = false, length = 20)
+    private String symbol;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private VirtualTradeHistory.TradeType side;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderType orderType;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal quantity;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal price; // 지정가 또는 스탑 가격
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(precision = 19, scale = 4)
+    private BigDecimal filledPrice;
+
+    private LocalDateTime filledAt;
+
+    @Column(length = 200)
+    private String rejectReason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum OrderType {
+        LIMIT, // 지정가: 매수는 체결가 <= 지정가, 매도는 체결가 >= 지정가일 때 체결
+        STOP   // 스탑: 매수는 체결가 >= 스탑 가격, 매도는 체결가 <= 스탑 가격일 때 시장가 체결
+    }
+
+    public enum OrderStatus {
+        OPEN, FILLED, CANCELLED, REJECTED
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+        if (updatedAt == null) updatedAt = LocalDateTime.now();
+        if (status == null) status = OrderStatus.OPEN;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
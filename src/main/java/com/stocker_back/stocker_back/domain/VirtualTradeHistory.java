@@ -13,8 +13,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class VirtualTradeHistory {
+    // id 시퀀스 할당 크기 (pooled optimizer, DB 시퀀스 INCREMENT BY와 같아야 함)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "virtual_trade_history_id_gen")
+    @SequenceGenerator(name = "virtual_trade_history_id_gen", sequenceName = "virtual_trade_history_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
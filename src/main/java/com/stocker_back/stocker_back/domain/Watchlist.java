@@ -20,8 +20,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Watchlist {
     
+    // id 시퀀스 할당 크기 (pooled optimizer, DB 시퀀스 INCREMENT BY와 같아야 함)
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "watchlist_id_gen")
+    @SequenceGenerator(name = "watchlist_id_gen", sequenceName = "watchlist_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
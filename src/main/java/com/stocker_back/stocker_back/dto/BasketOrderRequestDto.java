@@ -0,0 +1,27 @@
+package com.stocker_back.stocker_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BasketOrderRequestDto {
+    private List<LegDto> legs;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LegDto {
+        private String symbol;
+        private String side;         // BUY, SELL
+        private BigDecimal quantity;
+    }
+}
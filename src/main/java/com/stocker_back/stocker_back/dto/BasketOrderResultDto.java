@@ -0,0 +1,37 @@
+package com.stocker_back.stocker_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BasketOrderResultDto {
+    private boolean executed;             // 전체 체결 여부 (false면 아무것도 반영되지 않음)
+    private String message;
+    private BigDecimal balance;           // 바스켓 처리 후 현금 잔고
+    private BigDecimal totalBuyAmount;    // 매수 레그 합계
+    private BigDecimal totalSellAmount;   // 매도 레그 합계
+    private List<LegResultDto> legs;      // 레그별 결과 (요청 순서)
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LegResultDto {
+        private String symbol;
+        private String side;
+        private BigDecimal quantity;
+        private BigDecimal price;          // 체결(또는 예정) 가격
+        private BigDecimal amount;         // price * quantity
+        private BigDecimal realizedProfit; // 매도 시 실현 손익
+        private String status;             // FILLED, REJECTED, SKIPPED
+        private String message;
+    }
+}
@@ -0,0 +1,40 @@
+package com.stocker_back.stocker_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioSnapshotDto {
+    
+    private BigDecimal cashBalance;           // 현금 잔고
+    private BigDecimal holdingsValue;         // 보유 종목 평가금액 합계
+    private BigDecimal totalMarketValue;      // 총 평가금액 (보유 종목 평가금액 + 현금)
+    private BigDecimal costBasis;             // 보유 종목 매입금액 합계
+    private BigDecimal unrealizedProfit;      // 평가손익
+    private List<PositionDto> positions;
+    private LocalDateTime updatedAt;          // 마지막 가격 반영 시각
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PositionDto {
+        private String symbol;
+        private String logo;
+        private BigDecimal quantity;
+        private BigDecimal avgPrice;
+        private BigDecimal currentPrice;      // 가격 정보가 없으면 null
+        private BigDecimal marketValue;       // currentPrice * quantity
+        private BigDecimal unrealizedProfit;  // (currentPrice - avgPrice) * quantity
+        private BigDecimal weight;            // 총 평가금액 대비 비중 (%)
+    }
+}
@@ -0,0 +1,21 @@
+package com.stocker_back.stocker_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockPriceDto {
+    private String symbol;
+    private BigDecimal price;          // 현재가 (1일 이내 Trade 우선, 없으면 최신 Quote)
+    private BigDecimal previousClose;  // 이전 종가 (최신 Quote)
+    private BigDecimal change;         // price - previousClose
+    private String logo;
+    private String session;            // 현재가 출처 세션 (REGULAR, PRE_MARKET, AFTER_HOURS; 장외 시간 포함 조회에서만)
+}
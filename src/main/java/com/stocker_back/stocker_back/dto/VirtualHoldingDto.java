@@ -19,4 +19,5 @@ public class VirtualHoldingDto {
     private BigDecimal evalAmount;   // 평가금액 = currentPrice * quantity
     private BigDecimal evalProfit;   // 평가손익 = (currentPrice - avgPrice) * quantity
     private String logo;
+    private String priceSession;     // 현재가 출처 세션 (REGULAR, PRE_MARKET, AFTER_HOURS)
 } 
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.stocker_back.stocker_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VirtualOrderDto {
+    private Long id;
+    private String symbol;
+    private String side;
+    private String orderType;
+    private BigDecimal quantity;
+    private BigDecimal price;
+    private String status;
+    private BigDecimal filledPrice;
+    private LocalDateTime filledAt;
+    private String rejectReason;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,20 @@
+package com.stocker_back.stocker_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VirtualOrderRequestDto {
+    private String symbol;
+    private String side;       // BUY, SELL
+    private String orderType;  // LIMIT, STOP
+    private BigDecimal quantity;
+    private BigDecimal price;  // 지정가 또는 스탑 가격
+}
@@ -0,0 +1,421 @@
+package com.stocker_back.stocker_back.repository;
+
+import com.stocker_back.stocker_back.domain.CompanyProfileField;
+import com.stocker_back.stocker_back.domain.ExtendedHoursBar;
+import com.stocker_back.stocker_back.domain.Quote;
+import com.stocker_back.stocker_back.domain.StockSymbol;
+import com.stocker_back.stocker_back.domain.Trade;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL COPY 기반 대량 쓰기 저장소
+ *
+ * Hibernate saveAll은 JDBC 배치(hibernate.jdbc.batch_size)로 묶여도 영속성 컨텍스트에 엔티티가 쌓이므로,
+ * 대량 적재 경로(실시간 거래, 시세 배치, 심볼/프로필 배치)는 CopyManager로 직접 기록합니다.
+ * - INSERT 전용(거래): 대상 테이블로 바로 COPY (id는 DB 기본값 사용)
+ * - UPSERT/UPDATE: 임시 테이블로 COPY 후 한 번의 INSERT ... ON CONFLICT / UPDATE ... FROM
+ * - 시세: 임시 테이블로 COPY 후 quotes INSERT와 latest_quote upsert를 같은 트랜잭션에서 수행
+ * - 장외 봉: 임시 테이블로 COPY 후 (symbol, bucket_start)별로 합쳐 기존 봉과 병합 upsert
+ * - 회사 프로필: 행마다 바뀐 컬럼 비트마스크를 함께 COPY 하여 바뀐 컬럼만 UPDATE
+ *
+ * 엔티티의 @PrePersist가 호출되지 않으므로 기본값(created_at 등)은 여기서 채웁니다.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class BulkCopyRepository {
+
+    private static final String QUOTE_COLUMNS =
+            "symbol, current_price, open_price, high_price, low_price, previous_close_price, " +
+            "volume, timestamp, created_at";
+
+    private static final String LATEST_QUOTE_COLUMNS =
+            "symbol, current_price, open_price, high_price, low_price, previous_close_price, " +
+            "volume, timestamp, updated_at";
+
+    // 더 오래된 시세가 늦게 도착해도 최신 값을 덮어쓰지 않음
+    private static final String LATEST_QUOTE_CONFLICT_CLAUSE =
+            "ON CONFLICT (symbol) DO UPDATE SET " +
+            "current_price = EXCLUDED.current_price, open_price = EXCLUDED.open_price, " +
+            "high_price = EXCLUDED.high_price, low_price = EXCLUDED.low_price, " +
+            "previous_close_price = EXCLUDED.previous_close_price, volume = EXCLUDED.volume, " +
+            "timestamp = EXCLUDED.timestamp, updated_at = EXCLUDED.updated_at " +
+            "WHERE latest_quote.timestamp <= EXCLUDED.timestamp";
+
+    private static final String EXTENDED_BAR_COLUMNS =
+            "symbol, bucket_start, session, open_micros, high_micros, low_micros, close_micros, " +
+            "volume, trade_count, first_trade_at, last_trade_at";
+
+    // 증분 봉 병합: 시가는 더 이른 첫 체결, 종가는 더 늦은 마지막 체결 기준, 거래량/건수는 합산
+    private static final String EXTENDED_BAR_CONFLICT_CLAUSE =
+            "ON CONFLICT (symbol, bucket_start) DO UPDATE SET " +
+            "open_micros = CASE WHEN EXCLUDED.first_trade_at < extended_hours_bars.first_trade_at " +
+            "    THEN EXCLUDED.open_micros ELSE extended_hours_bars.open_micros END, " +
+            "high_micros = GREATEST(extended_hours_bars.high_micros, EXCLUDED.high_micros), " +
+            "low_micros = LEAST(extended_hours_bars.low_micros, EXCLUDED.low_micros), " +
+            "close_micros = CASE WHEN EXCLUDED.last_trade_at >= extended_hours_bars.last_trade_at " +
+            "    THEN EXCLUDED.close_micros ELSE extended_hours_bars.close_micros END, " +
+            "volume = extended_hours_bars.volume + EXCLUDED.volume, " +
+            "trade_count = extended_hours_bars.trade_count + EXCLUDED.trade_count, " +
+            "first_trade_at = LEAST(extended_hours_bars.first_trade_at, EXCLUDED.first_trade_at), " +
+            "last_trade_at = GREATEST(extended_hours_bars.last_trade_at, EXCLUDED.last_trade_at)";
+
+    private static final String STOCK_INFO_INSERT_COLUMNS =
+            "symbol, description, display_symbol, type, currency, exchange, figi, mic, " +
+            "last_updated, last_profile_updated, profile_empty, is_sp_500";
+
+    private static final String STOCK_INFO_PROFILE_COLUMNS = "id, " +
+            Arrays.stream(CompanyProfileField.values()).map(CompanyProfileField::getColumn).collect(Collectors.joining(", ")) +
+            ", last_profile_updated, profile_empty";
+
+    // changed_fields 비트(CompanyProfileField.ordinal)가 켜진 컬럼만 스테이징 값으로 교체
+    private static final String STOCK_INFO_PROFILE_SET_CLAUSE = Arrays.stream(CompanyProfileField.values())
+            .map(field -> field.getColumn() + " = CASE WHEN (p.changed_fields & " + (1 << field.ordinal()) +
+                    ") <> 0 THEN p." + field.getColumn() + " ELSE s." + field.getColumn() + " END")
+            .collect(Collectors.joining(", "));
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 거래 데이터 대량 INSERT
+     * @return 기록된 행 수
+     */
+    public long copyTrades(List<Trade> trades) {
+        if (trades.isEmpty()) {
+            return 0;
+        }
+        CsvBuilder csv = new CsvBuilder(trades.size() * 48);
+        for (Trade trade : trades) {
+            csv.add(trade.getSymbol())
+               .add(trade.getPriceMicros())
+               .add(trade.getVolume())
+               .add(trade.getTimestamp())
+               .add(trade.getReceivedAt() != 0L ? trade.getReceivedAt() : System.currentTimeMillis())
+               .add(trade.getConditionBits())
+               .endRow();
+        }
+        return copyIn("COPY trades (symbol, price_micros, volume, timestamp, received_at, conditions) " +
+                "FROM STDIN WITH (FORMAT csv)", csv);
+    }
+
+    /**
+     * 장외 시간 증분 봉 대량 upsert
+     * 같은 배치에 같은 (symbol, bucket_start) 봉이 여러 개 있어도 임시 테이블에서 먼저 합친 뒤 병합합니다.
+     * @return upsert 된 봉 수
+     */
+    @Transactional
+    public int upsertExtendedHoursBars(List<ExtendedHoursBar> bars) {
+        if (bars.isEmpty()) {
+            return 0;
+        }
+        CsvBuilder csv = new CsvBuilder(bars.size() * 112);
+        for (ExtendedHoursBar bar : bars) {
+            csv.add(bar.getSymbol())
+               .add(bar.getBucketStart())
+               .add(bar.getSession().name())
+               .add(bar.getOpenMicros())
+               .add(bar.getHighMicros())
+               .add(bar.getLowMicros())
+               .add(bar.getCloseMicros())
+               .add(bar.getVolume())
+               .add(bar.getTradeCount())
+               .add(bar.getFirstTradeAt())
+               .add(bar.getLastTradeAt())
+               .endRow();
+        }
+
+        createStagingTable("extended_hours_bars_staging", "extended_hours_bars", EXTENDED_BAR_COLUMNS);
+        copyIn("COPY extended_hours_bars_staging (" + EXTENDED_BAR_COLUMNS + ") FROM STDIN WITH (FORMAT csv)", csv);
+        return jdbcTemplate.update(
+                "INSERT INTO extended_hours_bars (" + EXTENDED_BAR_COLUMNS + ") " +
+                "SELECT symbol, bucket_start, MIN(session), " +
+                "(ARRAY_AGG(open_micros ORDER BY first_trade_at))[1], MAX(high_micros), MIN(low_micros), " +
+                "(ARRAY_AGG(close_micros ORDER BY last_trade_at DESC))[1], SUM(volume), SUM(trade_count), " +
+                "MIN(first_trade_at), MAX(last_trade_at) " +
+                "FROM extended_hours_bars_staging GROUP BY symbol, bucket_start " +
+                EXTENDED_BAR_CONFLICT_CLAUSE);
+    }
+
+    /**
+     * 시세 데이터 대량 INSERT + latest_quote upsert (같은 트랜잭션)
+     * @return 기록된 행 수
+     */
+    @Transactional
+    public int copyQuotes(List<Quote> quotes) {
+        if (quotes.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        CsvBuilder csv = new CsvBuilder(quotes.size() * 96);
+        for (Quote quote : quotes) {
+            csv.add(quote.getSymbol())
+               .add(quote.getCurrentPrice())
+               .add(quote.getOpenPrice())
+               .add(quote.getHighPrice())
+               .add(quote.getLowPrice())
+               .add(quote.getPreviousClosePrice())
+               .add(quote.getVolume() != null ? quote.getVolume() : 0L)
+               .add(quote.getTimestamp())
+               .add(quote.getCreatedAt() != null ? quote.getCreatedAt() : now)
+               .endRow();
+        }
+
+        createStagingTable("quotes_staging", "quotes", QUOTE_COLUMNS);
+        copyIn("COPY quotes_staging (" + QUOTE_COLUMNS + ") FROM STDIN WITH (FORMAT csv)", csv);
+        int inserted = jdbcTemplate.update(
+                "INSERT INTO quotes (" + QUOTE_COLUMNS + ") SELECT " + QUOTE_COLUMNS + " FROM quotes_staging");
+        jdbcTemplate.update(
+                "INSERT INTO latest_quote (" + LATEST_QUOTE_COLUMNS + ") " +
+                "SELECT DISTINCT ON (symbol) symbol, current_price, open_price, high_price, low_price, " +
+                "previous_close_price, volume, timestamp, created_at FROM quotes_staging " +
+                "ORDER BY symbol, timestamp DESC " + LATEST_QUOTE_CONFLICT_CLAUSE);
+        return inserted;
+    }
+
+    /**
+     * latest_quote upsert (JPA로 저장한 단건 시세용, 호출자 트랜잭션에 참여)
+     * 이미 더 최신 timestamp의 시세가 있으면 갱신하지 않습니다.
+     */
+    public void upsertLatestQuotes(List<Quote> quotes) {
+        if (quotes.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO latest_quote (" + LATEST_QUOTE_COLUMNS + ") " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " + LATEST_QUOTE_CONFLICT_CLAUSE,
+                quotes, quotes.size(), (ps, quote) -> {
+                    ps.setString(1, quote.getSymbol());
+                    ps.setBigDecimal(2, quote.getCurrentPrice());
+                    ps.setBigDecimal(3, quote.getOpenPrice());
+                    ps.setBigDecimal(4, quote.getHighPrice());
+                    ps.setBigDecimal(5, quote.getLowPrice());
+                    ps.setBigDecimal(6, quote.getPreviousClosePrice());
+                    ps.setLong(7, quote.getVolume() != null ? quote.getVolume() : 0L);
+                    ps.setLong(8, quote.getTimestamp() != null ? quote.getTimestamp() : 0L);
+                    ps.setTimestamp(9, Timestamp.valueOf(quote.getCreatedAt() != null ? quote.getCreatedAt() : now));
+                });
+    }
+
+    /**
+     * latest_quote가 비어 있으면 quotes에서 심볼별 최신 시세로 채움 (최초 1회)
+     * @return 채워진 행 수
+     */
+    @Transactional
+    public int backfillLatestQuotes() {
+        Boolean empty = jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM latest_quote)", Boolean.class);
+        if (!Boolean.TRUE.equals(empty)) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                "INSERT INTO latest_quote (" + LATEST_QUOTE_COLUMNS + ") " +
+                "SELECT DISTINCT ON (symbol) symbol, current_price, open_price, high_price, low_price, " +
+                "previous_close_price, volume, timestamp, created_at FROM quotes " +
+                "ORDER BY symbol, timestamp DESC " + LATEST_QUOTE_CONFLICT_CLAUSE);
+    }
+
+    /**
+     * 신규 주식 심볼 대량 INSERT (이미 존재하는 심볼은 건너뜀)
+     * @return 실제로 추가된 행 수
+     */
+    @Transactional
+    public int insertStockSymbols(List<StockSymbol> symbols) {
+        if (symbols.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        CsvBuilder csv = new CsvBuilder(symbols.size() * 128);
+        for (StockSymbol symbol : symbols) {
+            LocalDateTime lastUpdated = symbol.getLastUpdated() != null ? symbol.getLastUpdated() : now;
+            csv.add(symbol.getSymbol())
+               .add(symbol.getDescription())
+               .add(symbol.getDisplaySymbol())
+               .add(symbol.getType())
+               .add(symbol.getCurrency())
+               .add(symbol.getExchange())
+               .add(symbol.getFigi())
+               .add(symbol.getMic())
+               .add(lastUpdated)
+               .add(symbol.getLastProfileUpdated() != null ? symbol.getLastProfileUpdated() : lastUpdated)
+               .add(symbol.isProfileEmpty())
+               .add(symbol.isSp500())
+               .endRow();
+        }
+
+        createStagingTable("stock_info_staging", "stock_info", STOCK_INFO_INSERT_COLUMNS);
+        copyIn("COPY stock_info_staging (" + STOCK_INFO_INSERT_COLUMNS + ") FROM STDIN WITH (FORMAT csv)", csv);
+        return jdbcTemplate.update(
+                "INSERT INTO stock_info (" + STOCK_INFO_INSERT_COLUMNS + ") " +
+                "SELECT " + STOCK_INFO_INSERT_COLUMNS + " FROM stock_info_staging " +
+                "ON CONFLICT (symbol) DO NOTHING");
+    }
+
+    /**
+     * 회사 프로필 변경분 대량 UPDATE (id 기준)
+     * 바뀐 컬럼만 교체하고 프로필 확인 시각(last_profile_updated)과 빈 프로필 여부는 항상 기록합니다.
+     * @param changedFields id별 바뀐 프로필 컬럼 (없으면 확인 시각/빈 프로필 여부만 갱신)
+     * @return 갱신된 행 수
+     */
+    @Transactional
+    public int updateCompanyProfiles(List<StockSymbol> symbols, Map<Long, Set<CompanyProfileField>> changedFields) {
+        if (symbols.isEmpty()) {
+            return 0;
+        }
+        CsvBuilder csv = new CsvBuilder(symbols.size() * 128);
+        for (StockSymbol symbol : symbols) {
+            Set<CompanyProfileField> changed = changedFields.getOrDefault(symbol.getId(), Set.of());
+            int mask = 0;
+            csv.add(symbol.getId());
+            for (CompanyProfileField field : CompanyProfileField.values()) {
+                // 바뀌지 않은 컬럼은 사용되지 않으므로 비워서 COPY 크기를 줄임
+                if (changed.contains(field)) {
+                    csv.add(field.get(symbol));
+                    mask |= 1 << field.ordinal();
+                } else {
+                    csv.add(null);
+                }
+            }
+            csv.add(symbol.getLastProfileUpdated())
+               .add(symbol.isProfileEmpty())
+               .add(mask)
+               .endRow();
+        }
+
+        createStagingTable("stock_info_profile_staging", "stock_info", STOCK_INFO_PROFILE_COLUMNS);
+        jdbcTemplate.execute("ALTER TABLE stock_info_profile_staging ADD COLUMN changed_fields integer");
+        copyIn("COPY stock_info_profile_staging (" + STOCK_INFO_PROFILE_COLUMNS + ", changed_fields) " +
+                "FROM STDIN WITH (FORMAT csv)", csv);
+        return jdbcTemplate.update(
+                "UPDATE stock_info s SET " + STOCK_INFO_PROFILE_SET_CLAUSE + ", " +
+                "last_profile_updated = p.last_profile_updated, profile_empty = p.profile_empty " +
+                "FROM stock_info_profile_staging p WHERE s.id = p.id");
+    }
+
+    // ===== Private Helper Methods =====
+
+    /**
+     * 트랜잭션 종료 시 삭제되는 임시 테이블 생성 (대상 테이블의 컬럼 타입 복사, 제약 조건 없음)
+     * 호출자의 트랜잭션에 합류하면 같은 트랜잭션에서 여러 번 호출될 수 있으므로 이전 배치의 임시 테이블을 먼저 삭제
+     * (pg_temp로 한정하여 같은 이름의 일반 테이블은 건드리지 않음)
+     */
+    private void createStagingTable(String stagingTable, String sourceTable, String columns) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS pg_temp." + stagingTable);
+        jdbcTemplate.execute("CREATE TEMP TABLE " + stagingTable + " ON COMMIT DROP AS " +
+                "SELECT " + columns + " FROM " + sourceTable + " WITH NO DATA");
+    }
+
+    /**
+     * 현재 트랜잭션(없으면 새 커넥션)의 커넥션으로 COPY FROM STDIN 실행
+     */
+    private long copyIn(String sql, CsvBuilder csv) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            long rows = copyManager.copyIn(sql, new StringReader(csv.toString()));
+            log.debug("COPY completed: {} rows ({} chars)", rows, csv.length());
+            return rows;
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Bulk COPY failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * COPY CSV 포맷 빌더 (null은 빈 값, 빈 문자열은 "")
+     */
+    private static final class CsvBuilder {
+        private final StringBuilder buffer;
+        private boolean rowStart = true;
+
+        private CsvBuilder(int initialCapacity) {
+            this.buffer = new StringBuilder(initialCapacity);
+        }
+
+        private CsvBuilder add(Object value) {
+            if (!rowStart) {
+                buffer.append(',');
+            }
+            rowStart = false;
+
+            if (value == null) {
+                return this;
+            }
+            if (value instanceof BigDecimal decimal) {
+                buffer.append(decimal.toPlainString());
+            } else if (value instanceof Number || value instanceof Boolean) {
+                buffer.append(value);
+            } else {
+                appendQuotedIfNeeded(value.toString());
+            }
+            return this;
+        }
+
+        private CsvBuilder add(long value) {
+            if (!rowStart) {
+                buffer.append(',');
+            }
+            rowStart = false;
+            buffer.append(value);
+            return this;
+        }
+
+        private void endRow() {
+            buffer.append('\n');
+            rowStart = true;
+        }
+
+        private void appendQuotedIfNeeded(String text) {
+            boolean needsQuote = text.isEmpty();
+            for (int i = 0; i < text.length() && !needsQuote; i++) {
+                char c = text.charAt(i);
+                needsQuote = c == ',' || c == '"' || c == '\n' || c == '\r' || c == '\\';
+            }
+            if (!needsQuote) {
+                buffer.append(text);
+                return;
+            }
+            buffer.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"') {
+                    buffer.append('"');
+                }
+                buffer.append(c);
+            }
+            buffer.append('"');
+        }
+
+        private int length() {
+            return buffer.length();
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+}
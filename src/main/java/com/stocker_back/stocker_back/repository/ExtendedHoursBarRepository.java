@@ -0,0 +1,31 @@
+package com.stocker_back.stocker_back.repository;
+
+import com.stocker_back.stocker_back.domain.ExtendedHoursBar;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ExtendedHoursBarRepository extends JpaRepository<ExtendedHoursBar, Long> {
+
+    // 심볼별 기준 시각 이후 가장 최근 장외 봉 (한 번의 쿼리)
+    @Query(value = "SELECT DISTINCT ON (symbol) * FROM extended_hours_bars " +
+            "WHERE symbol IN (:symbols) AND bucket_start >= :since " +
+            "ORDER BY symbol, bucket_start DESC", nativeQuery = true)
+    List<ExtendedHoursBar> findLatestBars(@Param("symbols") Collection<String> symbols, @Param("since") long since);
+
+    // 특정 심볼의 기간 내 장외 봉 (시간순)
+    List<ExtendedHoursBar> findBySymbolAndBucketStartBetweenOrderByBucketStartAsc(String symbol, long from, long to);
+
+    // 보존 기간이 지난 장외 봉 삭제
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ExtendedHoursBar b WHERE b.bucketStart < :cutoff")
+    int deleteByBucketStartBefore(@Param("cutoff") long cutoff);
+}
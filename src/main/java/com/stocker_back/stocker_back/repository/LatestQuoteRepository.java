@@ -0,0 +1,22 @@
+package com.stocker_back.stocker_back.repository;
+
+import com.stocker_back.stocker_back.domain.LatestQuote;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LatestQuoteRepository extends JpaRepository<LatestQuote, String> {
+    
+    // 특정 심볼의 최신 시세 조회 (PK 조회)
+    Optional<LatestQuote> findBySymbol(String symbol);
+    
+    // 여러 심볼의 최신 시세를 한 번에 조회
+    @Query("SELECT l FROM LatestQuote l WHERE l.symbol IN :symbols")
+    List<LatestQuote> findLatestQuotes(@Param("symbols") Collection<String> symbols);
+}
@@ -0,0 +1,127 @@
+package com.stocker_back.stocker_back.repository;
+
+import com.stocker_back.stocker_back.domain.Trade;
+import com.stocker_back.stocker_back.domain.TradingSession;
+import com.stocker_back.stocker_back.dto.StockPriceDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 여러 심볼의 가격 정보를 한 번의 쿼리로 조회하는 저장소
+ *
+ * 심볼 배열을 unnest 하여 심볼별로
+ * - 기준 시각 이후 최신 거래 가격 (trades, 최근 파티션만 스캔)
+ * - 최신 시세 (latest_quote PK 조회)
+ * - 로고 (stock_info)
+ * 를 LEFT JOIN 으로 묶어 반환합니다.
+ * 장외 시간 포함 조회는 최근 장외 1분 봉(extended_hours_bars)도 함께 조회하여
+ * 정규장 가격보다 최신이면 봉 종가를 현재가로 사용합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockPriceRepository {
+
+    private static final String PRICE_QUERY =
+            "SELECT s.symbol, t.price_micros, q.current_price, q.previous_close_price, si.logo " +
+            "FROM unnest(?::varchar[]) AS s(symbol) " +
+            "LEFT JOIN LATERAL (SELECT price_micros FROM trades " +
+            "    WHERE symbol = s.symbol AND received_at >= ? " +
+            "    ORDER BY timestamp DESC LIMIT 1) t ON true " +
+            "LEFT JOIN latest_quote q ON q.symbol = s.symbol " +
+            "LEFT JOIN stock_info si ON si.symbol = s.symbol";
+
+    private static final String EXTENDED_PRICE_QUERY =
+            "SELECT s.symbol, t.price_micros, t.timestamp AS trade_timestamp, " +
+            "q.current_price, q.previous_close_price, q.timestamp AS quote_timestamp, si.logo, " +
+            "e.close_micros, e.session, e.last_trade_at " +
+            "FROM unnest(?::varchar[]) AS s(symbol) " +
+            "LEFT JOIN LATERAL (SELECT price_micros, timestamp FROM trades " +
+            "    WHERE symbol = s.symbol AND received_at >= ? " +
+            "    ORDER BY timestamp DESC LIMIT 1) t ON true " +
+            "LEFT JOIN LATERAL (SELECT close_micros, session, last_trade_at FROM extended_hours_bars " +
+            "    WHERE symbol = s.symbol AND bucket_start >= ? " +
+            "    ORDER BY bucket_start DESC LIMIT 1) e ON true " +
+            "LEFT JOIN latest_quote q ON q.symbol = s.symbol " +
+            "LEFT JOIN stock_info si ON si.symbol = s.symbol";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 심볼별 가격 정보 조회
+     * @param symbols 조회할 심볼 (대문자)
+     * @param tradesSince 거래 가격으로 인정할 최소 수신 시각 (epoch ms)
+     */
+    public List<StockPriceDto> findPrices(Collection<String> symbols, long tradesSince) {
+        String[] symbolArray = symbols.toArray(new String[0]);
+        return jdbcTemplate.query(PRICE_QUERY,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("varchar", symbolArray));
+                    ps.setLong(2, tradesSince);
+                },
+                (rs, rowNum) -> {
+                    long priceMicros = rs.getLong("price_micros");
+                    BigDecimal price = rs.wasNull()
+                            ? rs.getBigDecimal("current_price")
+                            : BigDecimal.valueOf(priceMicros, Trade.PRICE_SCALE);
+                    BigDecimal previousClose = rs.getBigDecimal("previous_close_price");
+                    return StockPriceDto.builder()
+                            .symbol(rs.getString("symbol"))
+                            .price(price)
+                            .previousClose(previousClose)
+                            .change(price != null && previousClose != null ? price.subtract(previousClose) : null)
+                            .logo(rs.getString("logo"))
+                            .build();
+                });
+    }
+
+    /**
+     * 심볼별 가격 정보 조회 (장외 시간 포함)
+     * 장외 봉의 마지막 체결이 정규장 거래(없으면 시세)보다 최신이면 봉 종가를 현재가로 사용하고
+     * session에 가격의 출처 세션을 채웁니다.
+     * @param symbols 조회할 심볼 (대문자)
+     * @param since 거래 가격/장외 봉으로 인정할 최소 시각 (epoch ms)
+     */
+    public List<StockPriceDto> findPricesWithExtendedHours(Collection<String> symbols, long since) {
+        String[] symbolArray = symbols.toArray(new String[0]);
+        return jdbcTemplate.query(EXTENDED_PRICE_QUERY,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("varchar", symbolArray));
+                    ps.setLong(2, since);
+                    ps.setLong(3, since);
+                },
+                (rs, rowNum) -> {
+                    BigDecimal price;
+                    long regularTime;
+                    long priceMicros = rs.getLong("price_micros");
+                    if (rs.wasNull()) {
+                        price = rs.getBigDecimal("current_price");
+                        regularTime = rs.getLong("quote_timestamp") * 1000; // Finnhub 시세 timestamp는 초 단위
+                    } else {
+                        price = BigDecimal.valueOf(priceMicros, Trade.PRICE_SCALE);
+                        regularTime = rs.getLong("trade_timestamp");
+                    }
+                    String session = price != null ? TradingSession.REGULAR.name() : null;
+
+                    long extendedCloseMicros = rs.getLong("close_micros");
+                    if (!rs.wasNull() && (price == null || rs.getLong("last_trade_at") > regularTime)) {
+                        price = BigDecimal.valueOf(extendedCloseMicros, Trade.PRICE_SCALE);
+                        session = rs.getString("session");
+                    }
+
+                    BigDecimal previousClose = rs.getBigDecimal("previous_close_price");
+                    return StockPriceDto.builder()
+                            .symbol(rs.getString("symbol"))
+                            .price(price)
+                            .previousClose(previousClose)
+                            .change(price != null && previousClose != null ? price.subtract(previousClose) : null)
+                            .logo(rs.getString("logo"))
+                            .session(session)
+                            .build();
+                });
+    }
+}
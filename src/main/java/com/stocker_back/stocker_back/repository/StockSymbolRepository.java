@@ -4,8 +4,11 @@ import com.stocker_back.stocker_back.domain.StockSymbol;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
 import java.util.List;
@@ -26,6 +29,10 @@ public interface StockSymbolRepository extends JpaRepository<StockSymbol, Long>
     @Query("SELECT s.symbol FROM StockSymbol s")
     Set<String> findAllSymbols();
     
+    // 주어진 심볼 중 stock_info에 존재하는 심볼만 조회
+    @Query("SELECT s.symbol FROM StockSymbol s WHERE s.symbol IN :symbols")
+    Set<String> findExistingSymbols(@Param("symbols") Collection<String> symbols);
+    
     // 빈 프로필이 아닌(유효한 데이터가 있는) 심볼 수
     long countByProfileEmptyFalse();
     
@@ -47,6 +54,27 @@ public interface StockSymbolRepository extends JpaRepository<StockSymbol, Long>
     // S&P 500이면서 빈 프로필인 심볼 수
     long countByIsSp500TrueAndProfileEmptyTrue();
     
+    /**
+     * 프로필 갱신 대상 한 페이지 (마지막 프로필 갱신 시각이 오래된 순)
+     * (갱신 시각, id) 키셋 페이징이므로 갱신 중 값이 바뀌거나 건너뛴 심볼이 있어도 다음 페이지가 밀리지 않습니다.
+     * 갱신 시각이 없으면 1970-01-01로 간주합니다.
+     * 정렬 식은 idx_stock_info_profile_refresh 인덱스와 같아야 합니다. (CompanyProfileService.ensureProfileRefreshIndex)
+     * @param staleBefore 이 시각 이전에 갱신된 심볼만
+     * @param afterUpdated 이전 페이지 마지막 심볼의 갱신 시각
+     * @param afterId 이전 페이지 마지막 심볼의 id
+     */
+    @Query(value = "SELECT * FROM stock_info s " +
+            "WHERE COALESCE(s.last_profile_updated, TIMESTAMP '1970-01-01') < :staleBefore " +
+            "AND (:sp500Only = false OR s.is_sp_500 = true) " +
+            "AND (COALESCE(s.last_profile_updated, TIMESTAMP '1970-01-01'), s.id) > (:afterUpdated, :afterId) " +
+            "ORDER BY COALESCE(s.last_profile_updated, TIMESTAMP '1970-01-01'), s.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<StockSymbol> findProfileRefreshPage(@Param("staleBefore") LocalDateTime staleBefore,
+                                             @Param("sp500Only") boolean sp500Only,
+                                             @Param("afterUpdated") LocalDateTime afterUpdated,
+                                             @Param("afterId") long afterId,
+                                             @Param("limit") int limit);
+    
     /**
      * 모든 심볼의 S&P 500 상태를 false로 초기화
      */
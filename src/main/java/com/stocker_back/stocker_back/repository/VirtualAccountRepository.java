@@ -2,12 +2,31 @@ package com.stocker_back.stocker_back.repository;
 
 import com.stocker_back.stocker_back.domain.User;
 import com.stocker_back.stocker_back.domain.VirtualAccount;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface VirtualAccountRepository extends JpaRepository<VirtualAccount, Long> {
     Optional<VirtualAccount> findByUser(User user);
+    
+    // 사용자 id로 계좌 조회 (User 조회 없이)
+    Optional<VirtualAccount> findByUserId(Long userId);
+    
+    // 주문 처리용 계좌 조회 (SELECT ... FOR UPDATE, 같은 계좌의 주문은 커밋까지 대기)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM VirtualAccount a WHERE a.user.id = :userId")
+    Optional<VirtualAccount> findByUserIdForUpdate(@Param("userId") Long userId);
+    
+    // 대기 주문 일괄 체결용 계좌 잠금 (id 순으로 잠가 교착 방지)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM VirtualAccount a WHERE a.id IN :ids ORDER BY a.id")
+    List<VirtualAccount> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 } 
\ No newline at end of file
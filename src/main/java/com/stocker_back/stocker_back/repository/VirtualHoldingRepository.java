@@ -6,11 +6,15 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface VirtualHoldingRepository extends JpaRepository<VirtualHolding, Long> {
     List<VirtualHolding> findByVirtualAccount(VirtualAccount virtualAccount);
     
+    // 계좌의 특정 종목 보유 조회 (virtual_account_id, symbol 유니크 키)
+    Optional<VirtualHolding> findByVirtualAccountAndSymbol(VirtualAccount virtualAccount, String symbol);
+    
     // 계좌별 모든 보유 종목 삭제
     void deleteByVirtualAccount(VirtualAccount virtualAccount);
 } 
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.stocker_back.stocker_back.repository;
+
+import com.stocker_back.stocker_back.domain.VirtualAccount;
+import com.stocker_back.stocker_back.domain.VirtualOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VirtualOrderRepository extends JpaRepository<VirtualOrder, Long> {
+
+    // 계좌별 주문 조회 (최신순)
+    List<VirtualOrder> findByVirtualAccountOrderByCreatedAtDesc(VirtualAccount virtualAccount);
+
+    // 계좌의 특정 주문 조회
+    Optional<VirtualOrder> findByIdAndVirtualAccount(Long id, VirtualAccount virtualAccount);
+
+    // 시작 시 주문장 적재용 (계좌/사용자 id 포함)
+    @Query("SELECT o FROM VirtualOrder o JOIN FETCH o.virtualAccount a WHERE o.status = :status ORDER BY o.id")
+    List<VirtualOrder> findByStatusWithAccount(@Param("status") VirtualOrder.OrderStatus status);
+
+    // 계좌별 모든 주문 삭제
+    void deleteByVirtualAccount(VirtualAccount virtualAccount);
+}
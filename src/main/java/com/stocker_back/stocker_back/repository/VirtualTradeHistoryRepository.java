@@ -16,6 +16,9 @@ public interface VirtualTradeHistoryRepository extends JpaRepository<VirtualTrad
     // 계좌별 모든 거래 내역 조회 (최신순)
     List<VirtualTradeHistory> findByVirtualAccountOrderByTradeDateDesc(VirtualAccount virtualAccount);
     
+    // 계좌별 최근 거래 내역 10건 조회 (최신순)
+    List<VirtualTradeHistory> findTop10ByVirtualAccountOrderByTradeDateDesc(VirtualAccount virtualAccount);
+    
     // 계좌별 특정 종목 거래 내역 조회
     List<VirtualTradeHistory> findByVirtualAccountAndSymbolOrderByTradeDateDesc(VirtualAccount virtualAccount, String symbol);
     
@@ -37,4 +37,10 @@ public interface WatchlistRepository extends JpaRepository<Watchlist, Long> {
      * 특정 사용자의 관심 종목 개수 조회
      */
     long countByUserId(Long userId);
+    
+    /**
+     * 심볼별 관심 종목 등록 수 ([symbol, count], WebSocket 구독 순위용)
+     */
+    @Query("SELECT s.symbol, COUNT(w) FROM Watchlist w JOIN w.stockSymbol s GROUP BY s.symbol")
+    List<Object[]> countBySymbol();
 } 
\ No newline at end of file
@@ -1,43 +1,50 @@
 package com.stocker_back.stocker_back.scheduler;
 
+import com.stocker_back.stocker_back.domain.TradingSession;
+import com.stocker_back.stocker_back.service.MarketCalendarService;
 import com.stocker_back.stocker_back.service.MultiKeyFinnhubWebSocketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
-import java.time.DayOfWeek;
-import java.time.LocalTime;
-import java.time.ZoneId;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
- * 미국 주식 시장 시간 기반 WebSocket 연결 관리 서비스
+ * 미국 주식 시장 캘린더 기반 WebSocket 연결 관리 서비스
  * 
  * 주요 기능:
- * - 시장 개장 30분 전 (9:00 AM ET): WebSocket 연결 및 구독 완료
- * - 시장 개장 시간 (9:30 AM ET): 데이터 저장 시작
- * - 시장 마감 후 (4:00 PM ET): WebSocket 연결 해제
- * - 설정 가능한 간격으로 연결 상태 모니터링
+ * - 첫 수집 세션 시작 전 준비 시간 (app.market-calendar.pre-market-setup-minutes, 기본 30분): WebSocket 연결 및 구독 완료
+ * - 첫 수집 세션 시작 (정규장 9:30 AM ET, 프리마켓 포함 시 4:00 AM ET): 데이터 저장 시작
+ * - 마지막 수집 세션 종료 (정규장 4:00 PM ET, 애프터마켓 포함 시 8:00 PM ET, 조기 폐장일은 캘린더 기준): WebSocket 연결 해제
+ * - NYSE 휴장일에는 연결하지 않음 (MarketCalendarService)
+ * - 수집 세션은 finnhub.websocket.sessions (MultiKeyFinnhubWebSocketService.getIngestSessions)
  * 
- * 시장 시간: 9:30 AM - 4:00 PM ET (월-금)
- * 준비 시간: 9:00 AM - 9:30 AM ET (연결/구독 완료)
+ * 폴링 대신 단일 스레드 타이머가 다음 구간 전환 시각에 정확히 실행되며,
+ * 연결 상태 모니터링도 같은 스레드에서 활성 구간에만 실행하므로 상태 플래그 경쟁이 없습니다.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ScheduledWebSocketService {
     
+    // 긴 지연(주말 등)은 시계 보정을 반영하도록 최대 1시간 단위로 나눠 재확인
+    private static final long MAX_TIMER_DELAY_MS = TimeUnit.HOURS.toMillis(1);
+    
     private final MultiKeyFinnhubWebSocketService multiKeyWebSocketService;
+    private final MarketCalendarService marketCalendarService;
     
     @Value("${finnhub.scheduled.websocket.enabled:true}")
-    private boolean scheduledWebSocketEnabled;
+    private volatile boolean scheduledWebSocketEnabled;
     
     @Value("${finnhub.scheduled.websocket.monitor-interval-ms:10000}")
     private long monitorIntervalMs;
@@ -46,85 +53,126 @@ public class ScheduledWebSocketService {
     private volatile boolean isPreMarketSetup = false; // 시장 전 준비 시간
     private volatile boolean isConnected = false;
     private volatile boolean isDataSavingActive = false; // 데이터 저장 활성화 상태
-    private ScheduledExecutorService monitoringScheduler;
+    private ScheduledExecutorService marketScheduler;
+    private ScheduledFuture<?> transitionTask;
+    private ScheduledFuture<?> monitorTask;
     
     @PostConstruct
     public void initializeMonitoring() {
-        this.monitoringScheduler = Executors.newScheduledThreadPool(1);
+        this.marketScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "market-calendar");
+            thread.setDaemon(true);
+            return thread;
+        });
         
         log.info("🔧 ScheduledWebSocketService initialized");
-        log.info("⏰ Pre-market setup: 9:00 AM ET (connection & subscription)");
-        log.info("⏰ Market hours data saving: 9:30 AM - 4:00 PM ET");
-        log.info("⏰ Market status check: every 60 seconds");
-        log.info("⏰ Connection monitoring: every {} ms", monitorIntervalMs);
+        log.info("⏰ Pre-market setup: {} minutes before the first ingest session (connection & subscription)",
+                marketCalendarService.getPreMarketSetupMinutes());
+        log.info("⏰ Data saving sessions: {} (NYSE calendar, early closes applied)",
+                multiKeyWebSocketService.getIngestSessions());
+        log.info("⏰ Connection monitoring: every {} ms during active hours", monitorIntervalMs);
         
-        // 설정 가능한 간격으로 모니터링 시작
-        monitoringScheduler.scheduleAtFixedRate(
-            this::monitorWebSocketConnection, 
-            0, 
-            monitorIntervalMs, 
-            TimeUnit.MILLISECONDS
-        );
+        // 현재 구간 적용 후 다음 전환 예약
+        marketScheduler.execute(this::onMarketTransition);
     }
     
     /**
-     * 미국 주식 시장 시간 확인 및 상태 관리 (매분마다 체크)
+     * 구간 전환 타이머 (단일 스레드에서만 실행)
      */
-    @Scheduled(fixedRate = 60000) // 1분마다 실행
-    public void checkMarketHours() {
-        if (!scheduledWebSocketEnabled) {
+    private void onMarketTransition() {
+        try {
+            applyPhase(marketCalendarService.phaseAt(Instant.now(), multiKeyWebSocketService.getIngestSessions()));
+        } catch (Exception e) {
+            log.error("❌ Error applying market phase: {}", e.getMessage(), e);
+        } finally {
+            scheduleNextTransition();
+        }
+    }
+    
+    private void scheduleNextTransition() {
+        if (marketScheduler.isShutdown()) {
             return;
         }
-        
-        boolean currentPreMarketStatus = isPreMarketSetupTime();
-        boolean currentMarketStatus = isUSMarketOpen();
-        
-        // 1. Pre-market setup 시간 (9:00 AM ET) - 연결 및 구독
-        if (currentPreMarketStatus && !isPreMarketSetup) {
-            isPreMarketSetup = true;
-            log.info("🟡 PRE-MARKET SETUP TIME - Starting WebSocket connections and subscriptions");
-            connectAndSubscribeWebSocket();
-            
-        // 2. Market open 시간 (9:30 AM ET) - 데이터 저장 시작  
-        } else if (currentMarketStatus && !isMarketHours) {
-            isMarketHours = true;
-            log.info("🟢 US MARKET OPENED - Starting data saving (connections should already be ready)");
-            startDataSaving();
-            
-        // 3. Market close 시간 (4:00 PM ET) - 저장 중단 및 연결 해제
-        } else if (!currentMarketStatus && isMarketHours) {
-            isMarketHours = false;
-            isPreMarketSetup = false;
-            log.info("🔴 US MARKET CLOSED - Stopping data saving and disconnecting WebSocket");
-            stopDataSavingAndDisconnect();
+        try {
+            MarketCalendarService.Transition next = marketCalendarService.nextTransition(Instant.now(),
+                multiKeyWebSocketService.getIngestSessions());
+            long delayMs = Math.max(0, Duration.between(Instant.now(), next.getAt()).toMillis());
+            transitionTask = marketScheduler.schedule(this::onMarketTransition,
+                    Math.min(delayMs, MAX_TIMER_DELAY_MS), TimeUnit.MILLISECONDS);
+            if (delayMs <= MAX_TIMER_DELAY_MS) {
+                log.info("⏰ Next market transition: {} at {}", next.getPhase(),
+                        next.getAt().atZone(MarketCalendarService.MARKET_ZONE));
+            }
+        } catch (Exception e) {
+            log.error("❌ Failed to schedule next market transition, retrying in 1 minute", e);
+            transitionTask = marketScheduler.schedule(this::onMarketTransition, 1, TimeUnit.MINUTES);
         }
     }
     
     /**
-     * 설정 가능한 간격으로 WebSocket 연결 상태 확인 및 재연결
+     * 구간에 맞게 연결/저장 상태 전환 (이미 같은 상태면 아무것도 하지 않음)
      */
-    public void monitorWebSocketConnection() {
+    private void applyPhase(MarketCalendarService.Phase phase) {
         if (!scheduledWebSocketEnabled) {
             return;
         }
         
-        // 현재 시장 상태 업데이트
-        boolean currentPreMarketStatus = isPreMarketSetupTime();
-        boolean currentMarketStatus = isUSMarketOpen();
-        
-        // 시장 상태가 변경되었으면 업데이트
-        if (currentPreMarketStatus && !isPreMarketSetup) {
-            isPreMarketSetup = true;
-            log.info("🟡 PRE-MARKET SETUP DETECTED - Starting WebSocket connections");
-            connectAndSubscribeWebSocket();
-        } else if (currentMarketStatus && !isMarketHours) {
-            isMarketHours = true;
-            log.info("🟢 MARKET HOURS DETECTED - Starting data saving");
-            startDataSaving();
+        switch (phase) {
+            // 1. Pre-market setup 시간 - 연결 및 구독
+            case PRE_MARKET_SETUP -> {
+                if (!isPreMarketSetup && !isMarketHours) {
+                    isPreMarketSetup = true;
+                    log.info("🟡 PRE-MARKET SETUP TIME - Starting WebSocket connections and subscriptions");
+                    connectAndSubscribeWebSocket();
+                    startConnectionMonitor();
+                }
+            }
+            // 2. 수집 구간 시작 - 데이터 저장 시작 (구간 중 시작된 경우 연결부터)
+            case OPEN -> {
+                if (!isMarketHours) {
+                    isMarketHours = true;
+                    isPreMarketSetup = false;
+                    log.info("🟢 INGEST WINDOW OPENED ({}) - Starting data saving",
+                            multiKeyWebSocketService.getIngestSessions());
+                    if (!multiKeyWebSocketService.isAnyConnected()) {
+                        connectAndSubscribeWebSocket();
+                    }
+                    startDataSaving();
+                    startConnectionMonitor();
+                }
+            }
+            // 3. 수집 구간 종료 - 저장 중단 및 연결 해제
+            case CLOSED -> {
+                if (isMarketHours || isPreMarketSetup) {
+                    isMarketHours = false;
+                    isPreMarketSetup = false;
+                    log.info("🔴 INGEST WINDOW CLOSED - Stopping data saving and disconnecting WebSocket");
+                    stopConnectionMonitor();
+                    stopDataSavingAndDisconnect();
+                }
+            }
         }
-        
-        // Pre-market이나 market 시간에만 모니터링
-        if (!isPreMarketSetup && !isMarketHours) {
+    }
+    
+    private void startConnectionMonitor() {
+        if (monitorTask == null || monitorTask.isDone()) {
+            monitorTask = marketScheduler.scheduleWithFixedDelay(this::monitorWebSocketConnection,
+                    monitorIntervalMs, monitorIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private void stopConnectionMonitor() {
+        if (monitorTask != null) {
+            monitorTask.cancel(false);
+            monitorTask = null;
+        }
+    }
+    
+    /**
+     * 활성 구간(준비/개장) 동안 WebSocket 연결 상태 확인 및 재연결
+     */
+    public void monitorWebSocketConnection() {
+        if (!scheduledWebSocketEnabled || (!isPreMarketSetup && !isMarketHours)) {
             return;
         }
         
@@ -138,7 +186,7 @@ public class ScheduledWebSocketService {
                 log.warn("⚠️ WebSocket not connected during active hours - attempting initial connection");
             }
             connectAndSubscribeWebSocket();
-        } else if (actuallyConnected && !isConnected) {
+        } else if (!isConnected) {
             log.info("✅ WebSocket connection restored");
             isConnected = true;
         }
@@ -158,48 +206,6 @@ public class ScheduledWebSocketService {
         }
     }
     
-    /**
-     * Pre-market setup 시간인지 확인 (9:00 AM - 9:30 AM ET)
-     * @return true if it's pre-market setup time
-     */
-    private boolean isPreMarketSetupTime() {
-        ZonedDateTime nowET = ZonedDateTime.now(ZoneId.of("America/New_York"));
-        DayOfWeek dayOfWeek = nowET.getDayOfWeek();
-        LocalTime timeET = nowET.toLocalTime();
-        
-        // 주말 제외
-        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
-            return false;
-        }
-        
-        // Pre-market setup 시간: 9:00 AM - 9:30 AM ET
-        LocalTime preMarketStart = LocalTime.of(9, 0);
-        LocalTime marketOpen = LocalTime.of(9, 30);
-        
-        return (timeET.equals(preMarketStart) || timeET.isAfter(preMarketStart)) && timeET.isBefore(marketOpen);
-    }
-    
-    /**
-     * 미국 주식 시장 개장 시간 확인 (9:30 AM - 4:00 PM ET)
-     * @return true if US market is open
-     */
-    private boolean isUSMarketOpen() {
-        ZonedDateTime nowET = ZonedDateTime.now(ZoneId.of("America/New_York"));
-        DayOfWeek dayOfWeek = nowET.getDayOfWeek();
-        LocalTime timeET = nowET.toLocalTime();
-        
-        // 주말 제외
-        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
-            return false;
-        }
-        
-        // 정규 거래 시간: 9:30 AM - 4:00 PM ET
-        LocalTime marketOpen = LocalTime.of(9, 30);
-        LocalTime marketClose = LocalTime.of(16, 0);
-        
-        return timeET.isAfter(marketOpen) && timeET.isBefore(marketClose);
-    }
-    
     /**
      * WebSocket 연결 및 구독 시작 (Pre-market setup 시간)
      */
@@ -214,7 +220,7 @@ public class ScheduledWebSocketService {
                 
                 if (multiKeyWebSocketService.isAnyConnected()) {
                     log.info("✅ WebSocket connections and subscriptions established successfully");
-                    log.info("📡 Ready for market open at 9:30 AM ET");
+                    log.info("📡 Ready for ingest sessions {}", multiKeyWebSocketService.getIngestSessions());
                     isConnected = true;
                 } else {
                     log.error("❌ Failed to establish WebSocket connections during pre-market setup");
@@ -266,7 +272,6 @@ public class ScheduledWebSocketService {
             isConnected = false;
             
             log.info("✅ Data saving stopped and WebSocket disconnected");
-            log.info("📅 Next market session: Tomorrow at 9:00 AM ET (pre-market setup)");
             
         } catch (Exception e) {
             log.error("❌ Error during WebSocket cleanup: {}", e.getMessage(), e);
@@ -294,6 +299,15 @@ public class ScheduledWebSocketService {
     public void setScheduledWebSocketEnabled(boolean enabled) {
         this.scheduledWebSocketEnabled = enabled;
         log.info("Scheduled WebSocket service {} by admin", enabled ? "enabled" : "disabled");
+        if (enabled && marketScheduler != null && !marketScheduler.isShutdown()) {
+            // 현재 구간을 즉시 반영 (전환 타이머와 같은 스레드에서 실행)
+            marketScheduler.execute(() -> applyPhase(
+                    marketCalendarService.phaseAt(Instant.now(), multiKeyWebSocketService.getIngestSessions())));
+        }
+    }
+    
+    public Set<TradingSession> getIngestSessions() {
+        return multiKeyWebSocketService.getIngestSessions();
     }
     
     public boolean isScheduledWebSocketEnabled() {
@@ -305,41 +319,22 @@ public class ScheduledWebSocketService {
     }
     
     public String getNextMarketEvent() {
-        ZonedDateTime nowET = ZonedDateTime.now(ZoneId.of("America/New_York"));
+        MarketCalendarService.Transition next = marketCalendarService.nextTransition(Instant.now(),
+                multiKeyWebSocketService.getIngestSessions());
+        ZonedDateTime at = next.getAt().atZone(MarketCalendarService.MARKET_ZONE);
         
-        if (isPreMarketSetup) {
-            // Pre-market setup 중이면 시장 개장 시간
-            ZonedDateTime marketOpen = nowET.toLocalDate().atTime(9, 30).atZone(ZoneId.of("America/New_York"));
-            if (nowET.isAfter(marketOpen)) {
-                marketOpen = marketOpen.plusDays(1);
-            }
-            return "Market opens at: " + marketOpen.toString();
-        } else if (isMarketHours) {
-            // 시장이 열려있으면 마감 시간
-            ZonedDateTime marketClose = nowET.toLocalDate().atTime(16, 0).atZone(ZoneId.of("America/New_York"));
-            if (nowET.isAfter(marketClose)) {
-                marketClose = marketClose.plusDays(1);
-            }
-            return "Market closes at: " + marketClose.toString();
-        } else {
-            // 시장이 닫혀있으면 다음 pre-market setup 시간
-            ZonedDateTime preMarketSetup = nowET.toLocalDate().atTime(9, 0).atZone(ZoneId.of("America/New_York"));
-            if (nowET.isAfter(preMarketSetup)) {
-                preMarketSetup = preMarketSetup.plusDays(1);
-            }
-            // 주말 건너뛰기
-            while (preMarketSetup.getDayOfWeek() == DayOfWeek.SATURDAY || preMarketSetup.getDayOfWeek() == DayOfWeek.SUNDAY) {
-                preMarketSetup = preMarketSetup.plusDays(1);
-            }
-            return "Pre-market setup starts at: " + preMarketSetup.toString();
-        }
+        return switch (next.getPhase()) {
+            case PRE_MARKET_SETUP -> "Pre-market setup starts at: " + at;
+            case OPEN -> "Ingest window opens at: " + at;
+            case CLOSED -> "Ingest window closes at: " + at + (next.getSession().isEarlyClose() ? " (early close)" : "");
+        };
     }
 
     @PreDestroy
     public void cleanup() {
         log.info("🧹 Cleaning up ScheduledWebSocketService");
-        if (monitoringScheduler != null) {
-            monitoringScheduler.shutdownNow();
+        if (marketScheduler != null) {
+            marketScheduler.shutdownNow();
         }
     }
 } 
\ No newline at end of file
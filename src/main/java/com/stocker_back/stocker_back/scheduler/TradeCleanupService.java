@@ -1,61 +1,131 @@
 package com.stocker_back.stocker_back.scheduler;
 
+import com.stocker_back.stocker_back.config.MetricNames;
 import com.stocker_back.stocker_back.repository.TradeRepository;
+import com.stocker_back.stocker_back.service.ExtendedHoursBarService;
+import com.stocker_back.stocker_back.service.TradeArchiveService;
+import com.stocker_back.stocker_back.service.TradePartitionService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TradeCleanupService {
-    
+
     private final TradeRepository tradeRepository;
-    
+    private final TradePartitionService tradePartitionService;
+    private final TradeArchiveService tradeArchiveService;
+    private final ExtendedHoursBarService extendedHoursBarService;
+    private final MeterRegistry meterRegistry;
+
+    // 마지막으로 확인한 DEFAULT 파티션 행 수
+    private final AtomicLong defaultPartitionRows = new AtomicLong();
+
+    @Value("${app.trades.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${app.trades.extended-hours.retention-days:30}")
+    private int extendedHoursRetentionDays;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder(MetricNames.TRADES_DEFAULT_PARTITION_ROWS, defaultPartitionRows, AtomicLong::get)
+                .description("Trades stored in the DEFAULT partition (outside the daily partition ranges)")
+                .register(meterRegistry);
+    }
+
     /**
-     * 매일 새벽 2시에 7일 이전의 거래 데이터 삭제
+     * 매일 새벽 2시에 보존 기간이 지난 거래 데이터를 보관 파일로 옮긴 뒤 파티션 삭제
+     * (행 단위 DELETE 대신 파티션 DETACH + DROP)
      */
     @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional
     public void cleanupOldTrades() {
         try {
-            LocalDateTime cutoffTime = LocalDateTime.now().minusDays(7);
-            
-            log.info("Starting cleanup of trade data older than: {}", cutoffTime);
-            
-            long beforeCount = tradeRepository.count();
-            tradeRepository.deleteOldTrades(cutoffTime);
-            long afterCount = tradeRepository.count();
-            
-            long deletedCount = beforeCount - afterCount;
-            log.info("Trade cleanup completed. Deleted {} records, {} remaining", 
-                    deletedCount, afterCount);
-            
+            LocalDate cutoffDate = LocalDate.now().minusDays(retentionDays);
+
+            log.info("Starting cleanup of trade partitions older than: {}", cutoffDate);
+
+            // 보관에 실패한 날짜가 있으면 데이터 유실을 막기 위해 삭제를 건너뜀
+            if (!tradeArchiveService.archiveBefore(cutoffDate)) {
+                log.warn("⚠️ Trade archiving failed, skipping partition drop until next run");
+                return;
+            }
+
+            List<String> droppedPartitions = tradePartitionService.dropPartitionsBefore(cutoffDate);
+            long remainingEstimate = tradePartitionService.estimateRowCount();
+
+            log.info("Trade cleanup completed. Dropped {} partitions {}, ~{} records remaining",
+                    droppedPartitions.size(), droppedPartitions, remainingEstimate);
+
         } catch (Exception e) {
             log.error("Failed to cleanup old trade data", e);
         }
     }
-    
+
+    /**
+     * 매일 새벽 2시 30분에 보존 기간이 지난 장외 시간 1분 봉 삭제
+     * (봉은 trades보다 훨씬 작으므로 파티션 없이 bucket_start 인덱스로 삭제)
+     */
+    @Scheduled(cron = "0 30 2 * * ?")
+    public void cleanupOldExtendedHoursBars() {
+        try {
+            long cutoff = System.currentTimeMillis() - Duration.ofDays(extendedHoursRetentionDays).toMillis();
+            int deleted = extendedHoursBarService.deleteBefore(cutoff);
+            log.info("Extended-hours bar cleanup completed. Deleted {} bars older than {} days",
+                    deleted, extendedHoursRetentionDays);
+        } catch (Exception e) {
+            log.error("Failed to cleanup old extended-hours bars", e);
+        }
+    }
+
+    /**
+     * 매일 0시 5분에 향후 파티션 미리 생성
+     */
+    @Scheduled(cron = "0 5 0 * * ?")
+    public void createUpcomingPartitions() {
+        try {
+            tradePartitionService.createUpcomingPartitions();
+        } catch (Exception e) {
+            log.error("Failed to create upcoming trade partitions", e);
+        }
+    }
+
     /**
      * 매시간 거래 데이터 통계를 로깅
      */
     @Scheduled(fixedRate = 3600000) // 1시간마다
     public void logTradeStatistics() {
         try {
-            long totalTrades = tradeRepository.count();
-            log.info("Current total trade count: {}", totalTrades);
-            
+            // 전체 건수는 pg_class 통계 기반 추정치 사용 (COUNT 전체 스캔 방지)
+            long totalTrades = tradePartitionService.estimateRowCount();
+            log.info("Current total trade count (estimated): {}", totalTrades);
+
             // 최근 1시간 동안의 거래 수
-            LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-            long recentTrades = tradeRepository.findTradesBetween(oneHourAgo, LocalDateTime.now()).size();
+            long oneHourAgo = System.currentTimeMillis() - Duration.ofHours(1).toMillis();
+            long recentTrades = tradeRepository.countByReceivedAtAfter(oneHourAgo);
             log.info("Trades received in last hour: {}", recentTrades);
-            
+
+            // 일별 파티션 범위 밖으로 들어온 거래 수
+            long outOfRange = tradePartitionService.countDefaultPartitionRows();
+            defaultPartitionRows.set(outOfRange);
+            if (outOfRange > 0) {
+                log.warn("⚠️ {} trades are stored in the DEFAULT partition (outside daily partition ranges)", outOfRange);
+            }
+
         } catch (Exception e) {
             log.error("Failed to log trade statistics", e);
         }
     }
-} 
\ No newline at end of file
+}
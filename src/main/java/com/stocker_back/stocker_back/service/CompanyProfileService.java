@@ -1,21 +1,39 @@
 package com.stocker_back.stocker_back.service;
 
+import com.stocker_back.stocker_back.config.MetricNames;
+import com.stocker_back.stocker_back.domain.CompanyProfileField;
 import com.stocker_back.stocker_back.domain.StockSymbol;
 import com.stocker_back.stocker_back.dto.CompanyProfileDTO;
+import com.stocker_back.stocker_back.repository.BulkCopyRepository;
 import com.stocker_back.stocker_back.repository.StockSymbolRepository;
 import com.stocker_back.stocker_back.util.FinnhubApiClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 회사 프로필 정보 관리를 담당하는 서비스
+ *
+ * 일괄 갱신은 오래된 프로필부터 페이지 단위로 읽어 동시에 조회하고, 바뀐 컬럼만 저장합니다.
+ * rate limit/오류로 조회하지 못한 심볼은 기존 프로필을 유지합니다.
  */
 @Service
 @Slf4j
@@ -23,149 +41,57 @@ public class CompanyProfileService {
 
     private final FinnhubApiClient finnhubApiClient;
     private final StockSymbolRepository stockSymbolRepository;
+    private final BulkCopyRepository bulkCopyRepository;
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    
+    // 프로필 갱신 시각이 없는 심볼의 정렬/커서 기준값 (StockSymbolRepository.findProfileRefreshPage와 동일)
+    private static final LocalDateTime NEVER_UPDATED = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    @Value("${app.company-profile.refresh-concurrency:4}")
+    private int refreshConcurrency;
     
     public CompanyProfileService(
         FinnhubApiClient finnhubApiClient,
-        StockSymbolRepository stockSymbolRepository) {
+        StockSymbolRepository stockSymbolRepository,
+        BulkCopyRepository bulkCopyRepository,
+        MeterRegistry meterRegistry,
+        JdbcTemplate jdbcTemplate,
+        EntityManager entityManager) {
         this.finnhubApiClient = finnhubApiClient;
         this.stockSymbolRepository = stockSymbolRepository;
+        this.bulkCopyRepository = bulkCopyRepository;
+        this.meterRegistry = meterRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
     }
     
     /**
-     * 모든 주식 심볼에 대한 회사 프로필 정보를 가져와 저장합니다.
-     * @param batchSize 한 번에 처리할 주식 수
-     * @param delayMs API 호출 사이의 지연 시간(밀리초)
-     * @return 업데이트된 회사 프로필 수
+     * 프로필 갱신 페이지 조회용 표현식 인덱스 생성 (Hibernate가 stock_info를 만든 뒤)
+     * findProfileRefreshPage의 정렬/키셋 조건과 같은 식이어야 인덱스 범위 스캔으로 페이지를 읽습니다.
      */
-    public int fetchAndSaveAllCompanyProfiles(int batchSize, int delayMs) {
-        log.info("Fetching all company profiles with batchSize={}, delayMs={}", batchSize, delayMs);
-        
-        // 배치 크기가 지정되지 않았거나 너무 작은 경우 기본값 설정
-        if (batchSize <= 0) {
-            batchSize = 100;
-        }
-        
-        // 모든 심볼 조회
-        List<StockSymbol> allSymbols = stockSymbolRepository.findAll();
-        log.info("Found {} stock symbols to process for company profiles", allSymbols.size());
-        
-        int updatedCount = 0;
-        int emptyCount = 0;
-        int totalProcessed = 0;
-        
-        // 배치 처리를 위한 리스트
-        List<StockSymbol> batch = new ArrayList<>(batchSize);
-        
-        for (int i = 0; i < allSymbols.size(); i++) {
-            StockSymbol symbol = allSymbols.get(i);
-            totalProcessed++;
-            
-            try {
-                log.info("Processing symbol {}/{}: {}", totalProcessed, allSymbols.size(), symbol.getSymbol());
-                
-                // 회사 프로필 정보 가져오기
-                CompanyProfileDTO profileDTO = fetchCompanyProfile(symbol.getSymbol());
-                symbol.setLastProfileUpdated(LocalDateTime.now());
-                
-                if (profileDTO != null) {
-                    // 프로필 정보 업데이트
-                    updateCompanyProfile(symbol, profileDTO);
-                    symbol.setProfileEmpty(false);
-                    batch.add(symbol);  // 배치에 추가
-                    updatedCount++;
-                    
-                    log.debug("Updated company profile for symbol: {} ({}/{})", 
-                             symbol.getSymbol(), totalProcessed, allSymbols.size());
-                } else {
-                    // 빈 응답인 경우 표시
-                    symbol.setProfileEmpty(true);
-                    batch.add(symbol);  // 배치에 추가
-                    emptyCount++;
-                    
-                    log.debug("Marked empty profile for symbol: {} ({}/{})", 
-                             symbol.getSymbol(), totalProcessed, allSymbols.size());
-                }
-                
-                // 배치 크기에 도달하면 저장
-                if (batch.size() >= batchSize) {
-                    // 별도의 트랜잭션으로 배치 저장 - 이 메소드는 새로운 트랜잭션을 시작함
-                    saveCompanyProfileBatch(batch);
-                    log.info("Saved batch of {} company profiles (batch: {}, total processed: {}/{})", 
-                            batch.size(), 
-                            (totalProcessed / batchSize), 
-                            totalProcessed, 
-                            allSymbols.size());
-                    batch.clear();
-                }
-                
-                // 진행 상황 로깅
-                if (totalProcessed % 10 == 0 || totalProcessed == allSymbols.size()) {
-                    log.info("Progress: {}/{} symbols processed ({}%) - valid: {}, empty: {}", 
-                             totalProcessed, allSymbols.size(), 
-                             (totalProcessed * 100 / allSymbols.size()), 
-                             updatedCount, emptyCount);
-                }
-                
-                // API 레이트 제한 방지를 위한 지연
-                if (i < allSymbols.size() - 1 && delayMs > 0) {
-                    Thread.sleep(delayMs);
-                }
-            } catch (InterruptedException e) {
-                log.error("Thread interrupted during company profile fetch", e);
-                Thread.currentThread().interrupt();
-                break;
-            } catch (Exception e) {
-                log.error("Error fetching company profile for symbol {}: {}", symbol.getSymbol(), e.getMessage());
-                
-                // 에러 발생 시에도 빈 프로필로 표시하고 배치에 추가
-                try {
-                    symbol.setProfileEmpty(true);
-                    symbol.setLastProfileUpdated(LocalDateTime.now());
-                    batch.add(symbol);  // 배치에 추가
-                    emptyCount++;
-                    
-                    // 배치 크기에 도달하면 저장
-                    if (batch.size() >= batchSize) {
-                        // 별도의 트랜잭션으로 배치 저장
-                        saveCompanyProfileBatch(batch);
-                        log.info("Saved batch of {} company profiles (batch: {}, total processed: {}/{})", 
-                                batch.size(), 
-                                (totalProcessed / batchSize), 
-                                totalProcessed, 
-                                allSymbols.size());
-                        batch.clear();
-                    }
-                    
-                    log.debug("Marked error for symbol: {} ({}/{})", 
-                             symbol.getSymbol(), totalProcessed, allSymbols.size());
-                } catch (Exception ex) {
-                    log.error("Error updating profile status for symbol {}: {}", 
-                            symbol.getSymbol(), ex.getMessage());
-                }
-            }
-        }
-        
-        // 남은 배치 저장
-        if (!batch.isEmpty()) {
-            // 별도의 트랜잭션으로 배치 저장
-            saveCompanyProfileBatch(batch);
-            log.info("Saved final batch of {} company profiles", batch.size());
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureProfileRefreshIndex() {
+        try {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_stock_info_profile_refresh ON stock_info " +
+                    "((COALESCE(last_profile_updated, TIMESTAMP '1970-01-01')), id)");
+        } catch (Exception e) {
+            log.error("Failed to create profile refresh index on stock_info: {}", e.getMessage());
         }
-        
-        log.info("Completed company profile update: {} valid profiles, {} empty profiles", 
-                updatedCount, emptyCount);
-        
-        return updatedCount + emptyCount;
     }
     
     /**
-     * 회사 프로필 배치를 별도의 트랜잭션으로 저장합니다.
-     * 이 메소드는 새로운 트랜잭션을 시작하므로 호출자의 트랜잭션과 독립적으로 커밋됩니다.
-     * @param batch 저장할 StockSymbol 배치
+     * 모든 주식 심볼에 대한 회사 프로필 정보를 가져와 저장합니다.
+     * 마지막 프로필 갱신 시각이 오래된 심볼부터 페이지 단위로 처리합니다.
+     * @param batchSize 한 번에 읽고 저장할 주식 수 (페이지 크기)
+     * @param delayMs 작업자별 API 호출 사이의 추가 지연 시간(밀리초)
+     * @return 처리된 회사 프로필 수
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void saveCompanyProfileBatch(List<StockSymbol> batch) {
-        stockSymbolRepository.saveAll(batch);
+    public int fetchAndSaveAllCompanyProfiles(int batchSize, int delayMs) {
+        log.info("Fetching all company profiles with batchSize={}, delayMs={}, concurrency={}",
+                batchSize, delayMs, refreshConcurrency);
+        return refreshCompanyProfiles(false, batchSize, delayMs);
     }
     
     /**
@@ -271,134 +197,150 @@ public class CompanyProfileService {
 
     /**
      * S&P 500 종목들에 대한 회사 프로필 정보를 가져와 저장합니다.
-     * @param batchSize 한 번에 처리할 주식 수
-     * @param delayMs API 호출 사이의 지연 시간(밀리초)
-     * @return 업데이트된 회사 프로필 수
+     * @param batchSize 한 번에 읽고 저장할 주식 수 (페이지 크기)
+     * @param delayMs 작업자별 API 호출 사이의 추가 지연 시간(밀리초)
+     * @return 처리된 회사 프로필 수
      */
     public int fetchAndSaveSp500CompanyProfiles(int batchSize, int delayMs) {
-        log.info("🚀 Starting S&P 500 company profile collection (batch: {}, delay: {}ms)", batchSize, delayMs);
-        
+        log.info("🚀 Starting S&P 500 company profile collection (batch: {}, delay: {}ms, concurrency: {})",
+                batchSize, delayMs, refreshConcurrency);
+        return refreshCompanyProfiles(true, batchSize, delayMs);
+    }
+    
+    // ===== Private Helper Methods =====
+    
+    /**
+     * 회사 프로필 일괄 갱신
+     * - (마지막 갱신 시각, id) 키셋으로 한 페이지씩 읽어 오래된 프로필부터 처리 (전체 심볼을 한 번에 로드하지 않음)
+     * - 페이지 안에서는 작업자들이 동시에 조회하여 FinnhubApiClient의 요청 간격 제한 안에서 응답 대기 시간을 겹침
+     * - 저장된 프로필과 비교하여 바뀐 컬럼만 페이지 단위로 일괄 UPDATE
+     * - rate limit/오류로 실패한 심볼은 기존 데이터와 갱신 시각을 그대로 두어 다음 실행에서 먼저 재시도
+     * @return 처리된 심볼 수
+     */
+    private int refreshCompanyProfiles(boolean sp500Only, int pageSize, int delayMs) {
         // 배치 크기가 지정되지 않았거나 너무 작은 경우 기본값 설정
-        if (batchSize <= 0) {
-            batchSize = 100;
+        if (pageSize <= 0) {
+            pageSize = 100;
         }
         
-        // S&P 500 종목 전체 조회
-        List<StockSymbol> sp500Symbols = stockSymbolRepository.findByIsSp500True();
-        log.info("📊 Found {} S&P 500 symbols to process", sp500Symbols.size());
+        // 실행 시작 이후 갱신된 심볼은 다시 읽지 않음
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime afterUpdated = NEVER_UPDATED;
+        long afterId = 0;
+        RefreshStats stats = new RefreshStats();
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, refreshConcurrency), runnable -> {
+            Thread thread = new Thread(runnable, "profile-refresh-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        try {
+            List<StockSymbol> page;
+            while (!Thread.currentThread().isInterrupted()
+                    && !(page = stockSymbolRepository.findProfileRefreshPage(
+                            startedAt, sp500Only, afterUpdated, afterId, pageSize)).isEmpty()) {
+                // 요청 스레드(open-in-view)에서 실행되면 페이지 엔티티가 영속 상태로 남아 다음 커밋 때
+                // 전체 컬럼 UPDATE가 함께 flush되고 영속성 컨텍스트가 계속 커지므로 분리한 뒤 변경
+                page.forEach(entityManager::detach);
+                
+                // 다음 페이지 커서는 갱신 전 값 기준
+                StockSymbol last = page.get(page.size() - 1);
+                afterUpdated = last.getLastProfileUpdated() != null ? last.getLastProfileUpdated() : NEVER_UPDATED;
+                afterId = last.getId();
+                
+                refreshPage(page, executor, delayMs, stats);
+                log.info("📊 Processing: {} profiles - 🔄{} ✅{} 📭{} ⏳{} ❌{}",
+                        stats.processed(), stats.changed, stats.unchanged, stats.noData, stats.rateLimited, stats.errors);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
         
-        int successCount = 0;
-        int noDataCount = 0;
-        int rateLimitCount = 0;
-        int errorCount = 0;
-        int totalProcessed = 0;
+        log.info("🎯 Company profile refresh completed{}:", sp500Only ? " (S&P 500)" : "");
+        log.info("   🔄 Changed: {} profiles", stats.changed);
+        log.info("   ✅ Unchanged: {} profiles", stats.unchanged);
+        log.info("   📭 No data: {} profiles", stats.noData);
+        log.info("   ⏳ Rate limited (kept for retry): {} profiles", stats.rateLimited);
+        log.info("   ❌ Errors (kept for retry): {} profiles", stats.errors);
         
-        // 배치 처리를 위한 리스트
-        List<StockSymbol> batch = new ArrayList<>(batchSize);
+        return stats.processed();
+    }
+    
+    /**
+     * 한 페이지의 프로필을 동시에 조회하고 변경분을 일괄 저장
+     */
+    private void refreshPage(List<StockSymbol> page, ExecutorService executor, int delayMs, RefreshStats stats) {
+        List<CompletableFuture<FinnhubApiClient.ApiResult<CompanyProfileDTO>>> futures = page.stream()
+                .map(symbol -> CompletableFuture.supplyAsync(() -> fetchWithDelay(symbol.getSymbol(), delayMs), executor))
+                .toList();
         
-        for (int i = 0; i < sp500Symbols.size(); i++) {
-            StockSymbol symbol = sp500Symbols.get(i);
-            totalProcessed++;
+        List<StockSymbol> updates = new ArrayList<>(page.size());
+        Map<Long, Set<CompanyProfileField>> changedFields = new HashMap<>();
+        for (int i = 0; i < page.size(); i++) {
+            StockSymbol symbol = page.get(i);
+            FinnhubApiClient.ApiResult<CompanyProfileDTO> result = futures.get(i).join();
             
-            try {
-                // 상세한 결과와 함께 회사 프로필 정보 가져오기
-                FinnhubApiClient.ApiResult<CompanyProfileDTO> result = fetchCompanyProfileWithResult(symbol.getSymbol());
-                symbol.setLastProfileUpdated(LocalDateTime.now());
-                
-                if (result.isSuccess()) {
-                    // 성공: 프로필 정보 업데이트
-                    updateCompanyProfile(symbol, result.getData());
-                    symbol.setProfileEmpty(false);
-                    batch.add(symbol);
-                    successCount++;
-                    
-                    log.debug("✅ {} - Company profile updated", symbol.getSymbol());
-                } else if (result.isNoData()) {
-                    // 데이터 없음
-                    symbol.setProfileEmpty(true);
-                    batch.add(symbol);
-                    noDataCount++;
-                    
-                    log.debug("📭 {} - No profile data available", symbol.getSymbol());
-                } else if (result.isRateLimitExceeded()) {
-                    // Rate limit 초과
-                    symbol.setProfileEmpty(true);
-                    batch.add(symbol);
-                    rateLimitCount++;
-                    
-                    log.warn("⏳ {} - Rate limit exceeded after all retries", symbol.getSymbol());
+            if (result.isSuccess()) {
+                Set<CompanyProfileField> changed = CompanyProfileField.applyChanges(symbol, result.getData());
+                if (changed.isEmpty() && !symbol.isProfileEmpty()) {
+                    stats.unchanged++;
                 } else {
-                    // 기타 에러
-                    symbol.setProfileEmpty(true);
-                    batch.add(symbol);
-                    errorCount++;
-                    
-                    log.warn("❌ {} - API error: {}", symbol.getSymbol(), result.getMessage());
-                }
-                
-                // 배치 크기에 도달하면 저장
-                if (batch.size() >= batchSize) {
-                    saveCompanyProfileBatch(batch);
-                    log.info("💾 Saved batch: {} profiles | Progress: {}/{} ({}%) - ✅{} 📭{} ⏳{} ❌{}", 
-                            batch.size(), totalProcessed, sp500Symbols.size(),
-                            String.format("%.1f", (totalProcessed * 100.0) / sp500Symbols.size()),
-                            successCount, noDataCount, rateLimitCount, errorCount);
-                    batch.clear();
-                }
-                
-                // 진행 상황 로깅 (매 25개마다)
-                if (totalProcessed % 25 == 0 || totalProcessed == sp500Symbols.size()) {
-                    double progressPct = (totalProcessed * 100.0) / sp500Symbols.size();
-                    log.info("📊 Processing: {}/{} ({}%) - ✅{} 📭{} ⏳{} ❌{}", 
-                             totalProcessed, sp500Symbols.size(), String.format("%.1f", progressPct),
-                             successCount, noDataCount, rateLimitCount, errorCount);
-                }
-                
-                // API 레이트 제한 방지를 위한 지연
-                if (i < sp500Symbols.size() - 1 && delayMs > 0) {
-                    Thread.sleep(delayMs);
+                    changedFields.put(symbol.getId(), changed);
+                    stats.changed++;
+                    log.debug("🔄 {} - Company profile changed: {}", symbol.getSymbol(), changed);
                 }
+                symbol.setProfileEmpty(false);
+                symbol.setLastProfileUpdated(LocalDateTime.now());
+                updates.add(symbol);
+            } else if (result.isNoData()) {
+                // 데이터 없음: 기존 컬럼은 두고 빈 프로필로 표시
+                symbol.setProfileEmpty(true);
+                symbol.setLastProfileUpdated(LocalDateTime.now());
+                updates.add(symbol);
+                stats.noData++;
+                log.debug("📭 {} - No profile data available", symbol.getSymbol());
+            } else if (result.isRateLimitExceeded()) {
+                stats.rateLimited++;
+                log.warn("⏳ {} - Rate limit exceeded after all retries, keeping stored profile", symbol.getSymbol());
+            } else {
+                stats.errors++;
+                log.warn("❌ {} - API error: {}, keeping stored profile", symbol.getSymbol(), result.getMessage());
+            }
+        }
+        
+        if (!updates.isEmpty()) {
+            meterRegistry.timer(MetricNames.BATCH_DURATION, "job", "company_profile")
+                    .record(() -> bulkCopyRepository.updateCompanyProfiles(updates, changedFields));
+            meterRegistry.counter(MetricNames.BATCH_ITEMS, "job", "company_profile").increment(updates.size());
+        }
+    }
+    
+    private FinnhubApiClient.ApiResult<CompanyProfileDTO> fetchWithDelay(String symbol, int delayMs) {
+        FinnhubApiClient.ApiResult<CompanyProfileDTO> result = fetchCompanyProfileWithResult(symbol);
+        if (delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
             } catch (InterruptedException e) {
-                log.error("🛑 Thread interrupted during S&P 500 company profile collection", e);
                 Thread.currentThread().interrupt();
-                break;
-            } catch (Exception e) {
-                log.error("🔥 Unexpected error processing symbol {}: {}", symbol.getSymbol(), e.getMessage());
-                
-                // 예외 발생 시에도 빈 프로필로 표시하고 배치에 추가
-                try {
-                    symbol.setProfileEmpty(true);
-                    symbol.setLastProfileUpdated(LocalDateTime.now());
-                    batch.add(symbol);
-                    errorCount++;
-                    
-                    // 배치 크기에 도달하면 저장
-                    if (batch.size() >= batchSize) {
-                        saveCompanyProfileBatch(batch);
-                        log.debug("💾 Saved batch of {} profiles (processed: {}/{})", 
-                                batch.size(), totalProcessed, sp500Symbols.size());
-                        batch.clear();
-                    }
-                } catch (Exception ex) {
-                    log.error("💥 Critical error updating profile status for symbol {}: {}", 
-                            symbol.getSymbol(), ex.getMessage());
-                }
             }
         }
+        return result;
+    }
+    
+    /**
+     * 갱신 결과 집계 (호출 스레드에서만 갱신)
+     */
+    private static final class RefreshStats {
+        private int changed;
+        private int unchanged;
+        private int noData;
+        private int rateLimited;
+        private int errors;
         
-        // 남은 배치 저장
-        if (!batch.isEmpty()) {
-            saveCompanyProfileBatch(batch);
-            log.debug("💾 Saved final batch of {} profiles", batch.size());
+        private int processed() {
+            return changed + unchanged + noData + rateLimited + errors;
         }
-        
-        log.info("🎯 S&P 500 company profile collection completed:");
-        log.info("   ✅ Success: {} profiles", successCount);
-        log.info("   📭 No data: {} profiles", noDataCount);
-        log.info("   ⏳ Rate limited: {} profiles", rateLimitCount);
-        log.info("   ❌ Errors: {} profiles", errorCount);
-        log.info("   📊 Total processed: {}/{}", totalProcessed, sp500Symbols.size());
-        
-        return totalProcessed;
     }
-} 
\ No newline at end of file
+}
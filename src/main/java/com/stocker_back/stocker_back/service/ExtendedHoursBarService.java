@@ -0,0 +1,257 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.config.MetricNames;
+import com.stocker_back.stocker_back.domain.ExtendedHoursBar;
+import com.stocker_back.stocker_back.domain.TradingSession;
+import com.stocker_back.stocker_back.repository.BulkCopyRepository;
+import com.stocker_back.stocker_back.repository.ExtendedHoursBarRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 장외 시간 체결 1분 봉 집계/저장 서비스
+ *
+ * 프리마켓/애프터마켓 체결은 정규장처럼 간격 샘플링해서 trades에 넣지 않고,
+ * 모든 체결을 심볼별 1분 OHLCV 봉으로 메모리에서 집계한 뒤 flush 주기마다 extended_hours_bars에 upsert 합니다.
+ * - 수집 중인 봉은 flush 때마다 잘라서 증분으로 기록하고, DB upsert가 기존 행과 병합
+ * - 봉 구간보다 늦게 도착한 체결은 해당 구간의 1건짜리 증분 봉으로 기록
+ * - upsert가 실패한 증분은 flush-max-attempts번까지 다음 flush에서 재시도 (버퍼 상한 flush-max-pending)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExtendedHoursBarService {
+
+    public static final long BAR_MILLIS = 60_000L;
+
+    private final BulkCopyRepository bulkCopyRepository;
+    private final ExtendedHoursBarRepository extendedHoursBarRepository;
+    private final MeterRegistry meterRegistry;
+
+    // 심볼별 수집 중인 봉 / flush 대기 봉
+    private final ConcurrentHashMap<String, BarBuilder> openBars = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<PendingBar> closedBars = new ConcurrentLinkedQueue<>();
+
+    @Value("${finnhub.websocket.flush-max-attempts:3}")
+    private int flushMaxAttempts;
+
+    @Value("${finnhub.websocket.flush-max-pending:100000}")
+    private int flushMaxPending;
+
+    private final Map<TradingSession, Counter> tickCounters = new EnumMap<>(TradingSession.class);
+    private Counter persistedCounter;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    public void init() {
+        for (TradingSession session : TradingSession.values()) {
+            if (session.isExtended()) {
+                tickCounters.put(session, Counter.builder(MetricNames.EXTENDED_TICKS)
+                        .description("Extended-hours trades aggregated into 1-minute bars")
+                        .tag("session", session.getCode())
+                        .register(meterRegistry));
+            }
+        }
+        this.persistedCounter = Counter.builder(MetricNames.EXTENDED_BARS_PERSISTED)
+                .description("Extended-hours bar increments upserted by the flush")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder(MetricNames.EXTENDED_BARS_DROPPED)
+                .description("Extended-hours bar increments dropped after failed flushes or a full retry buffer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 장외 체결 1건을 봉에 반영
+     * @param timestamp 체결 시각 (epoch ms)
+     */
+    public void onTrade(String symbol, TradingSession session, long priceMicros, long volume, long timestamp) {
+        long bucketStart = timestamp - Math.floorMod(timestamp, BAR_MILLIS);
+        openBars.compute(symbol, (key, bar) -> {
+            if (bar != null && bar.bucketStart == bucketStart) {
+                bar.add(priceMicros, volume, timestamp);
+                return bar;
+            }
+            if (bar != null && bucketStart < bar.bucketStart) {
+                // 늦게 도착한 체결: 현재 봉은 유지하고 지난 구간 증분으로 기록
+                closedBars.add(new PendingBar(new BarBuilder(bucketStart, session, priceMicros, volume, timestamp).toBar(key)));
+                return bar;
+            }
+            if (bar != null) {
+                closedBars.add(new PendingBar(bar.toBar(key)));
+            }
+            return new BarBuilder(bucketStart, session, priceMicros, volume, timestamp);
+        });
+        Counter counter = tickCounters.get(session);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * 완료된 봉과 수집 중인 봉의 증분을 일괄 upsert
+     */
+    @Scheduled(fixedDelayString = "${finnhub.websocket.flush-interval-ms:1000}")
+    public void flush() {
+        for (String symbol : openBars.keySet()) {
+            openBars.computeIfPresent(symbol, (key, bar) -> {
+                closedBars.add(new PendingBar(bar.toBar(key)));
+                return null;
+            });
+        }
+        if (closedBars.isEmpty()) {
+            return;
+        }
+
+        List<PendingBar> pending = new ArrayList<>();
+        List<ExtendedHoursBar> batch = new ArrayList<>();
+        PendingBar next;
+        while ((next = closedBars.poll()) != null) {
+            pending.add(next);
+            batch.add(next.bar);
+        }
+        try {
+            int rows = bulkCopyRepository.upsertExtendedHoursBars(batch);
+            persistedCounter.increment(batch.size());
+            log.debug("🌙 Flushed {} extended-hours bar increments ({} bars upserted)", batch.size(), rows);
+        } catch (Exception e) {
+            // upsert는 한 트랜잭션이므로 실패한 배치는 반영되지 않음 → 그대로 재시도해도 중복 집계되지 않음
+            int room = flushMaxPending - closedBars.size();
+            int requeued = 0;
+            for (PendingBar bar : pending) {
+                if (++bar.attempts < flushMaxAttempts && requeued < room) {
+                    closedBars.add(bar);
+                    requeued++;
+                }
+            }
+            droppedCounter.increment(pending.size() - requeued);
+            log.error("❌ Failed to flush {} extended-hours bar increments ({} requeued, {} dropped): {}",
+                    batch.size(), requeued, batch.size() - requeued, e.getMessage());
+        }
+    }
+
+    /**
+     * 심볼별 기준 시각 이후 가장 최근 장외 봉
+     * @param symbols 심볼 (대문자)
+     * @param sinceEpochMillis 봉 시작 시각 하한 (epoch ms)
+     */
+    public Map<String, ExtendedHoursBar> getLatestBars(Collection<String> symbols, long sinceEpochMillis) {
+        if (symbols.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, ExtendedHoursBar> result = new HashMap<>();
+        for (ExtendedHoursBar bar : extendedHoursBarRepository.findLatestBars(symbols, sinceEpochMillis)) {
+            result.put(bar.getSymbol(), bar);
+        }
+        return result;
+    }
+
+    /**
+     * 특정 심볼의 기간 내 장외 봉 (시간순)
+     */
+    public List<ExtendedHoursBar> getBars(String symbol, long fromEpochMillis, long toEpochMillis) {
+        return extendedHoursBarRepository.findBySymbolAndBucketStartBetweenOrderByBucketStartAsc(
+                symbol.toUpperCase(), fromEpochMillis, toEpochMillis);
+    }
+
+    /**
+     * 보존 기간이 지난 장외 봉 삭제
+     * @return 삭제된 봉 수
+     */
+    public int deleteBefore(long cutoffEpochMillis) {
+        return extendedHoursBarRepository.deleteByBucketStartBefore(cutoffEpochMillis);
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        // 종료 전 수집 중인 봉 저장
+        flush();
+    }
+
+    /**
+     * flush 대기 봉 증분 (실패한 flush 횟수 포함)
+     */
+    private static final class PendingBar {
+        private final ExtendedHoursBar bar;
+        private int attempts;
+
+        private PendingBar(ExtendedHoursBar bar) {
+            this.bar = bar;
+        }
+    }
+
+    /**
+     * 수집 중인 1분 봉 (openBars.compute 안에서만 갱신)
+     */
+    private static final class BarBuilder {
+        private final long bucketStart;
+        private final TradingSession session;
+        private long openMicros;
+        private long highMicros;
+        private long lowMicros;
+        private long closeMicros;
+        private long volume;
+        private int tradeCount;
+        private long firstTradeAt;
+        private long lastTradeAt;
+
+        private BarBuilder(long bucketStart, TradingSession session, long priceMicros, long volume, long timestamp) {
+            this.bucketStart = bucketStart;
+            this.session = session;
+            this.openMicros = priceMicros;
+            this.highMicros = priceMicros;
+            this.lowMicros = priceMicros;
+            this.closeMicros = priceMicros;
+            this.volume = volume;
+            this.tradeCount = 1;
+            this.firstTradeAt = timestamp;
+            this.lastTradeAt = timestamp;
+        }
+
+        private void add(long priceMicros, long tradeVolume, long timestamp) {
+            highMicros = Math.max(highMicros, priceMicros);
+            lowMicros = Math.min(lowMicros, priceMicros);
+            if (timestamp < firstTradeAt) {
+                openMicros = priceMicros;
+                firstTradeAt = timestamp;
+            }
+            if (timestamp >= lastTradeAt) {
+                closeMicros = priceMicros;
+                lastTradeAt = timestamp;
+            }
+            volume += tradeVolume;
+            tradeCount++;
+        }
+
+        private ExtendedHoursBar toBar(String symbol) {
+            return ExtendedHoursBar.builder()
+                    .symbol(symbol)
+                    .bucketStart(bucketStart)
+                    .session(session)
+                    .openMicros(openMicros)
+                    .highMicros(highMicros)
+                    .lowMicros(lowMicros)
+                    .closeMicros(closeMicros)
+                    .volume(volume)
+                    .tradeCount(tradeCount)
+                    .firstTradeAt(firstTradeAt)
+                    .lastTradeAt(lastTradeAt)
+                    .build();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.stocker_back.stocker_back.service;
 
+import com.stocker_back.stocker_back.config.MetricNames;
 import com.stocker_back.stocker_back.domain.FinancialMetrics;
 import com.stocker_back.stocker_back.domain.StockSymbol;
 import com.stocker_back.stocker_back.dto.CompanyProfileDTO;
@@ -8,6 +9,7 @@ import com.stocker_back.stocker_back.dto.FinancialMetricsResult;
 import com.stocker_back.stocker_back.repository.FinancialMetricsRepository;
 import com.stocker_back.stocker_back.repository.StockSymbolRepository;
 import com.stocker_back.stocker_back.util.FinnhubApiClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -29,16 +31,19 @@ public class FinancialMetricsService {
     private final StockSymbolRepository stockSymbolRepository;
     private final FinnhubApiClient finnhubApiClient;
     private final CompanyProfileService companyProfileService;
+    private final MeterRegistry meterRegistry;
     
     public FinancialMetricsService(
         FinancialMetricsRepository financialMetricsRepository,
         StockSymbolRepository stockSymbolRepository,
         FinnhubApiClient finnhubApiClient,
-        CompanyProfileService companyProfileService) {
+        CompanyProfileService companyProfileService,
+        MeterRegistry meterRegistry) {
         this.financialMetricsRepository = financialMetricsRepository;
         this.stockSymbolRepository = stockSymbolRepository;
         this.finnhubApiClient = finnhubApiClient;
         this.companyProfileService = companyProfileService;
+        this.meterRegistry = meterRegistry;
     }
     
     /**
@@ -261,7 +266,9 @@ public class FinancialMetricsService {
         // 배치의 모든 데이터를 한번에 저장 (성능 향상)
         if (!metricsToSave.isEmpty()) {
             log.debug("💾 Saving {} financial metrics to database...", metricsToSave.size());
-            financialMetricsRepository.saveAll(metricsToSave);
+            meterRegistry.timer(MetricNames.BATCH_DURATION, "job", "financial_metrics")
+                    .record(() -> financialMetricsRepository.saveAll(metricsToSave));
+            meterRegistry.counter(MetricNames.BATCH_ITEMS, "job", "financial_metrics").increment(metricsToSave.size());
             log.debug("✅ Successfully saved {} metrics", metricsToSave.size());
         }
         
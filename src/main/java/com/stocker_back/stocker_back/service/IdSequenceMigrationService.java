@@ -0,0 +1,170 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.domain.FinancialMetrics;
+import com.stocker_back.stocker_back.domain.Quote;
+import com.stocker_back.stocker_back.domain.StockSymbol;
+import com.stocker_back.stocker_back.domain.Trade;
+import com.stocker_back.stocker_back.domain.User;
+import com.stocker_back.stocker_back.domain.VirtualAccount;
+import com.stocker_back.stocker_back.domain.VirtualHolding;
+import com.stocker_back.stocker_back.domain.VirtualOrder;
+import com.stocker_back.stocker_back.domain.VirtualTradeHistory;
+import com.stocker_back.stocker_back.domain.Watchlist;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 엔티티 id 시퀀스 마이그레이션 서비스
+ *
+ * IDENTITY 컬럼은 Hibernate가 INSERT 배치를 할 수 없으므로 모든 엔티티는
+ * {table}_id_seq 시퀀스 + pooled optimizer(allocationSize)로 id를 미리 할당합니다.
+ *
+ * 주요 기능:
+ * - 기존 IDENTITY 컬럼을 일반 컬럼 + 시퀀스 기본값으로 전환
+ * - 시퀀스 INCREMENT BY를 엔티티의 ID_ALLOCATION_SIZE와 일치시키고, 현재 최대 id 이후부터 할당되도록 조정
+ * - id 컬럼 기본값을 nextval로 설정 (COPY 등 id 없이 INSERT하는 경로용)
+ *
+ * Hibernate는 시작 시 시퀀스 증가 값이 allocationSize와 다르면 실패하므로
+ * EntityManagerFactory보다 먼저 실행됩니다. (DatabaseSchemaConfig 참고)
+ * trades 시퀀스는 TradePartitionService가 만든 뒤 이 서비스가 증가 값을 맞춥니다.
+ */
+@Slf4j
+@Service
+public class IdSequenceMigrationService {
+
+    private static final Map<String, Integer> ALLOCATION_SIZES = new LinkedHashMap<>();
+
+    static {
+        ALLOCATION_SIZES.put("trades", Trade.ID_ALLOCATION_SIZE);
+        ALLOCATION_SIZES.put("quotes", Quote.ID_ALLOCATION_SIZE);
+        ALLOCATION_SIZES.put("stock_info", StockSymbol.ID_ALLOCATION_SIZE);
+        ALLOCATION_SIZES.put("basic_financials", FinancialMetrics.ID_ALLOCATION_SIZE);
+        ALLOCATION_SIZES.put("users", User.ID_ALLOCATION_SIZE);
+        ALLOCATION_SIZES.put("watchlist", Watchlist.ID_ALLOCATION_SIZE);
+        ALLOCATION_SIZES.put("virtual_account", VirtualAccount.ID_ALLOCATION_SIZE);
+        ALLOCATION_SIZES.put("virtual_holding", VirtualHolding.ID_ALLOCATION_SIZE);
+        ALLOCATION_SIZES.put("virtual_trade_history", VirtualTradeHistory.ID_ALLOCATION_SIZE);
+        ALLOCATION_SIZES.put("virtual_order", VirtualOrder.ID_ALLOCATION_SIZE);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public IdSequenceMigrationService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        // JPA 트랜잭션 매니저는 이 빈 이후에 생성되므로 DataSource 트랜잭션을 직접 사용
+        this.transactionTemplate = new TransactionTemplate(
+                new DataSourceTransactionManager(Objects.requireNonNull(jdbcTemplate.getDataSource())));
+    }
+
+    /**
+     * Hibernate 초기화 전: 기존 테이블의 IDENTITY 제거 및 시퀀스 증가 값 조정
+     */
+    @PostConstruct
+    public void migrate() {
+        ALLOCATION_SIZES.forEach((table, allocationSize) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> migrateTable(table, allocationSize));
+            } catch (Exception e) {
+                log.error("❌ Failed to migrate id sequence for {}: {}", table, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Hibernate 초기화 후: 새로 생성된 테이블의 id 기본값 설정
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIdDefaults() {
+        ALLOCATION_SIZES.keySet().forEach(table -> {
+            try {
+                if (tableExists(table) && sequenceExists(sequenceName(table))) {
+                    setIdDefault(table);
+                }
+            } catch (Exception e) {
+                log.error("❌ Failed to set id default for {}: {}", table, e.getMessage());
+            }
+        });
+    }
+
+    // ===== Private Implementation Methods =====
+
+    private void migrateTable(String table, int allocationSize) {
+        if (!tableExists(table)) {
+            // 새 테이블은 Hibernate가 올바른 증가 값으로 시퀀스를 생성
+            return;
+        }
+
+        String sequence = sequenceName(table);
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long nextValue = (maxId != null ? maxId : 0L) + allocationSize;
+
+        if (isIdentityColumn(table)) {
+            // IDENTITY 시퀀스는 DROP IDENTITY 시 함께 삭제되므로 같은 이름으로 다시 생성
+            log.info("🔧 Converting {}.id from IDENTITY to sequence {} (allocation size {})",
+                    table, sequence, allocationSize);
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        }
+
+        if (!sequenceExists(sequence)) {
+            jdbcTemplate.execute(String.format("CREATE SEQUENCE %s INCREMENT BY %d START WITH %d",
+                    sequence, allocationSize, nextValue));
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " OWNED BY " + table + ".id");
+        } else if (sequenceIncrement(sequence) != allocationSize) {
+            log.info("🔧 Adjusting {} increment to {}", sequence, allocationSize);
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + allocationSize);
+            // pooled optimizer는 nextval 값을 블록의 끝으로 사용하므로 최대 id + 할당 크기부터 시작
+            jdbcTemplate.queryForObject("SELECT setval(?::regclass, GREATEST(?, " +
+                    "(SELECT last_value FROM " + sequence + ") + ?), false)",
+                    Long.class, sequence, nextValue, allocationSize);
+        }
+
+        setIdDefault(table);
+    }
+
+    private void setIdDefault(String table) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" +
+                sequenceName(table) + "')");
+    }
+
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    private boolean sequenceExists(String sequence) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?)",
+                Boolean.class, sequence));
+    }
+
+    private long sequenceIncrement(String sequence) {
+        List<Long> increments = jdbcTemplate.queryForList(
+                "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?",
+                Long.class, sequence);
+        return increments.isEmpty() ? 0L : increments.get(0);
+    }
+
+    private boolean isIdentityColumn(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = ? AND column_name = 'id' " +
+                "AND is_identity = 'YES')",
+                Boolean.class, table));
+    }
+
+    private static String sequenceName(String table) {
+        return table + "_id_seq";
+    }
+}
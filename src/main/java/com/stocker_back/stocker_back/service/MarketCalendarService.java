@@ -0,0 +1,448 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.domain.TradingSession;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * NYSE 거래일 캘린더 서비스
+ *
+ * 번들된 캘린더 파일(휴장일, 조기 폐장일)을 읽어 파일이 다루는 연도의 모든 거래일 세션을
+ * 시작 시 미리 계산해 둡니다. 파일 범위를 벗어난 날짜는 주말만 제외한 기본 세션으로 계산합니다.
+ *
+ * 거래 세션 (America/New_York, TradingSession):
+ * - PRE_MARKET: 04:00 ~ 09:30
+ * - REGULAR: 09:30 ~ 16:00 (조기 폐장일은 캘린더의 폐장 시각)
+ * - AFTER_HOURS: 폐장 ~ 폐장 4시간 후 (20:00, 조기 폐장일은 17:00)
+ *
+ * 수집 구간 (Phase, 수집할 세션 집합 기준):
+ * - PRE_MARKET_SETUP: 첫 수집 세션 시작 N분 전 ~ 시작 (WebSocket 연결/구독 준비)
+ * - OPEN: 첫 수집 세션 시작 ~ 마지막 수집 세션 종료
+ * - CLOSED: 그 외 시간, 주말, 휴장일
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MarketCalendarService {
+
+    public static final ZoneId MARKET_ZONE = ZoneId.of("America/New_York");
+    private static final LocalTime REGULAR_OPEN = LocalTime.of(9, 30);
+    private static final LocalTime REGULAR_CLOSE = LocalTime.of(16, 0);
+    private static final LocalTime PRE_MARKET_OPEN = LocalTime.of(4, 0);
+    private static final Duration AFTER_HOURS_LENGTH = Duration.ofHours(4);
+    private static final Set<TradingSession> REGULAR_ONLY = EnumSet.of(TradingSession.REGULAR);
+    private static final int MAX_LOOKAHEAD_DAYS = 14;
+
+    public enum Phase {
+        CLOSED, PRE_MARKET_SETUP, OPEN
+    }
+
+    private final ResourceLoader resourceLoader;
+
+    @Value("${app.market-calendar.location:classpath:market-calendar/nyse.csv}")
+    private String calendarLocation;
+
+    @Value("${app.market-calendar.pre-market-setup-minutes:30}")
+    private int preMarketSetupMinutes;
+
+    private final Map<LocalDate, String> holidays = new HashMap<>();
+    private final Map<LocalDate, LocalTime> earlyCloses = new HashMap<>();
+    private final Map<LocalDate, Session> sessions = new HashMap<>();
+    private LocalDate coveredFrom;
+    private LocalDate coveredTo;
+    private volatile Day cachedDay; // tradingSessionAt 용 최근 조회 날짜
+
+    /**
+     * 캘린더 파일 로드 및 세션 사전 계산
+     */
+    @PostConstruct
+    public void load() {
+        Resource resource = resourceLoader.getResource(calendarLocation);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                parseLine(line, lineNumber);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to load market calendar: " + calendarLocation, e);
+        }
+
+        if (coveredFrom != null) {
+            for (LocalDate date = coveredFrom; !date.isAfter(coveredTo); date = date.plusDays(1)) {
+                Session session = buildSession(date);
+                if (session != null) {
+                    sessions.put(date, session);
+                }
+            }
+        }
+
+        log.info("📅 Market calendar loaded from {}: {} holidays, {} early closes, {} sessions ({} ~ {})",
+                calendarLocation, holidays.size(), earlyCloses.size(), sessions.size(), coveredFrom, coveredTo);
+        LocalDate today = LocalDate.now(MARKET_ZONE);
+        if (coveredTo == null || coveredTo.isBefore(today.plusDays(60))) {
+            log.warn("⚠️ Market calendar ends at {}; holidays after that date are not known", coveredTo);
+        }
+    }
+
+    // ===== Public API Methods =====
+
+    /**
+     * 해당 날짜의 거래 세션 (휴장일/주말이면 empty)
+     */
+    public Optional<Session> getSession(LocalDate date) {
+        if (isCovered(date)) {
+            return Optional.ofNullable(sessions.get(date));
+        }
+        return Optional.ofNullable(buildSession(date));
+    }
+
+    public boolean isTradingDay(LocalDate date) {
+        return getSession(date).isPresent();
+    }
+
+    /**
+     * 해당 날짜가 휴장일이면 휴장 사유
+     */
+    public Optional<String> getHoliday(LocalDate date) {
+        return Optional.ofNullable(holidays.get(date));
+    }
+
+    /**
+     * 특정 시각의 수집 구간 (정규장만 수집)
+     */
+    public Phase phaseAt(Instant instant) {
+        return phaseAt(instant, REGULAR_ONLY);
+    }
+
+    /**
+     * 특정 시각의 수집 구간
+     * @param sessions 수집할 거래 세션
+     */
+    public Phase phaseAt(Instant instant, Set<TradingSession> sessions) {
+        LocalDate date = instant.atZone(MARKET_ZONE).toLocalDate();
+        return getSession(date).map(session -> session.phaseAt(instant, sessions)).orElse(Phase.CLOSED);
+    }
+
+    /**
+     * 특정 시각 이후 가장 가까운 수집 구간 전환 (정규장만 수집)
+     */
+    public Transition nextTransition(Instant instant) {
+        return nextTransition(instant, REGULAR_ONLY);
+    }
+
+    /**
+     * 특정 시각 이후 가장 가까운 수집 구간 전환
+     * @param sessions 수집할 거래 세션 (비어 있으면 안 됨)
+     */
+    public Transition nextTransition(Instant instant, Set<TradingSession> sessions) {
+        if (sessions.isEmpty()) {
+            throw new IllegalArgumentException("At least one trading session must be enabled");
+        }
+        LocalDate date = instant.atZone(MARKET_ZONE).toLocalDate();
+        for (int i = 0; i <= MAX_LOOKAHEAD_DAYS; i++) {
+            Optional<Session> session = getSession(date.plusDays(i));
+            if (session.isEmpty()) {
+                continue;
+            }
+            Session s = session.get();
+            Instant windowStart = s.windowStart(sessions);
+            Instant setupStart = windowStart.minus(s.setupLead);
+            Instant windowEnd = s.windowEnd(sessions);
+            if (setupStart.isAfter(instant)) {
+                return new Transition(setupStart, Phase.PRE_MARKET_SETUP, s);
+            }
+            if (windowStart.isAfter(instant)) {
+                return new Transition(windowStart, Phase.OPEN, s);
+            }
+            if (windowEnd.isAfter(instant)) {
+                return new Transition(windowEnd, Phase.CLOSED, s);
+            }
+        }
+        throw new IllegalArgumentException("No trading session within " + MAX_LOOKAHEAD_DAYS + " days after " + instant);
+    }
+
+    /**
+     * 체결 시각이 속한 거래 세션 (세션 밖이거나 휴장일이면 null)
+     * 수신 경로에서 체결마다 호출되므로 최근 조회한 날짜의 경계를 캐시해 비교만 합니다.
+     * @param epochMillis 체결 시각 (epoch ms)
+     */
+    public TradingSession tradingSessionAt(long epochMillis) {
+        Day day = cachedDay;
+        if (day == null || epochMillis < day.startMillis || epochMillis >= day.endMillis) {
+            LocalDate date = Instant.ofEpochMilli(epochMillis).atZone(MARKET_ZONE).toLocalDate();
+            day = new Day(date.atStartOfDay(MARKET_ZONE).toInstant().toEpochMilli(),
+                    date.plusDays(1).atStartOfDay(MARKET_ZONE).toInstant().toEpochMilli(),
+                    getSession(date).orElse(null));
+            cachedDay = day;
+        }
+        return day.session != null ? day.session.tradingSessionAt(epochMillis) : null;
+    }
+
+    public LocalDate getCoveredFrom() {
+        return coveredFrom;
+    }
+
+    public LocalDate getCoveredTo() {
+        return coveredTo;
+    }
+
+    public int getPreMarketSetupMinutes() {
+        return preMarketSetupMinutes;
+    }
+
+    // ===== Private Helper Methods =====
+
+    private void parseLine(String line, int lineNumber) {
+        String[] fields = line.split(",", -1);
+        if (fields.length < 2) {
+            throw new IllegalArgumentException("Invalid market calendar line " + lineNumber + ": " + line);
+        }
+        LocalDate date = LocalDate.parse(fields[0].trim());
+        String type = fields[1].trim();
+        String description = fields.length > 3 ? fields[3].trim() : type;
+
+        switch (type) {
+            case "HOLIDAY" -> holidays.put(date, description);
+            case "EARLY_CLOSE" -> {
+                if (fields.length < 3 || fields[2].isBlank()) {
+                    throw new IllegalArgumentException("Early close without close time at line " + lineNumber + ": " + line);
+                }
+                earlyCloses.put(date, LocalTime.parse(fields[2].trim()));
+            }
+            default -> throw new IllegalArgumentException("Unknown market calendar type at line " + lineNumber + ": " + type);
+        }
+
+        // 파일에 등장한 연도 전체를 캘린더 범위로 간주
+        LocalDate yearStart = date.withDayOfYear(1);
+        LocalDate yearEnd = yearStart.plusYears(1).minusDays(1);
+        if (coveredFrom == null || yearStart.isBefore(coveredFrom)) {
+            coveredFrom = yearStart;
+        }
+        if (coveredTo == null || yearEnd.isAfter(coveredTo)) {
+            coveredTo = yearEnd;
+        }
+    }
+
+    private boolean isCovered(LocalDate date) {
+        return coveredFrom != null && !date.isBefore(coveredFrom) && !date.isAfter(coveredTo);
+    }
+
+    private Session buildSession(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY || holidays.containsKey(date)) {
+            return null;
+        }
+        LocalTime earlyClose = earlyCloses.get(date);
+        ZonedDateTime open = date.atTime(REGULAR_OPEN).atZone(MARKET_ZONE);
+        ZonedDateTime close = date.atTime(earlyClose != null ? earlyClose : REGULAR_CLOSE).atZone(MARKET_ZONE);
+        return new Session(date, date.atTime(PRE_MARKET_OPEN).atZone(MARKET_ZONE).toInstant(), open.toInstant(),
+                close.toInstant(), close.plus(AFTER_HOURS_LENGTH).toInstant(),
+                Duration.ofMinutes(preMarketSetupMinutes), earlyClose != null);
+    }
+
+    // ===== Value Classes =====
+
+    /**
+     * 하루 거래 세션 (프리마켓 시작, 개장, 폐장, 애프터마켓 종료 시각)
+     */
+    public static final class Session {
+        private final LocalDate date;
+        private final Instant preMarketOpen;
+        private final Instant open;
+        private final Instant close;
+        private final Instant afterHoursClose;
+        private final Duration setupLead;
+        private final boolean earlyClose;
+        private final long preMarketOpenMillis;
+        private final long openMillis;
+        private final long closeMillis;
+        private final long afterHoursCloseMillis;
+
+        private Session(LocalDate date, Instant preMarketOpen, Instant open, Instant close, Instant afterHoursClose,
+                        Duration setupLead, boolean earlyClose) {
+            this.date = date;
+            this.preMarketOpen = preMarketOpen;
+            this.open = open;
+            this.close = close;
+            this.afterHoursClose = afterHoursClose;
+            this.setupLead = setupLead;
+            this.earlyClose = earlyClose;
+            this.preMarketOpenMillis = preMarketOpen.toEpochMilli();
+            this.openMillis = open.toEpochMilli();
+            this.closeMillis = close.toEpochMilli();
+            this.afterHoursCloseMillis = afterHoursClose.toEpochMilli();
+        }
+
+        /**
+         * 정규장 기준 수집 구간
+         */
+        public Phase phaseAt(Instant instant) {
+            return phaseAt(instant, REGULAR_ONLY);
+        }
+
+        /**
+         * 수집할 세션 기준 수집 구간 (첫 세션 시작 ~ 마지막 세션 종료, 그 사이 세션도 포함)
+         */
+        public Phase phaseAt(Instant instant, Set<TradingSession> sessions) {
+            if (sessions.isEmpty()) {
+                return Phase.CLOSED;
+            }
+            Instant windowStart = windowStart(sessions);
+            if (instant.isBefore(windowStart.minus(setupLead)) || !instant.isBefore(windowEnd(sessions))) {
+                return Phase.CLOSED;
+            }
+            return instant.isBefore(windowStart) ? Phase.PRE_MARKET_SETUP : Phase.OPEN;
+        }
+
+        /**
+         * 체결 시각이 속한 거래 세션 (세션 밖이면 null)
+         */
+        public TradingSession tradingSessionAt(long epochMillis) {
+            if (epochMillis < preMarketOpenMillis || epochMillis >= afterHoursCloseMillis) {
+                return null;
+            }
+            if (epochMillis < openMillis) {
+                return TradingSession.PRE_MARKET;
+            }
+            return epochMillis < closeMillis ? TradingSession.REGULAR : TradingSession.AFTER_HOURS;
+        }
+
+        public Instant start(TradingSession session) {
+            return switch (session) {
+                case PRE_MARKET -> preMarketOpen;
+                case REGULAR -> open;
+                case AFTER_HOURS -> close;
+            };
+        }
+
+        public Instant end(TradingSession session) {
+            return switch (session) {
+                case PRE_MARKET -> open;
+                case REGULAR -> close;
+                case AFTER_HOURS -> afterHoursClose;
+            };
+        }
+
+        // TradingSession 선언 순서가 시간 순서이므로 가장 이른/늦은 세션으로 수집 구간 계산
+        private Instant windowStart(Set<TradingSession> sessions) {
+            for (TradingSession session : TradingSession.values()) {
+                if (sessions.contains(session)) {
+                    return start(session);
+                }
+            }
+            return open;
+        }
+
+        private Instant windowEnd(Set<TradingSession> sessions) {
+            TradingSession[] values = TradingSession.values();
+            for (int i = values.length - 1; i >= 0; i--) {
+                if (sessions.contains(values[i])) {
+                    return end(values[i]);
+                }
+            }
+            return close;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        /**
+         * 정규장 기준 WebSocket 준비 시작 시각
+         */
+        public Instant getSetupStart() {
+            return open.minus(setupLead);
+        }
+
+        public Instant getPreMarketOpen() {
+            return preMarketOpen;
+        }
+
+        public Instant getOpen() {
+            return open;
+        }
+
+        public Instant getClose() {
+            return close;
+        }
+
+        public Instant getAfterHoursClose() {
+            return afterHoursClose;
+        }
+
+        public boolean isEarlyClose() {
+            return earlyClose;
+        }
+    }
+
+    /**
+     * tradingSessionAt 캐시 항목 (해당 날짜의 시작/끝 epoch ms와 거래 세션, 휴장일이면 session null)
+     */
+    private static final class Day {
+        private final long startMillis;
+        private final long endMillis;
+        private final Session session;
+
+        private Day(long startMillis, long endMillis, Session session) {
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.session = session;
+        }
+    }
+
+    /**
+     * 구간 전환 (시각, 전환 후 구간, 해당 세션)
+     */
+    public static final class Transition {
+        private final Instant at;
+        private final Phase phase;
+        private final Session session;
+
+        private Transition(Instant at, Phase phase, Session session) {
+            this.at = at;
+            this.phase = phase;
+            this.session = session;
+        }
+
+        public Instant getAt() {
+            return at;
+        }
+
+        public Phase getPhase() {
+            return phase;
+        }
+
+        public Session getSession() {
+            return session;
+        }
+    }
+}
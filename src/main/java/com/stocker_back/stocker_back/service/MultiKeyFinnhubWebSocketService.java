@@ -1,11 +1,19 @@
 package com.stocker_back.stocker_back.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stocker_back.stocker_back.config.MetricNames;
 import com.stocker_back.stocker_back.domain.Trade;
+import com.stocker_back.stocker_back.domain.TradingSession;
 import com.stocker_back.stocker_back.dto.FinnhubSubscriptionDTO;
 import com.stocker_back.stocker_back.dto.FinnhubTradeDTO;
+import com.stocker_back.stocker_back.repository.BulkCopyRepository;
 import com.stocker_back.stocker_back.repository.StockSymbolRepository;
-import com.stocker_back.stocker_back.repository.TradeRepository;
+import com.stocker_back.stocker_back.util.TradeConditions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.java_websocket.client.WebSocketClient;
@@ -16,25 +24,28 @@ import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
-import java.math.BigDecimal;
 import java.net.URI;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * 멀티 API 키 기반 Finnhub WebSocket 연결 관리 서비스
  * 
  * 주요 기능:
  * - 여러 API 키를 사용한 WebSocket 연결 관리 (지속 연결)
- * - S&P 500 종목 알파벳 순 고정 구독 (50개씩 분배)
+ * - 수요 기반 구독: SubscriptionDemandService가 계산한 순위(S&P 500 + 관심 종목)대로 소켓 용량까지 구독
  * - 실시간 거래 데이터 수신 및 심볼별 10초 간격 저장
+ * - 체결 시각 기준 거래 세션 분류 (설정된 세션만 저장, 장외 체결은 ExtendedHoursBarService의 1분 봉으로 저장)
  * - 자동 재연결 및 에러 처리
  * 
- * 구독 방식: 고정된 알파벳 순서로 connection-1(A~), connection-2(M~)...
+ * 구독 방식: 계획이 바뀌면 달라진 심볼만 구독/해지 (계획이 없으면 S&P 500 알파벳 순)
  * 저장 방식: WebSocket 연결 유지하면서 심볼별로 10초 간격으로만 DB 저장
  */
 @Slf4j
@@ -42,9 +53,18 @@ import java.util.concurrent.ConcurrentHashMap;
 @RequiredArgsConstructor
 public class MultiKeyFinnhubWebSocketService {
     
+    // 기록 재생(TickReplayService) 연결 id 접두어
+    public static final String REPLAY_CONNECTION_PREFIX = "replay-";
+    
     // ===== Dependencies =====
     private final StockSymbolRepository stockSymbolRepository;
-    private final TradeRepository tradeRepository;
+    private final BulkCopyRepository bulkCopyRepository;
+    private final List<TradeTickListener> tradeTickListeners;
+    private final MeterRegistry meterRegistry;
+    private final TickLatencyTracker tickLatencyTracker;
+    private final TickRecorder tickRecorder;
+    private final MarketCalendarService marketCalendarService;
+    private final ExtendedHoursBarService extendedHoursBarService;
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     // ===== Configuration =====
@@ -66,6 +86,18 @@ public class MultiKeyFinnhubWebSocketService {
     @Value("${finnhub.websocket.save-interval-seconds:10}")
     private int saveIntervalSeconds;
     
+    @Value("${finnhub.websocket.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+    
+    @Value("${finnhub.websocket.flush-max-attempts:3}")
+    private int flushMaxAttempts;
+    
+    @Value("${finnhub.websocket.flush-max-pending:100000}")
+    private int flushMaxPending;
+    
+    @Value("${finnhub.websocket.sessions:regular}")
+    private String sessions;
+    
     // ===== State Management =====
     private final Map<String, WebSocketClient> webSocketClients = new HashMap<>();
     private final Map<String, Boolean> connectionStatus = new HashMap<>();
@@ -75,16 +107,62 @@ public class MultiKeyFinnhubWebSocketService {
     private final ConcurrentHashMap<String, LocalDateTime> lastSaveTimeBySymbol = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, FinnhubTradeDTO.TradeData> latestTradeBySymbol = new ConcurrentHashMap<>();
     
+    // ===== Subscription State (연결별 구독 심볼, 수요 기반 구독 계획) =====
+    private final ConcurrentHashMap<String, Set<String>> subscriptionsByConnection = new ConcurrentHashMap<>();
+    private volatile List<String> subscriptionPlan;
+    
+    // ===== Trade Write Buffer (COPY로 일괄 저장) =====
+    private final ConcurrentLinkedQueue<PendingTrade> pendingTrades = new ConcurrentLinkedQueue<>();
+    
+    // ===== Metrics =====
+    private final ConcurrentHashMap<String, FrameMeter> frameMeters = new ConcurrentHashMap<>();
+    private Timer parseTimer;
+    private Timer persistTimer;
+    private Counter persistedCounter;
+    private Counter droppedCounter;
+    
     // ===== Data Saving Control =====
     private volatile boolean dataSavingEnabled = false; // 기본적으로 비활성화 (시장 시간에만 활성화)
+    private volatile boolean sessionFilterEnabled = true; // false면 체결 시각과 무관하게 정규장 체결로 저장
+    private Set<TradingSession> ingestSessions;
     
     // ===== Initialization =====
     
     @PostConstruct
     public void init() {
+        this.ingestSessions = TradingSession.parseList(sessions);
+        if (ingestSessions.isEmpty()) {
+            throw new IllegalArgumentException("finnhub.websocket.sessions must list at least one of pre, regular, post");
+        }
         this.scheduler = Executors.newScheduledThreadPool(4);
+        scheduler.scheduleWithFixedDelay(this::flushPendingTrades, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(this::sampleFrameRates, 1, 1, TimeUnit.SECONDS);
+        
+        this.parseTimer = Timer.builder(MetricNames.WEBSOCKET_PARSE)
+                .description("WebSocket trade message parse time")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.persistTimer = Timer.builder(MetricNames.TRADES_PERSIST)
+                .description("Buffered trade COPY flush time")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.persistedCounter = Counter.builder(MetricNames.TRADES_PERSISTED)
+                .description("Trades written by the COPY flush")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder(MetricNames.TRADES_DROPPED)
+                .description("Buffered trades dropped after failed COPY flushes or a full retry buffer")
+                .register(meterRegistry);
+        Gauge.builder(MetricNames.TRADES_PENDING, pendingTrades, ConcurrentLinkedQueue::size)
+                .description("Trades waiting in the write buffer")
+                .register(meterRegistry);
+        FunctionCounter.builder(MetricNames.TRADE_CONDITIONS_DROPPED, TradeConditions.class,
+                        type -> TradeConditions.getDroppedCount())
+                .description("Trade condition codes that do not fit the 0-63 condition bitset and were not stored")
+                .register(meterRegistry);
         log.info("🔧 MultiKeyFinnhubWebSocketService initialized with {} thread pool", 4);
         log.info("⏰ Symbol-based save interval: {} seconds (WebSocket connection maintained)", saveIntervalSeconds);
+        log.info("💾 Trade write buffer flush interval: {} ms", flushIntervalMs);
+        log.info("🕐 Ingest sessions: {} (extended-hours trades stored as 1-minute bars)", ingestSessions);
     }
     
     // ===== Public API Methods =====
@@ -111,8 +189,59 @@ public class MultiKeyFinnhubWebSocketService {
             }
         }
         
-        // 모든 연결이 완료된 후 구독 시작
-        scheduler.schedule(this::subscribeToSp500Stocks, 5, TimeUnit.SECONDS);
+        // 모든 연결이 완료된 후 구독 계획에 맞춰 구독
+        scheduler.schedule(this::reconcileSubscriptions, 5, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * 구독 계획 갱신 (순위순 심볼 목록), 연결되어 있으면 달라진 심볼만 구독/해지
+     */
+    public void updateSubscriptionPlan(List<String> rankedSymbols) {
+        List<String> previous = subscriptionPlan;
+        subscriptionPlan = List.copyOf(rankedSymbols);
+        if (!subscriptionPlan.equals(previous) && isAnyConnected()) {
+            scheduleReconcile(0);
+        }
+    }
+    
+    /**
+     * 현재 API 키 수 기준 최대 구독 가능 심볼 수
+     */
+    public int getSubscriptionCapacity() {
+        return getValidApiKeys().size() * maxSymbolsPerKey;
+    }
+    
+    /**
+     * 현재 구독 중인 심볼
+     */
+    public Set<String> getSubscribedSymbols() {
+        Set<String> symbols = new TreeSet<>();
+        subscriptionsByConnection.values().forEach(symbols::addAll);
+        return symbols;
+    }
+    
+    /**
+     * 구독 상태 요약 (연결별 구독 수, 계획/용량)
+     */
+    public Map<String, Object> getSubscriptionStatus() {
+        Map<String, Integer> byConnection = new TreeMap<>();
+        subscriptionsByConnection.forEach((connectionId, symbols) -> byConnection.put(connectionId, symbols.size()));
+        List<String> plan = subscriptionPlan;
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("subscribed", getSubscribedSymbols().size());
+        status.put("byConnection", byConnection);
+        status.put("planned", plan != null ? plan.size() : null);
+        status.put("capacity", getSubscriptionCapacity());
+        return status;
+    }
+    
+    /**
+     * 연결별 초당 수신 프레임 수 (최근 1초)
+     */
+    public Map<String, Double> getFrameRates() {
+        Map<String, Double> rates = new TreeMap<>();
+        frameMeters.forEach((connectionId, meter) -> rates.put(connectionId, meter.rate));
+        return rates;
     }
     
     /**
@@ -205,6 +334,7 @@ public class MultiKeyFinnhubWebSocketService {
         summary.put("recentlySaved", recentlySaved);
         summary.put("pendingSave", pendingSave);
         summary.put("saveIntervalSeconds", saveIntervalSeconds);
+        summary.put("ingestSessions", ingestSessions);
         summary.put("timestamp", now);
         
         return summary;
@@ -231,6 +361,29 @@ public class MultiKeyFinnhubWebSocketService {
         return dataSavingEnabled;
     }
     
+    /**
+     * 심볼별 마지막 저장 시간 초기화 (재생 시작/종료 시 실시간 저장 간격과 섞이지 않도록)
+     */
+    public void resetSaveIntervals() {
+        lastSaveTimeBySymbol.clear();
+    }
+    
+    /**
+     * 저장할 거래 세션 (finnhub.websocket.sessions)
+     */
+    public Set<TradingSession> getIngestSessions() {
+        return ingestSessions;
+    }
+    
+    /**
+     * 체결 시각 기준 세션 분류 활성화/비활성화
+     * @param enabled false: 모든 체결을 정규장 체결로 저장 (시뮬레이터 부하 테스트용)
+     */
+    public void setSessionFilterEnabled(boolean enabled) {
+        this.sessionFilterEnabled = enabled;
+        log.info("🕐 Trading session filter {}", enabled ? "ENABLED" : "DISABLED");
+    }
+    
     /**
      * 데이터 저장 활성화
      */
@@ -280,11 +433,16 @@ public class MultiKeyFinnhubWebSocketService {
                 public void onOpen(ServerHandshake handshakedata) {
                     log.info("✅ Connected to Finnhub WebSocket [{}]", connectionId);
                     connectionStatus.put(connectionId, true);
+                    // 재연결된 소켓은 구독이 비어 있으므로 계획에 맞춰 다시 구독
+                    subscriptionsByConnection.remove(connectionId);
+                    scheduleReconcile(2);
                 }
                 
                 @Override
                 public void onMessage(String message) {
-                    handleMessage(connectionId, message);
+                    long receivedMillis = System.currentTimeMillis();
+                    tickRecorder.record(connectionId, message, receivedMillis, System.nanoTime());
+                    handleMessage(connectionId, message, receivedMillis);
                 }
                 
                 @Override
@@ -292,6 +450,7 @@ public class MultiKeyFinnhubWebSocketService {
                     log.warn("⚠️ WebSocket connection [{}] closed: code={}, reason={}", 
                             connectionId, code, reason);
                     connectionStatus.put(connectionId, false);
+                    subscriptionsByConnection.remove(connectionId);
                     scheduleReconnect(connectionId, apiKey);
                 }
                 
@@ -315,8 +474,19 @@ public class MultiKeyFinnhubWebSocketService {
      * WebSocket 메시지 처리
      * - 메시지는 실시간으로 계속 수신
      * - 저장은 심볼별로 10초 간격으로만 수행
+     * (수신 경로의 메서드들은 src/jmh 벤치마크에서 직접 호출하므로 package-private)
+     */
+    void handleMessage(String connectionId, String message) {
+        handleMessage(connectionId, message, System.currentTimeMillis());
+    }
+    
+    /**
+     * WebSocket 메시지 처리 (수신 시각 지정)
+     * - TickReplayService는 기록된 수신 시각을 넘기므로 저장 간격 판단과 receivedAt이 원래 수신 시점 기준으로 동작
      */
-    private void handleMessage(String connectionId, String message) {
+    void handleMessage(String connectionId, String message, long receivedMillis) {
+        long receivedNanos = System.nanoTime();
+        frameMeters.computeIfAbsent(connectionId, this::registerFrameMeter).counter.increment();
         try {
             // Ping 메시지 무시
             if ("{\"type\":\"ping\"}".equals(message)) {
@@ -333,13 +503,25 @@ public class MultiKeyFinnhubWebSocketService {
                 return;
             }
             
+            long parseStart = System.nanoTime();
             FinnhubTradeDTO tradeDTO = objectMapper.readValue(message, FinnhubTradeDTO.class);
+            long parsedNanos = System.nanoTime();
+            parseTimer.record(parsedNanos - parseStart, TimeUnit.NANOSECONDS);
             
             if ("trade".equals(tradeDTO.getType()) && tradeDTO.getData() != null) {
+                LocalDateTime receivedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(receivedMillis), ZoneId.systemDefault());
+                tickLatencyTracker.recordNanos(TickLatencyTracker.Stage.PARSE, connectionId, parsedNanos - receivedNanos);
+                
                 // 각 거래 데이터를 심볼별로 처리 (10초 간격 저장 체크)
                 for (FinnhubTradeDTO.TradeData tradeData : tradeDTO.getData()) {
-                    processTradeDataWithInterval(tradeData, connectionId);
+                    if (tradeData.getTimestamp() != null) {
+                        tickLatencyTracker.record(TickLatencyTracker.Stage.RECEIVE, connectionId,
+                                (receivedMillis - tradeData.getTimestamp()) * 1000);
+                    }
+                    processTradeDataWithInterval(tradeData, connectionId, receivedNanos, receivedAt);
                 }
+                
+                tickLatencyTracker.recordNanos(TickLatencyTracker.Stage.PUBLISH, connectionId, System.nanoTime() - parsedNanos);
             }
             
         } catch (Exception e) {
@@ -350,12 +532,18 @@ public class MultiKeyFinnhubWebSocketService {
     /**
      * 심볼별 거래 데이터 처리 및 10초 간격 저장 체크
      */
-    private void processTradeDataWithInterval(FinnhubTradeDTO.TradeData tradeData, String connectionId) {
+    void processTradeDataWithInterval(FinnhubTradeDTO.TradeData tradeData, String connectionId, long receivedNanos,
+                                      LocalDateTime now) {
         String symbol = tradeData.getSymbol();
-        LocalDateTime now = LocalDateTime.now();
         
-        // 최신 거래 데이터 업데이트 (스트리밍용)
-        latestTradeBySymbol.put(symbol, tradeData);
+        // 재생 프레임은 과거 체결이므로 실시간 가격(SSE 스트리밍)과 틱 리스너(대기 주문 체결, 포트폴리오 평가)에 반영하지 않음
+        if (!connectionId.startsWith(REPLAY_CONNECTION_PREFIX)) {
+            // 최신 거래 데이터 업데이트 (스트리밍용)
+            latestTradeBySymbol.put(symbol, tradeData);
+            
+            // 틱 리스너 통지 (포트폴리오 실시간 평가 등)
+            notifyTradeTick(tradeData);
+        }
         
         // 데이터 저장이 비활성화된 경우 저장 건너뛰기
         if (!dataSavingEnabled) {
@@ -363,6 +551,25 @@ public class MultiKeyFinnhubWebSocketService {
             return;
         }
         
+        // 체결 시각 기준 세션 분류: 수집하지 않는 세션은 버리고, 장외 체결은 모두 1분 봉으로 집계
+        if (sessionFilterEnabled) {
+            long tradeTime = tradeData.getTimestamp() != null
+                    ? tradeData.getTimestamp()
+                    : now.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            TradingSession session = marketCalendarService.tradingSessionAt(tradeTime);
+            if (session == null || !ingestSessions.contains(session)) {
+                log.trace("📡 Data received for {} outside ingest sessions ({}), not saved", symbol, session);
+                return;
+            }
+            if (session.isExtended()) {
+                if (tradeData.getPrice() != null) {
+                    extendedHoursBarService.onTrade(symbol, session, Trade.toPriceMicros(tradeData.getPrice()),
+                            tradeData.getVolume() != null ? tradeData.getVolume() : 0L, tradeTime);
+                }
+                return;
+            }
+        }
+        
         // 마지막 저장 시간 확인
         LocalDateTime lastSaveTime = lastSaveTimeBySymbol.get(symbol);
         
@@ -371,7 +578,7 @@ public class MultiKeyFinnhubWebSocketService {
             
             // 10초 간격 경과 -> 저장 수행
             try {
-                saveTradeToDatabase(tradeData, connectionId, symbol, now);
+                saveTradeToDatabase(tradeData, connectionId, symbol, now, receivedNanos);
                 lastSaveTimeBySymbol.put(symbol, now);
                 
                 log.debug("💾 [{}] Saved trade: {} @ ${} (vol: {}, last save: {}s ago)", 
@@ -396,13 +603,14 @@ public class MultiKeyFinnhubWebSocketService {
     /**
      * 데이터베이스에 거래 데이터 저장
      */
-    private void saveTradeToDatabase(FinnhubTradeDTO.TradeData tradeData, String connectionId, String symbol, LocalDateTime saveTime) {
+    private void saveTradeToDatabase(FinnhubTradeDTO.TradeData tradeData, String connectionId, String symbol,
+                                     LocalDateTime saveTime, long receivedNanos) {
         try {
-            Trade trade = convertToTrade(tradeData);
+            Trade trade = convertToTrade(tradeData, saveTime);
             
             if (trade != null) {
-                tradeRepository.save(trade);
-                log.debug("✅ [{}] Successfully saved trade: {} @ {} (saved at: {})", 
+                pendingTrades.add(new PendingTrade(trade, connectionId, receivedNanos));
+                log.debug("✅ [{}] Queued trade: {} @ {} (queued at: {})", 
                         connectionId, symbol, trade.getPrice(), saveTime.toString().substring(11, 19));
             }
             
@@ -411,21 +619,113 @@ public class MultiKeyFinnhubWebSocketService {
         }
     }
     
+    /**
+     * 등록된 틱 리스너에 체결 전달
+     */
+    private void notifyTradeTick(FinnhubTradeDTO.TradeData tradeData) {
+        if (tradeTickListeners.isEmpty() || tradeData.getSymbol() == null || tradeData.getPrice() == null) {
+            return;
+        }
+        long priceMicros = Trade.toPriceMicros(tradeData.getPrice());
+        long timestamp = tradeData.getTimestamp() != null ? tradeData.getTimestamp() : System.currentTimeMillis();
+        for (TradeTickListener listener : tradeTickListeners) {
+            try {
+                listener.onTradeTick(tradeData.getSymbol(), priceMicros, timestamp);
+            } catch (Exception e) {
+                log.warn("⚠️ Trade tick listener failed for {}: {}", tradeData.getSymbol(), e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 버퍼에 쌓인 거래 데이터를 COPY로 일괄 저장
+     *
+     * COPY가 실패하면 배치를 버퍼에 되돌려 다음 flush에서 재시도합니다.
+     * flush-max-attempts번 실패한 거래와 버퍼가 flush-max-pending을 넘는 만큼은 버리고 집계합니다.
+     */
+    private void flushPendingTrades() {
+        if (pendingTrades.isEmpty()) {
+            return;
+        }
+        
+        List<PendingTrade> pending = new ArrayList<>();
+        List<Trade> batch = new ArrayList<>();
+        PendingTrade next;
+        while ((next = pendingTrades.poll()) != null) {
+            pending.add(next);
+            batch.add(next.trade);
+        }
+        
+        try {
+            long flushStart = System.nanoTime();
+            long rows = bulkCopyRepository.copyTrades(batch);
+            long flushEnd = System.nanoTime();
+            persistTimer.record(flushEnd - flushStart, TimeUnit.NANOSECONDS);
+            persistedCounter.increment(rows);
+            for (PendingTrade queued : pending) {
+                tickLatencyTracker.recordNanos(TickLatencyTracker.Stage.PERSIST, queued.connectionId,
+                        flushEnd - queued.receivedNanos);
+            }
+            log.debug("💾 Flushed {} buffered trades", rows);
+        } catch (Exception e) {
+            int requeued = requeueFailedTrades(pending);
+            log.error("❌ Failed to flush {} buffered trades ({} requeued, {} dropped): {}",
+                    batch.size(), requeued, batch.size() - requeued, e.getMessage());
+        }
+    }
+    
+    /**
+     * COPY에 실패한 거래를 재시도 횟수와 버퍼 상한 안에서 버퍼에 되돌림
+     * @return 되돌린 거래 수
+     */
+    private int requeueFailedTrades(List<PendingTrade> failed) {
+        int room = flushMaxPending - pendingTrades.size();
+        int requeued = 0;
+        for (PendingTrade trade : failed) {
+            if (++trade.attempts < flushMaxAttempts && requeued < room) {
+                pendingTrades.add(trade);
+                requeued++;
+            }
+        }
+        droppedCounter.increment(failed.size() - requeued);
+        return requeued;
+    }
+    
+    private FrameMeter registerFrameMeter(String connectionId) {
+        FrameMeter meter = new FrameMeter(Counter.builder(MetricNames.WEBSOCKET_FRAMES)
+                .description("WebSocket frames received")
+                .tag("connection", connectionId)
+                .register(meterRegistry));
+        Gauge.builder(MetricNames.WEBSOCKET_FRAME_RATE, meter, m -> m.rate)
+                .description("WebSocket frames per second over the last second")
+                .tag("connection", connectionId)
+                .register(meterRegistry);
+        return meter;
+    }
+    
+    /**
+     * 연결별 초당 프레임 수 갱신 (1초마다)
+     */
+    private void sampleFrameRates() {
+        long now = System.nanoTime();
+        frameMeters.values().forEach(meter -> meter.sample(now));
+    }
+    
     /**
      * Finnhub 거래 데이터를 Trade 엔티티로 변환
      */
-    private Trade convertToTrade(FinnhubTradeDTO.TradeData tradeData) {
+    Trade convertToTrade(FinnhubTradeDTO.TradeData tradeData, LocalDateTime receivedAt) {
         try {
-            Long volume = tradeData.getVolume() != null ? tradeData.getVolume() : 0L;
+            long volume = tradeData.getVolume() != null ? tradeData.getVolume() : 0L;
+            long timestamp = tradeData.getTimestamp() != null ? tradeData.getTimestamp() : 0L;
             
             return Trade.builder()
                     .symbol(tradeData.getSymbol())
-                    .price(tradeData.getPrice() != null ? tradeData.getPrice() : BigDecimal.ZERO)
+                    .priceMicros(Trade.toPriceMicros(tradeData.getPrice()))
                     .volume(volume)
-                    .timestamp(tradeData.getTimestamp())
-                    .tradeConditions(tradeData.getConditions() != null ? 
-                            String.join(",", tradeData.getConditions()) : null)
-                    .receivedAt(LocalDateTime.now())
+                    .timestamp(timestamp)
+                    .conditionBits(TradeConditions.encode(tradeData.getConditions()))
+                    .receivedAt(receivedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
                     .build();
         } catch (Exception e) {
             log.error("❌ Failed to convert trade data: {}", tradeData, e);
@@ -433,14 +733,14 @@ public class MultiKeyFinnhubWebSocketService {
         }
     }
     
-    private void subscribeToSp500Stocks() {
+    /**
+     * 구독 계획과 현재 구독 상태를 비교하여 달라진 심볼만 구독/해지
+     * - 계획 순위대로 연결된 소켓 용량(maxSymbolsPerKey × 연결 수)까지만 구독
+     * - 계속 구독할 심볼은 현재 연결에 그대로 두고, 빠진 자리에 새 심볼을 채움
+     * - 계획이 아직 없으면 S&P 500 알파벳 순
+     */
+    private synchronized void reconcileSubscriptions() {
         try {
-            Set<String> sp500Symbols = stockSymbolRepository.findAllSp500Symbols();
-            
-            // 알파벳 순으로 정렬하여 고정된 순서 보장
-            List<String> sortedSymbolList = new ArrayList<>(sp500Symbols);
-            Collections.sort(sortedSymbolList);
-            
             List<String> connectedClients = webSocketClients.entrySet().stream()
                     .filter(entry -> connectionStatus.getOrDefault(entry.getKey(), false))
                     .map(Map.Entry::getKey)
@@ -452,100 +752,111 @@ public class MultiKeyFinnhubWebSocketService {
                 return;
             }
             
-            log.info("Starting FIXED alphabetical subscription for {} SP500 symbols across {} connections", 
-                    sortedSymbolList.size(), connectedClients.size());
-            log.info("Each connection will subscribe to EXACTLY {} symbols in alphabetical order", maxSymbolsPerKey);
+            List<String> plan = subscriptionPlan;
+            if (plan == null) {
+                plan = new ArrayList<>(stockSymbolRepository.findAllSp500Symbols());
+                Collections.sort(plan);
+            }
+            int capacity = connectedClients.size() * maxSymbolsPerKey;
+            Set<String> target = new LinkedHashSet<>(plan.subList(0, Math.min(capacity, plan.size())));
             
-            // 각 연결에 고정된 알파벳 범위 할당
-            for (int connectionIndex = 0; connectionIndex < connectedClients.size(); connectionIndex++) {
-                String connectionId = connectedClients.get(connectionIndex);
-                
-                // 고정된 시작/끝 인덱스 계산
-                int startIndex = connectionIndex * maxSymbolsPerKey;
-                int endIndex = Math.min(startIndex + maxSymbolsPerKey, sortedSymbolList.size());
-                
-                if (startIndex >= sortedSymbolList.size()) {
-                    log.info("Connection [{}] - No more symbols to assign (start index {} >= total {})", 
-                            connectionId, startIndex, sortedSymbolList.size());
-                    break;
+            // 끊긴 연결의 구독은 서버에서 이미 사라졌으므로 상태에서 제거
+            subscriptionsByConnection.keySet().removeIf(connectionId -> !connectedClients.contains(connectionId));
+            
+            // 1. 계획에서 빠진 심볼 해지 (중복 구독도 정리)
+            Set<String> kept = new HashSet<>();
+            Map<String, List<String>> removals = new LinkedHashMap<>();
+            for (String connectionId : connectedClients) {
+                Set<String> subscribed = subscriptionsByConnection.computeIfAbsent(connectionId, id -> ConcurrentHashMap.newKeySet());
+                for (String symbol : subscribed) {
+                    if (!target.contains(symbol) || !kept.add(symbol)) {
+                        removals.computeIfAbsent(connectionId, id -> new ArrayList<>()).add(symbol);
+                    }
                 }
-                
-                // 고정된 심볼 범위 추출
-                List<String> fixedSymbolsForConnection = sortedSymbolList.subList(startIndex, endIndex);
-                
-                log.info("Connection [{}] - FIXED assignment: symbols {} to {} (indices {}-{})", 
-                        connectionId, 
-                        fixedSymbolsForConnection.get(0),
-                        fixedSymbolsForConnection.get(fixedSymbolsForConnection.size() - 1),
-                        startIndex, 
-                        endIndex - 1);
-                
-                subscribeSymbolsToConnection(connectionId, fixedSymbolsForConnection);
             }
+            removals.forEach((connectionId, symbols) -> {
+                sendSubscriptions(connectionId, symbols, false);
+                subscriptionsByConnection.get(connectionId).removeAll(symbols);
+            });
             
-            // 총 구독된 심볼 수 계산
-            int totalSubscribed = Math.min(connectedClients.size() * maxSymbolsPerKey, sortedSymbolList.size());
-            int totalMissed = Math.max(0, sortedSymbolList.size() - totalSubscribed);
-            
-            log.info("FIXED subscription summary:");
-            log.info("- Total SP500 symbols: {}", sortedSymbolList.size());
-            log.info("- Symbols subscribed: {} ({})", totalSubscribed, 
-                    totalSubscribed > 0 ? sortedSymbolList.get(0) + " ~ " + sortedSymbolList.get(totalSubscribed - 1) : "none");
-            log.info("- Symbols NOT subscribed: {}", totalMissed);
+            // 2. 새 심볼을 빈 자리가 있는 연결에 순서대로 배정
+            Map<String, List<String>> additions = new LinkedHashMap<>();
+            Iterator<String> pending = target.stream().filter(symbol -> !kept.contains(symbol)).iterator();
+            for (String connectionId : connectedClients) {
+                int free = maxSymbolsPerKey - subscriptionsByConnection.get(connectionId).size();
+                while (free > 0 && pending.hasNext()) {
+                    additions.computeIfAbsent(connectionId, id -> new ArrayList<>()).add(pending.next());
+                    free--;
+                }
+            }
+            additions.forEach((connectionId, symbols) ->
+                    subscriptionsByConnection.get(connectionId).addAll(sendSubscriptions(connectionId, symbols, true)));
             
-            if (totalMissed > 0) {
-                log.warn("WARNING: {} symbols are NOT being monitored due to API key limits", totalMissed);
-                log.warn("Missing symbols start from: {}", sortedSymbolList.get(totalSubscribed));
+            int removed = removals.values().stream().mapToInt(List::size).sum();
+            int added = additions.values().stream().mapToInt(List::size).sum();
+            if (removed > 0 || added > 0) {
+                log.info("🔁 Subscriptions reconciled across {} connections: +{} -{} ({} subscribed, {} planned, capacity {})",
+                        connectedClients.size(), added, removed, getSubscribedSymbols().size(), plan.size(), capacity);
+            }
+            if (plan.size() > capacity) {
+                log.debug("{} planned symbols are NOT being monitored due to API key limits (first: {})",
+                        plan.size() - capacity, plan.get(capacity));
             }
             
         } catch (Exception e) {
-            log.error("Failed to subscribe to SP500 stocks", e);
+            log.error("Failed to reconcile WebSocket subscriptions", e);
         }
     }
     
-    private void subscribeSymbolsToConnection(String connectionId, List<String> symbols) {
+    /**
+     * 연결에 구독/해지 메시지 전송 (10개마다 1초 대기)
+     * @return 전송에 성공한 심볼
+     */
+    private List<String> sendSubscriptions(String connectionId, List<String> symbols, boolean subscribe) {
+        List<String> sent = new ArrayList<>();
         WebSocketClient client = webSocketClients.get(connectionId);
         if (client == null || client.getReadyState() != ReadyState.OPEN) {
             log.warn("Connection [{}] is not available for subscription", connectionId);
-            return;
+            return sent;
         }
         
-        log.info("Starting subscription for [{}]: {} symbols from {} to {}", 
-                connectionId, symbols.size(), 
-                symbols.get(0), symbols.get(symbols.size() - 1));
-        
-        log.info("Full symbol list for [{}]: {}", connectionId, symbols);
-        
-        int successCount = 0;
-        int failCount = 0;
+        log.info("{} [{}]: {} symbols {}", subscribe ? "Subscribing" : "Unsubscribing",
+                connectionId, symbols.size(), symbols);
         
         for (int i = 0; i < symbols.size(); i++) {
             String symbol = symbols.get(i);
             
             try {
-                FinnhubSubscriptionDTO subscription = FinnhubSubscriptionDTO.subscribe(symbol);
-                String message = objectMapper.writeValueAsString(subscription);
-                client.send(message);
-                successCount++;
+                FinnhubSubscriptionDTO subscription = subscribe
+                        ? FinnhubSubscriptionDTO.subscribe(symbol)
+                        : FinnhubSubscriptionDTO.unsubscribe(symbol);
+                client.send(objectMapper.writeValueAsString(subscription));
+                sent.add(symbol);
                 
                 // 10개마다 1초 대기
                 if ((i + 1) % 10 == 0) {
                     Thread.sleep(1000);
-                    log.debug("[{}] Subscribed {} symbols so far, pausing 1 sec...", connectionId, i + 1);
+                    log.debug("[{}] Sent {} subscription changes so far, pausing 1 sec...", connectionId, i + 1);
                 }
                 
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
             } catch (Exception e) {
-                log.error("Failed to subscribe symbol {} to [{}]: {}", symbol, connectionId, e.getMessage());
-                failCount++;
+                log.error("Failed to {} symbol {} on [{}]: {}", subscribe ? "subscribe" : "unsubscribe",
+                        symbol, connectionId, e.getMessage());
             }
         }
         
-        log.info("Subscription completed for [{}]: {} success, {} failed", 
-                connectionId, successCount, failCount);
-        
-        if (successCount > 0) {
-            log.info("[{}] Successfully monitoring: {} to {}", 
-                    connectionId, symbols.get(0), symbols.get(symbols.size() - 1));
+        if (sent.size() < symbols.size()) {
+            log.warn("[{}] {} of {} subscription changes failed", connectionId, symbols.size() - sent.size(), symbols.size());
+        }
+        return sent;
+    }
+    
+    private void scheduleReconcile(long delaySeconds) {
+        if (scheduler != null && !scheduler.isShutdown()) {
+            scheduler.schedule(this::reconcileSubscriptions, delaySeconds, TimeUnit.SECONDS);
         }
     }
     
@@ -569,5 +880,48 @@ public class MultiKeyFinnhubWebSocketService {
         if (scheduler != null) {
             scheduler.shutdown();
         }
+        
+        // 종료 전 남은 거래 데이터 저장
+        flushPendingTrades();
+    }
+    
+    /**
+     * 저장 버퍼 항목 (수신 연결과 수신 시각 포함)
+     */
+    private static final class PendingTrade {
+        private final Trade trade;
+        private final String connectionId;
+        private final long receivedNanos;
+        private int attempts; // 실패한 flush 횟수 (flush 스레드에서만 갱신)
+        
+        private PendingTrade(Trade trade, String connectionId, long receivedNanos) {
+            this.trade = trade;
+            this.connectionId = connectionId;
+            this.receivedNanos = receivedNanos;
+        }
+    }
+    
+    /**
+     * 연결별 수신 프레임 카운터와 최근 1초 수신률
+     */
+    private static final class FrameMeter {
+        private final Counter counter;
+        private double lastCount;
+        private long lastSampleNanos = System.nanoTime();
+        private volatile double rate;
+        
+        private FrameMeter(Counter counter) {
+            this.counter = counter;
+        }
+        
+        private void sample(long now) {
+            double count = counter.count();
+            double elapsedSeconds = (now - lastSampleNanos) / 1_000_000_000.0;
+            if (elapsedSeconds > 0) {
+                rate = (count - lastCount) / elapsedSeconds;
+            }
+            lastCount = count;
+            lastSampleNanos = now;
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,384 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.config.MetricNames;
+import com.stocker_back.stocker_back.domain.Trade;
+import com.stocker_back.stocker_back.domain.VirtualAccount;
+import com.stocker_back.stocker_back.domain.VirtualHolding;
+import com.stocker_back.stocker_back.dto.PortfolioSnapshotDto;
+import com.stocker_back.stocker_back.dto.StockPriceDto;
+import com.stocker_back.stocker_back.repository.VirtualAccountRepository;
+import com.stocker_back.stocker_back.repository.VirtualHoldingRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 가상 계좌 실시간 평가 엔진
+ *
+ * 주요 기능:
+ * - 조회/구독된 계좌의 보유 종목을 메모리에 유지 (userId -> 평가 장부)
+ * - 심볼 -> 보유 계좌 역색인으로 체결 틱이 들어오면 해당 종목을 보유한 계좌만 갱신
+ * - 틱마다 평가금액/평가손익 합계를 증분 갱신 (변경된 종목의 차이만 반영)
+ * - 주기적으로 변경된 계좌의 스냅샷(비중 포함)을 재계산하고 스트림 구독자에게 전송
+ * - REST 조회는 미리 계산된 스냅샷을 그대로 반환
+ *
+ * 보유 종목/잔고가 바뀌면(매수, 매도, 초기화) reload로 DB에서 다시 적재합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PortfolioValuationEngine implements TradeTickListener, SymbolInterestSource {
+
+    private static final long IDLE_EVICT_MILLIS = Duration.ofMinutes(30).toMillis();
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    private final VirtualAccountRepository virtualAccountRepository;
+    private final VirtualHoldingRepository virtualHoldingRepository;
+    private final StockPriceService stockPriceService;
+    private final MeterRegistry meterRegistry;
+
+    // userId -> 계좌 평가 장부
+    private final ConcurrentHashMap<Long, AccountBook> books = new ConcurrentHashMap<>();
+    // symbol -> 해당 종목을 보유한 userId (역색인)
+    private final ConcurrentHashMap<String, Set<Long>> usersBySymbol = new ConcurrentHashMap<>();
+    // symbol -> 마지막 체결 가격 (micro-units), 장부 적재 시 DB 가격보다 우선 사용
+    private final ConcurrentHashMap<String, Long> lastPriceMicros = new ConcurrentHashMap<>();
+    // userId -> 스냅샷 구독자
+    private final ConcurrentHashMap<Long, Set<Consumer<PortfolioSnapshotDto>>> subscribers = new ConcurrentHashMap<>();
+    // 가격이 바뀌어 스냅샷 재계산이 필요한 계좌
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder(MetricNames.SSE_CLIENTS, this, PortfolioValuationEngine::getSubscriberCount)
+                .description("Connected SSE clients")
+                .tag("stream", "portfolio")
+                .register(meterRegistry);
+    }
+
+    // ===== Public API Methods =====
+
+    /**
+     * 계좌 평가 스냅샷 조회 (적재되어 있으면 메모리에서 바로 반환)
+     */
+    public PortfolioSnapshotDto getSnapshot(Long userId) {
+        AccountBook book = books.get(userId);
+        if (book == null) {
+            book = load(userId);
+        }
+        book.touch();
+        return book.snapshot;
+    }
+
+    /**
+     * 계좌의 보유 종목/잔고가 변경된 후 장부를 다시 적재
+     * 적재되지 않은(조회/구독 이력이 없는) 계좌는 다음 조회 시 적재됩니다.
+     */
+    public void reload(Long userId) {
+        if (!books.containsKey(userId) && !subscribers.containsKey(userId)) {
+            return;
+        }
+        try {
+            load(userId);
+            dirtyUsers.add(userId);
+        } catch (IllegalArgumentException e) {
+            unload(userId);
+        }
+    }
+
+    /**
+     * 계좌 스냅샷 스트림 구독
+     * @return 구독 해제 핸들
+     */
+    public Runnable subscribe(Long userId, Consumer<PortfolioSnapshotDto> listener) {
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(listener);
+        return () -> subscribers.computeIfPresent(userId, (id, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    /**
+     * 스냅샷 스트림 구독자 수
+     */
+    public int getSubscriberCount() {
+        int count = 0;
+        for (Set<Consumer<PortfolioSnapshotDto>> listeners : subscribers.values()) {
+            count += listeners.size();
+        }
+        return count;
+    }
+
+    /**
+     * 적재된(최근 조회/구독한) 계좌의 심볼별 보유 계좌 수 (WebSocket 구독 순위용)
+     */
+    @Override
+    public Map<String, Integer> getSymbolInterest() {
+        Map<String, Integer> interest = new HashMap<>();
+        usersBySymbol.forEach((symbol, users) -> {
+            if (!users.isEmpty()) {
+                interest.put(symbol, users.size());
+            }
+        });
+        return interest;
+    }
+
+    /**
+     * 체결 틱 반영 (해당 종목을 보유한 계좌만 갱신)
+     */
+    @Override
+    public void onTradeTick(String symbol, long priceMicros, long timestamp) {
+        lastPriceMicros.put(symbol, priceMicros);
+
+        Set<Long> userIds = usersBySymbol.get(symbol);
+        if (userIds == null) {
+            return;
+        }
+        for (Long userId : userIds) {
+            AccountBook book = books.get(userId);
+            if (book != null && book.applyPrice(symbol, priceMicros)) {
+                dirtyUsers.add(userId);
+            }
+        }
+    }
+
+    /**
+     * 변경된 계좌의 스냅샷 재계산 및 구독자 전송
+     */
+    @Scheduled(fixedDelayString = "${app.portfolio.stream-interval-ms:500}")
+    public void publishUpdates() {
+        Iterator<Long> iterator = dirtyUsers.iterator();
+        while (iterator.hasNext()) {
+            Long userId = iterator.next();
+            iterator.remove();
+
+            AccountBook book = books.get(userId);
+            if (book == null) {
+                continue;
+            }
+            PortfolioSnapshotDto snapshot = book.rebuildSnapshot();
+
+            Set<Consumer<PortfolioSnapshotDto>> listeners = subscribers.get(userId);
+            if (listeners != null) {
+                for (Consumer<PortfolioSnapshotDto> listener : listeners) {
+                    try {
+                        listener.accept(snapshot);
+                    } catch (Exception e) {
+                        log.debug("Portfolio snapshot listener failed for user {}: {}", userId, e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 오래 조회되지 않고 구독자도 없는 계좌 장부 정리
+     */
+    @Scheduled(fixedDelay = 600000)
+    public void evictIdleBooks() {
+        long cutoff = System.currentTimeMillis() - IDLE_EVICT_MILLIS;
+        books.forEach((userId, book) -> {
+            if (book.lastAccess < cutoff && !subscribers.containsKey(userId)) {
+                unload(userId);
+            }
+        });
+    }
+
+    /**
+     * 현재 적재된 계좌 수
+     */
+    public int getLoadedAccountCount() {
+        return books.size();
+    }
+
+    // ===== Private Implementation Methods =====
+
+    /**
+     * DB에서 계좌 장부 적재 및 역색인 갱신
+     */
+    private AccountBook load(Long userId) {
+        VirtualAccount account = virtualAccountRepository.findByUserId(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Virtual account not found"));
+        List<VirtualHolding> holdings = virtualHoldingRepository.findByVirtualAccount(account);
+        // 실시간 틱은 장외 체결도 반영하므로 초기 가격도 장외 시간 가격 포함
+        Map<String, StockPriceDto> prices = stockPriceService.getPrices(
+                holdings.stream().map(VirtualHolding::getSymbol).toList(), true);
+
+        AccountBook book = new AccountBook(account.getBalance());
+        for (VirtualHolding holding : holdings) {
+            String symbol = holding.getSymbol().toUpperCase();
+            Long tickPrice = lastPriceMicros.get(symbol);
+            StockPriceDto priceInfo = prices.get(symbol);
+            BigDecimal price = tickPrice != null
+                    ? BigDecimal.valueOf(tickPrice, Trade.PRICE_SCALE)
+                    : priceInfo != null ? priceInfo.getPrice() : null;
+            book.addPosition(symbol, priceInfo != null ? priceInfo.getLogo() : null,
+                    holding.getQuantity(), holding.getAvgPrice(), price);
+        }
+        book.rebuildSnapshot();
+
+        AccountBook previous = books.put(userId, book);
+        if (previous != null) {
+            for (String symbol : previous.symbols()) {
+                if (!book.holds(symbol)) {
+                    removeFromIndex(symbol, userId);
+                }
+            }
+        }
+        for (String symbol : book.symbols()) {
+            usersBySymbol.computeIfAbsent(symbol, key -> ConcurrentHashMap.newKeySet()).add(userId);
+        }
+        return book;
+    }
+
+    private void unload(Long userId) {
+        AccountBook book = books.remove(userId);
+        if (book != null) {
+            for (String symbol : book.symbols()) {
+                removeFromIndex(symbol, userId);
+            }
+        }
+    }
+
+    private void removeFromIndex(String symbol, Long userId) {
+        usersBySymbol.computeIfPresent(symbol, (key, userIds) -> {
+            userIds.remove(userId);
+            return userIds.isEmpty() ? null : userIds;
+        });
+    }
+
+    /**
+     * 계좌 평가 장부 (보유 종목별 평가금액과 합계를 증분 유지)
+     */
+    private static final class AccountBook {
+        private final BigDecimal cashBalance;
+        private final Map<String, Position> positions = new LinkedHashMap<>();
+        private BigDecimal holdingsValue = BigDecimal.ZERO;  // 가격이 있는 종목의 평가금액 합계
+        private BigDecimal pricedCost = BigDecimal.ZERO;     // 가격이 있는 종목의 매입금액 합계
+        private BigDecimal costBasis = BigDecimal.ZERO;      // 전체 매입금액 합계
+        private volatile PortfolioSnapshotDto snapshot;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private AccountBook(BigDecimal cashBalance) {
+            this.cashBalance = cashBalance;
+        }
+
+        private synchronized void addPosition(String symbol, String logo, BigDecimal quantity,
+                                              BigDecimal avgPrice, BigDecimal price) {
+            Position position = new Position(logo, quantity, avgPrice);
+            positions.put(symbol, position);
+            costBasis = costBasis.add(position.cost);
+            if (price != null) {
+                setPrice(position, price, Trade.toPriceMicros(price));
+            }
+        }
+
+        /**
+         * @return 가격이 실제로 바뀌었으면 true
+         */
+        private synchronized boolean applyPrice(String symbol, long priceMicros) {
+            Position position = positions.get(symbol);
+            if (position == null || position.priceMicros == priceMicros) {
+                return false;
+            }
+            setPrice(position, BigDecimal.valueOf(priceMicros, Trade.PRICE_SCALE), priceMicros);
+            return true;
+        }
+
+        private void setPrice(Position position, BigDecimal price, long priceMicros) {
+            BigDecimal marketValue = price.multiply(position.quantity);
+            if (position.marketValue != null) {
+                holdingsValue = holdingsValue.subtract(position.marketValue);
+            } else {
+                pricedCost = pricedCost.add(position.cost);
+            }
+            holdingsValue = holdingsValue.add(marketValue);
+            position.price = price;
+            position.priceMicros = priceMicros;
+            position.marketValue = marketValue;
+        }
+
+        private synchronized PortfolioSnapshotDto rebuildSnapshot() {
+            BigDecimal totalMarketValue = cashBalance.add(holdingsValue);
+            List<PortfolioSnapshotDto.PositionDto> positionDtos = new ArrayList<>(positions.size());
+
+            positions.forEach((symbol, position) -> {
+                BigDecimal weight = BigDecimal.ZERO;
+                if (position.marketValue != null && totalMarketValue.compareTo(BigDecimal.ZERO) > 0) {
+                    weight = position.marketValue.divide(totalMarketValue, 4, RoundingMode.HALF_UP).multiply(HUNDRED);
+                }
+                positionDtos.add(PortfolioSnapshotDto.PositionDto.builder()
+                        .symbol(symbol)
+                        .logo(position.logo)
+                        .quantity(position.quantity)
+                        .avgPrice(position.avgPrice)
+                        .currentPrice(position.price)
+                        .marketValue(position.marketValue)
+                        .unrealizedProfit(position.marketValue != null ? position.marketValue.subtract(position.cost) : null)
+                        .weight(weight)
+                        .build());
+            });
+
+            snapshot = PortfolioSnapshotDto.builder()
+                    .cashBalance(cashBalance)
+                    .holdingsValue(holdingsValue)
+                    .totalMarketValue(totalMarketValue)
+                    .costBasis(costBasis)
+                    .unrealizedProfit(holdingsValue.subtract(pricedCost))
+                    .positions(positionDtos)
+                    .updatedAt(LocalDateTime.now())
+                    .build();
+            return snapshot;
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+
+        private synchronized Set<String> symbols() {
+            return Set.copyOf(positions.keySet());
+        }
+
+        private synchronized boolean holds(String symbol) {
+            return positions.containsKey(symbol);
+        }
+    }
+
+    /**
+     * 보유 종목 평가 상태
+     */
+    private static final class Position {
+        private final String logo;
+        private final BigDecimal quantity;
+        private final BigDecimal avgPrice;
+        private final BigDecimal cost;
+        private BigDecimal price;
+        private long priceMicros = Long.MIN_VALUE;
+        private BigDecimal marketValue;
+
+        private Position(String logo, BigDecimal quantity, BigDecimal avgPrice) {
+            this.logo = logo;
+            this.quantity = quantity;
+            this.avgPrice = avgPrice;
+            this.cost = avgPrice.multiply(quantity);
+        }
+    }
+}
@@ -1,19 +1,31 @@
 package com.stocker_back.stocker_back.service;
 
+import com.stocker_back.stocker_back.config.MetricNames;
+import com.stocker_back.stocker_back.domain.LatestQuote;
 import com.stocker_back.stocker_back.domain.Quote;
 import com.stocker_back.stocker_back.domain.StockSymbol;
 import com.stocker_back.stocker_back.dto.QuoteDTO;
+import com.stocker_back.stocker_back.repository.BulkCopyRepository;
+import com.stocker_back.stocker_back.repository.LatestQuoteRepository;
 import com.stocker_back.stocker_back.repository.QuoteRepository;
 import com.stocker_back.stocker_back.repository.StockSymbolRepository;
 import com.stocker_back.stocker_back.util.FinnhubApiClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,7 +34,10 @@ public class QuoteService {
 
     private final FinnhubApiClient finnhubApiClient;
     private final QuoteRepository quoteRepository;
+    private final LatestQuoteRepository latestQuoteRepository;
     private final StockSymbolRepository stockSymbolRepository;
+    private final BulkCopyRepository bulkCopyRepository;
+    private final MeterRegistry meterRegistry;
 
     /**
      * 특정 심볼의 시세 데이터를 가져와서 저장합니다.
@@ -45,8 +60,9 @@ public class QuoteService {
             // Quote 엔티티로 변환
             Quote quote = mapToQuoteEntity(symbol, quoteDTO);
             
-            // 데이터베이스에 저장
+            // 데이터베이스에 저장 (latest_quote도 같은 트랜잭션에서 갱신)
             Quote savedQuote = quoteRepository.save(quote);
+            bulkCopyRepository.upsertLatestQuotes(List.of(savedQuote));
             
             log.info("Successfully saved quote for symbol: {} - Current Price: {}", 
                     symbol, savedQuote.getCurrentPrice());
@@ -61,7 +77,7 @@ public class QuoteService {
 
     /**
      * S&P 500에 포함된 모든 심볼의 시세 데이터를 가져와서 저장합니다.
-     * 배치 단위로 처리하여 각 배치마다 개별적으로 저장합니다.
+     * 배치 단위로 처리하여 각 배치마다 COPY로 한 번에 저장합니다.
      * @param batchSize 배치 크기
      * @param delayMs 요청 간 지연 시간 (밀리초)
      * @return 처리된 심볼 수
@@ -114,25 +130,35 @@ public class QuoteService {
 
     /**
      * 배치 단위로 quote 데이터를 처리합니다.
+     * 심볼별로 시세를 조회한 뒤 배치 전체를 한 번의 COPY로 저장합니다.
      * @param batch 처리할 심볼 배치
      * @return 성공한 심볼 수
      */
-    @Transactional
     private int processBatch(List<StockSymbol> batch) {
-        int batchSuccess = 0;
+        List<Quote> quotes = new ArrayList<>(batch.size());
         
         for (StockSymbol stockSymbol : batch) {
             try {
-                Quote savedQuote = fetchAndSaveQuote(stockSymbol.getSymbol());
-                if (savedQuote != null) {
-                    batchSuccess++;
+                QuoteDTO quoteDTO = finnhubApiClient.getQuote(stockSymbol.getSymbol());
+                if (quoteDTO == null || quoteDTO.getCurrentPrice() == null) {
+                    log.warn("No quote data received for symbol: {}", stockSymbol.getSymbol());
+                    continue;
                 }
+                quotes.add(mapToQuoteEntity(stockSymbol.getSymbol(), quoteDTO));
             } catch (Exception e) {
                 log.error("Error processing symbol {} in batch: {}", stockSymbol.getSymbol(), e.getMessage());
             }
         }
         
-        return batchSuccess;
+        try {
+            int saved = meterRegistry.timer(MetricNames.BATCH_DURATION, "job", "quotes")
+                    .record(() -> bulkCopyRepository.copyQuotes(quotes));
+            meterRegistry.counter(MetricNames.BATCH_ITEMS, "job", "quotes").increment(saved);
+            return saved;
+        } catch (Exception e) {
+            log.error("Error saving quote batch ({} quotes): {}", quotes.size(), e.getMessage());
+            return 0;
+        }
     }
 
     /**
@@ -156,8 +182,36 @@ public class QuoteService {
      * @param symbol 주식 심볼
      * @return 최신 시세 데이터
      */
-    public Optional<Quote> getLatestQuote(String symbol) {
-        return quoteRepository.findLatestQuoteBySymbol(symbol.toUpperCase());
+    public Optional<LatestQuote> getLatestQuote(String symbol) {
+        return latestQuoteRepository.findBySymbol(symbol.toUpperCase());
+    }
+
+    /**
+     * 여러 심볼의 최신 시세를 한 번에 조회합니다.
+     * @param symbols 주식 심볼 목록
+     * @return 심볼별 최신 시세
+     */
+    public Map<String, LatestQuote> getLatestQuotes(Collection<String> symbols) {
+        if (symbols.isEmpty()) {
+            return Map.of();
+        }
+        return latestQuoteRepository.findLatestQuotes(symbols).stream()
+                .collect(Collectors.toMap(LatestQuote::getSymbol, Function.identity()));
+    }
+
+    /**
+     * 애플리케이션 시작 시 latest_quote가 비어 있으면 기존 quotes에서 채웁니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeLatestQuotes() {
+        try {
+            int backfilled = bulkCopyRepository.backfillLatestQuotes();
+            if (backfilled > 0) {
+                log.info("Backfilled latest_quote with {} symbols", backfilled);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill latest_quote: {}", e.getMessage());
+        }
     }
 
     /**
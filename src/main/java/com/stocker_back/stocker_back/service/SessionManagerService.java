@@ -2,119 +2,178 @@ package com.stocker_back.stocker_back.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 중복 로그인 방지용 사용자 활성 세션 관리 서비스
+ *
+ * 사용자별 활성 세션 id를 user_active_session 테이블에 보관하므로 여러 애플리케이션 노드에서 같은 규칙이 적용됩니다.
+ * - 로그인: upsert와 동시에 이전 세션 id를 반환받고, jdbc 저장소에서는 같은 문장에서 이전 세션까지 삭제
+ *   (SPRING_SESSION 삭제 시 속성 테이블은 FK CASCADE로 함께 삭제)
+ * - 강제 로그아웃: 등록 삭제와 세션 삭제를 하나의 문장으로 처리
+ * - 시작 시: 만료/삭제된 세션을 가리키는 등록만 id 기준으로 정리
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SessionManagerService {
-    
+
     private final JdbcTemplate jdbcTemplate;
-    
-    // 사용자별 활성 세션 ID를 메모리에 캐시
-    private final Map<Long, String> userActiveSessionMap = new ConcurrentHashMap<>();
-    
+    private final UserPrincipalCache userPrincipalCache;
+    // 설정된 세션 저장소 (jdbc: SPRING_SESSION 테이블, memory: 프로세스 내 저장소)
+    private final SessionRepository<? extends Session> sessionRepository;
+
+    @Value("${app.session.store:jdbc}")
+    private String sessionStore;
+
+    @Value("${spring.session.jdbc.table-name:SPRING_SESSION}")
+    private String sessionTable;
+
+    /**
+     * user_active_session 테이블 생성
+     */
+    @PostConstruct
+    public void createRegistryTable() {
+        try {
+            jdbcTemplate.execute(
+                "CREATE TABLE IF NOT EXISTS user_active_session (" +
+                "user_id BIGINT PRIMARY KEY, " +
+                "session_id VARCHAR(64) NOT NULL, " +
+                "updated_at TIMESTAMP NOT NULL DEFAULT now())"
+            );
+        } catch (Exception e) {
+            log.error("Error creating user_active_session table", e);
+        }
+    }
+
     /**
      * 새로운 세션 등록 및 기존 세션 무효화
      */
     public void registerUserSession(Long userId, String newSessionId) {
         log.info("Registering new session for user: {}, sessionId: {}", userId, newSessionId);
-        
-        // 기존 세션이 있다면 무효화
-        String oldSessionId = userActiveSessionMap.get(userId);
-        if (oldSessionId != null && !oldSessionId.equals(newSessionId)) {
-            invalidateSession(oldSessionId);
-            log.info("Invalidated old session for user: {}, oldSessionId: {}", userId, oldSessionId);
+
+        if (isJdbcStore()) {
+            // 이전 세션 조회(행 잠금) + 등록 upsert + 이전 세션 삭제를 한 문장으로 처리
+            List<String> previous = jdbcTemplate.queryForList(
+                "WITH previous AS (" +
+                "  SELECT session_id FROM user_active_session WHERE user_id = ? FOR UPDATE" +
+                "), upsert AS (" +
+                "  INSERT INTO user_active_session (user_id, session_id, updated_at) VALUES (?, ?, now()) " +
+                "  ON CONFLICT (user_id) DO UPDATE SET session_id = EXCLUDED.session_id, updated_at = EXCLUDED.updated_at " +
+                "  RETURNING user_id" +
+                "), evicted AS (" +
+                "  DELETE FROM " + sessionTable + " WHERE SESSION_ID IN " +
+                "    (SELECT session_id FROM previous WHERE session_id <> ?) RETURNING SESSION_ID" +
+                ") SELECT SESSION_ID FROM evicted",
+                String.class, userId, userId, newSessionId, newSessionId);
+            previous.forEach(oldSessionId ->
+                log.info("Invalidated old session for user: {}, oldSessionId: {}", userId, oldSessionId));
+        } else {
+            List<String> previous = jdbcTemplate.queryForList(
+                "WITH previous AS (" +
+                "  SELECT session_id FROM user_active_session WHERE user_id = ? FOR UPDATE" +
+                "), upsert AS (" +
+                "  INSERT INTO user_active_session (user_id, session_id, updated_at) VALUES (?, ?, now()) " +
+                "  ON CONFLICT (user_id) DO UPDATE SET session_id = EXCLUDED.session_id, updated_at = EXCLUDED.updated_at " +
+                "  RETURNING user_id" +
+                ") SELECT session_id FROM previous WHERE session_id <> ?",
+                String.class, userId, userId, newSessionId, newSessionId);
+            previous.forEach(oldSessionId -> {
+                invalidateSession(oldSessionId);
+                log.info("Invalidated old session for user: {}, oldSessionId: {}", userId, oldSessionId);
+            });
         }
-        
-        // 새로운 세션 등록
-        userActiveSessionMap.put(userId, newSessionId);
+
         log.info("Registered new session for user: {}, newSessionId: {}", userId, newSessionId);
     }
-    
+
     /**
      * 사용자 세션 제거 (로그아웃 시)
      */
     public void removeUserSession(Long userId) {
-        String sessionId = userActiveSessionMap.remove(userId);
-        if (sessionId != null) {
-            log.info("Removed session for user: {}, sessionId: {}", userId, sessionId);
-        }
+        userPrincipalCache.invalidate(userId);
+        List<String> removed = jdbcTemplate.queryForList(
+            "DELETE FROM user_active_session WHERE user_id = ? RETURNING session_id",
+            String.class, userId);
+        removed.forEach(sessionId -> log.info("Removed session for user: {}, sessionId: {}", userId, sessionId));
     }
-    
+
     /**
-     * 특정 세션 ID를 데이터베이스에서 무효화
+     * 특정 세션 ID를 세션 저장소에서 무효화
+     * (jdbc 저장소에서는 SPRING_SESSION 삭제 시 속성 테이블이 함께 삭제됨)
      */
     private void invalidateSession(String sessionId) {
         try {
-            // Spring Session JDBC 테이블에서 세션 삭제
-            int deletedRows = jdbcTemplate.update(
-                "DELETE FROM SPRING_SESSION WHERE SESSION_ID = ?", 
-                sessionId
-            );
-            
-            if (deletedRows > 0) {
-                log.info("Successfully invalidated session from database: {}", sessionId);
-                
-                // 세션 속성도 삭제
-                jdbcTemplate.update(
-                    "DELETE FROM SPRING_SESSION_ATTRIBUTES WHERE SESSION_PRIMARY_ID = ?", 
-                    sessionId
-                );
-            } else {
-                log.warn("Session not found in database: {}", sessionId);
-            }
-            
+            sessionRepository.deleteById(sessionId);
+            log.info("Successfully invalidated session: {}", sessionId);
         } catch (Exception e) {
             log.error("Error invalidating session: {}", sessionId, e);
         }
     }
-    
+
     /**
      * 특정 사용자의 모든 세션 정리 (관리자용)
      */
     public void forceLogoutUser(Long userId) {
-        String sessionId = userActiveSessionMap.remove(userId);
-        if (sessionId != null) {
-            invalidateSession(sessionId);
-            log.info("Force logout user: {}, sessionId: {}", userId, sessionId);
+        userPrincipalCache.invalidate(userId);
+
+        if (isJdbcStore()) {
+            // 등록 삭제와 세션 삭제를 한 문장으로 처리
+            List<String> evicted = jdbcTemplate.queryForList(
+                "WITH removed AS (" +
+                "  DELETE FROM user_active_session WHERE user_id = ? RETURNING session_id" +
+                ") DELETE FROM " + sessionTable + " WHERE SESSION_ID IN (SELECT session_id FROM removed) " +
+                "RETURNING SESSION_ID",
+                String.class, userId);
+            evicted.forEach(sessionId -> log.info("Force logout user: {}, sessionId: {}", userId, sessionId));
+        } else {
+            List<String> removed = jdbcTemplate.queryForList(
+                "DELETE FROM user_active_session WHERE user_id = ? RETURNING session_id",
+                String.class, userId);
+            removed.forEach(sessionId -> {
+                invalidateSession(sessionId);
+                log.info("Force logout user: {}, sessionId: {}", userId, sessionId);
+            });
         }
     }
-    
+
     /**
-     * 애플리케이션 시작 시 기존 세션 정보 복구
+     * 애플리케이션 시작 시 만료되거나 삭제된 세션을 가리키는 등록 정리 (세션 id만 비교)
      */
-    @PostConstruct
+    @EventListener(ApplicationReadyEvent.class)
     public void initializeActiveSessions() {
+        if (!isJdbcStore()) {
+            // 프로세스 내 저장소는 다음 로그인 시 이전 세션 삭제를 시도하므로 정리하지 않음
+            return;
+        }
         try {
             log.info("Initializing active sessions from database...");
-            
-            // 데이터베이스에서 현재 유효한 세션들을 조회하여 메모리 맵에 복구
-            List<Map<String, Object>> sessions = jdbcTemplate.queryForList(
-                "SELECT s.SESSION_ID, a.ATTRIBUTE_BYTES " +
-                "FROM SPRING_SESSION s " +
-                "JOIN SPRING_SESSION_ATTRIBUTES a ON s.SESSION_ID = a.SESSION_PRIMARY_ID " +
-                "WHERE a.ATTRIBUTE_NAME = 'userId' AND s.EXPIRY_TIME > ?"
-                , System.currentTimeMillis()
+
+            int staleRows = jdbcTemplate.update(
+                "DELETE FROM user_active_session uas WHERE NOT EXISTS (" +
+                "SELECT 1 FROM " + sessionTable + " s WHERE s.SESSION_ID = uas.session_id AND s.EXPIRY_TIME > ?)",
+                System.currentTimeMillis()
             );
-            
-            for (Map<String, Object> sessionData : sessions) {
-                String sessionId = (String) sessionData.get("SESSION_ID");
-                // 실제 환경에서는 ATTRIBUTE_BYTES를 역직렬화해야 함
-                // 여기서는 단순화를 위해 스킵하고, 런타임에서 동적으로 관리
-                log.debug("Found existing session in database: {}", sessionId);
-            }
-            
-            log.info("Completed initializing active sessions");
-            
+            Integer activeRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_active_session", Integer.class);
+
+            log.info("Completed initializing active sessions: {} active, {} stale registrations removed",
+                    activeRows, staleRows);
+
         } catch (Exception e) {
             log.error("Error initializing active sessions", e);
         }
     }
-} 
\ No newline at end of file
+
+    private boolean isJdbcStore() {
+        return "jdbc".equals(sessionStore);
+    }
+}
@@ -0,0 +1,83 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.dto.StockPriceDto;
+import com.stocker_back.stocker_back.repository.StockPriceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 포트폴리오/관심 종목용 가격 일괄 조회 서비스
+ * 심볼 수와 관계없이 한 번의 쿼리로 현재가, 이전 종가, 변동, 로고를 조회합니다.
+ * 현재가는 1일 이내 Trade 가격을 우선 사용하고, 없으면 최신 Quote 가격을 사용합니다.
+ * 장외 시간 포함 조회는 더 최신인 장외 1분 봉 종가가 있으면 그 가격을 사용합니다 (포트폴리오 평가용).
+ * 주문 체결가(getCurrentPrice)는 정규장 가격만 사용합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockPriceService {
+
+    private static final Duration TRADE_PRICE_WINDOW = Duration.ofDays(1);
+
+    private final StockPriceRepository stockPriceRepository;
+
+    /**
+     * 여러 심볼의 가격 정보를 한 번에 조회
+     * @param symbols 주식 심볼 목록 (대소문자 무관)
+     * @return 심볼(대문자)별 가격 정보 (가격 정보가 없는 심볼도 포함, price는 null)
+     */
+    public Map<String, StockPriceDto> getPrices(Collection<String> symbols) {
+        return getPrices(symbols, false);
+    }
+
+    /**
+     * 여러 심볼의 가격 정보를 한 번에 조회
+     * @param symbols 주식 심볼 목록 (대소문자 무관)
+     * @param includeExtendedHours true면 프리마켓/애프터마켓 가격 포함
+     * @return 심볼(대문자)별 가격 정보 (가격 정보가 없는 심볼도 포함, price는 null)
+     */
+    public Map<String, StockPriceDto> getPrices(Collection<String> symbols, boolean includeExtendedHours) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            if (symbol != null && !symbol.isBlank()) {
+                normalized.add(symbol.toUpperCase());
+            }
+        }
+        if (normalized.isEmpty()) {
+            return Map.of();
+        }
+
+        long tradesSince = System.currentTimeMillis() - TRADE_PRICE_WINDOW.toMillis();
+        List<StockPriceDto> prices = includeExtendedHours
+                ? stockPriceRepository.findPricesWithExtendedHours(normalized, tradesSince)
+                : stockPriceRepository.findPrices(normalized, tradesSince);
+
+        Map<String, StockPriceDto> result = new HashMap<>(prices.size() * 2);
+        for (StockPriceDto price : prices) {
+            result.put(price.getSymbol(), price);
+        }
+        log.debug("Resolved prices for {} symbols in one query", result.size());
+        return result;
+    }
+
+    /**
+     * 단일 심볼의 현재가 조회
+     * @param symbol 주식 심볼
+     * @return 현재가 (없으면 empty)
+     */
+    public Optional<BigDecimal> getCurrentPrice(String symbol) {
+        return Optional.ofNullable(getPrices(List.of(symbol)).get(symbol.toUpperCase()))
+                .map(StockPriceDto::getPrice);
+    }
+}
@@ -2,6 +2,7 @@ package com.stocker_back.stocker_back.service;
 
 import com.stocker_back.stocker_back.domain.StockSymbol;
 import com.stocker_back.stocker_back.dto.StockSymbolDTO;
+import com.stocker_back.stocker_back.repository.BulkCopyRepository;
 import com.stocker_back.stocker_back.repository.StockSymbolRepository;
 import com.stocker_back.stocker_back.util.FinnhubApiClient;
 import jakarta.persistence.EntityManager;
@@ -31,6 +32,7 @@ public class StockSymbolService {
 
     private final StockSymbolRepository stockSymbolRepository;
     private final FinnhubApiClient finnhubApiClient;
+    private final BulkCopyRepository bulkCopyRepository;
     
     @PersistenceContext
     private EntityManager entityManager;
@@ -46,9 +48,11 @@ public class StockSymbolService {
     
     public StockSymbolService(
         StockSymbolRepository stockSymbolRepository,
-        FinnhubApiClient finnhubApiClient) {
+        FinnhubApiClient finnhubApiClient,
+        BulkCopyRepository bulkCopyRepository) {
         this.stockSymbolRepository = stockSymbolRepository;
         this.finnhubApiClient = finnhubApiClient;
+        this.bulkCopyRepository = bulkCopyRepository;
     }
     
     /**
@@ -266,11 +270,12 @@ public class StockSymbolService {
     /**
      * 심볼 데이터를 새로운 트랜잭션에서 배치 저장
      * 각 배치마다 별도의 트랜잭션을 사용하여 메모리 사용량을 줄이고 성능 향상
+     * COPY로 임시 테이블에 적재한 뒤 INSERT ... ON CONFLICT DO NOTHING 으로 저장
      * @param symbolsToSave 저장할 심볼 리스트
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void saveBatchWithNewTransaction(List<StockSymbol> symbolsToSave) {
-        stockSymbolRepository.saveAll(symbolsToSave);
+        bulkCopyRepository.insertStockSymbols(symbolsToSave);
     }
 
     /**
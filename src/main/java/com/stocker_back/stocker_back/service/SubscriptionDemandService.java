@@ -0,0 +1,147 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.repository.StockSymbolRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 수요 기반 WebSocket 구독 계획 서비스
+ *
+ * S&P 500 핵심 종목과 사용자 관심 종목(관심 종목/SSE 스트림/포트폴리오 보유)을 합쳐
+ * 관심 수 순으로 정렬한 뒤 WebSocket 구독 용량(키 수 × 키당 최대 심볼 수)만큼 잘라
+ * MultiKeyFinnhubWebSocketService에 전달합니다. 실제 구독/해제는 변경분만 반영됩니다.
+ *
+ * 정렬 기준: 관심 수 → S&P 500 여부 → 현재 구독 여부(불필요한 교체 방지) → 심볼
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubscriptionDemandService {
+
+    private final MultiKeyFinnhubWebSocketService multiKeyWebSocketService;
+    private final StockSymbolRepository stockSymbolRepository;
+    private final List<SymbolInterestSource> interestSources;
+
+    private volatile Map<String, Integer> lastInterest = Map.of();
+    private volatile List<String> lastPlan = List.of();
+    private volatile LocalDateTime lastRefreshedAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * 관심 수를 다시 집계하여 구독 계획 갱신
+     */
+    @Scheduled(initialDelayString = "${finnhub.websocket.subscription.refresh-interval-ms:30000}",
+            fixedDelayString = "${finnhub.websocket.subscription.refresh-interval-ms:30000}")
+    public void refresh() {
+        try {
+            Set<String> core = stockSymbolRepository.findAllSp500Symbols();
+            Map<String, Integer> interest = collectInterest();
+
+            Map<String, Integer> candidates = new HashMap<>(interest);
+            for (String symbol : core) {
+                candidates.putIfAbsent(symbol, 0);
+            }
+
+            Set<String> subscribed = multiKeyWebSocketService.getSubscribedSymbols();
+            Comparator<Map.Entry<String, Integer>> ranking = Comparator
+                    .<Map.Entry<String, Integer>>comparingInt(Map.Entry::getValue).reversed()
+                    .thenComparing(entry -> !core.contains(entry.getKey()))
+                    .thenComparing(entry -> !subscribed.contains(entry.getKey()))
+                    .thenComparing(Map.Entry::getKey);
+
+            int capacity = multiKeyWebSocketService.getSubscriptionCapacity();
+            List<String> plan = candidates.entrySet().stream()
+                    .sorted(ranking)
+                    .limit(capacity)
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            if (!plan.equals(lastPlan)) {
+                log.info("📋 Subscription plan updated: {} symbols ({} with user interest, {} S&P 500, capacity {})",
+                        plan.size(), interest.size(), core.size(), capacity);
+            }
+            lastInterest = interest;
+            lastPlan = plan;
+            lastRefreshedAt = LocalDateTime.now();
+            multiKeyWebSocketService.updateSubscriptionPlan(plan);
+        } catch (Exception e) {
+            log.error("❌ Failed to refresh subscription plan: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 구독 계획 상태 (관심 상위 심볼, 계획 크기, 실제 구독 현황)
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("lastRefreshedAt", lastRefreshedAt);
+        status.put("plannedSymbols", lastPlan.size());
+        status.put("interestedSymbols", lastInterest.size());
+        status.put("topInterest", topInterest(20));
+        status.put("websocket", multiKeyWebSocketService.getSubscriptionStatus());
+        return status;
+    }
+
+    // ===== Private Helper Methods =====
+
+    /**
+     * 관심 수 합산
+     * 존재하지 않는 심볼(SSE 요청 오타 등)은 구독 대상에서 제외하되, 존재 여부는 확인이 필요한
+     * 제공자(SSE 스트림, 포트폴리오 보유)의 후보 심볼만 조회합니다.
+     */
+    private Map<String, Integer> collectInterest() {
+        Map<String, Integer> interest = new HashMap<>();
+        Map<String, Integer> unverified = new HashMap<>();
+        for (SymbolInterestSource source : interestSources) {
+            Map<String, Integer> target = source.isKnownSymbolsOnly() ? interest : unverified;
+            try {
+                source.getSymbolInterest().forEach((symbol, count) -> {
+                    if (count > 0) {
+                        target.merge(symbol.toUpperCase(), count, Integer::sum);
+                    }
+                });
+            } catch (Exception e) {
+                log.warn("⚠️ Failed to collect symbol interest from {}: {}",
+                        source.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+
+        Set<String> candidates = new HashSet<>(unverified.keySet());
+        candidates.removeAll(interest.keySet());
+        Set<String> known = candidates.isEmpty() ? Set.of() : stockSymbolRepository.findExistingSymbols(candidates);
+        unverified.forEach((symbol, count) -> {
+            if (interest.containsKey(symbol) || known.contains(symbol)) {
+                interest.merge(symbol, count, Integer::sum);
+            }
+        });
+        return interest;
+    }
+
+    private Map<String, Integer> topInterest(int limit) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(lastInterest.entrySet());
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> top = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            top.put(entry.getKey(), entry.getValue());
+        }
+        return top;
+    }
+}
@@ -0,0 +1,22 @@
+package com.stocker_back.stocker_back.service;
+
+import java.util.Map;
+
+/**
+ * 심볼별 사용자 관심 수 제공자 (관심 종목, SSE 스트림, 포트폴리오 보유 등)
+ * SubscriptionDemandService가 주기적으로 합산하여 WebSocket 구독 순위를 정합니다.
+ */
+public interface SymbolInterestSource {
+
+    /**
+     * @return 심볼(대문자)별 관심 수 (관심 없는 심볼은 생략)
+     */
+    Map<String, Integer> getSymbolInterest();
+
+    /**
+     * @return 제공하는 심볼이 이미 stock_info에 존재함이 보장되면 true (존재 여부 확인 생략)
+     */
+    default boolean isKnownSymbolsOnly() {
+        return false;
+    }
+}
@@ -0,0 +1,170 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.config.MetricNames;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 관리자 시스템 상태 조회 서비스
+ *
+ * JVM(가동 시간, 힙), Hikari 커넥션 풀, WebSocket 수신, Finnhub REST, SSE 구독자, 배치 작업 처리량을
+ * MeterRegistry와 MXBean에서 읽어 요약합니다. 같은 메트릭의 전체 히스토그램은 /actuator/prometheus 로 수집합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class SystemStatusService {
+
+    private final MeterRegistry meterRegistry;
+    private final DataSource dataSource;
+    private final MultiKeyFinnhubWebSocketService webSocketService;
+    private final SubscriptionDemandService subscriptionDemandService;
+
+    /**
+     * 시스템 상태 요약
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> database = getDatabaseStatus();
+        Map<String, Object> sseClients = getSseClients();
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("status", isPoolSaturated(database) ? "degraded" : "healthy");
+        status.put("uptime", formatUptime(Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime())));
+        status.put("activeConnections", sseClients.get("total"));
+        status.put("memory", getMemoryStatus());
+        status.put("database", database);
+        status.put("websocket", getWebSocketStatus());
+        status.put("finnhub", getFinnhubStatus());
+        status.put("sseClients", sseClients);
+        status.put("batchJobs", getBatchStatus());
+        return status;
+    }
+
+    // ===== Private Helper Methods =====
+
+    private Map<String, Object> getMemoryStatus() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long max = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        Map<String, Object> memory = new LinkedHashMap<>();
+        memory.put("heapUsedMb", heap.getUsed() / (1024 * 1024));
+        memory.put("heapMaxMb", max / (1024 * 1024));
+        memory.put("usage", String.format("%.0f%%", heap.getUsed() * 100.0 / max));
+        return memory;
+    }
+
+    private Map<String, Object> getDatabaseStatus() {
+        Map<String, Object> database = new LinkedHashMap<>();
+        if (!(dataSource instanceof HikariDataSource hikari) || hikari.getHikariPoolMXBean() == null) {
+            database.put("pool", "unavailable");
+            return database;
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        database.put("activeConnections", pool.getActiveConnections());
+        database.put("idleConnections", pool.getIdleConnections());
+        database.put("totalConnections", pool.getTotalConnections());
+        database.put("maxConnections", hikari.getMaximumPoolSize());
+        database.put("threadsAwaitingConnection", pool.getThreadsAwaitingConnection());
+        return database;
+    }
+
+    private boolean isPoolSaturated(Map<String, Object> database) {
+        Object awaiting = database.get("threadsAwaitingConnection");
+        return awaiting instanceof Integer count && count > 0;
+    }
+
+    private Map<String, Object> getWebSocketStatus() {
+        Map<String, Object> websocket = new LinkedHashMap<>();
+        websocket.put("connections", new TreeMap<>(webSocketService.getConnectionStatus()));
+        websocket.put("framesPerSecond", webSocketService.getFrameRates());
+        websocket.put("subscriptions", subscriptionDemandService.getStatus());
+        websocket.put("parse", summarize(meterRegistry.find(MetricNames.WEBSOCKET_PARSE).timer()));
+        websocket.put("persist", summarize(meterRegistry.find(MetricNames.TRADES_PERSIST).timer()));
+        Gauge pending = meterRegistry.find(MetricNames.TRADES_PENDING).gauge();
+        websocket.put("pendingTrades", pending != null ? (long) pending.value() : 0L);
+        return websocket;
+    }
+
+    private Map<String, Object> getFinnhubStatus() {
+        Map<String, Map<String, Object>> endpoints = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(MetricNames.FINNHUB_REQUESTS).timers()) {
+            String endpoint = timer.getId().getTag("endpoint");
+            String status = timer.getId().getTag("status");
+            endpoints.computeIfAbsent(endpoint, key -> new LinkedHashMap<>()).put(status, summarize(timer));
+        }
+        for (Counter counter : meterRegistry.find(MetricNames.FINNHUB_RATE_LIMITED).counters()) {
+            String endpoint = counter.getId().getTag("endpoint");
+            endpoints.computeIfAbsent(endpoint, key -> new LinkedHashMap<>()).put("rateLimited", (long) counter.count());
+        }
+
+        Map<String, Object> finnhub = new LinkedHashMap<>();
+        finnhub.put("endpoints", endpoints);
+        finnhub.put("rateLimiterWait", summarize(meterRegistry.find(MetricNames.FINNHUB_RATE_LIMIT_WAIT).timer()));
+        return finnhub;
+    }
+
+    private Map<String, Object> getSseClients() {
+        Map<String, Object> clients = new TreeMap<>();
+        long total = 0;
+        for (Gauge gauge : meterRegistry.find(MetricNames.SSE_CLIENTS).gauges()) {
+            long count = (long) gauge.value();
+            clients.put(gauge.getId().getTag("stream"), count);
+            total += count;
+        }
+        clients.put("total", total);
+        return clients;
+    }
+
+    private Map<String, Object> getBatchStatus() {
+        Map<String, Map<String, Object>> jobs = new TreeMap<>();
+        for (Counter counter : meterRegistry.find(MetricNames.BATCH_ITEMS).counters()) {
+            jobs.computeIfAbsent(counter.getId().getTag("job"), key -> new LinkedHashMap<>())
+                    .put("items", (long) counter.count());
+        }
+        for (Timer timer : meterRegistry.find(MetricNames.BATCH_DURATION).timers()) {
+            Map<String, Object> job = jobs.computeIfAbsent(timer.getId().getTag("job"), key -> new LinkedHashMap<>());
+            double seconds = timer.totalTime(TimeUnit.SECONDS);
+            Object items = job.get("items");
+            job.put("batches", timer.count());
+            job.put("itemsPerSecond", items instanceof Long count && seconds > 0
+                    ? Math.round(count / seconds * 10) / 10.0 : 0.0);
+        }
+        return new LinkedHashMap<>(jobs);
+    }
+
+    /**
+     * 타이머 요약 (호출 수, 평균/최대 지연 ms)
+     */
+    private Map<String, Object> summarize(Timer timer) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (timer == null) {
+            summary.put("count", 0L);
+            return summary;
+        }
+        summary.put("count", timer.count());
+        summary.put("meanMs", round(timer.mean(TimeUnit.MILLISECONDS)));
+        summary.put("maxMs", round(timer.max(TimeUnit.MILLISECONDS)));
+        return summary;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static String formatUptime(Duration uptime) {
+        return String.format("%dh %dm %ds", uptime.toHours(), uptime.toMinutesPart(), uptime.toSecondsPart());
+    }
+}
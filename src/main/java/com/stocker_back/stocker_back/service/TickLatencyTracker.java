@@ -0,0 +1,117 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.util.LatencyRecorder;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 체결 틱 단계별 지연 시간 추적기
+ *
+ * 단계(Stage)마다 전체 및 연결(WebSocket 연결 id 또는 SSE 스트림)별 LatencyRecorder에 기록합니다.
+ * - RECEIVE: 거래소 체결 시각(Finnhub timestamp) -> WebSocket 프레임 수신
+ * - PARSE:   프레임 수신 -> JSON 파싱 완료
+ * - PUBLISH: 파싱 완료 -> 최신가 갱신/틱 리스너 통지/저장 버퍼 적재 완료
+ * - PERSIST: 프레임 수신 -> COPY 저장 완료 (버퍼 대기 포함)
+ * - DELIVER: 거래소 체결 시각 -> SSE 전송 완료 (tick-to-screen)
+ *
+ * RECEIVE/DELIVER는 거래소 시각과 서버 시계를 비교하므로 시계 차이만큼 오차가 있습니다.
+ */
+@Component
+public class TickLatencyTracker {
+
+    public enum Stage {
+        RECEIVE, PARSE, PUBLISH, PERSIST, DELIVER
+    }
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<Stage, LatencyRecorder> overall = newRecorders();
+    private final ConcurrentHashMap<String, Map<Stage, LatencyRecorder>> byConnection = new ConcurrentHashMap<>();
+
+    /**
+     * 단계 지연 시간 기록
+     * @param connection WebSocket 연결 id 또는 SSE 스트림 이름
+     */
+    public void record(Stage stage, String connection, long micros) {
+        overall.get(stage).record(micros);
+        Map<Stage, LatencyRecorder> recorders = byConnection.get(connection);
+        if (recorders == null) {
+            recorders = byConnection.computeIfAbsent(connection, key -> newRecorders());
+        }
+        recorders.get(stage).record(micros);
+    }
+
+    public void recordNanos(Stage stage, String connection, long nanos) {
+        record(stage, connection, nanos / 1000);
+    }
+
+    public void recordSinceEpochMillis(Stage stage, String connection, long epochMillis) {
+        record(stage, connection, (System.currentTimeMillis() - epochMillis) * 1000);
+    }
+
+    /**
+     * 단계별 백분위 요약 (밀리초)
+     */
+    public Map<String, Object> getReport() {
+        Map<String, Object> connections = new TreeMap<>();
+        byConnection.forEach((connection, recorders) -> connections.put(connection, summarize(recorders)));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("overall", summarize(overall));
+        report.put("connections", connections);
+        return report;
+    }
+
+    /**
+     * 기록 초기화
+     */
+    public void reset() {
+        overall.values().forEach(LatencyRecorder::reset);
+        byConnection.clear();
+    }
+
+    // ===== Private Helper Methods =====
+
+    private static Map<String, Object> summarize(Map<Stage, LatencyRecorder> recorders) {
+        Map<String, Object> stages = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            LatencyRecorder.Snapshot snapshot = recorders.get(stage).snapshot();
+            if (snapshot.getCount() == 0) {
+                continue;
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", snapshot.getCount());
+            summary.put("meanMs", toMillis(snapshot.getMeanMicros()));
+            for (double percentile : PERCENTILES) {
+                summary.put(percentileKey(percentile), toMillis(snapshot.percentile(percentile)));
+            }
+            summary.put("maxMs", toMillis(snapshot.getMaxMicros()));
+            stages.put(stage.name().toLowerCase(), summary);
+        }
+        return stages;
+    }
+
+    private static Map<Stage, LatencyRecorder> newRecorders() {
+        Map<Stage, LatencyRecorder> recorders = new EnumMap<>(Stage.class);
+        for (Stage stage : Stage.values()) {
+            recorders.put(stage, new LatencyRecorder());
+        }
+        return recorders;
+    }
+
+    private static String percentileKey(double percentile) {
+        String value = percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile).replace(".", "");
+        return "p" + value + "Ms";
+    }
+
+    private static double toMillis(double micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
@@ -0,0 +1,192 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.config.MetricNames;
+import com.stocker_back.stocker_back.util.FrameLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Finnhub WebSocket 원본 프레임 기록기
+ *
+ * MultiKeyFinnhubWebSocketService가 수신한 프레임을 수신 시각과 함께 FrameLog 세그먼트에 그대로 기록합니다.
+ * 기록(recording)은 시작할 때마다 {directory}/{yyyyMMdd-HHmmss} 디렉토리에 만들어지며
+ * TickReplayService로 같은 수신 파이프라인에 다시 흘려보낼 수 있습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TickRecorder {
+
+    private static final DateTimeFormatter RECORDING_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final Pattern VALID_NAME = Pattern.compile("\\d{8}-\\d{6}");
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${finnhub.websocket.recorder.enabled:false}")
+    private boolean recordOnStartup;
+
+    @Value("${finnhub.websocket.recorder.directory:recordings}")
+    private String directory;
+
+    @Value("${finnhub.websocket.recorder.segment-size-mb:64}")
+    private int segmentSizeMb;
+
+    @Value("${finnhub.websocket.recorder.max-segments:64}")
+    private int maxSegments;
+
+    private volatile FrameLog.Writer writer;
+    private Counter recordedCounter;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    public void init() {
+        this.recordedCounter = Counter.builder(MetricNames.RECORDER_FRAMES)
+                .description("Raw WebSocket frames written to the frame log")
+                .tag("result", "recorded")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder(MetricNames.RECORDER_FRAMES)
+                .description("Raw WebSocket frames written to the frame log")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+
+        if (recordOnStartup) {
+            start();
+        }
+    }
+
+    /**
+     * 새 기록 시작 (이미 기록 중이면 현재 기록 이름 반환)
+     */
+    public synchronized String start() {
+        if (writer != null) {
+            return writer.getDirectory().getFileName().toString();
+        }
+        String name = LocalDateTime.now().format(RECORDING_NAME);
+        try {
+            writer = new FrameLog.Writer(Path.of(directory).resolve(name), segmentSizeMb * 1024 * 1024, maxSegments);
+            log.info("🎙️ Recording WebSocket frames to {} ({}MB segments, keep {})",
+                    writer.getDirectory(), segmentSizeMb, maxSegments > 0 ? maxSegments : "all");
+            return name;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to start frame recording: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 기록 중지
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        FrameLog.Writer current = writer;
+        if (current == null) {
+            return;
+        }
+        writer = null;
+        try {
+            current.close();
+            log.info("🛑 Stopped recording WebSocket frames ({} bytes, {} segments in {})",
+                    current.getBytesWritten(), current.getSegmentCount(), current.getDirectory());
+        } catch (IOException e) {
+            log.error("❌ Failed to close frame recording {}", current.getDirectory(), e);
+        }
+    }
+
+    /**
+     * 수신 프레임 기록 (기록 중이 아니면 아무것도 하지 않음)
+     */
+    public void record(String connectionId, String message, long receivedEpochMillis, long receivedNanos) {
+        FrameLog.Writer current = writer;
+        if (current == null) {
+            return;
+        }
+        try {
+            if (current.append(connectionId.getBytes(StandardCharsets.UTF_8), receivedEpochMillis, receivedNanos,
+                    message.getBytes(StandardCharsets.UTF_8))) {
+                recordedCounter.increment();
+            } else {
+                droppedCounter.increment();
+            }
+        } catch (IOException e) {
+            droppedCounter.increment();
+            log.warn("⚠️ Failed to record frame from [{}]: {}", connectionId, e.getMessage());
+        }
+    }
+
+    public boolean isRecording() {
+        return writer != null;
+    }
+
+    /**
+     * 현재 기록 중인 기록 이름 (없으면 null)
+     */
+    public String getCurrentRecording() {
+        FrameLog.Writer current = writer;
+        return current != null ? current.getDirectory().getFileName().toString() : null;
+    }
+
+    /**
+     * 기록 목록 (이름, 세그먼트 수, 크기)
+     */
+    public List<Map<String, Object>> listRecordings() {
+        List<Map<String, Object>> recordings = new ArrayList<>();
+        Path root = Path.of(directory);
+        if (!Files.isDirectory(root)) {
+            return recordings;
+        }
+        try (Stream<Path> entries = Files.list(root)) {
+            for (Path recording : entries.filter(Files::isDirectory).sorted().toList()) {
+                String name = recording.getFileName().toString();
+                if (!VALID_NAME.matcher(name).matches()) {
+                    continue;
+                }
+                List<Path> segments = FrameLog.segments(recording);
+                long bytes = 0;
+                for (Path segment : segments) {
+                    bytes += Files.size(segment);
+                }
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("name", name);
+                entry.put("segments", segments.size());
+                entry.put("sizeBytes", bytes);
+                entry.put("recording", name.equals(getCurrentRecording()));
+                recordings.add(entry);
+            }
+        } catch (IOException e) {
+            log.error("❌ Failed to list frame recordings in {}", root, e);
+        }
+        return recordings;
+    }
+
+    /**
+     * 기록 이름을 디렉토리 경로로 변환
+     */
+    public Path resolveRecording(String name) {
+        if (name == null || !VALID_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid recording name: " + name);
+        }
+        Path recording = Path.of(directory).resolve(name);
+        if (!Files.isDirectory(recording)) {
+            throw new IllegalArgumentException("Recording not found: " + name);
+        }
+        return recording;
+    }
+}
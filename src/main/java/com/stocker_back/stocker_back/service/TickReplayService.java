@@ -0,0 +1,220 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.config.MetricNames;
+import com.stocker_back.stocker_back.scheduler.ScheduledWebSocketService;
+import com.stocker_back.stocker_back.util.FrameLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 기록된 WebSocket 프레임 재생 서비스
+ *
+ * TickRecorder가 남긴 프레임을 MultiKeyFinnhubWebSocketService.handleMessage 로 다시 흘려보냅니다.
+ * - speed 1: 기록 당시 간격 그대로, N: N배속, 0: 대기 없이 최대 속도
+ * - persist=true이면 재생 중 저장을 활성화하여 장애 구간의 체결/봉 데이터를 보충 (from/to로 구간 지정)
+ * - 연결 id는 "replay-" 접두어를 붙여 실시간 연결의 지연 시간/수신 메트릭과 구분
+ *   (재생 체결은 최신 가격/틱 리스너에 반영되지 않으므로 대기 주문 체결이나 포트폴리오 평가를 일으키지 않음)
+ *
+ * 실시간 수집과 섞이지 않도록 시장 시간이거나 WebSocket 연결이 열려 있으면 재생하지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TickReplayService {
+
+    private final MultiKeyFinnhubWebSocketService multiKeyWebSocketService;
+    private final ScheduledWebSocketService scheduledWebSocketService;
+    private final TickRecorder tickRecorder;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tick-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Counter replayedCounter;
+
+    private volatile ReplayRun current;
+    private volatile ReplayRun last;
+
+    @PostConstruct
+    public void init() {
+        this.replayedCounter = Counter.builder(MetricNames.REPLAY_FRAMES)
+                .description("Recorded frames fed back through the ingest pipeline")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 재생 시작
+     * @param recording 기록 이름 (yyyyMMdd-HHmmss)
+     * @param speed 배속 (0이면 최대 속도)
+     * @param persist 재생한 체결을 저장할지 여부
+     * @param fromEpochMillis 이 수신 시각 이후 프레임만 재생 (null이면 처음부터)
+     * @param toEpochMillis 이 수신 시각까지 재생 (null이면 끝까지)
+     */
+    public synchronized Map<String, Object> start(String recording, double speed, boolean persist,
+                                                  Long fromEpochMillis, Long toEpochMillis) {
+        if (speed < 0 || Double.isNaN(speed)) {
+            throw new IllegalArgumentException("Speed must be 0 (max) or a positive multiplier: " + speed);
+        }
+        if (fromEpochMillis != null && toEpochMillis != null && fromEpochMillis > toEpochMillis) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (current != null) {
+            throw new IllegalArgumentException("A replay is already running: " + current.recording);
+        }
+        if (recording.equals(tickRecorder.getCurrentRecording())) {
+            throw new IllegalArgumentException("Recording is still being written: " + recording);
+        }
+        if (scheduledWebSocketService.isMarketHours() || scheduledWebSocketService.isPreMarketSetup()
+                || multiKeyWebSocketService.isAnyConnected()) {
+            throw new IllegalArgumentException("Replay is only available outside market hours with live WebSocket connections closed");
+        }
+        Path directory = tickRecorder.resolveRecording(recording);
+
+        ReplayRun run = new ReplayRun(recording, speed, persist, fromEpochMillis, toEpochMillis);
+        current = run;
+        executor.submit(() -> replay(run, directory));
+        log.info("▶️ Replay started: {} (speed: {}, persist: {})", recording, speed == 0 ? "max" : speed + "x", persist);
+        return run.toStatus();
+    }
+
+    /**
+     * 진행 중인 재생 중지 요청
+     */
+    public void stop() {
+        ReplayRun run = current;
+        if (run != null) {
+            run.stopRequested = true;
+            log.info("⏹️ Replay stop requested: {}", run.recording);
+        }
+    }
+
+    /**
+     * 재생 상태 (진행 중이면 현재, 아니면 마지막 재생)
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        ReplayRun run = current != null ? current : last;
+        status.put("running", current != null);
+        status.put("replay", run != null ? run.toStatus() : null);
+        return status;
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        stop();
+        executor.shutdownNow();
+    }
+
+    // ===== Private Helper Methods =====
+
+    private void replay(ReplayRun run, Path directory) {
+        boolean savingBefore = multiKeyWebSocketService.isDataSavingEnabled();
+        multiKeyWebSocketService.setDataSavingEnabled(run.persist);
+        multiKeyWebSocketService.resetSaveIntervals();
+        try {
+            FrameLog.read(directory, (connectionId, receivedEpochMillis, receivedNanos, payload) ->
+                    replayFrame(run, connectionId, receivedEpochMillis, receivedNanos, payload));
+            log.info("✅ Replay {}: {} ({} frames in {} ms)", run.stopRequested ? "stopped" : "completed",
+                    run.recording, run.replayedFrames, (System.nanoTime() - run.startedNanos) / 1_000_000);
+        } catch (Exception e) {
+            run.error = e.getMessage();
+            log.error("❌ Replay failed: {}", run.recording, e);
+        } finally {
+            multiKeyWebSocketService.resetSaveIntervals();
+            multiKeyWebSocketService.setDataSavingEnabled(savingBefore);
+            run.finishedAt = LocalDateTime.now();
+            last = run;
+            current = null;
+        }
+    }
+
+    private boolean replayFrame(ReplayRun run, String connectionId, long receivedEpochMillis, long receivedNanos,
+                                String payload) {
+        if (run.stopRequested) {
+            return false;
+        }
+        if (run.fromEpochMillis != null && receivedEpochMillis < run.fromEpochMillis) {
+            return true;
+        }
+        if (run.toEpochMillis != null && receivedEpochMillis > run.toEpochMillis) {
+            return false;
+        }
+
+        if (run.replayedFrames == 0) {
+            run.firstRecordedNanos = receivedNanos;
+            run.firstFrameNanos = System.nanoTime();
+        } else if (run.speed > 0) {
+            // 기록 당시 프레임 간격을 배속으로 나눈 시각까지 대기
+            long due = run.firstFrameNanos + (long) ((receivedNanos - run.firstRecordedNanos) / run.speed);
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0 && !run.stopRequested) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+
+        multiKeyWebSocketService.handleMessage(MultiKeyFinnhubWebSocketService.REPLAY_CONNECTION_PREFIX + connectionId, payload, receivedEpochMillis);
+        run.replayedFrames++;
+        run.lastFrameEpochMillis = receivedEpochMillis;
+        replayedCounter.increment();
+        return true;
+    }
+
+    /**
+     * 재생 1회의 설정과 진행 상태 (재생 스레드만 갱신)
+     */
+    private static final class ReplayRun {
+        private final String recording;
+        private final double speed;
+        private final boolean persist;
+        private final Long fromEpochMillis;
+        private final Long toEpochMillis;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startedNanos = System.nanoTime();
+        private volatile boolean stopRequested;
+        private volatile long replayedFrames;
+        private volatile long lastFrameEpochMillis;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+        private long firstRecordedNanos;
+        private long firstFrameNanos;
+
+        private ReplayRun(String recording, double speed, boolean persist, Long fromEpochMillis, Long toEpochMillis) {
+            this.recording = recording;
+            this.speed = speed;
+            this.persist = persist;
+            this.fromEpochMillis = fromEpochMillis;
+            this.toEpochMillis = toEpochMillis;
+        }
+
+        private Map<String, Object> toStatus() {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("recording", recording);
+            status.put("speed", speed == 0 ? "max" : speed);
+            status.put("persist", persist);
+            status.put("from", fromEpochMillis);
+            status.put("to", toEpochMillis);
+            status.put("startedAt", startedAt);
+            status.put("finishedAt", finishedAt);
+            status.put("replayedFrames", replayedFrames);
+            status.put("lastFrameEpochMillis", lastFrameEpochMillis);
+            status.put("stopRequested", stopRequested);
+            status.put("error", error);
+            return status;
+        }
+    }
+}
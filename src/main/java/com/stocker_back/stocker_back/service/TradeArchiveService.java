@@ -0,0 +1,335 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.domain.Trade;
+import com.stocker_back.stocker_back.util.TradeSegmentCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 오래된 거래 데이터를 로컬 디스크의 컬럼형 세그먼트 파일로 보관하는 서비스
+ *
+ * 주요 기능:
+ * - 보존 기간이 지난 날짜의 거래를 심볼별 세그먼트 파일로 기록 (파티션 DROP 이전)
+ * - 보관된 구간 조회 (메모리 매핑 읽기)
+ *
+ * 디렉터리 구조: {archive-dir}/{yyyy-MM-dd}/{SYMBOL}.tseg
+ * 하루치 기록이 모두 끝나면 _COMPLETE 마커가 생성되며, 마커가 있는 날짜만 조회 대상입니다.
+ * 조회 경계는 시계가 아니라 DB에 남아 있는 가장 이른 구간(TradePartitionService.findRetainedFrom)이므로
+ * 보관 작업 전이거나 보관 실패로 파티션 삭제를 건너뛴 날짜는 계속 DB에서 조회됩니다.
+ */
+@Slf4j
+@Service
+public class TradeArchiveService {
+
+    private static final String SEGMENT_EXTENSION = ".tseg";
+    private static final String COMPLETE_MARKER = "_COMPLETE";
+    private static final int FETCH_SIZE = 10000;
+    private static final Pattern VALID_SYMBOL = Pattern.compile("[A-Z0-9.\\-]+");
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TradePartitionService tradePartitionService;
+
+    @Value("${app.trades.archive.enabled:true}")
+    private boolean archiveEnabled;
+
+    @Value("${app.trades.archive.dir:./data/trade-archive}")
+    private String archiveDir;
+
+    public TradeArchiveService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                               TradePartitionService tradePartitionService) {
+        // PostgreSQL은 트랜잭션 안에서만 fetch size 기반 커서 읽기가 동작
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.tradePartitionService = tradePartitionService;
+    }
+
+    public boolean isArchiveEnabled() {
+        return archiveEnabled;
+    }
+
+    /**
+     * 보관 저장소가 담당하는 구간의 경계 (epoch ms, 이 시각 이전은 보관 파일, 이후는 DB)
+     * DB에 남아 있는 가장 이른 구간의 시작이므로 파티션이 실제로 삭제된 구간만 보관 파일에서 조회합니다.
+     * @return 보관 기능이 꺼져 있거나 모든 구간이 DB에 있으면 null
+     */
+    public Long getArchiveBoundary() {
+        if (!archiveEnabled) {
+            return null;
+        }
+        return tradePartitionService.findRetainedFrom();
+    }
+
+    /**
+     * cutoffDate 이전 날짜 중 아직 보관되지 않은 날짜를 모두 보관
+     * @return 모든 날짜 보관에 성공했으면 true (실패 시 파티션 삭제를 건너뛰어야 함)
+     */
+    public boolean archiveBefore(LocalDate cutoffDate) {
+        if (!archiveEnabled) {
+            return true;
+        }
+
+        // received_at(epoch ms)을 세션 타임존(JVM 기본 타임존) 기준 날짜로 변환
+        List<LocalDate> days = streamingJdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(to_timestamp(received_at / 1000.0) AS date) FROM trades " +
+                "WHERE received_at < ? ORDER BY 1",
+                Date.class, toEpochMillis(cutoffDate))
+                .stream()
+                .map(Date::toLocalDate)
+                .toList();
+
+        boolean allArchived = true;
+        for (LocalDate day : days) {
+            if (isDayArchived(day)) {
+                continue;
+            }
+            try {
+                archiveDay(day);
+            } catch (Exception e) {
+                allArchived = false;
+                log.error("❌ Failed to archive trades for {}", day, e);
+            }
+        }
+        return allArchived;
+    }
+
+    /**
+     * 하루치 거래를 심볼별 세그먼트 파일로 기록
+     * 임시 디렉터리에 먼저 쓴 뒤 원자적으로 이동하므로 중간 실패 시 불완전한 날짜가 남지 않습니다.
+     */
+    public void archiveDay(LocalDate day) throws IOException {
+        Path dayDir = getDayDirectory(day);
+        Path tempDir = dayDir.resolveSibling(dayDir.getFileName() + ".tmp");
+        deleteRecursively(tempDir);
+        Files.createDirectories(tempDir);
+
+        SegmentWriter writer = new SegmentWriter(tempDir);
+        readOnlyTransactionTemplate.executeWithoutResult(status -> streamingJdbcTemplate.query(
+                "SELECT symbol, price_micros, volume, timestamp, received_at, conditions FROM trades " +
+                "WHERE received_at >= ? AND received_at < ? ORDER BY symbol, timestamp",
+                rs -> {
+                    writer.append(Trade.builder()
+                            .symbol(rs.getString("symbol"))
+                            .priceMicros(rs.getLong("price_micros"))
+                            .volume(rs.getLong("volume"))
+                            .timestamp(rs.getLong("timestamp"))
+                            .receivedAt(rs.getLong("received_at"))
+                            .conditionBits(rs.getLong("conditions"))
+                            .build());
+                },
+                toEpochMillis(day), toEpochMillis(day.plusDays(1))));
+        writer.flush();
+
+        Files.createFile(tempDir.resolve(COMPLETE_MARKER));
+        deleteRecursively(dayDir);
+        Files.move(tempDir, dayDir, StandardCopyOption.ATOMIC_MOVE);
+
+        log.info("📦 Archived {} trades for {} into {} segments ({} bytes)",
+                writer.tradeCount, day, writer.segmentCount, writer.bytesWritten);
+    }
+
+    /**
+     * 보관된 구간의 거래 조회 (경계 이전 구간만, 최신순 정렬)
+     * 세그먼트를 하나씩 디코딩하며 최신 limit건만 유지하므로 심볼 없이 여러 날을 조회해도 메모리는 limit건 + 세그먼트 하나로 제한됩니다.
+     * @param from 시작 시각 (epoch ms, 포함)
+     * @param to 종료 시각 (epoch ms, 포함)
+     * @param symbol null 이면 전체 심볼
+     * @param limit 최대 건수
+     * @throws IllegalArgumentException 심볼 형식이 잘못된 경우
+     */
+    public List<Trade> findArchivedTrades(long from, long to, String symbol, int limit) {
+        String normalizedSymbol = symbol != null && !symbol.isEmpty() ? symbol.toUpperCase() : null;
+        if (normalizedSymbol != null && !VALID_SYMBOL.matcher(normalizedSymbol).matches()) {
+            throw new IllegalArgumentException("Invalid symbol: " + symbol);
+        }
+        Long boundary = getArchiveBoundary();
+        if (boundary == null || from >= boundary || limit <= 0) {
+            return List.of();
+        }
+
+        // 가장 오래된 거래가 먼저 나오는 힙으로 최신 limit건만 유지
+        Comparator<Trade> newestFirst = Comparator.comparingLong(Trade::getTimestamp).reversed();
+        PriorityQueue<Trade> newest = new PriorityQueue<>(newestFirst.reversed());
+        long lastMillis = Math.min(to, boundary - 1);
+
+        for (LocalDate day : findArchivedDays(toLocalDate(from), toLocalDate(lastMillis))) {
+            for (Path segment : findSegments(day, normalizedSymbol)) {
+                for (Trade trade : readSegment(segment)) {
+                    long receivedAt = trade.getReceivedAt();
+                    if (receivedAt >= from && receivedAt <= lastMillis) {
+                        newest.add(trade);
+                        if (newest.size() > limit) {
+                            newest.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Trade> result = new ArrayList<>(newest);
+        result.sort(newestFirst);
+        return result;
+    }
+
+    // ===== Private Implementation Methods =====
+
+    private long toEpochMillis(LocalDate day) {
+        return day.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private LocalDate toLocalDate(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private boolean isDayArchived(LocalDate day) {
+        return Files.exists(getDayDirectory(day).resolve(COMPLETE_MARKER));
+    }
+
+    /**
+     * 보관이 완료된 날짜 목록 (디렉터리 이름 기준, 오름차순)
+     */
+    private List<LocalDate> findArchivedDays(LocalDate firstDay, LocalDate lastDay) {
+        Path root = Paths.get(archiveDir);
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+
+        List<LocalDate> days = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root)) {
+            for (Path dir : stream) {
+                LocalDate day = parseDayDirectory(dir.getFileName().toString());
+                if (day != null && !day.isBefore(firstDay) && !day.isAfter(lastDay) && isDayArchived(day)) {
+                    days.add(day);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to list trade archive directory {}", root, e);
+        }
+        days.sort(Comparator.naturalOrder());
+        return days;
+    }
+
+    private LocalDate parseDayDirectory(String name) {
+        try {
+            return LocalDate.parse(name);
+        } catch (DateTimeParseException e) {
+            return null; // .tmp 등 작업 중인 디렉터리
+        }
+    }
+
+    private Path getDayDirectory(LocalDate day) {
+        return Paths.get(archiveDir).resolve(day.toString());
+    }
+
+    private List<Path> findSegments(LocalDate day, String symbol) {
+        Path dayDir = getDayDirectory(day);
+        if (symbol != null) {
+            Path segment = dayDir.resolve(symbol + SEGMENT_EXTENSION).normalize();
+            // 심볼 형식 검사와 별개로 날짜 디렉터리 밖의 경로는 읽지 않음
+            if (!dayDir.normalize().equals(segment.getParent())) {
+                throw new IllegalArgumentException("Invalid symbol: " + symbol);
+            }
+            return Files.exists(segment) ? List.of(segment) : List.of();
+        }
+
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dayDir, "*" + SEGMENT_EXTENSION)) {
+            stream.forEach(segments::add);
+        } catch (IOException e) {
+            log.error("Failed to list archived segments for {}", day, e);
+        }
+        return segments;
+    }
+
+    private List<Trade> readSegment(Path segment) {
+        String fileName = segment.getFileName().toString();
+        String symbol = fileName.substring(0, fileName.length() - SEGMENT_EXTENSION.length());
+
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return TradeSegmentCodec.decode(buffer, symbol);
+        } catch (IOException e) {
+            log.error("Failed to read archived segment {}", segment, e);
+            return List.of();
+        }
+    }
+
+    private void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(path)) {
+            for (Path p : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    /**
+     * 심볼 순으로 정렬된 거래를 받아 심볼이 바뀔 때마다 세그먼트 파일로 기록
+     */
+    private static final class SegmentWriter {
+        private final Path directory;
+        private final List<Trade> buffer = new ArrayList<>();
+        private String currentSymbol;
+        private long tradeCount;
+        private int segmentCount;
+        private long bytesWritten;
+
+        private SegmentWriter(Path directory) {
+            this.directory = directory;
+        }
+
+        private void append(Trade trade) {
+            if (currentSymbol != null && !currentSymbol.equals(trade.getSymbol())) {
+                flush();
+            }
+            currentSymbol = trade.getSymbol();
+            buffer.add(trade);
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            byte[] segment = TradeSegmentCodec.encode(buffer);
+            try {
+                Files.write(directory.resolve(currentSymbol + SEGMENT_EXTENSION), segment);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to write trade segment for " + currentSymbol, e);
+            }
+            tradeCount += buffer.size();
+            segmentCount++;
+            bytesWritten += segment.length;
+            buffer.clear();
+        }
+    }
+}
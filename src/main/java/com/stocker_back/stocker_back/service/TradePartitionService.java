@@ -0,0 +1,488 @@
+package com.stocker_back.stocker_back.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * trades 테이블의 일 단위 Range 파티션 관리 서비스
+ *
+ * 주요 기능:
+ * - 애플리케이션 시작 시 trades 테이블을 received_at(epoch ms) 기준 파티션 테이블로 생성/전환
+ * - 이전 스키마(numeric 가격, timestamp 수신 시각, CSV 조건)를 long 기반 스키마로 1회 변환
+ * - 앞으로 사용할 일별 파티션 미리 생성
+ * - 보존 기간이 지난 파티션 DETACH + DROP (DELETE 없이 O(1) 정리)
+ * - 일별 파티션 범위 밖의 행(과거 구간 재생, 파티션 생성 전 시계 오차 등)은 DEFAULT 파티션에 저장
+ *   해당 날짜 파티션을 만들 때 DEFAULT에서 옮기고, 보존 기간이 지나면 DEFAULT에서 삭제
+ * - pg_class 통계 기반 행 수 추정 (전체 COUNT 스캔 없음)
+ *
+ * Hibernate 스키마 업데이트보다 먼저 실행되어야 하므로 JPA가 아닌 JdbcTemplate만 사용합니다.
+ * (DatabaseSchemaConfig에서 EntityManagerFactory가 이 빈에 의존하도록 설정)
+ * 파티션 경계의 날짜는 JVM 기본 타임존 기준입니다.
+ *
+ * 일반 테이블에서 전환한 경우 기존 데이터는 (MINVALUE ~ 전환 다음 날) 범위의 legacy 파티션 하나로 남습니다.
+ * legacy 파티션은 상한이 보존 기간을 지난 뒤(전환 후 retention-days + 1일)에 한 번에 삭제되므로
+ * 그때까지는 보존 기간보다 오래된 행도 DB에 남아 있습니다. (보관은 날짜별로 정상 진행)
+ */
+@Slf4j
+@Service
+public class TradePartitionService {
+
+    public static final String TABLE_NAME = "trades";
+    private static final String PREVIOUS_TABLE_NAME = "trades_v1";
+    private static final String LEGACY_PARTITION_NAME = "trades_legacy";
+    private static final String DEFAULT_PARTITION_NAME = "trades_default";
+    private static final String PARTITION_PREFIX = "trades_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern UPPER_BOUND_PATTERN = Pattern.compile("TO \\('?(-?\\d+)'?\\)");
+    private static final Pattern LOWER_BOUND_PATTERN = Pattern.compile("FROM \\('?(-?\\d+|MINVALUE)'?\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.trades.partition.precreate-days:3}")
+    private int precreateDays;
+
+    public TradePartitionService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        // JPA 트랜잭션 매니저는 이 빈 이후에 생성되므로 DataSource 트랜잭션을 직접 사용
+        this.transactionTemplate = new TransactionTemplate(
+                new DataSourceTransactionManager(Objects.requireNonNull(jdbcTemplate.getDataSource())));
+    }
+
+    /**
+     * 애플리케이션 시작 시 파티션 테이블 및 파티션 준비
+     */
+    @PostConstruct
+    public void initialize() {
+        try {
+            ensurePartitionedTable();
+            createUpcomingPartitions();
+        } catch (Exception e) {
+            log.error("❌ Failed to initialize trade partitions", e);
+        }
+    }
+
+    /**
+     * trades 테이블이 최신 스키마의 파티션 테이블인지 확인하고, 없으면 생성 / 이전 스키마면 변환
+     */
+    public void ensurePartitionedTable() {
+        List<String> relkind = jdbcTemplate.queryForList(
+                "SELECT c.relkind::text FROM pg_class c " +
+                "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                "WHERE c.relname = ? AND n.nspname = current_schema()",
+                String.class, TABLE_NAME);
+
+        if (relkind.isEmpty()) {
+            createPartitionedTable(1L);
+        } else if (!hasEpochMillisColumns()) {
+            boolean partitioned = "p".equals(relkind.get(0));
+            transactionTemplate.executeWithoutResult(status -> rebuildWithEpochMillisColumns(partitioned));
+        } else if ("r".equals(relkind.get(0))) {
+            transactionTemplate.executeWithoutResult(status -> convertToPartitionedTable());
+        } else {
+            log.debug("Table {} is already partitioned", TABLE_NAME);
+        }
+        ensureDefaultPartition();
+    }
+
+    /**
+     * 오늘부터 precreate-days 만큼의 일별 파티션을 미리 생성
+     * @return 생성(또는 존재 확인)된 파티션 수
+     */
+    public int createUpcomingPartitions() {
+        LocalDate today = LocalDate.now();
+        LocalDate coveredUntil = findCoveredUntil();
+        LocalDate firstDay = coveredUntil != null && coveredUntil.isAfter(today) ? coveredUntil : today;
+        LocalDate lastDay = today.plusDays(precreateDays);
+
+        int ensured = createDailyPartitions(firstDay, lastDay);
+
+        log.info("📅 Trade partitions ensured through {} ({} checked)", lastDay, ensured);
+        return ensured;
+    }
+
+    /**
+     * 상한이 cutoffDate 이전인 파티션을 DETACH 후 DROP하고, DEFAULT 파티션의 cutoffDate 이전 행 삭제
+     * legacy 파티션은 상한(전환 다음 날)이 cutoffDate 이전이 되어야 삭제됩니다.
+     * @param cutoffDate 이 날짜 이전 데이터만 담고 있는 파티션을 삭제
+     * @return 삭제된 파티션 이름 목록
+     */
+    public List<String> dropPartitionsBefore(LocalDate cutoffDate) {
+        long cutoff = toEpochMillis(cutoffDate);
+        List<String> dropped = new ArrayList<>();
+
+        for (Map.Entry<String, Long> partition : findPartitionUpperBounds().entrySet()) {
+            Long upperBound = partition.getValue();
+            if (upperBound == null || upperBound > cutoff) {
+                continue;
+            }
+
+            String partitionName = partition.getKey();
+            jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " DETACH PARTITION " + partitionName);
+            jdbcTemplate.execute("DROP TABLE " + partitionName);
+            dropped.add(partitionName);
+            log.info("🗑️ Dropped trade partition {} (upper bound: {})", partitionName, toLocalDate(upperBound));
+        }
+
+        // 범위 밖으로 들어온 오래된 행 (DEFAULT 파티션은 작게 유지되므로 행 단위 삭제)
+        int expiredDefaultRows = jdbcTemplate.update(
+                "DELETE FROM " + DEFAULT_PARTITION_NAME + " WHERE received_at < ?", cutoff);
+        if (expiredDefaultRows > 0) {
+            log.info("🗑️ Deleted {} expired trades from {}", expiredDefaultRows, DEFAULT_PARTITION_NAME);
+        }
+
+        return dropped;
+    }
+
+    /**
+     * DB에 아직 남아 있는 가장 이른 구간의 시작 (epoch ms)
+     * 가장 낮은 파티션 하한과 DEFAULT 파티션의 최소 received_at 중 작은 값이며,
+     * 이보다 이른 구간은 보관 후 삭제된 구간입니다.
+     * @return legacy 파티션(MINVALUE)이 있거나 파티션이 없으면 null (모든 구간이 DB에 있음)
+     */
+    public Long findRetainedFrom() {
+        Long retainedFrom = null;
+        List<String> bounds = jdbcTemplate.queryForList(
+                "SELECT pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = ?::regclass",
+                String.class, TABLE_NAME);
+        for (String bound : bounds) {
+            Matcher matcher = bound != null ? LOWER_BOUND_PATTERN.matcher(bound) : null;
+            if (matcher == null || !matcher.find()) {
+                continue; // DEFAULT 파티션
+            }
+            if ("MINVALUE".equals(matcher.group(1))) {
+                return null;
+            }
+            long lowerBound = Long.parseLong(matcher.group(1));
+            retainedFrom = retainedFrom == null ? lowerBound : Math.min(retainedFrom, lowerBound);
+        }
+        if (retainedFrom == null) {
+            return null;
+        }
+
+        Long defaultFrom = jdbcTemplate.queryForObject(
+                "SELECT MIN(received_at) FROM " + DEFAULT_PARTITION_NAME, Long.class);
+        return defaultFrom != null ? Math.min(retainedFrom, defaultFrom) : retainedFrom;
+    }
+
+    /**
+     * DEFAULT 파티션(일별 파티션 범위 밖) 행 수
+     */
+    public long countDefaultPartitionRows() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + DEFAULT_PARTITION_NAME, Long.class);
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * 파티션별 pg_class.reltuples 합계로 전체 행 수 추정
+     */
+    public long estimateRowCount() {
+        Long estimate = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(GREATEST(c.reltuples, 0)), 0)::bigint FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = ?::regclass",
+                Long.class, TABLE_NAME);
+        return estimate != null ? estimate : 0L;
+    }
+
+    /**
+     * 파티션 이름별 추정 행 수 조회
+     */
+    public Map<String, Long> estimateRowCountByPartition() {
+        Map<String, Long> result = new TreeMap<>();
+        jdbcTemplate.query(
+                "SELECT c.relname, GREATEST(c.reltuples, 0)::bigint AS estimate FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = ?::regclass",
+                rs -> {
+                    result.put(rs.getString("relname"), rs.getLong("estimate"));
+                },
+                TABLE_NAME);
+        return result;
+    }
+
+    // ===== Private Implementation Methods =====
+
+    /**
+     * 새 파티션 테이블 생성
+     * @param startId id 시퀀스 시작 값
+     */
+    private void createPartitionedTable(long startId) {
+        log.info("🔧 Creating partitioned table {}", TABLE_NAME);
+
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS trades_id_seq START WITH " + startId);
+        jdbcTemplate.execute(
+                "CREATE TABLE " + TABLE_NAME + " (" +
+                "id BIGINT NOT NULL DEFAULT nextval('trades_id_seq'), " +
+                "symbol VARCHAR(20) NOT NULL, " +
+                "price_micros BIGINT NOT NULL, " +
+                "volume BIGINT NOT NULL, " +
+                "timestamp BIGINT NOT NULL, " +
+                "received_at BIGINT NOT NULL, " +
+                "conditions BIGINT NOT NULL DEFAULT 0, " +
+                "PRIMARY KEY (id, received_at)" +
+                ") PARTITION BY RANGE (received_at)");
+        jdbcTemplate.execute("ALTER SEQUENCE trades_id_seq OWNED BY " + TABLE_NAME + ".id");
+        createParentIndexes();
+    }
+
+    /**
+     * 이전 스키마(numeric/timestamp/CSV) 테이블을 long 기반 파티션 테이블로 재구성
+     * 파티션 키 타입이 바뀌므로 새 테이블로 복사한 뒤 이전 테이블(및 파티션)을 삭제합니다.
+     */
+    private void rebuildWithEpochMillisColumns(boolean partitioned) {
+        log.info("🔧 Rebuilding table {} with native long columns (price_micros, received_at ms, condition bits)",
+                TABLE_NAME);
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " RENAME TO " + PREVIOUS_TABLE_NAME);
+
+        // 새 테이블과 이름이 겹치는 파티션/PK/인덱스/시퀀스 정리
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = ?::regclass",
+                String.class, PREVIOUS_TABLE_NAME);
+        for (String partition : partitions) {
+            jdbcTemplate.execute("ALTER TABLE " + partition + " RENAME TO " + partition + "_v1");
+        }
+        List<String> primaryKeys = jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'p'",
+                String.class, PREVIOUS_TABLE_NAME);
+        for (String primaryKey : primaryKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + PREVIOUS_TABLE_NAME + " DROP CONSTRAINT " + primaryKey);
+        }
+        for (String index : List.of("idx_symbol", "idx_timestamp", "idx_symbol_timestamp")) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS " + index);
+        }
+        if (!partitioned) {
+            jdbcTemplate.execute("ALTER TABLE " + PREVIOUS_TABLE_NAME + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        }
+        jdbcTemplate.execute("ALTER TABLE " + PREVIOUS_TABLE_NAME + " ALTER COLUMN id DROP DEFAULT");
+        jdbcTemplate.execute("DROP SEQUENCE IF EXISTS trades_id_seq");
+
+        Long nextId = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) + 1 FROM " + PREVIOUS_TABLE_NAME, Long.class);
+        createPartitionedTable(nextId != null ? nextId : 1L);
+
+        // 기존 데이터가 들어갈 일별 파티션 생성 (timestamp → timestamptz 변환은 세션 타임존 = JVM 타임존 기준)
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT MIN(received_at)::date AS first_day, MAX(received_at)::date AS last_day FROM " +
+                PREVIOUS_TABLE_NAME);
+        LocalDate today = LocalDate.now();
+        if (range.get("first_day") != null) {
+            LocalDate firstDay = ((Date) range.get("first_day")).toLocalDate();
+            LocalDate lastDay = ((Date) range.get("last_day")).toLocalDate();
+            createDailyPartitions(firstDay, lastDay.isAfter(today) ? lastDay : today);
+        }
+
+        int migrated = jdbcTemplate.update(
+                "INSERT INTO " + TABLE_NAME +
+                " (id, symbol, price_micros, volume, timestamp, received_at, conditions) " +
+                "SELECT id, symbol, ROUND(price * 1000000)::bigint, volume, timestamp, " +
+                "(EXTRACT(EPOCH FROM received_at::timestamptz) * 1000)::bigint, " +
+                "COALESCE((SELECT bit_or(CASE WHEN trim(c) ~ '^[0-9]{1,2}$' THEN " +
+                "CASE WHEN trim(c)::int < 64 THEN 1::bigint << trim(c)::int ELSE 0 END ELSE 0 END) " +
+                "FROM unnest(string_to_array(trade_conditions, ',')) AS c), 0) " +
+                "FROM " + PREVIOUS_TABLE_NAME);
+
+        jdbcTemplate.execute("DROP TABLE " + PREVIOUS_TABLE_NAME);
+
+        log.info("✅ Table {} rebuilt, {} trades migrated", TABLE_NAME, migrated);
+    }
+
+    /**
+     * 최신 스키마의 일반 테이블을 파티션 테이블로 전환
+     * 기존 테이블은 (MINVALUE ~ 내일 0시) 범위의 legacy 파티션으로 붙이므로 데이터 복사가 없습니다.
+     */
+    private void convertToPartitionedTable() {
+        LocalDate legacyUpperBound = LocalDate.now().plusDays(1);
+        log.info("🔧 Converting table {} to daily range partitions (legacy partition until {})",
+                TABLE_NAME, legacyUpperBound);
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " RENAME TO " + LEGACY_PARTITION_NAME);
+
+        // 부모 테이블과 이름이 겹치는 PK/인덱스 이름 변경
+        List<String> primaryKeys = jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'p'",
+                String.class, LEGACY_PARTITION_NAME);
+        for (String primaryKey : primaryKeys) {
+            jdbcTemplate.execute(String.format("ALTER TABLE %s RENAME CONSTRAINT %s TO %s_pkey",
+                    LEGACY_PARTITION_NAME, primaryKey, LEGACY_PARTITION_NAME));
+        }
+        for (String index : List.of("idx_symbol", "idx_timestamp", "idx_symbol_timestamp")) {
+            jdbcTemplate.execute("ALTER INDEX IF EXISTS " + index + " RENAME TO " + index + "_legacy");
+        }
+
+        // IDENTITY 컬럼은 파티션으로 붙일 수 없으므로 일반 시퀀스로 교체
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION_NAME + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION_NAME + " ALTER COLUMN id DROP DEFAULT");
+        Long nextId = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) + 1 FROM " + LEGACY_PARTITION_NAME, Long.class);
+        jdbcTemplate.execute("DROP SEQUENCE IF EXISTS trades_id_seq");
+        jdbcTemplate.execute("CREATE SEQUENCE trades_id_seq START WITH " + nextId);
+
+        jdbcTemplate.execute("CREATE TABLE " + TABLE_NAME + " (LIKE " + LEGACY_PARTITION_NAME + ") " +
+                "PARTITION BY RANGE (received_at)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " ALTER COLUMN id SET DEFAULT nextval('trades_id_seq')");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " ADD PRIMARY KEY (id, received_at)");
+        jdbcTemplate.execute("ALTER SEQUENCE trades_id_seq OWNED BY " + TABLE_NAME + ".id");
+        createParentIndexes();
+
+        jdbcTemplate.execute(String.format(
+                "ALTER TABLE %s ATTACH PARTITION %s FOR VALUES FROM (MINVALUE) TO (%d)",
+                TABLE_NAME, LEGACY_PARTITION_NAME, toEpochMillis(legacyUpperBound)));
+
+        log.info("✅ Table {} converted to partitioned table", TABLE_NAME);
+    }
+
+    /**
+     * 어느 파티션 범위에도 속하지 않는 행을 받을 DEFAULT 파티션 생성
+     * (없으면 범위 밖 행 하나 때문에 COPY 배치 전체가 실패)
+     */
+    private void ensureDefaultPartition() {
+        jdbcTemplate.execute(String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s DEFAULT",
+                DEFAULT_PARTITION_NAME, TABLE_NAME));
+    }
+
+    /**
+     * received_at 컬럼이 epoch ms(bigint)인지 확인
+     */
+    private boolean hasEpochMillisColumns() {
+        List<String> dataType = jdbcTemplate.queryForList(
+                "SELECT data_type FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = ? AND column_name = 'received_at'",
+                String.class, TABLE_NAME);
+        return !dataType.isEmpty() && "bigint".equals(dataType.get(0));
+    }
+
+    /**
+     * 부모 테이블 인덱스 생성 (각 파티션에 자동 전파)
+     */
+    private void createParentIndexes() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_symbol ON " + TABLE_NAME + " (symbol)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_timestamp ON " + TABLE_NAME + " (timestamp)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_symbol_timestamp ON " + TABLE_NAME + " (symbol, timestamp)");
+    }
+
+    /**
+     * firstDay ~ lastDay 일별 파티션 생성 (이미 있으면 건너뜀)
+     */
+    private int createDailyPartitions(LocalDate firstDay, LocalDate lastDay) {
+        int ensured = 0;
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            createDailyPartition(day);
+            ensured++;
+        }
+        return ensured;
+    }
+
+    /**
+     * 일별 파티션 생성
+     * DEFAULT 파티션이 있으면 같은 범위의 행이 들어와 있을 수 있으므로 항상 별도 테이블로 만들어
+     * 행을 옮긴 뒤 ATTACH 합니다. 확인과 생성 사이에 거래가 DEFAULT로 들어오지 않도록
+     * 한 트랜잭션에서 DEFAULT 파티션을 먼저 잠급니다. (INSERT는 대기, 조회는 허용)
+     */
+    private void createDailyPartition(LocalDate day) {
+        String partitionName = PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+        long from = toEpochMillis(day);
+        long to = toEpochMillis(day.plusDays(1));
+
+        Boolean[] state = jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL, to_regclass(?) IS NOT NULL",
+                (rs, rowNum) -> new Boolean[] {rs.getBoolean(1), rs.getBoolean(2)},
+                partitionName, DEFAULT_PARTITION_NAME);
+        if (state[0]) {
+            return;
+        }
+        if (!state[1]) {
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM (%d) TO (%d)",
+                    partitionName, TABLE_NAME, from, to));
+            return;
+        }
+
+        Integer moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION_NAME + " IN SHARE ROW EXCLUSIVE MODE");
+            // 잠금 대기 중 다른 인스턴스가 만들었을 수 있음
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT to_regclass(?) IS NOT NULL", Boolean.class, partitionName))) {
+                return null;
+            }
+            jdbcTemplate.execute(String.format("CREATE TABLE %s (LIKE %s INCLUDING DEFAULTS)", partitionName, TABLE_NAME));
+            int rows = jdbcTemplate.update(String.format(
+                    "WITH moved AS (DELETE FROM %s WHERE received_at >= ? AND received_at < ? RETURNING *) " +
+                    "INSERT INTO %s SELECT * FROM moved", DEFAULT_PARTITION_NAME, partitionName), from, to);
+            jdbcTemplate.execute(String.format("ALTER TABLE %s ATTACH PARTITION %s FOR VALUES FROM (%d) TO (%d)",
+                    TABLE_NAME, partitionName, from, to));
+            return rows;
+        });
+        if (moved != null && moved > 0) {
+            log.info("📦 Created trade partition {} with {} trades moved from {}", partitionName, moved, DEFAULT_PARTITION_NAME);
+        }
+    }
+
+    /**
+     * 현재 파티션들이 커버하는 가장 늦은 상한 날짜
+     */
+    private LocalDate findCoveredUntil() {
+        return findPartitionUpperBounds().values().stream()
+                .filter(Objects::nonNull)
+                .max(Long::compareTo)
+                .map(this::toLocalDate)
+                .orElse(null);
+    }
+
+    /**
+     * 파티션 이름별 상한(TO 값, epoch ms) 조회
+     */
+    private Map<String, Long> findPartitionUpperBounds() {
+        Map<String, Long> bounds = new TreeMap<>();
+        jdbcTemplate.query(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = ?::regclass",
+                rs -> {
+                    bounds.put(rs.getString("relname"), parseUpperBound(rs.getString("bound")));
+                },
+                TABLE_NAME);
+        return bounds;
+    }
+
+    private Long parseUpperBound(String boundExpression) {
+        if (boundExpression == null) {
+            return null;
+        }
+        Matcher matcher = UPPER_BOUND_PATTERN.matcher(boundExpression);
+        if (!matcher.find()) {
+            return null; // DEFAULT 또는 MAXVALUE 파티션
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private long toEpochMillis(LocalDate day) {
+        return day.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private LocalDate toLocalDate(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
@@ -0,0 +1,16 @@
+package com.stocker_back.stocker_back.service;
+
+/**
+ * 실시간 체결(틱) 수신 리스너
+ * MultiKeyFinnhubWebSocketService가 WebSocket으로 받은 각 체결마다 호출합니다.
+ * WebSocket 수신 스레드에서 호출되므로 구현체는 블로킹 없이 빠르게 반환해야 합니다.
+ */
+public interface TradeTickListener {
+
+    /**
+     * @param symbol 주식 심볼
+     * @param priceMicros 체결 가격 (micro-units, 가격 × 10^6)
+     * @param timestamp 체결 시각 (epoch ms)
+     */
+    void onTradeTick(String symbol, long priceMicros, long timestamp);
+}
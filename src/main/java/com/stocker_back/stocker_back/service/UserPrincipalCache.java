@@ -0,0 +1,86 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.domain.User;
+import com.stocker_back.stocker_back.repository.UserRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 인증된 사용자 정보(username, role) 캐시
+ *
+ * AuthenticationInterceptor가 요청마다 users 테이블을 조회하지 않도록 userId별로 TTL 동안 보관합니다.
+ * 권한 변경, 로그아웃, 강제 로그아웃 시 invalidate로 즉시 제거해야 합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserPrincipalCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final UserRepository userRepository;
+
+    private final ConcurrentHashMap<Long, UserPrincipal> principals = new ConcurrentHashMap<>();
+
+    @Value("${app.auth.principal-cache-ttl-seconds:60}")
+    private long ttlSeconds;
+
+    /**
+     * 사용자 정보 조회 (캐시에 없거나 만료되었으면 DB에서 조회)
+     */
+    public Optional<UserPrincipal> get(Long userId) {
+        long now = System.currentTimeMillis();
+        UserPrincipal cached = principals.get(userId);
+        if (cached != null && cached.expiresAt > now) {
+            return Optional.of(cached);
+        }
+
+        Optional<UserPrincipal> loaded = userRepository.findById(userId)
+                .map(user -> new UserPrincipal(user.getId(), user.getUsername(), user.getRole(),
+                        now + ttlSeconds * 1000));
+        if (loaded.isPresent()) {
+            if (principals.size() >= MAX_ENTRIES) {
+                evictExpired(now);
+            }
+            principals.put(userId, loaded.get());
+        } else {
+            principals.remove(userId);
+        }
+        return loaded;
+    }
+
+    /**
+     * 사용자 정보 캐시 제거 (권한 변경, 로그아웃 시)
+     */
+    public void invalidate(Long userId) {
+        if (principals.remove(userId) != null) {
+            log.debug("Invalidated cached principal for user: {}", userId);
+        }
+    }
+
+    private void evictExpired(long now) {
+        principals.values().removeIf(principal -> principal.expiresAt <= now);
+        if (principals.size() >= MAX_ENTRIES) {
+            // 만료되지 않은 항목만으로 가득 찬 경우 전체 비우기 (다음 요청부터 다시 적재)
+            principals.clear();
+        }
+    }
+
+    /**
+     * 캐시된 사용자 정보
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class UserPrincipal {
+        private final Long userId;
+        private final String username;
+        private final User.Role role;
+        private final long expiresAt;
+    }
+}
@@ -5,56 +5,73 @@ import com.stocker_back.stocker_back.domain.VirtualAccount;
 import com.stocker_back.stocker_back.repository.UserRepository;
 import com.stocker_back.stocker_back.repository.VirtualAccountRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import com.stocker_back.stocker_back.domain.VirtualHolding;
 import com.stocker_back.stocker_back.dto.VirtualHoldingDto;
 import com.stocker_back.stocker_back.repository.VirtualHoldingRepository;
-import com.stocker_back.stocker_back.repository.TradeRepository;
-import com.stocker_back.stocker_back.repository.QuoteRepository;
-import com.stocker_back.stocker_back.domain.StockSymbol;
-import com.stocker_back.stocker_back.repository.StockSymbolRepository;
+import com.stocker_back.stocker_back.dto.StockPriceDto;
 import com.stocker_back.stocker_back.domain.VirtualTradeHistory;
 import com.stocker_back.stocker_back.repository.VirtualTradeHistoryRepository;
+import com.stocker_back.stocker_back.repository.VirtualOrderRepository;
+import com.stocker_back.stocker_back.dto.PortfolioSnapshotDto;
 import com.stocker_back.stocker_back.dto.PortfolioSummaryDto;
+import com.stocker_back.stocker_back.dto.BasketOrderRequestDto;
+import com.stocker_back.stocker_back.dto.BasketOrderResultDto;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.function.Supplier;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class VirtualAccountService {
     private final VirtualAccountRepository virtualAccountRepository;
     private final UserRepository userRepository;
     private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000");
+    private static final int MAX_ORDER_ATTEMPTS = 3;
+    private static final long ORDER_RETRY_DELAY_MS = 50;
+    private static final int MAX_BASKET_LEGS = 50;
     private final VirtualHoldingRepository virtualHoldingRepository;
-    private final TradeRepository tradeRepository;
-    private final QuoteRepository quoteRepository;
-    private final StockSymbolRepository stockSymbolRepository;
+    private final StockPriceService stockPriceService;
+    private final PortfolioValuationEngine portfolioValuationEngine;
     private final VirtualTradeHistoryRepository virtualTradeHistoryRepository;
+    private final VirtualOrderRepository virtualOrderRepository;
+    private final VirtualOrderBook virtualOrderBook;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public VirtualAccount createOrResetAccount(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        reloadValuationAfterCommit(userId);
         
-        return virtualAccountRepository.findByUser(user)
+        return virtualAccountRepository.findByUserIdForUpdate(user.getId())
                 .map(account -> {
                     // 기존 계좌가 있으면 모든 데이터 초기화
                     // 1. 보유 종목 삭제
                     virtualHoldingRepository.deleteByVirtualAccount(account);
                     
-                    // 2. 거래 기록 삭제
+                    // 2. 거래 기록 및 대기 주문 삭제
                     virtualTradeHistoryRepository.deleteByVirtualAccount(account);
+                    virtualOrderRepository.deleteByVirtualAccount(account);
+                    removeOpenOrdersAfterCommit(account.getId());
                     
-                    // 3. 잔고 초기화
+                    // 3. 잔고 및 누적 집계 초기화
                     account.setBalance(INITIAL_BALANCE);
+                    account.resetTradeAggregates();
                     
                     return account;
                 })
@@ -64,6 +81,7 @@ public class VirtualAccountService {
                             .user(user)
                             .balance(INITIAL_BALANCE)
                             .build();
+                    account.resetTradeAggregates();
                     return virtualAccountRepository.save(account);
                 });
     }
@@ -73,27 +91,26 @@ public class VirtualAccountService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         VirtualAccount account = virtualAccountRepository.findByUser(user)
                 .orElseThrow(() -> new IllegalArgumentException("Virtual account not found"));
+        return buildHoldings(account);
+    }
+
+    /**
+     * 계좌의 보유 종목을 현재가 기준으로 평가
+     */
+    private List<VirtualHoldingDto> buildHoldings(VirtualAccount account) {
         List<VirtualHolding> holdings = virtualHoldingRepository.findByVirtualAccount(account);
+        
+        // 보유 종목 전체의 현재가/로고를 한 번에 조회 (장외 시간 가격 포함)
+        Map<String, StockPriceDto> prices = stockPriceService.getPrices(
+                holdings.stream().map(VirtualHolding::getSymbol).toList(), true);
+        
         List<VirtualHoldingDto> result = new ArrayList<>();
         for (VirtualHolding h : holdings) {
-            // 현재가: Trade(1일 이내), 없으면 Quote
-            java.math.BigDecimal currentPrice = null;
-            java.time.LocalDateTime oneDayAgo = java.time.LocalDateTime.now().minusDays(1);
-            List<com.stocker_back.stocker_back.domain.Trade> trades = tradeRepository.findTradesBySymbolAfter(h.getSymbol(), oneDayAgo);
-            if (!trades.isEmpty()) {
-                currentPrice = trades.get(0).getPrice();
-            } else {
-                Optional<com.stocker_back.stocker_back.domain.Quote> quoteOpt = quoteRepository.findLatestQuoteBySymbol(h.getSymbol());
-                if (quoteOpt.isPresent()) {
-                    currentPrice = quoteOpt.get().getCurrentPrice();
-                }
-            }
+            StockPriceDto priceInfo = prices.get(h.getSymbol().toUpperCase());
+            // 현재가: Trade(1일 이내) 또는 더 최신인 장외 봉, 없으면 Quote
+            java.math.BigDecimal currentPrice = priceInfo != null ? priceInfo.getPrice() : null;
             // 로고
-            String logo = null;
-            Optional<StockSymbol> symbolOpt = stockSymbolRepository.findBySymbol(h.getSymbol());
-            if (symbolOpt.isPresent()) {
-                logo = symbolOpt.get().getLogo();
-            }
+            String logo = priceInfo != null ? priceInfo.getLogo() : null;
             // 평가금액/손익
             java.math.BigDecimal evalAmount = null;
             java.math.BigDecimal evalProfit = null;
@@ -109,47 +126,291 @@ public class VirtualAccountService {
                     .evalAmount(evalAmount)
                     .evalProfit(evalProfit)
                     .logo(logo)
+                    .priceSession(priceInfo != null ? priceInfo.getSession() : null)
                     .build());
         }
         return result;
     }
 
-    @Transactional
-    public void buy(Long userId, String symbol, BigDecimal quantity) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        VirtualAccount account = virtualAccountRepository.findByUser(user)
-                .orElseThrow(() -> new IllegalArgumentException("Virtual account not found"));
+    /**
+     * 가상 매수 (현재가 조회 후 계좌 행 잠금 하에 체결, 잠금 충돌 시 재시도)
+     * @return 체결 후 계좌
+     */
+    public VirtualAccount buy(Long userId, String symbol, BigDecimal quantity) {
         if (quantity.compareTo(BigDecimal.ZERO) <= 0) throw new IllegalArgumentException("수량은 0보다 커야 합니다");
 
-        // 현재가 결정 (Trade 1일 이내, 없으면 Quote)
-        BigDecimal price = null;
-        java.time.LocalDateTime oneDayAgo = java.time.LocalDateTime.now().minusDays(1);
-        var trades = tradeRepository.findTradesBySymbolAfter(symbol, oneDayAgo);
-        if (!trades.isEmpty()) {
-            price = trades.get(0).getPrice();
-        } else {
-            var quoteOpt = quoteRepository.findLatestQuoteBySymbol(symbol);
-            if (quoteOpt.isPresent()) price = quoteOpt.get().getCurrentPrice();
+        // 현재가 결정 (Trade 1일 이내, 없으면 Quote) - 잠금 보유 시간을 줄이기 위해 트랜잭션 밖에서 조회
+        BigDecimal price = stockPriceService.getCurrentPrice(symbol)
+                .orElseThrow(() -> new IllegalArgumentException("현재가를 찾을 수 없습니다"));
+
+        return executeOrder("buy", userId, () -> executeBuy(userId, symbol.toUpperCase(), quantity, price));
+    }
+
+    /**
+     * 가상 매도 (현재가 조회 후 계좌 행 잠금 하에 체결, 잠금 충돌 시 재시도)
+     * @return 체결 후 계좌
+     */
+    public VirtualAccount sell(Long userId, String symbol, BigDecimal quantity) {
+        if (quantity.compareTo(BigDecimal.ZERO) <= 0) throw new IllegalArgumentException("수량은 0보다 커야 합니다");
+
+        // 현재가 결정 (Trade 1일 이내, 없으면 Quote) - 잠금 보유 시간을 줄이기 위해 트랜잭션 밖에서 조회
+        BigDecimal price = stockPriceService.getCurrentPrice(symbol)
+                .orElseThrow(() -> new IllegalArgumentException("현재가를 찾을 수 없습니다"));
+
+        return executeOrder("sell", userId, () -> executeSell(userId, symbol.toUpperCase(), quantity, price));
+    }
+
+    /**
+     * 주문을 트랜잭션으로 실행하고 잠금 충돌(데드락, 잠금 실패) 시 제한된 횟수만큼 재시도
+     */
+    private <T> T executeOrder(String orderType, Long userId, Supplier<T> order) {
+        int attempt = 0;
+        while (true) {
+            try {
+                return transactionTemplate.execute(status -> order.get());
+            } catch (ConcurrencyFailureException e) {
+                attempt++;
+                if (attempt >= MAX_ORDER_ATTEMPTS) {
+                    log.error("❌ Virtual {} for user {} failed after {} attempts: {}",
+                            orderType, userId, attempt, e.getMessage());
+                    throw new IllegalStateException("주문 처리 중 충돌이 발생했습니다. 잠시 후 다시 시도해주세요", e);
+                }
+                log.warn("⚠️ Virtual {} for user {} conflicted (attempt {}/{}), retrying",
+                        orderType, userId, attempt, MAX_ORDER_ATTEMPTS);
+                try {
+                    Thread.sleep(ORDER_RETRY_DELAY_MS * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("주문 처리가 중단되었습니다", ie);
+                }
+            }
+        }
+    }
+
+    private VirtualAccount executeBuy(Long userId, String symbol, BigDecimal quantity, BigDecimal price) {
+        VirtualAccount account = virtualAccountRepository.findByUserIdForUpdate(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Virtual account not found"));
+        virtualTradeHistoryRepository.save(applyBuy(account, symbol, quantity, price));
+        return account;
+    }
+
+    private VirtualAccount executeSell(Long userId, String symbol, BigDecimal quantity, BigDecimal price) {
+        VirtualAccount account = virtualAccountRepository.findByUserIdForUpdate(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Virtual account not found"));
+        virtualTradeHistoryRepository.save(applySell(account, symbol, quantity, price));
+        return account;
+    }
+
+    /**
+     * 바스켓 주문 (여러 종목 매수/매도를 하나의 트랜잭션에서 전부 체결하거나 전혀 반영하지 않음)
+     * - 모든 레그의 가격을 한 번의 조회 결과(같은 시점의 가격)로 결정
+     * - 매도 대금을 매수에 쓸 수 있도록 매도 레그를 먼저 반영
+     * - 잔고/보유 수량은 바스켓 전체 기준으로 한 번 검증하고, 실패 시 레그별 사유를 반환
+     */
+    public BasketOrderResultDto executeBasket(Long userId, List<BasketOrderRequestDto.LegDto> legs) {
+        if (legs == null || legs.isEmpty()) throw new IllegalArgumentException("주문 목록이 비어 있습니다");
+        if (legs.size() > MAX_BASKET_LEGS) throw new IllegalArgumentException("바스켓 주문은 최대 " + MAX_BASKET_LEGS + "건까지 가능합니다");
+
+        List<BasketOrderResultDto.LegResultDto> results = new ArrayList<>(legs.size());
+        for (BasketOrderRequestDto.LegDto leg : legs) {
+            if (leg.getSymbol() == null || leg.getSymbol().isBlank()) throw new IllegalArgumentException("종목을 입력해주세요");
+            if (leg.getQuantity() == null || leg.getQuantity().compareTo(BigDecimal.ZERO) <= 0) throw new IllegalArgumentException("수량은 0보다 커야 합니다");
+            results.add(BasketOrderResultDto.LegResultDto.builder()
+                    .symbol(leg.getSymbol().trim().toUpperCase())
+                    .side(parseTradeType(leg.getSide()).name())
+                    .quantity(leg.getQuantity())
+                    .build());
+        }
+
+        // 전체 레그 가격을 한 번에 조회 (잠금 보유 시간을 줄이기 위해 트랜잭션 밖에서 조회)
+        Map<String, StockPriceDto> prices = stockPriceService.getPrices(
+                results.stream().map(BasketOrderResultDto.LegResultDto::getSymbol).distinct().toList());
+        boolean allPriced = true;
+        for (BasketOrderResultDto.LegResultDto result : results) {
+            StockPriceDto priceInfo = prices.get(result.getSymbol());
+            if (priceInfo == null || priceInfo.getPrice() == null) {
+                rejectLeg(result, "현재가를 찾을 수 없습니다");
+                allPriced = false;
+            } else {
+                result.setPrice(priceInfo.getPrice());
+                result.setAmount(priceInfo.getPrice().multiply(result.getQuantity()));
+            }
+        }
+        if (!allPriced) {
+            return failBasket(results, null, "현재가를 찾을 수 없는 종목이 있습니다");
         }
-        if (price == null) throw new IllegalArgumentException("현재가를 찾을 수 없습니다");
 
+        return executeOrder("basket", userId, () -> executeBasketLegs(userId, results));
+    }
+
+    private BasketOrderResultDto executeBasketLegs(Long userId, List<BasketOrderResultDto.LegResultDto> results) {
+        // 재시도 시 롤백된 이전 시도의 레그 결과(FILLED 등)가 남지 않도록 초기화 (가격/금액은 트랜잭션 밖에서 결정)
+        results.forEach(this::resetLeg);
+        VirtualAccount account = virtualAccountRepository.findByUserIdForUpdate(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Virtual account not found"));
+        // 보유 종목은 한 번만 조회
+        Map<String, VirtualHolding> holdings = new HashMap<>();
+        for (VirtualHolding holding : virtualHoldingRepository.findByVirtualAccount(account)) {
+            holdings.put(holding.getSymbol().toUpperCase(), holding);
+        }
+
+        // 바스켓 전체 기준 검증: 종목별 매도 합계 <= 보유 수량, 잔고 + 매도 합계 >= 매수 합계
+        BigDecimal totalBuy = BigDecimal.ZERO;
+        BigDecimal totalSell = BigDecimal.ZERO;
+        Map<String, BigDecimal> sellQuantities = new HashMap<>();
+        for (BasketOrderResultDto.LegResultDto result : results) {
+            if (isBuy(result)) {
+                totalBuy = totalBuy.add(result.getAmount());
+            } else {
+                totalSell = totalSell.add(result.getAmount());
+                sellQuantities.merge(result.getSymbol(), result.getQuantity(), BigDecimal::add);
+            }
+        }
+        boolean valid = true;
+        for (BasketOrderResultDto.LegResultDto result : results) {
+            if (isBuy(result)) {
+                continue;
+            }
+            VirtualHolding holding = holdings.get(result.getSymbol());
+            BigDecimal held = holding != null ? holding.getQuantity() : BigDecimal.ZERO;
+            if (held.compareTo(sellQuantities.get(result.getSymbol())) < 0) {
+                rejectLeg(result, "보유 수량이 부족합니다");
+                valid = false;
+            }
+        }
+        if (account.getBalance().add(totalSell).compareTo(totalBuy) < 0) {
+            results.stream().filter(this::isBuy).forEach(result -> rejectLeg(result, "잔고가 부족합니다"));
+            valid = false;
+        }
+        if (!valid) {
+            return failBasket(results, account.getBalance(), "바스켓 주문 검증에 실패하여 아무것도 체결되지 않았습니다");
+        }
+
+        // 매도 레그 먼저, 이후 매수 레그 반영 (요청 순서 유지)
+        List<VirtualTradeHistory> histories = new ArrayList<>(results.size());
+        for (BasketOrderResultDto.LegResultDto result : results) {
+            if (!isBuy(result)) {
+                VirtualTradeHistory history = applySell(account, holdings, result.getSymbol(), result.getQuantity(), result.getPrice());
+                result.setRealizedProfit(history.getRealizedProfit());
+                result.setStatus("FILLED");
+                histories.add(history);
+            }
+        }
+        // 전량 매도로 삭제된 보유 종목을 매수 레그가 다시 만들 수 있으므로 DELETE를 먼저 반영
+        // (Hibernate는 flush 시 INSERT를 DELETE보다 먼저 실행하여 (계좌, 종목) 유니크 제약에 걸림)
+        if (totalSell.signum() > 0) {
+            virtualHoldingRepository.flush();
+        }
+        for (BasketOrderResultDto.LegResultDto result : results) {
+            if (isBuy(result)) {
+                histories.add(applyBuy(account, holdings, result.getSymbol(), result.getQuantity(), result.getPrice()));
+                result.setStatus("FILLED");
+            }
+        }
+        virtualTradeHistoryRepository.saveAll(histories);
+        reloadValuationAfterCommit(userId);
+
+        return BasketOrderResultDto.builder()
+                .executed(true)
+                .message("바스켓 주문이 체결되었습니다")
+                .balance(account.getBalance())
+                .totalBuyAmount(totalBuy)
+                .totalSellAmount(totalSell)
+                .legs(results)
+                .build();
+    }
+
+    private BasketOrderResultDto failBasket(List<BasketOrderResultDto.LegResultDto> results, BigDecimal balance, String message) {
+        results.stream()
+                .filter(result -> result.getStatus() == null)
+                .forEach(result -> {
+                    result.setStatus("SKIPPED");
+                    result.setMessage("다른 레그의 실패로 체결되지 않았습니다");
+                });
+        return BasketOrderResultDto.builder()
+                .executed(false)
+                .message(message)
+                .balance(balance)
+                .legs(results)
+                .build();
+    }
+
+    private void resetLeg(BasketOrderResultDto.LegResultDto result) {
+        result.setStatus(null);
+        result.setMessage(null);
+        result.setRealizedProfit(null);
+    }
+
+    private void rejectLeg(BasketOrderResultDto.LegResultDto result, String message) {
+        result.setStatus("REJECTED");
+        result.setMessage(message);
+    }
+
+    private boolean isBuy(BasketOrderResultDto.LegResultDto result) {
+        return VirtualTradeHistory.TradeType.BUY.name().equals(result.getSide());
+    }
+
+    private VirtualTradeHistory.TradeType parseTradeType(String side) {
+        if (side == null || side.isBlank()) throw new IllegalArgumentException("주문 방향(BUY/SELL)을 입력해주세요");
+        try {
+            return VirtualTradeHistory.TradeType.valueOf(side.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 주문 방향입니다: " + side);
+        }
+    }
+
+    /**
+     * 매수 체결을 계좌에 반영 (잔고, 보유 종목, 누적 집계)
+     * 계좌 행 잠금을 보유한 트랜잭션 안에서 호출해야 하며, 검증 실패 시 아무것도 변경하지 않습니다.
+     * @return 저장할 거래 기록 (일괄 저장을 위해 호출자가 저장)
+     */
+    public VirtualTradeHistory applyBuy(VirtualAccount account, String symbol, BigDecimal quantity, BigDecimal price) {
+        VirtualTradeHistory history = applyBuy(account, findHolding(account, symbol), symbol, quantity, price);
+        reloadValuationAfterCommit(account.getUser().getId());
+        return history;
+    }
+
+    /**
+     * 매도 체결을 계좌에 반영 (잔고, 보유 종목, 누적 집계)
+     * 계좌 행 잠금을 보유한 트랜잭션 안에서 호출해야 하며, 검증 실패 시 아무것도 변경하지 않습니다.
+     * @return 저장할 거래 기록 (일괄 저장을 위해 호출자가 저장)
+     */
+    public VirtualTradeHistory applySell(VirtualAccount account, String symbol, BigDecimal quantity, BigDecimal price) {
+        VirtualTradeHistory history = applySell(account, findHolding(account, symbol), symbol, quantity, price);
+        reloadValuationAfterCommit(account.getUser().getId());
+        return history;
+    }
+
+    private Map<String, VirtualHolding> findHolding(VirtualAccount account, String symbol) {
+        Map<String, VirtualHolding> holdings = new HashMap<>();
+        virtualHoldingRepository.findByVirtualAccountAndSymbol(account, symbol)
+                .ifPresent(holding -> holdings.put(symbol, holding));
+        return holdings;
+    }
+
+    /**
+     * 매수 반영 (holdings: symbol -> 보유 종목, 새로 생긴 보유 종목도 이 맵에 추가)
+     * 손익 계산 벤치마크(VirtualAccountPnlBenchmark)가 같은 패키지에서 호출합니다.
+     */
+    VirtualTradeHistory applyBuy(VirtualAccount account, Map<String, VirtualHolding> holdings,
+                                 String symbol, BigDecimal quantity, BigDecimal price) {
         BigDecimal totalCost = price.multiply(quantity);
         if (account.getBalance().compareTo(totalCost) < 0) throw new IllegalArgumentException("잔고가 부족합니다");
         account.setBalance(account.getBalance().subtract(totalCost));
+        ensureTradeAggregates(account);
+        account.recordBuy(totalCost);
 
         // 보유 종목 처리
-        VirtualHolding holding = virtualHoldingRepository.findByVirtualAccount(account).stream()
-                .filter(h -> h.getSymbol().equalsIgnoreCase(symbol))
-                .findFirst().orElse(null);
+        VirtualHolding holding = holdings.get(symbol);
         if (holding == null) {
             holding = VirtualHolding.builder()
                     .virtualAccount(account)
-                    .symbol(symbol.toUpperCase())
+                    .symbol(symbol)
                     .quantity(quantity)
                     .avgPrice(price)
                     .build();
             virtualHoldingRepository.save(holding);
+            holdings.put(symbol, holding);
         } else {
             BigDecimal totalQty = holding.getQuantity().add(quantity);
             BigDecimal newAvg = (holding.getAvgPrice().multiply(holding.getQuantity()).add(price.multiply(quantity))).divide(totalQty, 4, RoundingMode.HALF_UP);
@@ -157,61 +418,46 @@ public class VirtualAccountService {
             holding.setAvgPrice(newAvg);
         }
 
-        // 거래 기록 저장
-        VirtualTradeHistory tradeHistory = VirtualTradeHistory.builder()
+        // 거래 기록
+        return VirtualTradeHistory.builder()
                 .virtualAccount(account)
-                .symbol(symbol.toUpperCase())
+                .symbol(symbol)
                 .tradeType(VirtualTradeHistory.TradeType.BUY)
                 .quantity(quantity)
                 .price(price)
                 .totalAmount(totalCost)
                 .tradeDate(LocalDateTime.now())
                 .build();
-        virtualTradeHistoryRepository.save(tradeHistory);
     }
 
-    @Transactional
-    public void sell(Long userId, String symbol, BigDecimal quantity) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        VirtualAccount account = virtualAccountRepository.findByUser(user)
-                .orElseThrow(() -> new IllegalArgumentException("Virtual account not found"));
-        if (quantity.compareTo(BigDecimal.ZERO) <= 0) throw new IllegalArgumentException("수량은 0보다 커야 합니다");
-
-        VirtualHolding holding = virtualHoldingRepository.findByVirtualAccount(account).stream()
-                .filter(h -> h.getSymbol().equalsIgnoreCase(symbol))
-                .findFirst().orElse(null);
+    /**
+     * 매도 반영 (holdings: symbol -> 보유 종목, 전량 매도된 종목은 이 맵에서 제거)
+     */
+    VirtualTradeHistory applySell(VirtualAccount account, Map<String, VirtualHolding> holdings,
+                                  String symbol, BigDecimal quantity, BigDecimal price) {
+        VirtualHolding holding = holdings.get(symbol);
         if (holding == null || holding.getQuantity().compareTo(quantity) < 0) throw new IllegalArgumentException("보유 수량이 부족합니다");
 
-        // 현재가 결정 (Trade 1일 이내, 없으면 Quote)
-        BigDecimal price = null;
-        java.time.LocalDateTime oneDayAgo = java.time.LocalDateTime.now().minusDays(1);
-        var trades = tradeRepository.findTradesBySymbolAfter(symbol, oneDayAgo);
-        if (!trades.isEmpty()) {
-            price = trades.get(0).getPrice();
-        } else {
-            var quoteOpt = quoteRepository.findLatestQuoteBySymbol(symbol);
-            if (quoteOpt.isPresent()) price = quoteOpt.get().getCurrentPrice();
-        }
-        if (price == null) throw new IllegalArgumentException("현재가를 찾을 수 없습니다");
-
         BigDecimal totalGain = price.multiply(quantity);
         account.setBalance(account.getBalance().add(totalGain));
 
         // 실현손익 계산
         BigDecimal realizedProfit = (price.subtract(holding.getAvgPrice())).multiply(quantity);
+        ensureTradeAggregates(account);
+        account.recordSell(realizedProfit);
 
         // 보유 수량 차감/삭제
         if (holding.getQuantity().compareTo(quantity) == 0) {
             virtualHoldingRepository.delete(holding);
+            holdings.remove(symbol);
         } else {
             holding.setQuantity(holding.getQuantity().subtract(quantity));
         }
 
-        // 거래 기록 저장
-        VirtualTradeHistory tradeHistory = VirtualTradeHistory.builder()
+        // 거래 기록
+        return VirtualTradeHistory.builder()
                 .virtualAccount(account)
-                .symbol(symbol.toUpperCase())
+                .symbol(symbol)
                 .tradeType(VirtualTradeHistory.TradeType.SELL)
                 .quantity(quantity)
                 .price(price)
@@ -219,7 +465,6 @@ public class VirtualAccountService {
                 .realizedProfit(realizedProfit)
                 .tradeDate(LocalDateTime.now())
                 .build();
-        virtualTradeHistoryRepository.save(tradeHistory);
     }
 
     public PortfolioSummaryDto getPortfolioSummary(Long userId) {
@@ -228,15 +473,16 @@ public class VirtualAccountService {
         VirtualAccount account = virtualAccountRepository.findByUser(user)
                 .orElseThrow(() -> new IllegalArgumentException("Virtual account not found"));
 
-        // 현재 포트폴리오 조회
-        List<VirtualHoldingDto> holdings = getPortfolio(userId);
+        // 현재 포트폴리오 조회 (실시간 평가 엔진의 스냅샷 사용)
+        List<VirtualHoldingDto> holdings = toHoldingDtos(portfolioValuationEngine.getSnapshot(userId));
         
-        // 거래 통계 조회
-        BigDecimal totalInvested = virtualTradeHistoryRepository.getTotalBuyAmount(account);
-        BigDecimal realizedProfit = virtualTradeHistoryRepository.getTotalRealizedProfit(account);
-        Integer totalTrades = virtualTradeHistoryRepository.getTotalTradeCount(account).intValue();
-        Integer buyTrades = virtualTradeHistoryRepository.getBuyTradeCount(account).intValue();
-        Integer sellTrades = virtualTradeHistoryRepository.getSellTradeCount(account).intValue();
+        // 거래 통계 (계좌에 누적된 집계 사용)
+        ensureTradeAggregates(account);
+        BigDecimal totalInvested = account.getTotalBuyAmount();
+        BigDecimal realizedProfit = account.getTotalRealizedProfit();
+        Integer totalTrades = (int) account.getTotalTradeCount();
+        Integer buyTrades = account.getBuyTradeCount().intValue();
+        Integer sellTrades = account.getSellTradeCount().intValue();
 
         // 평가손익 계산
         BigDecimal unrealizedProfit = BigDecimal.ZERO;
@@ -290,12 +536,11 @@ public class VirtualAccountService {
                     .build());
         }
 
-        // 최근 거래 내역 조회
-        List<VirtualTradeHistory> recentTrades = virtualTradeHistoryRepository.findByVirtualAccountOrderByTradeDateDesc(account);
+        // 최근 거래 내역 조회 (최신 10건만)
+        List<VirtualTradeHistory> recentTrades = virtualTradeHistoryRepository.findTop10ByVirtualAccountOrderByTradeDateDesc(account);
         List<PortfolioSummaryDto.TradeHistoryDto> tradeHistoryDtos = new ArrayList<>();
         
-        for (int i = 0; i < Math.min(10, recentTrades.size()); i++) {
-            VirtualTradeHistory trade = recentTrades.get(i);
+        for (VirtualTradeHistory trade : recentTrades) {
             tradeHistoryDtos.add(PortfolioSummaryDto.TradeHistoryDto.builder()
                     .id(trade.getId())
                     .symbol(trade.getSymbol())
@@ -330,6 +575,69 @@ public class VirtualAccountService {
                 .build();
     }
 
+    /**
+     * 평가 엔진 스냅샷을 보유 종목 DTO로 변환
+     */
+    private List<VirtualHoldingDto> toHoldingDtos(PortfolioSnapshotDto snapshot) {
+        List<VirtualHoldingDto> holdings = new ArrayList<>(snapshot.getPositions().size());
+        for (PortfolioSnapshotDto.PositionDto position : snapshot.getPositions()) {
+            holdings.add(VirtualHoldingDto.builder()
+                    .symbol(position.getSymbol())
+                    .quantity(position.getQuantity())
+                    .avgPrice(position.getAvgPrice())
+                    .currentPrice(position.getCurrentPrice())
+                    .evalAmount(position.getMarketValue())
+                    .evalProfit(position.getUnrealizedProfit())
+                    .logo(position.getLogo())
+                    .build());
+        }
+        return holdings;
+    }
+
+    /**
+     * 트랜잭션 커밋 후 평가 엔진의 계좌 장부를 다시 적재
+     */
+    private void reloadValuationAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            portfolioValuationEngine.reload(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                portfolioValuationEngine.reload(userId);
+            }
+        });
+    }
+
+    /**
+     * 트랜잭션 커밋 후 계좌의 대기 주문을 주문장에서 제거
+     */
+    private void removeOpenOrdersAfterCommit(Long accountId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                virtualOrderBook.removeAccount(accountId);
+            }
+        });
+    }
+
+    /**
+     * 누적 집계가 없는 기존 계좌는 거래 내역에서 한 번 계산
+     * 주문 트랜잭션(계좌 잠금) 안에서는 변경 감지로 함께 저장되고,
+     * 요약 조회에서는 잠금 없이 저장하면 동시 주문의 잔고를 덮어쓸 수 있으므로 계산만 합니다.
+     */
+    private void ensureTradeAggregates(VirtualAccount account) {
+        if (account.hasTradeAggregates()) {
+            return;
+        }
+        account.initTradeAggregates(
+                virtualTradeHistoryRepository.getTotalBuyAmount(account),
+                virtualTradeHistoryRepository.getTotalRealizedProfit(account),
+                virtualTradeHistoryRepository.getBuyTradeCount(account),
+                virtualTradeHistoryRepository.getSellTradeCount(account));
+    }
+
     public Map<String, Object> getAccountStatus(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
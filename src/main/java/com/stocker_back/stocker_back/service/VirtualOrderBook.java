@@ -0,0 +1,177 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.domain.VirtualOrder;
+import com.stocker_back.stocker_back.domain.VirtualTradeHistory;
+import com.stocker_back.stocker_back.util.PriceLevels;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 가상 계좌 대기 주문장 (메모리)
+ *
+ * 심볼별로 지정가 매수/매도, 스탑 매수/매도 4개의 가격 레벨 대기열을 유지하고
+ * 체결 틱이 들어올 때마다 조건을 만족한 주문을 꺼내 체결 대기열에 넣습니다.
+ * 틱 처리 경로에서는 DB에 접근하지 않으며, 체결은 VirtualOrderService가 일괄 반영합니다.
+ *
+ * 매칭 조건 (체결가 p):
+ * - 지정가 매수: p <= 지정가    - 지정가 매도: p >= 지정가
+ * - 스탑 매수:   p >= 스탑 가격 - 스탑 매도:   p <= 스탑 가격
+ */
+@Component
+public class VirtualOrderBook implements TradeTickListener {
+
+    // symbol -> 심볼 주문장
+    private final ConcurrentHashMap<String, SymbolBook> books = new ConcurrentHashMap<>();
+    // orderId -> 대기 주문 (취소/계좌 초기화 시 위치 확인용)
+    private final ConcurrentHashMap<Long, RestingOrder> ordersById = new ConcurrentHashMap<>();
+    // 조건을 만족해 체결 반영을 기다리는 주문
+    private final ConcurrentLinkedQueue<TriggeredOrder> triggeredOrders = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger triggeredCount = new AtomicInteger();
+
+    // ===== Public API Methods =====
+
+    /**
+     * 대기 주문 등록
+     */
+    public void add(RestingOrder order) {
+        SymbolBook book = books.computeIfAbsent(order.getSymbol(), key -> new SymbolBook());
+        synchronized (book) {
+            if (ordersById.putIfAbsent(order.getOrderId(), order) == null) {
+                book.levelsFor(order).add(order.getPriceMicros(), order);
+            }
+        }
+    }
+
+    /**
+     * 대기 주문 제거
+     * @return 주문장에서 제거되었으면 true (이미 체결 대기열로 넘어간 주문은 false)
+     */
+    public boolean remove(Long orderId) {
+        RestingOrder order = ordersById.get(orderId);
+        if (order == null) {
+            return false;
+        }
+        SymbolBook book = books.get(order.getSymbol());
+        if (book == null) {
+            return false;
+        }
+        synchronized (book) {
+            if (!book.levelsFor(order).remove(order.getPriceMicros(), order)) {
+                return false;
+            }
+            ordersById.remove(orderId);
+            return true;
+        }
+    }
+
+    /**
+     * 계좌의 모든 대기 주문 제거 (계좌 초기화)
+     */
+    public void removeAccount(Long accountId) {
+        for (RestingOrder order : new ArrayList<>(ordersById.values())) {
+            if (order.getAccountId().equals(accountId)) {
+                remove(order.getOrderId());
+            }
+        }
+    }
+
+    /**
+     * 체결 틱 매칭 (조건을 만족한 주문을 체결 대기열로 이동)
+     */
+    @Override
+    public void onTradeTick(String symbol, long priceMicros, long timestamp) {
+        SymbolBook book = books.get(symbol);
+        if (book == null) {
+            return;
+        }
+        synchronized (book) {
+            int matched = book.limitBuys.drainAtOrAbove(priceMicros, order -> trigger(order, priceMicros))
+                    + book.limitSells.drainAtOrBelow(priceMicros, order -> trigger(order, priceMicros))
+                    + book.stopBuys.drainAtOrBelow(priceMicros, order -> trigger(order, priceMicros))
+                    + book.stopSells.drainAtOrAbove(priceMicros, order -> trigger(order, priceMicros));
+            if (matched > 0) {
+                triggeredCount.addAndGet(matched);
+            }
+        }
+    }
+
+    /**
+     * 체결 대기열에서 최대 maxCount개 꺼내기
+     */
+    public List<TriggeredOrder> pollTriggered(int maxCount) {
+        List<TriggeredOrder> batch = new ArrayList<>(Math.min(maxCount, Math.max(triggeredCount.get(), 1)));
+        TriggeredOrder triggered;
+        while (batch.size() < maxCount && (triggered = triggeredOrders.poll()) != null) {
+            batch.add(triggered);
+        }
+        triggeredCount.addAndGet(-batch.size());
+        return batch;
+    }
+
+    public int getOpenOrderCount() {
+        return ordersById.size();
+    }
+
+    public int getTriggeredOrderCount() {
+        return triggeredCount.get();
+    }
+
+    // ===== Private Implementation Methods =====
+
+    private void trigger(RestingOrder order, long priceMicros) {
+        ordersById.remove(order.getOrderId());
+        triggeredOrders.add(new TriggeredOrder(order, priceMicros));
+    }
+
+    /**
+     * 심볼별 주문장 (4개의 가격 레벨 대기열)
+     */
+    private static final class SymbolBook {
+        private final PriceLevels<RestingOrder> limitBuys = new PriceLevels<>();
+        private final PriceLevels<RestingOrder> limitSells = new PriceLevels<>();
+        private final PriceLevels<RestingOrder> stopBuys = new PriceLevels<>();
+        private final PriceLevels<RestingOrder> stopSells = new PriceLevels<>();
+
+        private PriceLevels<RestingOrder> levelsFor(RestingOrder order) {
+            boolean buy = order.getSide() == VirtualTradeHistory.TradeType.BUY;
+            if (order.getOrderType() == VirtualOrder.OrderType.LIMIT) {
+                return buy ? limitBuys : limitSells;
+            }
+            return buy ? stopBuys : stopSells;
+        }
+    }
+
+    /**
+     * 주문장에 올라간 주문 (체결 판단에 필요한 값만 보관)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class RestingOrder {
+        private final Long orderId;
+        private final Long accountId;
+        private final Long userId;
+        private final String symbol;
+        private final VirtualTradeHistory.TradeType side;
+        private final VirtualOrder.OrderType orderType;
+        private final long priceMicros;
+        private final BigDecimal quantity;
+    }
+
+    /**
+     * 조건을 만족한 주문과 그때의 체결가
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class TriggeredOrder {
+        private final RestingOrder order;
+        private final long fillPriceMicros;
+    }
+}
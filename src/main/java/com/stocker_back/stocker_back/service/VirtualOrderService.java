@@ -0,0 +1,323 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.domain.Trade;
+import com.stocker_back.stocker_back.domain.VirtualAccount;
+import com.stocker_back.stocker_back.domain.VirtualHolding;
+import com.stocker_back.stocker_back.domain.VirtualOrder;
+import com.stocker_back.stocker_back.domain.VirtualTradeHistory;
+import com.stocker_back.stocker_back.dto.VirtualOrderDto;
+import com.stocker_back.stocker_back.dto.VirtualOrderRequestDto;
+import com.stocker_back.stocker_back.repository.VirtualAccountRepository;
+import com.stocker_back.stocker_back.repository.VirtualHoldingRepository;
+import com.stocker_back.stocker_back.repository.VirtualOrderRepository;
+import com.stocker_back.stocker_back.repository.VirtualTradeHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 가상 계좌 지정가/스탑 주문 서비스
+ *
+ * 주요 기능:
+ * - 주문 접수/취소/조회 (접수된 주문은 DB 저장 후 메모리 주문장에 등록)
+ * - 시작 시 OPEN 주문을 주문장에 다시 적재
+ * - 주문장에서 조건을 만족한 주문을 주기적으로 꺼내 계좌별 트랜잭션으로 체결
+ *   (계좌 행 잠금, 잔고/보유 재검증, 거래 기록 일괄 저장)
+ * - 계좌 트랜잭션이 실패하면 주문별 트랜잭션으로 다시 시도하고, 실패한 주문은 주문장으로 되돌림
+ *   MAX_FILL_ATTEMPTS번 연속 실패한 주문은 REJECTED 처리 (한 주문이 다른 주문의 체결을 막지 않도록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VirtualOrderService {
+
+    private static final int FILL_BATCH_SIZE = 500;
+    private static final int MAX_FILL_ATTEMPTS = 3;
+
+    private final VirtualOrderRepository virtualOrderRepository;
+    private final VirtualAccountRepository virtualAccountRepository;
+    private final VirtualHoldingRepository virtualHoldingRepository;
+    private final VirtualTradeHistoryRepository virtualTradeHistoryRepository;
+    private final VirtualAccountService virtualAccountService;
+    private final VirtualOrderBook virtualOrderBook;
+    private final TransactionTemplate transactionTemplate;
+
+    // orderId -> 연속 체결 실패 횟수
+    private final ConcurrentHashMap<Long, Integer> fillFailures = new ConcurrentHashMap<>();
+
+    // ===== Public API Methods =====
+
+    /**
+     * 지정가/스탑 주문 접수
+     * 잔고/보유 수량은 접수 시점에 한 번 확인하고 체결 시 다시 검증합니다. (미리 차감하지 않음)
+     */
+    public VirtualOrderDto placeOrder(Long userId, VirtualOrderRequestDto request) {
+        if (request.getSymbol() == null || request.getSymbol().isBlank()) throw new IllegalArgumentException("종목을 입력해주세요");
+        if (request.getQuantity() == null || request.getQuantity().compareTo(BigDecimal.ZERO) <= 0) throw new IllegalArgumentException("수량은 0보다 커야 합니다");
+        if (request.getPrice() == null || request.getPrice().compareTo(BigDecimal.ZERO) <= 0) throw new IllegalArgumentException("주문 가격은 0보다 커야 합니다");
+
+        VirtualTradeHistory.TradeType side = parseEnum(VirtualTradeHistory.TradeType.class, request.getSide(), "주문 방향");
+        VirtualOrder.OrderType orderType = parseEnum(VirtualOrder.OrderType.class, request.getOrderType(), "주문 유형");
+        String symbol = request.getSymbol().trim().toUpperCase();
+
+        VirtualAccount account = virtualAccountRepository.findByUserId(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Virtual account not found"));
+
+        if (side == VirtualTradeHistory.TradeType.BUY) {
+            if (account.getBalance().compareTo(request.getPrice().multiply(request.getQuantity())) < 0) throw new IllegalArgumentException("잔고가 부족합니다");
+        } else {
+            BigDecimal held = virtualHoldingRepository.findByVirtualAccountAndSymbol(account, symbol)
+                    .map(VirtualHolding::getQuantity)
+                    .orElse(BigDecimal.ZERO);
+            if (held.compareTo(request.getQuantity()) < 0) throw new IllegalArgumentException("보유 수량이 부족합니다");
+        }
+
+        VirtualOrder order = virtualOrderRepository.save(VirtualOrder.builder()
+                .virtualAccount(account)
+                .symbol(symbol)
+                .side(side)
+                .orderType(orderType)
+                .quantity(request.getQuantity())
+                .price(request.getPrice())
+                .status(VirtualOrder.OrderStatus.OPEN)
+                .build());
+        virtualOrderBook.add(toRestingOrder(order, account.getId(), userId));
+
+        log.info("📝 Virtual {} {} order placed: user={}, {} x {} @ {}",
+                orderType, side, userId, symbol, order.getQuantity(), order.getPrice());
+        return toDto(order);
+    }
+
+    /**
+     * 대기 주문 취소
+     */
+    public VirtualOrderDto cancelOrder(Long userId, Long orderId) {
+        VirtualAccount account = virtualAccountRepository.findByUserId(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Virtual account not found"));
+        VirtualOrder order = virtualOrderRepository.findByIdAndVirtualAccount(orderId, account)
+                .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다"));
+        if (order.getStatus() != VirtualOrder.OrderStatus.OPEN) throw new IllegalArgumentException("대기 중인 주문만 취소할 수 있습니다");
+        if (!virtualOrderBook.remove(orderId)) throw new IllegalArgumentException("이미 체결 처리 중인 주문입니다");
+        fillFailures.remove(orderId);
+
+        order.setStatus(VirtualOrder.OrderStatus.CANCELLED);
+        return toDto(virtualOrderRepository.save(order));
+    }
+
+    /**
+     * 계좌의 주문 목록 조회 (최신순)
+     */
+    public List<VirtualOrderDto> getOrders(Long userId) {
+        VirtualAccount account = virtualAccountRepository.findByUserId(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Virtual account not found"));
+        return virtualOrderRepository.findByVirtualAccountOrderByCreatedAtDesc(account).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * 시작 시 OPEN 주문을 주문장에 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOpenOrders() {
+        try {
+            List<VirtualOrder> openOrders = virtualOrderRepository.findByStatusWithAccount(VirtualOrder.OrderStatus.OPEN);
+            for (VirtualOrder order : openOrders) {
+                VirtualAccount account = order.getVirtualAccount();
+                virtualOrderBook.add(toRestingOrder(order, account.getId(), account.getUser().getId()));
+            }
+            log.info("📚 Loaded {} open virtual orders into the order book", openOrders.size());
+        } catch (Exception e) {
+            log.error("❌ Failed to load open virtual orders: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 조건을 만족한 주문 일괄 체결
+     */
+    @Scheduled(fixedDelayString = "${app.orders.fill-interval-ms:200}")
+    public void flushFills() {
+        List<VirtualOrderBook.TriggeredOrder> batch;
+        while (!(batch = virtualOrderBook.pollTriggered(FILL_BATCH_SIZE)).isEmpty()) {
+            fillBatch(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushFills();
+    }
+
+    // ===== Private Implementation Methods =====
+
+    /**
+     * 계좌별 트랜잭션으로 체결 (한 계좌의 실패가 다른 계좌의 체결을 되돌리지 않음)
+     */
+    private void fillBatch(List<VirtualOrderBook.TriggeredOrder> batch) {
+        Map<Long, List<VirtualOrderBook.TriggeredOrder>> byAccount = batch.stream()
+                .collect(Collectors.groupingBy(triggered -> triggered.getOrder().getAccountId(),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        int failed = 0;
+        for (List<VirtualOrderBook.TriggeredOrder> accountOrders : byAccount.values()) {
+            if (tryFill(accountOrders)) {
+                continue;
+            }
+            if (accountOrders.size() == 1) {
+                failed++;
+                returnOrReject(accountOrders.get(0));
+                continue;
+            }
+            // 어느 주문이 실패 원인인지 알 수 없으므로 주문별 트랜잭션으로 다시 시도
+            for (VirtualOrderBook.TriggeredOrder triggered : accountOrders) {
+                if (!tryFill(List.of(triggered))) {
+                    failed++;
+                    returnOrReject(triggered);
+                }
+            }
+        }
+        log.info("✅ Virtual order fills: {} triggered orders across {} accounts ({} failed)",
+                batch.size(), byAccount.size(), failed);
+    }
+
+    /**
+     * 한 계좌의 주문들을 한 트랜잭션에서 체결
+     * @return 트랜잭션이 커밋되었으면 true
+     */
+    private boolean tryFill(List<VirtualOrderBook.TriggeredOrder> accountOrders) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyFills(accountOrders));
+            accountOrders.forEach(triggered -> fillFailures.remove(triggered.getOrder().getOrderId()));
+            return true;
+        } catch (Exception e) {
+            log.error("❌ Failed to fill {} virtual orders for account {}: {}",
+                    accountOrders.size(), accountOrders.get(0).getOrder().getAccountId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 체결에 실패한 주문을 주문장으로 되돌리거나, 반복 실패 시 REJECTED 처리
+     */
+    private void returnOrReject(VirtualOrderBook.TriggeredOrder triggered) {
+        Long orderId = triggered.getOrder().getOrderId();
+        int failures = fillFailures.merge(orderId, 1, Integer::sum);
+        if (failures < MAX_FILL_ATTEMPTS) {
+            // 주문은 DB에서 OPEN 상태로 남아 있으므로 주문장으로 되돌려 다음 틱에서 다시 매칭
+            virtualOrderBook.add(triggered.getOrder());
+            return;
+        }
+        fillFailures.remove(orderId);
+        try {
+            transactionTemplate.executeWithoutResult(status -> virtualOrderRepository.findById(orderId)
+                    .filter(order -> order.getStatus() == VirtualOrder.OrderStatus.OPEN)
+                    .ifPresent(order -> {
+                        order.setStatus(VirtualOrder.OrderStatus.REJECTED);
+                        order.setRejectReason("체결 처리 중 오류가 반복되어 주문이 거부되었습니다");
+                    }));
+            log.warn("⚠️ Virtual order {} rejected after {} failed fill attempts", orderId, failures);
+        } catch (Exception e) {
+            // 주문장에서는 빠진 상태로 두고, DB의 OPEN 주문은 재시작 시 다시 적재
+            log.error("❌ Failed to reject virtual order {} after {} failed fill attempts: {}",
+                    orderId, failures, e.getMessage());
+        }
+    }
+
+    private void applyFills(List<VirtualOrderBook.TriggeredOrder> batch) {
+        Map<Long, VirtualAccount> accounts = virtualAccountRepository.findAllByIdForUpdate(
+                        batch.stream().map(triggered -> triggered.getOrder().getAccountId()).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(VirtualAccount::getId, Function.identity()));
+        Map<Long, VirtualOrder> orders = virtualOrderRepository.findAllById(
+                        batch.stream().map(triggered -> triggered.getOrder().getOrderId()).toList())
+                .stream()
+                .collect(Collectors.toMap(VirtualOrder::getId, Function.identity()));
+
+        List<VirtualTradeHistory> histories = new ArrayList<>(batch.size());
+        int rejected = 0;
+        LocalDateTime now = LocalDateTime.now();
+
+        for (VirtualOrderBook.TriggeredOrder triggered : batch) {
+            VirtualOrderBook.RestingOrder resting = triggered.getOrder();
+            VirtualOrder order = orders.get(resting.getOrderId());
+            VirtualAccount account = accounts.get(resting.getAccountId());
+            if (order == null || account == null || order.getStatus() != VirtualOrder.OrderStatus.OPEN) {
+                // 취소되었거나 계좌 초기화로 삭제된 주문
+                continue;
+            }
+
+            BigDecimal fillPrice = BigDecimal.valueOf(triggered.getFillPriceMicros(), Trade.PRICE_SCALE);
+            try {
+                histories.add(order.getSide() == VirtualTradeHistory.TradeType.BUY
+                        ? virtualAccountService.applyBuy(account, order.getSymbol(), order.getQuantity(), fillPrice)
+                        : virtualAccountService.applySell(account, order.getSymbol(), order.getQuantity(), fillPrice));
+                order.setStatus(VirtualOrder.OrderStatus.FILLED);
+                order.setFilledPrice(fillPrice);
+                order.setFilledAt(now);
+            } catch (IllegalArgumentException e) {
+                order.setStatus(VirtualOrder.OrderStatus.REJECTED);
+                order.setRejectReason(e.getMessage());
+                rejected++;
+            }
+        }
+
+        virtualTradeHistoryRepository.saveAll(histories);
+        log.debug("✅ Virtual order fills for account {}: {} filled, {} rejected",
+                batch.get(0).getOrder().getAccountId(), histories.size(), rejected);
+    }
+
+    private VirtualOrderBook.RestingOrder toRestingOrder(VirtualOrder order, Long accountId, Long userId) {
+        return new VirtualOrderBook.RestingOrder(
+                order.getId(),
+                accountId,
+                userId,
+                order.getSymbol(),
+                order.getSide(),
+                order.getOrderType(),
+                Trade.toPriceMicros(order.getPrice()),
+                order.getQuantity());
+    }
+
+    private VirtualOrderDto toDto(VirtualOrder order) {
+        return VirtualOrderDto.builder()
+                .id(order.getId())
+                .symbol(order.getSymbol())
+                .side(order.getSide().name())
+                .orderType(order.getOrderType().name())
+                .quantity(order.getQuantity())
+                .price(order.getPrice())
+                .status(order.getStatus().name())
+                .filledPrice(order.getFilledPrice())
+                .filledAt(order.getFilledAt())
+                .rejectReason(order.getRejectReason())
+                .createdAt(order.getCreatedAt())
+                .build();
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String fieldName) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(fieldName + "을(를) 입력해주세요");
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 " + fieldName + "입니다: " + value);
+        }
+    }
+}
@@ -3,35 +3,32 @@ package com.stocker_back.stocker_back.service;
 import com.stocker_back.stocker_back.domain.User;
 import com.stocker_back.stocker_back.domain.StockSymbol;
 import com.stocker_back.stocker_back.domain.Watchlist;
-import com.stocker_back.stocker_back.domain.Quote;
 import com.stocker_back.stocker_back.dto.WatchlistRequestDto;
+import com.stocker_back.stocker_back.dto.StockPriceDto;
 import com.stocker_back.stocker_back.dto.WatchlistResponseDto;
 import com.stocker_back.stocker_back.repository.UserRepository;
 import com.stocker_back.stocker_back.repository.StockSymbolRepository;
 import com.stocker_back.stocker_back.repository.WatchlistRepository;
-import com.stocker_back.stocker_back.repository.QuoteRepository;
-import com.stocker_back.stocker_back.repository.TradeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
-public class WatchlistService {
+public class WatchlistService implements SymbolInterestSource {
     
     private final WatchlistRepository watchlistRepository;
     private final UserRepository userRepository;
     private final StockSymbolRepository stockSymbolRepository;
-    private final QuoteRepository quoteRepository;
-    private final TradeRepository tradeRepository;
+    private final StockPriceService stockPriceService;
     
     /**
      * 사용자의 관심 종목 목록 조회
@@ -41,11 +38,35 @@ public class WatchlistService {
         
         List<Watchlist> watchlists = watchlistRepository.findByUserIdWithStockSymbol(userId);
         
+        // 관심 종목 전체의 가격을 한 번에 조회
+        Map<String, StockPriceDto> prices = stockPriceService.getPrices(
+                watchlists.stream().map(w -> w.getStockSymbol().getSymbol()).toList());
+        
         return watchlists.stream()
-                .map(this::convertToResponseDto)
+                .map(w -> convertToResponseDto(w, prices.get(w.getStockSymbol().getSymbol().toUpperCase())))
                 .collect(Collectors.toList());
     }
     
+    /**
+     * 심볼별 관심 종목 등록 수 (WebSocket 구독 순위용)
+     */
+    @Override
+    public Map<String, Integer> getSymbolInterest() {
+        Map<String, Integer> interest = new HashMap<>();
+        for (Object[] row : watchlistRepository.countBySymbol()) {
+            interest.merge(((String) row[0]).toUpperCase(), ((Number) row[1]).intValue(), Integer::sum);
+        }
+        return interest;
+    }
+    
+    /**
+     * 관심 종목은 stock_info와 조인된 행에서 집계하므로 항상 존재하는 심볼
+     */
+    @Override
+    public boolean isKnownSymbolsOnly() {
+        return true;
+    }
+    
     /**
      * 관심 종목 추가
      */
@@ -76,7 +97,8 @@ public class WatchlistService {
         
         log.info("Successfully added to watchlist - userId: {}, symbol: {}", userId, requestDto.getSymbol());
         
-        return convertToResponseDto(savedWatchlist);
+        return convertToResponseDto(savedWatchlist,
+                stockPriceService.getPrices(List.of(stockSymbol.getSymbol())).get(stockSymbol.getSymbol().toUpperCase()));
     }
     
     /**
@@ -129,36 +151,11 @@ public class WatchlistService {
     
     /**
      * Watchlist 엔티티를 ResponseDto로 변환
+     * @param priceInfo 일괄 조회한 가격 정보 (없으면 null)
      */
-    private WatchlistResponseDto convertToResponseDto(Watchlist watchlist) {
+    private WatchlistResponseDto convertToResponseDto(Watchlist watchlist, StockPriceDto priceInfo) {
         StockSymbol stockSymbol = watchlist.getStockSymbol();
         
-        // 현재가: Trade에서 하루 안의 최신 데이터 조회, 없으면 null
-        java.math.BigDecimal price = null;
-        try {
-            java.time.LocalDateTime oneDayAgo = java.time.LocalDateTime.now().minusDays(1);
-            java.util.List<com.stocker_back.stocker_back.domain.Trade> recentTrades = tradeRepository.findTradesBySymbolAfter(stockSymbol.getSymbol(), oneDayAgo);
-            if (!recentTrades.isEmpty()) {
-                price = recentTrades.get(0).getPrice();
-            }
-        } catch (Exception e) {
-            log.warn("Failed to fetch price from Trade for symbol {}: {}", stockSymbol.getSymbol(), e.getMessage());
-        }
-        
-        // change 계산 (Quote 기준)
-        BigDecimal change = null;
-        try {
-            Optional<Quote> latestQuoteOpt = quoteRepository.findLatestQuoteBySymbol(stockSymbol.getSymbol());
-            if (latestQuoteOpt.isPresent()) {
-                Quote quote = latestQuoteOpt.get();
-                if (quote.getCurrentPrice() != null && quote.getPreviousClosePrice() != null) {
-                    change = quote.getCurrentPrice().subtract(quote.getPreviousClosePrice());
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Failed to calculate change for symbol {}: {}", stockSymbol.getSymbol(), e.getMessage());
-        }
-        
         return WatchlistResponseDto.builder()
                 .id(watchlist.getId())
                 .symbol(stockSymbol.getSymbol())
@@ -169,8 +166,8 @@ public class WatchlistService {
                 .exchange(stockSymbol.getExchange())
                 .addedAt(watchlist.getAddedAt())
                 .logo(stockSymbol.getLogo())
-                .change(change)
-                .price(price)
+                .change(priceInfo != null ? priceInfo.getChange() : null)
+                .price(priceInfo != null ? priceInfo.getPrice() : null)
                 .build();
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.stocker_back.stocker_back.util;
 
 import com.stocker_back.stocker_back.config.FinnhubApiConfig;
+import com.stocker_back.stocker_back.config.MetricNames;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
@@ -9,9 +12,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Finnhub API와의 통신을 담당하는 유틸리티 클래스
  * Rate limit 처리 및 재시도 로직 포함 (60 requests/minute 제한)
@@ -22,6 +28,8 @@ public class FinnhubApiClient {
 
     private final RestTemplate restTemplate;
     private final FinnhubApiConfig finnhubApiConfig;
+    private final MeterRegistry meterRegistry;
+    private final Timer rateLimitWaitTimer;
     
     // Rate limit 처리 설정
     private static final int MAX_RETRY_ATTEMPTS = 3;
@@ -35,9 +43,15 @@ public class FinnhubApiClient {
     
     public FinnhubApiClient(
         @Qualifier("customRestTemplate") RestTemplate restTemplate,
-        FinnhubApiConfig finnhubApiConfig) {
+        FinnhubApiConfig finnhubApiConfig,
+        MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
         this.finnhubApiConfig = finnhubApiConfig;
+        this.meterRegistry = meterRegistry;
+        this.rateLimitWaitTimer = Timer.builder(MetricNames.FINNHUB_RATE_LIMIT_WAIT)
+                .description("Time spent waiting for the 60 requests/minute limiter")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
     
     /**
@@ -121,12 +135,12 @@ public class FinnhubApiClient {
             String url = builder.toUriString();
             log.debug("Calling Finnhub API: {}", url);
             
-            ResponseEntity<T> response = restTemplate.exchange(
+            ResponseEntity<T> response = timedExchange(path, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
                     responseType
-            );
+            ));
             
             T data = response.getBody();
             
@@ -171,12 +185,12 @@ public class FinnhubApiClient {
             String url = builder.toUriString();
             log.debug("Calling Finnhub API: {}", url);
             
-            ResponseEntity<T> response = restTemplate.exchange(
+            ResponseEntity<T> response = timedExchange(path, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
                     responseType
-            );
+            ));
             
             return response.getBody();
         }, path);
@@ -210,6 +224,7 @@ public class FinnhubApiClient {
      * 마지막 요청으로부터 최소 1000ms 간격을 보장합니다.
      */
     private void enforceRateLimit() {
+        long waitStart = System.nanoTime();
         synchronized (rateLimitLock) {
             long currentTime = System.currentTimeMillis();
             long timeSinceLastRequest = currentTime - lastRequestTime;
@@ -228,6 +243,31 @@ public class FinnhubApiClient {
             
             lastRequestTime = System.currentTimeMillis();
         }
+        // 락 대기 + 간격 유지 대기 시간
+        rateLimitWaitTimer.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * 요청 지연 시간을 endpoint/status별로 기록 (rate limit 대기 시간 제외)
+     */
+    private <T> ResponseEntity<T> timedExchange(String path, ApiCallSupplier<ResponseEntity<T>> exchange) throws Exception {
+        long start = System.nanoTime();
+        String status = "IO_ERROR";
+        try {
+            ResponseEntity<T> response = exchange.call();
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } catch (HttpStatusCodeException e) {
+            status = String.valueOf(e.getStatusCode().value());
+            throw e;
+        } finally {
+            Timer.builder(MetricNames.FINNHUB_REQUESTS)
+                    .tag("endpoint", path)
+                    .tag("status", status)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
     
     /**
@@ -244,6 +284,7 @@ public class FinnhubApiClient {
                 attempt++;
                 
                 if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                    meterRegistry.counter(MetricNames.FINNHUB_RATE_LIMITED, "endpoint", path).increment();
                     if (attempt < MAX_RETRY_ATTEMPTS) {
                         log.warn("Rate limit exceeded for path {} (attempt {}/{}). Retrying in {}ms...", 
                                path, attempt, MAX_RETRY_ATTEMPTS, delay);
@@ -293,6 +334,7 @@ public class FinnhubApiClient {
                 attempt++;
                 
                 if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                    meterRegistry.counter(MetricNames.FINNHUB_RATE_LIMITED, "endpoint", path).increment();
                     if (attempt < MAX_RETRY_ATTEMPTS) {
                         log.warn("Rate limit exceeded for path {} (attempt {}/{}). Retrying in {}ms...", 
                                path, attempt, MAX_RETRY_ATTEMPTS, delay);
@@ -340,10 +382,7 @@ public class FinnhubApiClient {
      * Finnhub API 기본 URI 빌더 생성
      */
     private UriComponentsBuilder createBaseUriBuilder() {
-        return UriComponentsBuilder.newInstance()
-                .scheme("https")
-                .host("finnhub.io")
-                .path("/api/v1");
+        return UriComponentsBuilder.fromHttpUrl(finnhubApiConfig.getBaseUrl());
     }
     
     /**
@@ -0,0 +1,231 @@
+package com.stocker_back.stocker_back.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * WebSocket 원본 프레임 기록 로그 (메모리 매핑 세그먼트)
+ *
+ * 한 기록(recording) 디렉토리는 고정 크기 세그먼트 파일(segment-000001.frames ...)로 구성됩니다.
+ * 세그먼트 구조: [MAGIC][VERSION] + 프레임 반복
+ * 프레임 구조:   [본문 길이(int)][수신 epoch ms(long)][수신 nanoTime(long)][연결 id 길이(byte)][연결 id][프레임 UTF-8]
+ *
+ * - 새 세그먼트는 0으로 채워져 있으므로 길이 0을 만나면 해당 세그먼트의 끝으로 봅니다.
+ * - Writer는 본문을 먼저 쓰고 길이를 마지막에 기록하므로 프로세스가 중간에 종료되어도
+ *   Reader는 마지막으로 완성된 프레임까지만 읽습니다.
+ * - 수신 nanoTime은 같은 JVM에서 기록한 한 디렉토리 안에서만 비교할 수 있습니다 (재생 간격 계산용).
+ */
+public final class FrameLog {
+
+    private static final int MAGIC = 0x5446524D; // "TFRM"
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 5;
+    private static final int FRAME_OVERHEAD = 4 + 8 + 8 + 1;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".frames";
+
+    private FrameLog() {
+    }
+
+    /**
+     * 프레임 읽기 콜백
+     */
+    @FunctionalInterface
+    public interface FrameHandler {
+        /**
+         * @return false이면 읽기 중단
+         */
+        boolean onFrame(String connectionId, long receivedEpochMillis, long receivedNanos, String payload);
+    }
+
+    /**
+     * 기록 디렉토리의 세그먼트 파일 목록 (세그먼트 번호 순)
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(FrameLog::isSegment)
+                    .sorted(Comparator.comparingLong(FrameLog::segmentNumberOf))
+                    .toList();
+        }
+    }
+
+    /**
+     * 기록 디렉토리의 모든 프레임을 순서대로 읽기
+     * @return 읽은 프레임 수
+     */
+    public static long read(Path directory, FrameHandler handler) throws IOException {
+        long frames = 0;
+        for (Path segment : segments(directory)) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                    throw new IOException("Not a frame log segment: " + segment);
+                }
+                byte version = buffer.get();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported frame log version " + version + ": " + segment);
+                }
+
+                while (buffer.remaining() >= FRAME_OVERHEAD) {
+                    int length = buffer.getInt();
+                    if (length <= 0 || length > buffer.remaining()) {
+                        break;
+                    }
+                    long receivedEpochMillis = buffer.getLong();
+                    long receivedNanos = buffer.getLong();
+                    byte[] connectionId = new byte[buffer.get()];
+                    buffer.get(connectionId);
+                    byte[] payload = new byte[length - (FRAME_OVERHEAD - 4) - connectionId.length];
+                    buffer.get(payload);
+
+                    frames++;
+                    if (!handler.onFrame(new String(connectionId, StandardCharsets.UTF_8), receivedEpochMillis,
+                            receivedNanos, new String(payload, StandardCharsets.UTF_8))) {
+                        return frames;
+                    }
+                }
+            }
+        }
+        return frames;
+    }
+
+    private static boolean isSegment(Path path) {
+        return segmentNumberOf(path) >= 0;
+    }
+
+    /**
+     * 세그먼트 파일 이름의 번호 (세그먼트 파일이 아니면 -1)
+     */
+    private static long segmentNumberOf(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)
+                || name.length() == SEGMENT_PREFIX.length() + SEGMENT_SUFFIX.length()) {
+            return -1;
+        }
+        String number = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return number.length() <= 18 ? Long.parseLong(number) : -1;
+    }
+
+    /**
+     * 순환 세그먼트 기록기
+     *
+     * append는 동기화되어 여러 WebSocket 수신 스레드에서 호출할 수 있습니다.
+     * 세그먼트가 가득 차면 다음 세그먼트를 만들고, maxSegments를 넘으면 가장 오래된 세그먼트를 삭제합니다.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path directory;
+        private final int segmentSize;
+        private final int maxSegments;
+        private final Deque<Path> segments = new ArrayDeque<>();
+        private FileChannel channel;
+        private MappedByteBuffer buffer;
+        private long segmentNumber;
+        private long bytesWritten;
+        private boolean closed;
+
+        /**
+         * @param maxSegments 유지할 최대 세그먼트 수 (0이면 무제한)
+         */
+        public Writer(Path directory, int segmentSize, int maxSegments) throws IOException {
+            if (segmentSize < 1024) {
+                throw new IllegalArgumentException("Segment size must be at least 1KB: " + segmentSize);
+            }
+            this.directory = directory;
+            this.segmentSize = segmentSize;
+            this.maxSegments = maxSegments;
+            Files.createDirectories(directory);
+            segments.addAll(segments(directory));
+            // 순환으로 앞 세그먼트가 삭제되었을 수 있으므로 개수가 아닌 가장 큰 번호 다음부터 이어서 기록
+            segmentNumber = segments.isEmpty() ? 0 : segmentNumberOf(segments.peekLast());
+            roll();
+        }
+
+        /**
+         * 프레임 추가
+         * @return 세그먼트보다 큰 프레임이거나 이미 닫혔으면 false
+         */
+        public synchronized boolean append(byte[] connectionId, long receivedEpochMillis, long receivedNanos,
+                                           byte[] payload) throws IOException {
+            int length = FRAME_OVERHEAD - 4 + connectionId.length + payload.length;
+            if (closed || connectionId.length > Byte.MAX_VALUE || 4 + length > segmentSize - HEADER_SIZE) {
+                return false;
+            }
+            if (buffer.remaining() < 4 + length) {
+                roll();
+            }
+
+            int start = buffer.position();
+            buffer.position(start + 4);
+            buffer.putLong(receivedEpochMillis);
+            buffer.putLong(receivedNanos);
+            buffer.put((byte) connectionId.length);
+            buffer.put(connectionId);
+            buffer.put(payload);
+            // 본문을 모두 쓴 뒤 길이를 기록 (Reader는 길이 0에서 멈춤)
+            buffer.putInt(start, length);
+            bytesWritten += 4 + length;
+            return true;
+        }
+
+        public synchronized long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        public synchronized int getSegmentCount() {
+            return segments.size();
+        }
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.force();
+            channel.close();
+        }
+
+        private void roll() throws IOException {
+            if (channel != null) {
+                channel.close();
+            }
+            segmentNumber++;
+            Path segment = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segmentNumber, SEGMENT_SUFFIX));
+            channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            buffer.putInt(MAGIC);
+            buffer.put(VERSION);
+            segments.addLast(segment);
+
+            while (maxSegments > 0 && segments.size() > maxSegments) {
+                Files.deleteIfExists(segments.removeFirst());
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.stocker_back.stocker_back.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 잠금 없는 지연 시간 히스토그램 (HdrHistogram 방식의 로그-선형 버킷)
+ *
+ * 값(마이크로초)을 2의 거듭제곱 구간으로 나누고 각 구간을 다시 32개로 균등 분할하므로
+ * 기록된 값과 보고되는 백분위 값의 상대 오차는 약 3% 이내입니다.
+ * - 0 ~ 63µs: 1µs 단위로 정확히 기록
+ * - 최대 2^36µs(약 19시간)까지 기록, 그 이상은 최대 버킷에 기록
+ *
+ * record는 AtomicLongArray 증가만 수행하므로 여러 스레드에서 동시에 호출할 수 있습니다.
+ * snapshot은 기록과 동시에 읽으므로 진행 중인 기록 몇 건이 빠질 수 있습니다.
+ */
+public final class LatencyRecorder {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;     // 64
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;     // 32
+    private static final int MAX_VALUE_BITS = 36;
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = MAX_VALUE_BITS - SUB_BUCKET_BITS + 1;
+    private static final int LENGTH = (BUCKET_COUNT + 1) * SUB_BUCKET_HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LENGTH);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * 지연 시간 기록 (음수는 시계 차이로 보고 0으로 기록)
+     */
+    public void record(long micros) {
+        long value = micros < 0 ? 0 : Math.min(micros, MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalMicros.add(value);
+        if (value > maxMicros.get()) {
+            maxMicros.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * 기록 초기화
+     */
+    public void reset() {
+        for (int i = 0; i < LENGTH; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalMicros.reset();
+        maxMicros.set(0);
+    }
+
+    /**
+     * 현재까지의 분포 스냅샷
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[LENGTH];
+        long total = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, totalMicros.sum(), maxMicros.get());
+    }
+
+    static int indexOf(long value) {
+        int bucket = Math.max(0, 63 - Long.numberOfLeadingZeros(value | 1) - (SUB_BUCKET_BITS - 1));
+        int subBucket = (int) (value >>> bucket);
+        return bucket * SUB_BUCKET_HALF + subBucket;
+    }
+
+    /**
+     * 버킷에 속하는 가장 큰 값 (백분위는 이 값으로 보고)
+     */
+    static long highestValueAt(int index) {
+        int bucket = index < SUB_BUCKET_COUNT ? 0 : index / SUB_BUCKET_HALF - 1;
+        int subBucket = index - bucket * SUB_BUCKET_HALF;
+        return ((long) (subBucket + 1) << bucket) - 1;
+    }
+
+    /**
+     * 히스토그램 스냅샷
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sumMicros;
+        private final long maxMicros;
+
+        private Snapshot(long[] counts, long count, long sumMicros, long maxMicros) {
+            this.counts = counts;
+            this.count = count;
+            this.sumMicros = sumMicros;
+            this.maxMicros = maxMicros;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        public double getMeanMicros() {
+            return count == 0 ? 0 : (double) sumMicros / count;
+        }
+
+        /**
+         * 백분위 값 (마이크로초)
+         * @param percentile 0 ~ 100 (예: 99.9)
+         */
+        public long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(count * Math.min(percentile, 100.0) / 100.0));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return Math.min(highestValueAt(i), maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.stocker_back.stocker_back.util;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * 가격 레벨별 FIFO 대기열
+ *
+ * 가격(micro-units)은 정렬된 long 배열로, 같은 가격의 항목은 도착 순서대로 큐에 보관합니다.
+ * - 추가/삭제: 이진 탐색 O(log L) + 레벨 생성/제거 시 배열 이동
+ * - 체결가 대비 조건을 만족하는 레벨 꺼내기: 최우선 레벨부터 조건이 깨질 때까지만 확인
+ *
+ * 스레드 안전하지 않으므로 호출자가 동기화해야 합니다.
+ */
+public final class PriceLevels<T> {
+
+    private long[] prices = new long[16];
+    private ArrayDeque<T>[] queues = newQueues(16);
+    private int levelCount;
+    private int size;
+
+    /**
+     * 가격 레벨 끝에 항목 추가
+     */
+    public void add(long price, T item) {
+        int index = Arrays.binarySearch(prices, 0, levelCount, price);
+        if (index < 0) {
+            index = -index - 1;
+            insertLevel(index, price);
+        }
+        queues[index].addLast(item);
+        size++;
+    }
+
+    /**
+     * 가격 레벨에서 항목 제거
+     * @return 제거되었으면 true
+     */
+    public boolean remove(long price, T item) {
+        int index = Arrays.binarySearch(prices, 0, levelCount, price);
+        if (index < 0 || !queues[index].remove(item)) {
+            return false;
+        }
+        size--;
+        if (queues[index].isEmpty()) {
+            removeLevels(index, index + 1);
+        }
+        return true;
+    }
+
+    /**
+     * 가격이 threshold 이상인 레벨을 높은 가격부터 꺼냄 (레벨 내에서는 FIFO)
+     * @return 꺼낸 항목 수
+     */
+    public int drainAtOrAbove(long threshold, Consumer<T> sink) {
+        if (levelCount == 0 || prices[levelCount - 1] < threshold) {
+            return 0;
+        }
+        int from = levelCount;
+        int drained = 0;
+        while (from > 0 && prices[from - 1] >= threshold) {
+            from--;
+        }
+        for (int i = levelCount - 1; i >= from; i--) {
+            drained += drainQueue(queues[i], sink);
+        }
+        removeLevels(from, levelCount);
+        return drained;
+    }
+
+    /**
+     * 가격이 threshold 이하인 레벨을 낮은 가격부터 꺼냄 (레벨 내에서는 FIFO)
+     * @return 꺼낸 항목 수
+     */
+    public int drainAtOrBelow(long threshold, Consumer<T> sink) {
+        if (levelCount == 0 || prices[0] > threshold) {
+            return 0;
+        }
+        int to = 0;
+        int drained = 0;
+        while (to < levelCount && prices[to] <= threshold) {
+            to++;
+        }
+        for (int i = 0; i < to; i++) {
+            drained += drainQueue(queues[i], sink);
+        }
+        removeLevels(0, to);
+        return drained;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int levelCount() {
+        return levelCount;
+    }
+
+    // ===== Private Helper Methods =====
+
+    private int drainQueue(ArrayDeque<T> queue, Consumer<T> sink) {
+        int drained = 0;
+        T item;
+        while ((item = queue.pollFirst()) != null) {
+            sink.accept(item);
+            drained++;
+        }
+        size -= drained;
+        return drained;
+    }
+
+    private void insertLevel(int index, long price) {
+        if (levelCount == prices.length) {
+            int capacity = prices.length * 2;
+            prices = Arrays.copyOf(prices, capacity);
+            queues = Arrays.copyOf(queues, capacity);
+        }
+        System.arraycopy(prices, index, prices, index + 1, levelCount - index);
+        System.arraycopy(queues, index, queues, index + 1, levelCount - index);
+        prices[index] = price;
+        queues[index] = new ArrayDeque<>(4);
+        levelCount++;
+    }
+
+    /**
+     * [from, to) 범위 레벨 제거
+     */
+    private void removeLevels(int from, int to) {
+        int removed = to - from;
+        if (removed <= 0) {
+            return;
+        }
+        System.arraycopy(prices, to, prices, from, levelCount - to);
+        System.arraycopy(queues, to, queues, from, levelCount - to);
+        Arrays.fill(queues, levelCount - removed, levelCount, null);
+        levelCount -= removed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ArrayDeque<T>[] newQueues(int capacity) {
+        return (ArrayDeque<T>[]) new ArrayDeque[capacity];
+    }
+}
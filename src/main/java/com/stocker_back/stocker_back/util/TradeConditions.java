@@ -0,0 +1,102 @@
+package com.stocker_back.stocker_back.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finnhub 거래 조건 코드 ↔ long 비트셋 변환 유틸리티
+ *
+ * Finnhub는 거래 조건을 숫자 문자열 목록("1", "12", ...)으로 전달합니다.
+ * 코드 n은 비트셋의 n번째 비트로 표현되므로 저장할 수 있는 코드는 0~63 (1~2자리 숫자) 뿐입니다.
+ * 숫자가 아니거나 범위를 벗어난 코드는 저장되지 않으며, 건수는 getDroppedCount()로 집계되고
+ * 처음 보는 코드는 한 번씩 경고 로그를 남깁니다.
+ */
+@Slf4j
+public final class TradeConditions {
+
+    public static final int MAX_CODE = 63;
+
+    // 경고 로그를 남긴 코드 (로그 폭주 방지용 상한)
+    private static final int MAX_LOGGED_CODES = 256;
+    private static final Set<String> LOGGED_CODES = ConcurrentHashMap.newKeySet();
+    private static final LongAdder DROPPED = new LongAdder();
+
+    private TradeConditions() {
+    }
+
+    /**
+     * 조건 코드 목록을 비트셋으로 변환 (저장할 수 없는 코드는 버리고 집계)
+     */
+    public static long encode(List<String> conditions) {
+        if (conditions == null || conditions.isEmpty()) {
+            return 0L;
+        }
+        long bits = 0L;
+        for (String condition : conditions) {
+            int code = parseCode(condition);
+            if (code >= 0) {
+                bits |= 1L << code;
+            } else {
+                recordDropped(condition);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * 비트셋을 조건 코드 문자열 목록으로 변환 (오름차순)
+     */
+    public static List<String> toList(long bits) {
+        if (bits == 0L) {
+            return Collections.emptyList();
+        }
+        List<String> conditions = new ArrayList<>(Long.bitCount(bits));
+        long remaining = bits;
+        while (remaining != 0L) {
+            int code = Long.numberOfTrailingZeros(remaining);
+            conditions.add(Integer.toString(code));
+            remaining &= remaining - 1;
+        }
+        return conditions;
+    }
+
+    /**
+     * encode에서 저장하지 못하고 버린 조건 코드 수 (프로세스 시작 이후 누적)
+     */
+    public static long getDroppedCount() {
+        return DROPPED.sum();
+    }
+
+    private static void recordDropped(String condition) {
+        DROPPED.increment();
+        if (LOGGED_CODES.size() < MAX_LOGGED_CODES && LOGGED_CODES.add(String.valueOf(condition))) {
+            log.warn("⚠️ Dropping trade condition code '{}' (only numeric codes 0-{} fit the condition bitset)",
+                    condition, MAX_CODE);
+        }
+    }
+
+    private static int parseCode(String condition) {
+        if (condition == null) {
+            return -1;
+        }
+        String trimmed = condition.trim();
+        if (trimmed.isEmpty() || trimmed.length() > 2) {
+            return -1;
+        }
+        int code = 0;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            code = code * 10 + (c - '0');
+        }
+        return code <= MAX_CODE ? code : -1;
+    }
+}
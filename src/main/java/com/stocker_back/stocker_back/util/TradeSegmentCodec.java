@@ -0,0 +1,214 @@
+package com.stocker_back.stocker_back.util;
+
+import com.stocker_back.stocker_back.domain.Trade;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 거래 데이터 컬럼형 세그먼트 인코더/디코더
+ *
+ * 한 심볼의 하루치 거래를 컬럼 단위로 압축 저장합니다.
+ * - timestamp / received_at (epoch ms): 직전 값과의 차이(delta)를 zigzag varint로 저장
+ * - price (micro-units): delta varint 저장
+ * - volume: varint 저장
+ * - conditions: 세그먼트별 비트셋 사전(dictionary) + 거래별 사전 인덱스
+ *
+ * 파일 구조:
+ * [MAGIC][VERSION][count][dictionary][timestamp 컬럼][received_at 컬럼][price 컬럼][volume 컬럼][conditions 컬럼]
+ * 각 컬럼은 바이트 길이(int) + 데이터로 구성되어 필요 없는 컬럼은 건너뛸 수 있습니다.
+ */
+public final class TradeSegmentCodec {
+
+    private static final int MAGIC = 0x54534547; // "TSEG"
+    private static final byte VERSION = 2;
+
+    private TradeSegmentCodec() {
+    }
+
+    /**
+     * 거래 목록을 세그먼트 바이트 배열로 인코딩 (같은 심볼, 시간순 정렬된 목록)
+     */
+    public static byte[] encode(List<Trade> trades) {
+        Map<Long, Integer> dictionary = new LinkedHashMap<>();
+        ByteSink timestamps = new ByteSink(trades.size() * 2);
+        ByteSink receivedAts = new ByteSink(trades.size() * 2);
+        ByteSink prices = new ByteSink(trades.size() * 2);
+        ByteSink volumes = new ByteSink(trades.size() * 2);
+        ByteSink conditions = new ByteSink(trades.size());
+
+        long previousTimestamp = 0;
+        long previousReceivedAt = 0;
+        long previousPrice = 0;
+
+        for (Trade trade : trades) {
+            timestamps.writeSignedVarint(trade.getTimestamp() - previousTimestamp);
+            receivedAts.writeSignedVarint(trade.getReceivedAt() - previousReceivedAt);
+            prices.writeSignedVarint(trade.getPriceMicros() - previousPrice);
+            volumes.writeVarint(trade.getVolume());
+            conditions.writeVarint(dictionary.computeIfAbsent(trade.getConditionBits(), key -> dictionary.size()));
+
+            previousTimestamp = trade.getTimestamp();
+            previousReceivedAt = trade.getReceivedAt();
+            previousPrice = trade.getPriceMicros();
+        }
+
+        ByteSink out = new ByteSink(64 + dictionary.size() * 10 + timestamps.size() + receivedAts.size()
+                + prices.size() + volumes.size() + conditions.size());
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(trades.size());
+
+        out.writeVarint(dictionary.size());
+        for (long conditionBits : dictionary.keySet()) {
+            out.writeVarint(conditionBits);
+        }
+
+        for (ByteSink column : List.of(timestamps, receivedAts, prices, volumes, conditions)) {
+            out.writeInt(column.size());
+            out.writeBytes(column.buffer, column.size());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 세그먼트를 거래 목록으로 디코딩 (메모리 매핑된 버퍼도 그대로 사용 가능)
+     * @param symbol 세그먼트의 심볼 (파일 이름에서 결정)
+     */
+    public static List<Trade> decode(ByteBuffer buffer, String symbol) {
+        ByteBuffer in = buffer.duplicate();
+        if (in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a trade segment: " + symbol);
+        }
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported trade segment version " + version + ": " + symbol);
+        }
+        int count = in.getInt();
+
+        int dictionarySize = (int) readVarint(in);
+        long[] dictionary = new long[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            dictionary[i] = readVarint(in);
+        }
+
+        ByteBuffer timestamps = sliceColumn(in);
+        ByteBuffer receivedAts = sliceColumn(in);
+        ByteBuffer prices = sliceColumn(in);
+        ByteBuffer volumes = sliceColumn(in);
+        ByteBuffer conditions = sliceColumn(in);
+
+        List<Trade> trades = new ArrayList<>(count);
+        long timestamp = 0;
+        long receivedAt = 0;
+        long price = 0;
+
+        for (int i = 0; i < count; i++) {
+            timestamp += readSignedVarint(timestamps);
+            receivedAt += readSignedVarint(receivedAts);
+            price += readSignedVarint(prices);
+            long volume = readVarint(volumes);
+            long conditionBits = dictionary[(int) readVarint(conditions)];
+
+            trades.add(Trade.builder()
+                    .symbol(symbol)
+                    .priceMicros(price)
+                    .volume(volume)
+                    .timestamp(timestamp)
+                    .receivedAt(receivedAt)
+                    .conditionBits(conditionBits)
+                    .build());
+        }
+        return trades;
+    }
+
+    // ===== Private Helper Methods =====
+
+    private static ByteBuffer sliceColumn(ByteBuffer in) {
+        int length = in.getInt();
+        ByteBuffer column = in.slice();
+        column.limit(length);
+        in.position(in.position() + length);
+        return column;
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long result = 0;
+        int shift = 0;
+        while (true) {
+            byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+        }
+    }
+
+    private static long readSignedVarint(ByteBuffer in) {
+        long raw = readVarint(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /**
+     * 확장 가능한 바이트 버퍼 (varint 쓰기 지원)
+     */
+    private static final class ByteSink {
+        private byte[] buffer;
+        private int size;
+
+        private ByteSink(int initialCapacity) {
+            this.buffer = new byte[Math.max(16, initialCapacity)];
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+            }
+        }
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeInt(int value) {
+            ensureCapacity(4);
+            buffer[size++] = (byte) (value >>> 24);
+            buffer[size++] = (byte) (value >>> 16);
+            buffer[size++] = (byte) (value >>> 8);
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] bytes, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, 0, buffer, size, length);
+            size += length;
+        }
+
+        private void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeSignedVarint(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.stocker_back.stocker_back.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthRouteMatcherTest {
+
+    private static final String[] LEGACY_ADMIN_PATHS = {
+            "/api/admin", "/api/admin/data", "/api/admin/system", "/api/admin/users",
+            "/api/admin/websocket", "/api/admin/database", "/api/auth/admin"
+    };
+
+    private static final String[] LEGACY_AUTHENTICATED_PATHS = {
+            "/api/watchlist", "/api/auth/me", "/api/auth/logout", "/api/profile"
+    };
+
+    private static final String[] FRAGMENTS = {
+            "/api", "/admin", "/auth", "/me", "/mex", "/logout", "/profile", "/profiles", "/watchlist",
+            "/stocks", "/AAPL", "/trades", "/sse", "/data", "/system", "/users", "/1", "/", "?q=/admin",
+            "admin", "/adm", "/api/", "-", "%2Fadmin",
+            "/api/auth", "/api/watchlist", "/api/profile", "/api/auth/me"
+    };
+
+    @Test
+    void matchesLegacyDecisionForKnownRoutes() {
+        List<String> uris = List.of(
+                "", "/", "/api", "/api/", "/index.html", "/swagger-ui/index.html",
+                "/api/admin", "/api/admin/", "/api/adminx", "/api/admin/data/symbols",
+                "/api/auth/admin/sessions", "/api/auth/adm", "/api/auth/login", "/api/auth/register",
+                "/api/auth/me", "/api/auth/mex", "/api/auth/m", "/api/auth/logout", "/api/auth/logoutx",
+                "/api/watchlist", "/api/watchlist/AAPL", "/api/watch", "/api/profile", "/api/profiles",
+                "/api/stocks/admin", "/api/stocks/AAPL", "/admin", "/administrator", "/x/admin/y",
+                "/api/stream/sse?symbols=AAPL", "/api/trades/admin-report", "/API/ADMIN", "/api/Admin");
+
+        for (String uri : uris) {
+            assertThat(AuthenticationInterceptor.ROUTES.match(uri)).as(uri).isEqualTo(legacyDecision(uri));
+        }
+    }
+
+    @Test
+    void matchesLegacyDecisionForGeneratedRoutes() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder uri = new StringBuilder();
+            int parts = random.nextInt(5);
+            for (int p = 0; p < parts; p++) {
+                uri.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            String candidate = uri.toString();
+            assertThat(AuthenticationInterceptor.ROUTES.match(candidate)).as(candidate)
+                    .isEqualTo(legacyDecision(candidate));
+        }
+    }
+
+    @Test
+    void strongestMatchingRuleWins() {
+        AuthRouteMatcher matcher = new AuthRouteMatcher()
+                .prefix("/api", AuthRouteMatcher.Access.AUTHENTICATED)
+                .prefix("/api/public", AuthRouteMatcher.Access.PUBLIC)
+                .prefix("/api/ops", AuthRouteMatcher.Access.ADMIN)
+                .prefix("/api/ops", AuthRouteMatcher.Access.PUBLIC);
+
+        // 더 긴 접두사라도 약한 규칙이 강한 규칙을 풀지 않음
+        assertThat(matcher.match("/api/public/x")).isEqualTo(AuthRouteMatcher.Access.AUTHENTICATED);
+        // 같은 접두사를 다시 등록해도 더 강한 규칙이 유지됨
+        assertThat(matcher.match("/api/ops/metrics")).isEqualTo(AuthRouteMatcher.Access.ADMIN);
+        assertThat(matcher.match("/ap")).isEqualTo(AuthRouteMatcher.Access.PUBLIC);
+        assertThat(matcher.match("")).isEqualTo(AuthRouteMatcher.Access.PUBLIC);
+    }
+
+    @Test
+    void adminSegmentMatchesAnywhereInUri() {
+        AuthRouteMatcher matcher = new AuthRouteMatcher()
+                .prefix("/api/watchlist", AuthRouteMatcher.Access.AUTHENTICATED)
+                .adminSegment("/admin")
+                .adminSegment("/internal");
+
+        assertThat(matcher.match("/api/watchlist/admin")).isEqualTo(AuthRouteMatcher.Access.ADMIN);
+        assertThat(matcher.match("/x/internal")).isEqualTo(AuthRouteMatcher.Access.ADMIN);
+        assertThat(matcher.match("/api/watchlist/adm")).isEqualTo(AuthRouteMatcher.Access.AUTHENTICATED);
+        assertThat(matcher.match("/interna")).isEqualTo(AuthRouteMatcher.Access.PUBLIC);
+    }
+
+    @Test
+    void emptyMatcherAllowsEverything() {
+        AuthRouteMatcher matcher = new AuthRouteMatcher();
+
+        assertThat(matcher.match("")).isEqualTo(AuthRouteMatcher.Access.PUBLIC);
+        assertThat(matcher.match("/api/admin")).isEqualTo(AuthRouteMatcher.Access.PUBLIC);
+    }
+
+    // ===== Private Helper Methods =====
+
+    /**
+     * 트라이 도입 전 AuthenticationInterceptor의 판단 (startsWith / contains 순회)
+     */
+    private static AuthRouteMatcher.Access legacyDecision(String uri) {
+        if (uri.contains("/admin")) {
+            return AuthRouteMatcher.Access.ADMIN;
+        }
+        for (String path : LEGACY_ADMIN_PATHS) {
+            if (uri.startsWith(path)) {
+                return AuthRouteMatcher.Access.ADMIN;
+            }
+        }
+        for (String path : LEGACY_AUTHENTICATED_PATHS) {
+            if (uri.startsWith(path)) {
+                return AuthRouteMatcher.Access.AUTHENTICATED;
+            }
+        }
+        return AuthRouteMatcher.Access.PUBLIC;
+    }
+}
@@ -0,0 +1,51 @@
+package com.stocker_back.stocker_back.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.session.MapSession;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * InMemorySessionRepository 세션 id 변경 테스트
+ */
+class InMemorySessionRepositoryTest {
+
+    private final InMemorySessionRepository repository = new InMemorySessionRepository(Duration.ofMinutes(30), null);
+
+    @Test
+    void changeSessionIdTwiceKeepsOnlyLatestSession() {
+        MapSession session = repository.createSession();
+        String firstId = session.getId();
+        repository.save(session);
+
+        MapSession loaded = repository.findById(firstId);
+        String secondId = loaded.changeSessionId();
+        repository.save(loaded);
+
+        MapSession reloaded = repository.findById(secondId);
+        String thirdId = reloaded.changeSessionId();
+        repository.save(reloaded);
+
+        assertThat(repository.findById(firstId)).isNull();
+        assertThat(repository.findById(secondId)).isNull();
+        assertThat(repository.findById(thirdId)).isNotNull();
+        assertThat(repository.getSessionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void storedSessionCanBeDeletedAfterIdChange() {
+        MapSession session = repository.createSession();
+        repository.save(session);
+        String newId = session.changeSessionId();
+        repository.save(session);
+
+        MapSession stored = repository.findById(newId);
+        assertThat(stored.getOriginalId()).isEqualTo(newId);
+
+        repository.deleteById(stored.getOriginalId());
+
+        assertThat(repository.getSessionCount()).isZero();
+    }
+}
@@ -0,0 +1,58 @@
+package com.stocker_back.stocker_back.domain;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.stocker_back.stocker_back.util.TradeConditions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 저장 형식(micro-units, epoch ms, 조건 비트셋)과 무관하게 기존 JSON 응답 형식이 유지되는지 검증
+ */
+class TradeJsonTest {
+
+    // Spring Boot 기본 ObjectMapper와 같은 날짜 설정
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void keepsLegacyPropertyNamesAndFormats() throws Exception {
+        LocalDateTime receivedAt = LocalDateTime.of(2024, 1, 2, 9, 30, 15, 123_000_000);
+        Trade trade = Trade.builder()
+                .id(7L)
+                .symbol("AAPL")
+                .priceMicros(189_250_000L)
+                .volume(100)
+                .timestamp(1_704_205_815_000L)
+                .receivedAt(receivedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .conditionBits(TradeConditions.encode(List.of("1", "12")))
+                .build();
+
+        JsonNode json = objectMapper.valueToTree(trade);
+
+        assertThat(json.get("price").decimalValue()).isEqualByComparingTo("189.25");
+        assertThat(json.get("receivedAt").asText()).isEqualTo("2024-01-02T09:30:15.123");
+        assertThat(json.get("tradeConditions").asText()).isEqualTo("1,12");
+        assertThat(json.get("timestamp").asLong()).isEqualTo(1_704_205_815_000L);
+        assertThat(json.has("priceMicros")).isFalse();
+        assertThat(json.has("conditionBits")).isFalse();
+        assertThat(json.has("conditions")).isFalse();
+    }
+
+    @Test
+    void writesNullTradeConditionsWhenNoneRecorded() {
+        Trade trade = Trade.builder().symbol("AAPL").priceMicros(1L).timestamp(1L).receivedAt(1L).build();
+
+        JsonNode json = objectMapper.valueToTree(trade);
+
+        assertThat(json.get("tradeConditions").isNull()).isTrue();
+    }
+}
@@ -0,0 +1,115 @@
+package com.stocker_back.stocker_back.repository;
+
+import com.stocker_back.stocker_back.domain.StockSymbol;
+import com.stocker_back.stocker_back.domain.Trade;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 거래 버퍼 flush가 배치 크기와 무관하게 COPY 한 번(왕복 1회)으로 기록되는지 확인
+ */
+class BulkCopyRepositoryTest {
+
+    @Test
+    void copyTradesWritesWholeBatchWithOneCopy() throws Exception {
+        CopyManager copyManager = mock(CopyManager.class);
+        DataSource dataSource = dataSource(copyManager);
+        BulkCopyRepository repository = new BulkCopyRepository(dataSource, new JdbcTemplate(dataSource));
+        when(copyManager.copyIn(anyString(), any(Reader.class))).thenReturn(1_000L);
+
+        List<Trade> trades = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            trades.add(Trade.builder()
+                    .symbol(i % 2 == 0 ? "AAPL" : "MSFT")
+                    .priceMicros(189_250_000L + i)
+                    .volume(i)
+                    .timestamp(1_700_000_000_000L + i)
+                    .receivedAt(1_700_000_000_100L + i)
+                    .build());
+        }
+
+        long rows = repository.copyTrades(trades);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Reader> data = ArgumentCaptor.forClass(Reader.class);
+        verify(copyManager, times(1)).copyIn(sql.capture(), data.capture());
+        assertThat(rows).isEqualTo(1_000L);
+        assertThat(sql.getValue()).startsWith("COPY trades (");
+        List<String> lines = new BufferedReader(data.getValue()).lines().toList();
+        assertThat(lines).hasSize(1_000);
+        assertThat(lines.get(0)).isEqualTo("AAPL,189250000,0,1700000000000,1700000000100,0");
+    }
+
+    @Test
+    void copyTradesSkipsEmptyBatch() {
+        DataSource dataSource = mock(DataSource.class);
+        BulkCopyRepository repository = new BulkCopyRepository(dataSource, new JdbcTemplate(dataSource));
+
+        assertThat(repository.copyTrades(List.of())).isZero();
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void insertStockSymbolsRecreatesStagingTableForEachBatchInOneTransaction() throws Exception {
+        // 호출자 트랜잭션에 합류한 배치들은 같은 커넥션의 임시 테이블을 다시 만들게 됨
+        CopyManager copyManager = mock(CopyManager.class);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        BulkCopyRepository repository = new BulkCopyRepository(dataSource(copyManager), jdbcTemplate);
+        when(jdbcTemplate.update(startsWith("INSERT INTO stock_info"))).thenReturn(2, 1);
+
+        int inserted = repository.insertStockSymbols(List.of(symbol("AAPL"), symbol("MSFT")))
+                + repository.insertStockSymbols(List.of(symbol("NVDA")));
+
+        assertThat(inserted).isEqualTo(3);
+        InOrder order = inOrder(jdbcTemplate, copyManager);
+        for (int batch = 0; batch < 2; batch++) {
+            order.verify(jdbcTemplate).execute("DROP TABLE IF EXISTS pg_temp.stock_info_staging");
+            order.verify(jdbcTemplate).execute(startsWith("CREATE TEMP TABLE stock_info_staging "));
+            order.verify(copyManager).copyIn(startsWith("COPY stock_info_staging "), any(Reader.class));
+            order.verify(jdbcTemplate).update(startsWith("INSERT INTO stock_info "));
+        }
+    }
+
+    // ===== Private Helper Methods =====
+
+    private static StockSymbol symbol(String symbol) {
+        return StockSymbol.builder()
+                .symbol(symbol)
+                .description(symbol)
+                .currency("USD")
+                .exchange("US")
+                .build();
+    }
+
+    private static DataSource dataSource(CopyManager copyManager) throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        return dataSource;
+    }
+}
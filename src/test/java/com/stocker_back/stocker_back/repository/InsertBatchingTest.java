@@ -0,0 +1,155 @@
+package com.stocker_back.stocker_back.repository;
+
+import com.stocker_back.stocker_back.domain.Quote;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 시퀀스(pooled) id 엔티티의 saveAll이 JDBC 배치로 INSERT 되는지 확인
+ *
+ * DataSource를 프록시로 감싸 INSERT PreparedStatement의 executeBatch / 단건 execute 호출 수를 셉니다.
+ * (임베디드 H2 사용, 배치 크기는 application.properties의 hibernate.jdbc.batch_size)
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // timestamp 등 H2 예약어 컬럼
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true"
+})
+@Import(InsertBatchingTest.CountingDataSourceConfig.class)
+class InsertBatchingTest {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
+    @BeforeEach
+    void resetCounters() {
+        StatementCounter.reset();
+    }
+
+    @Test
+    void saveAllInsertsInJdbcBatches() {
+        List<Quote> quotes = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            quotes.add(quote("SYM" + (i % 10), i));
+        }
+
+        quoteRepository.saveAll(quotes);
+        quoteRepository.flush();
+
+        assertThat(StatementCounter.INSERT_BATCHES.get()).isEqualTo((120 + BATCH_SIZE - 1) / BATCH_SIZE);
+        assertThat(StatementCounter.SINGLE_INSERTS.get()).isZero();
+        assertThat(quoteRepository.count()).isEqualTo(120);
+    }
+
+    // ===== Private Helper Methods =====
+
+    private static Quote quote(String symbol, long timestamp) {
+        BigDecimal price = BigDecimal.valueOf(100 + timestamp, 2);
+        return Quote.builder()
+                .symbol(symbol)
+                .currentPrice(price)
+                .openPrice(price)
+                .highPrice(price)
+                .lowPrice(price)
+                .previousClosePrice(price)
+                .volume(1_000L)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? StatementCounter.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * DataSource → Connection → PreparedStatement 프록시로 INSERT 실행 방식 집계
+     */
+    static final class StatementCounter {
+        static final AtomicInteger INSERT_BATCHES = new AtomicInteger();
+        static final AtomicInteger SINGLE_INSERTS = new AtomicInteger();
+
+        private StatementCounter() {
+        }
+
+        static void reset() {
+            INSERT_BATCHES.set(0);
+            SINGLE_INSERTS.set(0);
+        }
+
+        static DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (proxy, method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? wrap(connection) : result;
+            });
+        }
+
+        private static Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    boolean insert = ((String) args[0]).trim().toLowerCase(Locale.ROOT).startsWith("insert");
+                    return insert ? wrap(statement) : statement;
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement wrap(PreparedStatement statement) {
+            return proxy(PreparedStatement.class, statement, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "executeBatch", "executeLargeBatch" -> INSERT_BATCHES.incrementAndGet();
+                    case "execute", "executeUpdate", "executeLargeUpdate" -> SINGLE_INSERTS.incrementAndGet();
+                    default -> {
+                    }
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
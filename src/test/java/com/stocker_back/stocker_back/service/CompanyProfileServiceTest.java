@@ -0,0 +1,113 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.domain.CompanyProfileField;
+import com.stocker_back.stocker_back.domain.StockSymbol;
+import com.stocker_back.stocker_back.dto.CompanyProfileDTO;
+import com.stocker_back.stocker_back.repository.BulkCopyRepository;
+import com.stocker_back.stocker_back.repository.StockSymbolRepository;
+import com.stocker_back.stocker_back.util.FinnhubApiClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 프로필 일괄 갱신이 바뀐 컬럼만 기록하고 페이지 엔티티를 영속성 컨텍스트에서 분리하는지 검증
+ */
+class CompanyProfileServiceTest {
+
+    private final FinnhubApiClient finnhubApiClient = mock(FinnhubApiClient.class);
+    private final StockSymbolRepository stockSymbolRepository = mock(StockSymbolRepository.class);
+    private final BulkCopyRepository bulkCopyRepository = mock(BulkCopyRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final CompanyProfileService service = new CompanyProfileService(finnhubApiClient, stockSymbolRepository,
+            bulkCopyRepository, new SimpleMeterRegistry(), mock(JdbcTemplate.class), entityManager);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshWritesOnlyChangedColumnsFromDetachedEntities() {
+        StockSymbol apple = stored(1L, "AAPL", "Apple Inc", "https://apple.com");
+        StockSymbol microsoft = stored(2L, "MSFT", "Microsoft Corp", "https://microsoft.com");
+        when(stockSymbolRepository.findProfileRefreshPage(any(), anyBoolean(), any(), anyLong(), anyInt()))
+                .thenReturn(List.of(apple, microsoft), List.of());
+        respond("AAPL", profile("Apple Inc.", "https://apple.com"));
+        respond("MSFT", profile("Microsoft Corp", "https://microsoft.com"));
+
+        int processed = service.fetchAndSaveAllCompanyProfiles(100, 0);
+
+        ArgumentCaptor<List<StockSymbol>> updates = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Map<Long, Set<CompanyProfileField>>> changedFields = ArgumentCaptor.forClass(Map.class);
+        InOrder order = inOrder(entityManager, bulkCopyRepository);
+        order.verify(entityManager).detach(apple);
+        order.verify(entityManager).detach(microsoft);
+        order.verify(bulkCopyRepository).updateCompanyProfiles(updates.capture(), changedFields.capture());
+
+        assertThat(processed).isEqualTo(2);
+        assertThat(updates.getValue()).containsExactly(apple, microsoft);
+        assertThat(changedFields.getValue()).containsOnlyKeys(1L);
+        assertThat(changedFields.getValue().get(1L)).containsExactly(CompanyProfileField.NAME);
+        assertThat(apple.getName()).isEqualTo("Apple Inc.");
+        assertThat(apple.getLastProfileUpdated()).isNotNull();
+    }
+
+    @Test
+    void rateLimitedSymbolsAreNotWritten() {
+        StockSymbol apple = stored(1L, "AAPL", "Apple Inc", "https://apple.com");
+        when(stockSymbolRepository.findProfileRefreshPage(any(), anyBoolean(), any(), anyLong(), anyInt()))
+                .thenReturn(List.of(apple), List.of());
+        when(finnhubApiClient.getWithResult(eq("/stock/profile2"), eq(CompanyProfileDTO.class), eq("symbol"), eq("AAPL")))
+                .thenReturn(FinnhubApiClient.ApiResult.rateLimitExceeded());
+
+        service.fetchAndSaveAllCompanyProfiles(100, 0);
+
+        verify(entityManager).detach(apple);
+        verify(bulkCopyRepository, never()).updateCompanyProfiles(any(), anyMap());
+    }
+
+    // ===== Private Helper Methods =====
+
+    private void respond(String symbol, CompanyProfileDTO profile) {
+        when(finnhubApiClient.getWithResult(eq("/stock/profile2"), eq(CompanyProfileDTO.class), eq("symbol"), eq(symbol)))
+                .thenReturn(FinnhubApiClient.ApiResult.success(profile));
+    }
+
+    private static StockSymbol stored(long id, String symbol, String name, String weburl) {
+        return StockSymbol.builder()
+                .id(id)
+                .symbol(symbol)
+                .description(name)
+                .currency("USD")
+                .exchange("US")
+                .country("US")
+                .name(name)
+                .weburl(weburl)
+                .build();
+    }
+
+    private static CompanyProfileDTO profile(String name, String weburl) {
+        return CompanyProfileDTO.builder()
+                .country("US")
+                .name(name)
+                .weburl(weburl)
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.domain.TradingSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 번들된 NYSE 캘린더 기준 조기 폐장, 서머타임 전환, 다음 구간 전환 계산 검증
+ */
+class MarketCalendarServiceTest {
+
+    private static final Set<TradingSession> ALL_SESSIONS = EnumSet.allOf(TradingSession.class);
+
+    private MarketCalendarService calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new MarketCalendarService(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(calendar, "calendarLocation", "classpath:market-calendar/nyse.csv");
+        ReflectionTestUtils.setField(calendar, "preMarketSetupMinutes", 30);
+        calendar.load();
+    }
+
+    @Test
+    void holidaysAndWeekendsHaveNoSession() {
+        assertThat(calendar.isTradingDay(LocalDate.of(2025, 7, 4))).isFalse();
+        assertThat(calendar.getHoliday(LocalDate.of(2025, 7, 4))).contains("Independence Day");
+        assertThat(calendar.isTradingDay(LocalDate.of(2025, 7, 5))).isFalse();
+        assertThat(calendar.isTradingDay(LocalDate.of(2025, 7, 7))).isTrue();
+    }
+
+    @Test
+    void earlyCloseEndsRegularSessionAt13AndAfterHoursAt17() {
+        MarketCalendarService.Session session = calendar.getSession(LocalDate.of(2025, 11, 28)).orElseThrow();
+
+        assertThat(session.isEarlyClose()).isTrue();
+        assertThat(session.getOpen()).isEqualTo(et(2025, 11, 28, 9, 30));
+        assertThat(session.getClose()).isEqualTo(et(2025, 11, 28, 13, 0));
+        assertThat(session.getAfterHoursClose()).isEqualTo(et(2025, 11, 28, 17, 0));
+
+        assertThat(calendar.tradingSessionAt(millis(2025, 11, 28, 12, 59))).isEqualTo(TradingSession.REGULAR);
+        assertThat(calendar.tradingSessionAt(millis(2025, 11, 28, 13, 0))).isEqualTo(TradingSession.AFTER_HOURS);
+        assertThat(calendar.tradingSessionAt(millis(2025, 11, 28, 17, 0))).isNull();
+        assertThat(calendar.phaseAt(et(2025, 11, 28, 13, 30))).isEqualTo(MarketCalendarService.Phase.CLOSED);
+        assertThat(calendar.phaseAt(et(2025, 11, 28, 13, 30), ALL_SESSIONS)).isEqualTo(MarketCalendarService.Phase.OPEN);
+    }
+
+    @Test
+    void regularDayClosesAt16AndAfterHoursAt20() {
+        MarketCalendarService.Session session = calendar.getSession(LocalDate.of(2025, 11, 26)).orElseThrow();
+
+        assertThat(session.isEarlyClose()).isFalse();
+        assertThat(session.getClose()).isEqualTo(et(2025, 11, 26, 16, 0));
+        assertThat(session.getAfterHoursClose()).isEqualTo(et(2025, 11, 26, 20, 0));
+    }
+
+    @Test
+    void openStaysAt0930NewYorkAcrossDaylightSavingChanges() {
+        // 2025-03-09 서머타임 시작 (EST -05:00 → EDT -04:00), 2025-11-02 종료
+        assertThat(open(2025, 3, 7)).isEqualTo(Instant.parse("2025-03-07T14:30:00Z"));
+        assertThat(open(2025, 3, 10)).isEqualTo(Instant.parse("2025-03-10T13:30:00Z"));
+        assertThat(open(2025, 10, 31)).isEqualTo(Instant.parse("2025-10-31T13:30:00Z"));
+        assertThat(open(2025, 11, 3)).isEqualTo(Instant.parse("2025-11-03T14:30:00Z"));
+    }
+
+    @Test
+    void tradingSessionAtFollowsDaylightSavingChange() {
+        // 같은 UTC 시각이 서머타임 전에는 프리마켓, 후에는 정규장
+        assertThat(calendar.tradingSessionAt(Instant.parse("2025-03-07T13:45:00Z").toEpochMilli()))
+                .isEqualTo(TradingSession.PRE_MARKET);
+        assertThat(calendar.tradingSessionAt(Instant.parse("2025-03-10T13:45:00Z").toEpochMilli()))
+                .isEqualTo(TradingSession.REGULAR);
+        assertThat(calendar.tradingSessionAt(Instant.parse("2025-03-10T23:59:00Z").toEpochMilli()))
+                .isEqualTo(TradingSession.AFTER_HOURS);
+        assertThat(calendar.tradingSessionAt(Instant.parse("2025-03-11T00:00:00Z").toEpochMilli()))
+                .isNull();
+    }
+
+    @Test
+    void nextTransitionWalksSetupOpenAndClose() {
+        assertTransition(et(2025, 11, 26, 8, 0), et(2025, 11, 26, 9, 0), MarketCalendarService.Phase.PRE_MARKET_SETUP);
+        assertTransition(et(2025, 11, 26, 9, 0), et(2025, 11, 26, 9, 30), MarketCalendarService.Phase.OPEN);
+        assertTransition(et(2025, 11, 26, 9, 30), et(2025, 11, 26, 16, 0), MarketCalendarService.Phase.CLOSED);
+    }
+
+    @Test
+    void nextTransitionUsesEarlyCloseTime() {
+        assertTransition(et(2025, 7, 3, 12, 0), et(2025, 7, 3, 13, 0), MarketCalendarService.Phase.CLOSED);
+
+        MarketCalendarService.Transition extended = calendar.nextTransition(et(2025, 7, 3, 12, 0), ALL_SESSIONS);
+        assertThat(extended.getAt()).isEqualTo(et(2025, 7, 3, 17, 0));
+        assertThat(extended.getPhase()).isEqualTo(MarketCalendarService.Phase.CLOSED);
+    }
+
+    @Test
+    void nextTransitionSkipsHolidayAndWeekend() {
+        // 7/3 조기 폐장 후 → 7/4 휴장, 주말 → 7/7 월요일 준비 시작
+        MarketCalendarService.Transition transition = calendar.nextTransition(et(2025, 7, 3, 14, 0));
+
+        assertThat(transition.getAt()).isEqualTo(et(2025, 7, 7, 9, 0));
+        assertThat(transition.getPhase()).isEqualTo(MarketCalendarService.Phase.PRE_MARKET_SETUP);
+        assertThat(transition.getSession().getDate()).isEqualTo(LocalDate.of(2025, 7, 7));
+    }
+
+    @Test
+    void nextTransitionCrossesDaylightSavingWeekend() {
+        MarketCalendarService.Transition transition = calendar.nextTransition(et(2025, 3, 7, 17, 0));
+
+        assertThat(transition.getAt()).isEqualTo(Instant.parse("2025-03-10T13:00:00Z"));
+        assertThat(transition.getPhase()).isEqualTo(MarketCalendarService.Phase.PRE_MARKET_SETUP);
+    }
+
+    @Test
+    void nextTransitionStartsAtPreMarketWhenExtendedSessionsAreCollected() {
+        MarketCalendarService.Transition transition = calendar.nextTransition(et(2025, 11, 26, 2, 0), ALL_SESSIONS);
+
+        assertThat(transition.getAt()).isEqualTo(et(2025, 11, 26, 3, 30));
+        assertThat(transition.getPhase()).isEqualTo(MarketCalendarService.Phase.PRE_MARKET_SETUP);
+    }
+
+    @Test
+    void nextTransitionRequiresAtLeastOneSession() {
+        assertThatThrownBy(() -> calendar.nextTransition(et(2025, 11, 26, 8, 0), EnumSet.noneOf(TradingSession.class)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ===== Private Helper Methods =====
+
+    private void assertTransition(Instant from, Instant expectedAt, MarketCalendarService.Phase expectedPhase) {
+        MarketCalendarService.Transition transition = calendar.nextTransition(from);
+        assertThat(transition.getAt()).isEqualTo(expectedAt);
+        assertThat(transition.getPhase()).isEqualTo(expectedPhase);
+    }
+
+    private Instant open(int year, int month, int day) {
+        return calendar.getSession(LocalDate.of(year, month, day)).orElseThrow().getOpen();
+    }
+
+    private static Instant et(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(MarketCalendarService.MARKET_ZONE).toInstant();
+    }
+
+    private static long millis(int year, int month, int day, int hour, int minute) {
+        return et(year, month, day, hour, minute).toEpochMilli();
+    }
+}
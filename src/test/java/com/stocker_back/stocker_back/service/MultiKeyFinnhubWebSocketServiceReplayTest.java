@@ -0,0 +1,66 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.dto.FinnhubTradeDTO;
+import com.stocker_back.stocker_back.repository.BulkCopyRepository;
+import com.stocker_back.stocker_back.repository.StockSymbolRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 재생 프레임이 실시간 가격과 틱 리스너(대기 주문 체결, 포트폴리오 평가)에 반영되지 않는지 검증
+ */
+class MultiKeyFinnhubWebSocketServiceReplayTest {
+
+    private final TradeTickListener listener = mock(TradeTickListener.class);
+    private final MultiKeyFinnhubWebSocketService service = new MultiKeyFinnhubWebSocketService(
+            mock(StockSymbolRepository.class),
+            mock(BulkCopyRepository.class),
+            List.of(listener),
+            new SimpleMeterRegistry(),
+            mock(TickLatencyTracker.class),
+            mock(TickRecorder.class),
+            mock(MarketCalendarService.class),
+            mock(ExtendedHoursBarService.class));
+
+    @Test
+    void replayedTradeDoesNotReachListenersOrLatestPrices() {
+        service.processTradeDataWithInterval(trade("AAPL", "150.25"),
+                MultiKeyFinnhubWebSocketService.REPLAY_CONNECTION_PREFIX + "connection-1",
+                System.nanoTime(), LocalDateTime.now());
+
+        verify(listener, never()).onTradeTick(anyString(), anyLong(), anyLong());
+        assertThat(service.getLatestTradeBySymbol()).doesNotContainKey("AAPL");
+    }
+
+    @Test
+    void liveTradeReachesListenersAndLatestPrices() {
+        FinnhubTradeDTO.TradeData trade = trade("AAPL", "150.25");
+
+        service.processTradeDataWithInterval(trade, "connection-1", System.nanoTime(), LocalDateTime.now());
+
+        verify(listener).onTradeTick("AAPL", 150_250_000L, trade.getTimestamp());
+        assertThat(service.getLatestTradeBySymbol()).containsEntry("AAPL", trade);
+    }
+
+    // ===== Private Helper Methods =====
+
+    private static FinnhubTradeDTO.TradeData trade(String symbol, String price) {
+        return FinnhubTradeDTO.TradeData.builder()
+                .symbol(symbol)
+                .price(new BigDecimal(price))
+                .volume(100L)
+                .timestamp(1_700_000_000_000L)
+                .build();
+    }
+}
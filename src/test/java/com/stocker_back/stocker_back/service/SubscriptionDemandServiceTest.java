@@ -0,0 +1,61 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.repository.StockSymbolRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 구독 계획 갱신 시 존재 여부 확인이 필요한 후보 심볼만 조회하는지 검증
+ */
+class SubscriptionDemandServiceTest {
+
+    private final MultiKeyFinnhubWebSocketService webSocketService = mock(MultiKeyFinnhubWebSocketService.class);
+    private final StockSymbolRepository stockSymbolRepository = mock(StockSymbolRepository.class);
+    private final SymbolInterestSource watchlist = mock(SymbolInterestSource.class);
+    private final SymbolInterestSource sseStreams = mock(SymbolInterestSource.class);
+
+    private SubscriptionDemandService service;
+
+    @BeforeEach
+    void setUp() {
+        when(watchlist.isKnownSymbolsOnly()).thenReturn(true);
+        when(stockSymbolRepository.findAllSp500Symbols()).thenReturn(Set.of("MSFT"));
+        when(webSocketService.getSubscribedSymbols()).thenReturn(Set.of());
+        when(webSocketService.getSubscriptionCapacity()).thenReturn(10);
+        service = new SubscriptionDemandService(webSocketService, stockSymbolRepository, List.of(watchlist, sseStreams));
+    }
+
+    @Test
+    void looksUpOnlyUnverifiedCandidatesAndDropsUnknownSymbols() {
+        when(watchlist.getSymbolInterest()).thenReturn(Map.of("AAPL", 2));
+        when(sseStreams.getSymbolInterest()).thenReturn(Map.of("aapl", 1, "NVDA", 3, "TYPO", 5));
+        when(stockSymbolRepository.findExistingSymbols(Set.of("NVDA", "TYPO"))).thenReturn(Set.of("NVDA"));
+
+        service.refresh();
+
+        verify(stockSymbolRepository, never()).findAllSymbols();
+        verify(stockSymbolRepository).findExistingSymbols(Set.of("NVDA", "TYPO"));
+        verify(webSocketService).updateSubscriptionPlan(List.of("AAPL", "NVDA", "MSFT"));
+    }
+
+    @Test
+    void skipsLookupWhenOnlyVerifiedInterestExists() {
+        when(watchlist.getSymbolInterest()).thenReturn(Map.of("AAPL", 1));
+        when(sseStreams.getSymbolInterest()).thenReturn(Map.of());
+
+        service.refresh();
+
+        verify(stockSymbolRepository, never()).findExistingSymbols(any());
+        verify(webSocketService).updateSubscriptionPlan(List.of("AAPL", "MSFT"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.domain.Trade;
+import com.stocker_back.stocker_back.util.TradeSegmentCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 보관 구간 조회의 심볼 검증과 건수 제한 검증
+ */
+class TradeArchiveServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 2);
+
+    @TempDir
+    Path archiveDir;
+
+    private TradeArchiveService service;
+    private long dayStart;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TradePartitionService tradePartitionService = mock(TradePartitionService.class);
+        service = new TradeArchiveService(mock(DataSource.class), mock(PlatformTransactionManager.class),
+                tradePartitionService);
+        ReflectionTestUtils.setField(service, "archiveEnabled", true);
+        ReflectionTestUtils.setField(service, "archiveDir", archiveDir.toString());
+
+        dayStart = DAY.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        when(tradePartitionService.findRetainedFrom()).thenReturn(dayStart + 86_400_000L);
+
+        Path dayDir = Files.createDirectories(archiveDir.resolve(DAY.toString()));
+        Files.write(dayDir.resolve("AAPL.tseg"), TradeSegmentCodec.encode(trades("AAPL", 0, 5)));
+        Files.write(dayDir.resolve("MSFT.tseg"), TradeSegmentCodec.encode(trades("MSFT", 5, 5)));
+        Files.createFile(dayDir.resolve("_COMPLETE"));
+    }
+
+    @Test
+    void keepsOnlyNewestTradesUpToLimitAcrossSymbols() {
+        List<Trade> trades = service.findArchivedTrades(dayStart, dayStart + 86_399_999L, null, 3);
+
+        assertThat(trades).extracting(Trade::getTimestamp)
+                .containsExactly(dayStart + 9_000L, dayStart + 8_000L, dayStart + 7_000L);
+        assertThat(trades).extracting(Trade::getSymbol).containsOnly("MSFT");
+    }
+
+    @Test
+    void readsSingleSymbolSegment() {
+        List<Trade> trades = service.findArchivedTrades(dayStart, dayStart + 86_399_999L, "aapl", 100);
+
+        assertThat(trades).hasSize(5).extracting(Trade::getSymbol).containsOnly("AAPL");
+    }
+
+    @Test
+    void rejectsSymbolThatWouldLeaveArchiveDirectory() throws IOException {
+        Files.write(archiveDir.resolve("SECRET.tseg"), TradeSegmentCodec.encode(trades("SECRET", 0, 1)));
+
+        assertThatThrownBy(() -> service.findArchivedTrades(dayStart, dayStart + 86_399_999L, "../SECRET", 100))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.findArchivedTrades(dayStart, dayStart + 86_399_999L, "..\\SECRET", 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void returnsNothingForZeroLimit() {
+        assertThat(service.findArchivedTrades(dayStart, dayStart + 86_399_999L, null, 0)).isEmpty();
+    }
+
+    // ===== Private Helper Methods =====
+
+    private List<Trade> trades(String symbol, int first, int count) {
+        List<Trade> trades = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            trades.add(Trade.builder()
+                    .symbol(symbol)
+                    .priceMicros(100_000_000L + i)
+                    .volume(10)
+                    .timestamp(dayStart + i * 1_000L)
+                    .receivedAt(dayStart + i * 1_000L + 50)
+                    .build());
+        }
+        return trades;
+    }
+}
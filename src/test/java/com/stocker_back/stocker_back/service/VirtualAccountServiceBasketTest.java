@@ -0,0 +1,103 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.domain.VirtualAccount;
+import com.stocker_back.stocker_back.domain.VirtualHolding;
+import com.stocker_back.stocker_back.dto.BasketOrderRequestDto;
+import com.stocker_back.stocker_back.dto.BasketOrderResultDto;
+import com.stocker_back.stocker_back.dto.StockPriceDto;
+import com.stocker_back.stocker_back.repository.UserRepository;
+import com.stocker_back.stocker_back.repository.VirtualAccountRepository;
+import com.stocker_back.stocker_back.repository.VirtualHoldingRepository;
+import com.stocker_back.stocker_back.repository.VirtualOrderRepository;
+import com.stocker_back.stocker_back.repository.VirtualTradeHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 바스켓 주문 재시도 시 롤백된 이전 시도의 레그 결과가 응답에 남지 않는지 검증
+ */
+class VirtualAccountServiceBasketTest {
+
+    private static final Long USER_ID = 1L;
+    private static final BigDecimal PRICE = new BigDecimal("100");
+
+    private final VirtualAccountRepository virtualAccountRepository = mock(VirtualAccountRepository.class);
+    private final VirtualHoldingRepository virtualHoldingRepository = mock(VirtualHoldingRepository.class);
+    private final VirtualTradeHistoryRepository virtualTradeHistoryRepository = mock(VirtualTradeHistoryRepository.class);
+    private final StockPriceService stockPriceService = mock(StockPriceService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final VirtualAccountService service = new VirtualAccountService(virtualAccountRepository,
+            mock(UserRepository.class), virtualHoldingRepository, stockPriceService,
+            mock(PortfolioValuationEngine.class), virtualTradeHistoryRepository, mock(VirtualOrderRepository.class),
+            mock(VirtualOrderBook.class), transactionTemplate);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retryAfterRollbackDoesNotReportLegsFilledByTheRolledBackAttempt() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        when(stockPriceService.getPrices(anyCollection())).thenReturn(Map.of(
+                "AAPL", StockPriceDto.builder().symbol("AAPL").price(PRICE).build(),
+                "MSFT", StockPriceDto.builder().symbol("MSFT").price(PRICE).build()));
+
+        // 첫 시도: 매도 레그 반영 후 flush에서 잠금 충돌 → 롤백
+        // 재시도: 그 사이 다른 주문으로 잔고가 줄어 매수 레그 검증 실패
+        VirtualAccount firstAttempt = account(new BigDecimal("1500"));
+        VirtualAccount retry = account(new BigDecimal("500"));
+        when(virtualAccountRepository.findByUserIdForUpdate(USER_ID))
+                .thenReturn(Optional.of(firstAttempt), Optional.of(retry));
+        when(virtualHoldingRepository.findByVirtualAccount(firstAttempt)).thenReturn(List.of(holding(firstAttempt)));
+        when(virtualHoldingRepository.findByVirtualAccount(retry)).thenReturn(List.of(holding(retry)));
+        doThrow(new CannotAcquireLockException("deadlock detected")).doNothing().when(virtualHoldingRepository).flush();
+
+        BasketOrderResultDto result = service.executeBasket(USER_ID, List.of(
+                leg("AAPL", "SELL", "10"),
+                leg("MSFT", "BUY", "20")));
+
+        assertThat(result.isExecuted()).isFalse();
+        BasketOrderResultDto.LegResultDto sell = result.getLegs().get(0);
+        BasketOrderResultDto.LegResultDto buy = result.getLegs().get(1);
+        assertThat(sell.getStatus()).isEqualTo("SKIPPED");
+        assertThat(sell.getRealizedProfit()).isNull();
+        assertThat(buy.getStatus()).isEqualTo("REJECTED");
+        assertThat(buy.getMessage()).isEqualTo("잔고가 부족합니다");
+        verify(virtualTradeHistoryRepository, never()).saveAll(any());
+    }
+
+    // ===== Private Helper Methods =====
+
+    private static VirtualAccount account(BigDecimal balance) {
+        VirtualAccount account = VirtualAccount.builder().balance(balance).build();
+        account.resetTradeAggregates();
+        return account;
+    }
+
+    private static VirtualHolding holding(VirtualAccount account) {
+        return VirtualHolding.builder()
+                .virtualAccount(account)
+                .symbol("AAPL")
+                .quantity(new BigDecimal("10"))
+                .avgPrice(new BigDecimal("90"))
+                .build();
+    }
+
+    private static BasketOrderRequestDto.LegDto leg(String symbol, String side, String quantity) {
+        return BasketOrderRequestDto.LegDto.builder().symbol(symbol).side(side).quantity(new BigDecimal(quantity)).build();
+    }
+}
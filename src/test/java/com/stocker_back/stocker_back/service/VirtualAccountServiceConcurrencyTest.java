@@ -0,0 +1,147 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.domain.User;
+import com.stocker_back.stocker_back.domain.VirtualAccount;
+import com.stocker_back.stocker_back.domain.VirtualHolding;
+import com.stocker_back.stocker_back.repository.UserRepository;
+import com.stocker_back.stocker_back.repository.VirtualAccountRepository;
+import com.stocker_back.stocker_back.repository.VirtualHoldingRepository;
+import com.stocker_back.stocker_back.repository.VirtualTradeHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * 같은 계좌에 동시에 들어온 매수/매도 주문(16 스레드 × 250건)이 이중 지출 없이 직렬화되는지 확인
+ *
+ * 모든 주문을 같은 가격으로 체결하므로 실현손익이 0이고,
+ * 어떤 순서로 체결되든 잔고 + 보유 원가(수량 × 평균단가)는 초기 잔고와 같아야 합니다.
+ * (H2 SELECT ... FOR UPDATE, 주문 트랜잭션을 실제로 커밋하도록 테스트 트랜잭션 없이 실행)
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:virtual-account-stress;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(VirtualAccountService.class)
+class VirtualAccountServiceConcurrencyTest {
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000");
+    private static final BigDecimal PRICE = new BigDecimal("100.25");
+    private static final List<String> SYMBOLS = List.of("AAPL", "MSFT", "NVDA");
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 250;
+
+    @Autowired
+    private VirtualAccountService virtualAccountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VirtualAccountRepository virtualAccountRepository;
+
+    @Autowired
+    private VirtualHoldingRepository virtualHoldingRepository;
+
+    @Autowired
+    private VirtualTradeHistoryRepository virtualTradeHistoryRepository;
+
+    @MockBean
+    private StockPriceService stockPriceService;
+
+    @MockBean
+    private PortfolioValuationEngine portfolioValuationEngine;
+
+    @MockBean
+    private VirtualOrderBook virtualOrderBook;
+
+    @Test
+    void concurrentOrdersConserveCash() throws Exception {
+        when(stockPriceService.getCurrentPrice(anyString())).thenReturn(Optional.of(PRICE));
+        User user = userRepository.save(new User("stress", "stress@example.com", "password", "Stress Test"));
+        virtualAccountService.createOrResetAccount(user.getId());
+
+        Map<String, AtomicInteger> filledQuantities = new ConcurrentHashMap<>();
+        SYMBOLS.forEach(symbol -> filledQuantities.put(symbol, new AtomicInteger()));
+        AtomicInteger filledOrders = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                    String symbol = SYMBOLS.get(random.nextInt(SYMBOLS.size()));
+                    int quantity = 1 + random.nextInt(5);
+                    boolean buy = random.nextInt(3) != 0;
+                    try {
+                        if (buy) {
+                            virtualAccountService.buy(user.getId(), symbol, BigDecimal.valueOf(quantity));
+                        } else {
+                            virtualAccountService.sell(user.getId(), symbol, BigDecimal.valueOf(quantity));
+                        }
+                        filledQuantities.get(symbol).addAndGet(buy ? quantity : -quantity);
+                        filledOrders.incrementAndGet();
+                    } catch (IllegalArgumentException | IllegalStateException rejected) {
+                        // 보유 수량 부족 / 재시도 초과로 거절된 주문은 아무것도 반영하지 않아야 함
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(5, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        VirtualAccount account = virtualAccountRepository.findByUserId(user.getId()).orElseThrow();
+        List<VirtualHolding> holdings = virtualHoldingRepository.findByVirtualAccount(account);
+
+        BigDecimal costBasis = holdings.stream()
+                .map(holding -> holding.getQuantity().multiply(holding.getAvgPrice()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(account.getBalance().add(costBasis)).isEqualByComparingTo(INITIAL_BALANCE);
+
+        for (String symbol : SYMBOLS) {
+            BigDecimal held = holdings.stream()
+                    .filter(holding -> holding.getSymbol().equals(symbol))
+                    .map(VirtualHolding::getQuantity)
+                    .findFirst()
+                    .orElse(BigDecimal.ZERO);
+            assertThat(held).as(symbol).isEqualByComparingTo(BigDecimal.valueOf(filledQuantities.get(symbol).get()));
+        }
+        assertThat(virtualTradeHistoryRepository.findByVirtualAccountOrderByTradeDateDesc(account))
+                .hasSize(filledOrders.get());
+        assertThat(filledOrders.get()).isGreaterThan(0);
+    }
+}
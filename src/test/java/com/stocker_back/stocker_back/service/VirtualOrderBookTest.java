@@ -0,0 +1,169 @@
+package com.stocker_back.stocker_back.service;
+
+import com.stocker_back.stocker_back.domain.VirtualOrder;
+import com.stocker_back.stocker_back.domain.VirtualTradeHistory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualOrderBookTest {
+
+    private static final long PRICE_100 = 100_000_000L;
+
+    private final VirtualOrderBook book = new VirtualOrderBook();
+
+    @Test
+    void limitBuyFillsAtOrBelowLimitPrice() {
+        book.add(order(1L, VirtualTradeHistory.TradeType.BUY, VirtualOrder.OrderType.LIMIT, PRICE_100));
+
+        book.onTradeTick("AAPL", PRICE_100 + 1, 0L);
+        assertThat(book.getTriggeredOrderCount()).isZero();
+
+        book.onTradeTick("AAPL", PRICE_100, 0L);
+        assertTriggered(1L, PRICE_100);
+    }
+
+    @Test
+    void limitSellFillsAtOrAboveLimitPrice() {
+        book.add(order(1L, VirtualTradeHistory.TradeType.SELL, VirtualOrder.OrderType.LIMIT, PRICE_100));
+
+        book.onTradeTick("AAPL", PRICE_100 - 1, 0L);
+        assertThat(book.getTriggeredOrderCount()).isZero();
+
+        book.onTradeTick("AAPL", PRICE_100 + 5, 0L);
+        assertTriggered(1L, PRICE_100 + 5);
+    }
+
+    @Test
+    void stopBuyTriggersAtOrAboveStopPrice() {
+        book.add(order(1L, VirtualTradeHistory.TradeType.BUY, VirtualOrder.OrderType.STOP, PRICE_100));
+
+        book.onTradeTick("AAPL", PRICE_100 - 1, 0L);
+        assertThat(book.getTriggeredOrderCount()).isZero();
+
+        book.onTradeTick("AAPL", PRICE_100 + 3, 0L);
+        assertTriggered(1L, PRICE_100 + 3);
+    }
+
+    @Test
+    void stopSellTriggersAtOrBelowStopPrice() {
+        book.add(order(1L, VirtualTradeHistory.TradeType.SELL, VirtualOrder.OrderType.STOP, PRICE_100));
+
+        book.onTradeTick("AAPL", PRICE_100 + 1, 0L);
+        assertThat(book.getTriggeredOrderCount()).isZero();
+
+        book.onTradeTick("AAPL", PRICE_100, 0L);
+        assertTriggered(1L, PRICE_100);
+    }
+
+    @Test
+    void ticksOnlyMatchTheirOwnSymbol() {
+        book.add(order(1L, VirtualTradeHistory.TradeType.BUY, VirtualOrder.OrderType.LIMIT, PRICE_100));
+
+        book.onTradeTick("MSFT", 1L, 0L);
+
+        assertThat(book.getTriggeredOrderCount()).isZero();
+        assertThat(book.getOpenOrderCount()).isEqualTo(1);
+    }
+
+    @Test
+    void oneTickTriggersEveryMatchingOrderBestPriceFirst() {
+        book.add(order(1L, VirtualTradeHistory.TradeType.BUY, VirtualOrder.OrderType.LIMIT, PRICE_100));
+        book.add(order(2L, VirtualTradeHistory.TradeType.BUY, VirtualOrder.OrderType.LIMIT, PRICE_100 + 10));
+        book.add(order(3L, VirtualTradeHistory.TradeType.BUY, VirtualOrder.OrderType.LIMIT, PRICE_100));
+        book.add(order(4L, VirtualTradeHistory.TradeType.BUY, VirtualOrder.OrderType.LIMIT, PRICE_100 - 10));
+
+        book.onTradeTick("AAPL", PRICE_100, 0L);
+
+        assertThat(book.pollTriggered(10))
+                .extracting(triggered -> triggered.getOrder().getOrderId())
+                .containsExactly(2L, 1L, 3L);
+        assertThat(book.getOpenOrderCount()).isEqualTo(1);
+    }
+
+    @Test
+    void triggeredOrdersFillOnlyOnce() {
+        book.add(order(1L, VirtualTradeHistory.TradeType.SELL, VirtualOrder.OrderType.LIMIT, PRICE_100));
+
+        book.onTradeTick("AAPL", PRICE_100, 0L);
+        book.onTradeTick("AAPL", PRICE_100 + 1, 0L);
+
+        assertThat(book.pollTriggered(10)).hasSize(1);
+        assertThat(book.pollTriggered(10)).isEmpty();
+    }
+
+    @Test
+    void removedOrdersDoNotTrigger() {
+        book.add(order(1L, VirtualTradeHistory.TradeType.BUY, VirtualOrder.OrderType.LIMIT, PRICE_100));
+        book.add(order(2L, VirtualTradeHistory.TradeType.BUY, VirtualOrder.OrderType.LIMIT, PRICE_100));
+
+        assertThat(book.remove(1L)).isTrue();
+        assertThat(book.remove(1L)).isFalse();
+        book.onTradeTick("AAPL", PRICE_100, 0L);
+
+        assertThat(book.pollTriggered(10))
+                .extracting(triggered -> triggered.getOrder().getOrderId())
+                .containsExactly(2L);
+        // 이미 체결 대기열로 넘어간 주문은 취소할 수 없음
+        assertThat(book.remove(2L)).isFalse();
+    }
+
+    @Test
+    void removeAccountDropsOnlyThatAccountsOrders() {
+        book.add(order(1L, 10L, VirtualTradeHistory.TradeType.BUY, VirtualOrder.OrderType.LIMIT, PRICE_100));
+        book.add(order(2L, 20L, VirtualTradeHistory.TradeType.SELL, VirtualOrder.OrderType.STOP, PRICE_100));
+
+        book.removeAccount(10L);
+
+        assertThat(book.getOpenOrderCount()).isEqualTo(1);
+        book.onTradeTick("AAPL", PRICE_100, 0L);
+        assertTriggered(2L, PRICE_100);
+    }
+
+    @Test
+    void duplicateAddIsIgnored() {
+        VirtualOrderBook.RestingOrder order = order(1L, VirtualTradeHistory.TradeType.BUY, VirtualOrder.OrderType.LIMIT, PRICE_100);
+        book.add(order);
+        book.add(order(1L, VirtualTradeHistory.TradeType.BUY, VirtualOrder.OrderType.LIMIT, PRICE_100));
+
+        book.onTradeTick("AAPL", PRICE_100, 0L);
+
+        assertThat(book.pollTriggered(10)).hasSize(1);
+    }
+
+    @Test
+    void pollTriggeredRespectsMaxCount() {
+        for (long id = 1; id <= 5; id++) {
+            book.add(order(id, VirtualTradeHistory.TradeType.BUY, VirtualOrder.OrderType.LIMIT, PRICE_100));
+        }
+        book.onTradeTick("AAPL", PRICE_100, 0L);
+
+        assertThat(book.pollTriggered(3)).hasSize(3);
+        assertThat(book.getTriggeredOrderCount()).isEqualTo(2);
+        assertThat(book.pollTriggered(3)).hasSize(2);
+        assertThat(book.getTriggeredOrderCount()).isZero();
+    }
+
+    // ===== Private Helper Methods =====
+
+    private void assertTriggered(Long orderId, long fillPriceMicros) {
+        List<VirtualOrderBook.TriggeredOrder> triggered = book.pollTriggered(10);
+        assertThat(triggered).hasSize(1);
+        assertThat(triggered.get(0).getOrder().getOrderId()).isEqualTo(orderId);
+        assertThat(triggered.get(0).getFillPriceMicros()).isEqualTo(fillPriceMicros);
+        assertThat(book.getOpenOrderCount()).isZero();
+    }
+
+    private static VirtualOrderBook.RestingOrder order(Long orderId, VirtualTradeHistory.TradeType side,
+                                                       VirtualOrder.OrderType type, long priceMicros) {
+        return order(orderId, 10L, side, type, priceMicros);
+    }
+
+    private static VirtualOrderBook.RestingOrder order(Long orderId, Long accountId, VirtualTradeHistory.TradeType side,
+                                                       VirtualOrder.OrderType type, long priceMicros) {
+        return new VirtualOrderBook.RestingOrder(orderId, accountId, 1L, "AAPL", side, type, priceMicros, BigDecimal.ONE);
+    }
+}
@@ -0,0 +1,88 @@
+package com.stocker_back.stocker_back.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrameLogTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsFramesInAppendOrder() throws IOException {
+        try (FrameLog.Writer writer = new FrameLog.Writer(directory, SEGMENT_SIZE, 0)) {
+            append(writer, 0, 3);
+        }
+
+        assertThat(readPayloads()).containsExactly("frame-0", "frame-1", "frame-2");
+    }
+
+    @Test
+    void reopenedWriterContinuesAfterHighestSegmentOnceOldSegmentsAreRotatedOut() throws IOException {
+        // 프레임 100개(세그먼트 4개 이상)를 쓰면 최대 2개만 남고 앞 세그먼트는 삭제됨
+        try (FrameLog.Writer writer = new FrameLog.Writer(directory, SEGMENT_SIZE, 2)) {
+            append(writer, 0, 100);
+        }
+        List<String> before = segmentNames();
+        assertThat(before).hasSize(2);
+        assertThat(segmentNumber(before.get(0))).isGreaterThan(2);
+
+        try (FrameLog.Writer writer = new FrameLog.Writer(directory, SEGMENT_SIZE, 2)) {
+            append(writer, 100, 1);
+        }
+
+        List<String> after = segmentNames();
+        assertThat(after).containsExactly(before.get(1),
+                String.format("segment-%06d.frames", segmentNumber(before.get(1)) + 1));
+        List<String> payloads = readPayloads();
+        assertThat(payloads).last().isEqualTo("frame-100");
+        assertThat(payloads).isSortedAccordingTo(
+                Comparator.comparingInt(payload -> Integer.parseInt(payload.substring("frame-".length()))));
+    }
+
+    @Test
+    void segmentsAreOrderedByNumberBeyondSixDigits() throws IOException {
+        for (String name : List.of("segment-1000000.frames", "segment-999999.frames", "segment-x.frames", "notes.txt")) {
+            directory.resolve(name).toFile().createNewFile();
+        }
+
+        assertThat(FrameLog.segments(directory))
+                .extracting(path -> path.getFileName().toString())
+                .containsExactly("segment-999999.frames", "segment-1000000.frames");
+    }
+
+    // ===== Private Helper Methods =====
+
+    private static void append(FrameLog.Writer writer, int first, int count) throws IOException {
+        byte[] connectionId = "connection-1".getBytes(StandardCharsets.UTF_8);
+        for (int i = first; i < first + count; i++) {
+            byte[] payload = ("frame-" + i).getBytes(StandardCharsets.UTF_8);
+            assertThat(writer.append(connectionId, 1_700_000_000_000L + i, i, payload)).isTrue();
+        }
+    }
+
+    private List<String> readPayloads() throws IOException {
+        List<String> payloads = new ArrayList<>();
+        FrameLog.read(directory, (connectionId, receivedEpochMillis, receivedNanos, payload) -> payloads.add(payload));
+        return payloads;
+    }
+
+    private List<String> segmentNames() throws IOException {
+        return FrameLog.segments(directory).stream().map(path -> path.getFileName().toString()).toList();
+    }
+
+    private static long segmentNumber(String name) {
+        return Long.parseLong(name.substring("segment-".length(), name.length() - ".frames".length()));
+    }
+}
@@ -0,0 +1,97 @@
+package com.stocker_back.stocker_back.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyRecorderTest {
+
+    private static final long MAX_VALUE = (1L << 36) - 1;
+
+    @Test
+    void smallValuesHaveExactBuckets() {
+        for (long value = 0; value < 64; value++) {
+            int index = LatencyRecorder.indexOf(value);
+            assertThat(index).isEqualTo((int) value);
+            assertThat(LatencyRecorder.highestValueAt(index)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void indexIsMonotonicAndBucketBoundsContainTheValue() {
+        int previousIndex = -1;
+        for (long value = 0; value < (1L << 20); value++) {
+            int index = LatencyRecorder.indexOf(value);
+            assertThat(index).isGreaterThanOrEqualTo(previousIndex);
+            long highest = LatencyRecorder.highestValueAt(index);
+            assertThat(highest).isGreaterThanOrEqualTo(value);
+            if (value > 0) {
+                // 구간당 32개 하위 버킷 → 상대 오차 1/32 이내
+                assertThat((double) (highest - value) / value).isLessThanOrEqualTo(1.0 / 32);
+            }
+            previousIndex = index;
+        }
+    }
+
+    @Test
+    void bucketsAreContiguousUpToTheMaximumValue() {
+        int maxIndex = LatencyRecorder.indexOf(MAX_VALUE);
+        assertThat(LatencyRecorder.highestValueAt(maxIndex)).isEqualTo(MAX_VALUE);
+        for (int index = 0; index < maxIndex; index++) {
+            long highest = LatencyRecorder.highestValueAt(index);
+            assertThat(LatencyRecorder.indexOf(highest)).isEqualTo(index);
+            assertThat(LatencyRecorder.indexOf(highest + 1)).isEqualTo(index + 1);
+        }
+    }
+
+    @Test
+    void percentilesStayWithinBucketError() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            recorder.record(micros);
+        }
+
+        LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+
+        assertThat(snapshot.getCount()).isEqualTo(100_000);
+        assertThat(snapshot.getMaxMicros()).isEqualTo(100_000);
+        assertThat(snapshot.getMeanMicros()).isCloseTo(50_000.5, within(0.001));
+        assertThat(snapshot.percentile(50)).isBetween(50_000L, 50_000L + 50_000L / 32);
+        assertThat(snapshot.percentile(99)).isBetween(99_000L, 99_000L + 99_000L / 32);
+        assertThat(snapshot.percentile(100)).isEqualTo(100_000);
+    }
+
+    @Test
+    void outOfRangeValuesAreClamped() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(-5);
+        recorder.record(Long.MAX_VALUE);
+
+        LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+
+        assertThat(snapshot.getCount()).isEqualTo(2);
+        assertThat(snapshot.percentile(50)).isZero();
+        assertThat(snapshot.percentile(100)).isEqualTo(MAX_VALUE);
+        assertThat(snapshot.getMaxMicros()).isEqualTo(MAX_VALUE);
+    }
+
+    @Test
+    void resetClearsAllCounts() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        Random random = new Random(1);
+        for (int i = 0; i < 1_000; i++) {
+            recorder.record(random.nextInt(1_000_000));
+        }
+
+        recorder.reset();
+        LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+
+        assertThat(snapshot.getCount()).isZero();
+        assertThat(snapshot.getMaxMicros()).isZero();
+        assertThat(snapshot.percentile(99)).isZero();
+        assertThat(snapshot.getMeanMicros()).isZero();
+    }
+}
@@ -0,0 +1,135 @@
+package com.stocker_back.stocker_back.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceLevelsTest {
+
+    @Test
+    void drainAtOrAboveTakesHighestLevelsFirstAndFifoWithinLevel() {
+        PriceLevels<String> levels = new PriceLevels<>();
+        levels.add(100, "a100");
+        levels.add(102, "a102");
+        levels.add(101, "a101");
+        levels.add(102, "b102");
+        levels.add(99, "a99");
+
+        List<String> drained = new ArrayList<>();
+        int count = levels.drainAtOrAbove(101, drained::add);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(drained).containsExactly("a102", "b102", "a101");
+        assertThat(levels.size()).isEqualTo(2);
+        assertThat(levels.levelCount()).isEqualTo(2);
+    }
+
+    @Test
+    void drainAtOrBelowTakesLowestLevelsFirstAndFifoWithinLevel() {
+        PriceLevels<String> levels = new PriceLevels<>();
+        levels.add(100, "a100");
+        levels.add(98, "a98");
+        levels.add(100, "b100");
+        levels.add(101, "a101");
+
+        List<String> drained = new ArrayList<>();
+        int count = levels.drainAtOrBelow(100, drained::add);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(drained).containsExactly("a98", "a100", "b100");
+        assertThat(levels.size()).isEqualTo(1);
+    }
+
+    @Test
+    void drainOutsideThresholdLeavesLevelsUntouched() {
+        PriceLevels<String> levels = new PriceLevels<>();
+        levels.add(100, "a100");
+
+        assertThat(levels.drainAtOrAbove(101, item -> { })).isZero();
+        assertThat(levels.drainAtOrBelow(99, item -> { })).isZero();
+        assertThat(levels.size()).isEqualTo(1);
+        assertThat(new PriceLevels<String>().drainAtOrAbove(0, item -> { })).isZero();
+    }
+
+    @Test
+    void removeDropsEmptyLevelsAndIgnoresUnknownItems() {
+        PriceLevels<String> levels = new PriceLevels<>();
+        levels.add(100, "a100");
+        levels.add(100, "b100");
+        levels.add(101, "a101");
+
+        assertThat(levels.remove(100, "a100")).isTrue();
+        assertThat(levels.remove(100, "a100")).isFalse();
+        assertThat(levels.remove(101, "b100")).isFalse();
+        assertThat(levels.remove(105, "a101")).isFalse();
+        assertThat(levels.remove(101, "a101")).isTrue();
+
+        assertThat(levels.levelCount()).isEqualTo(1);
+        assertThat(levels.size()).isEqualTo(1);
+
+        List<String> drained = new ArrayList<>();
+        levels.drainAtOrBelow(Long.MAX_VALUE, drained::add);
+        assertThat(drained).containsExactly("b100");
+        assertThat(levels.isEmpty()).isTrue();
+        assertThat(levels.levelCount()).isZero();
+    }
+
+    @Test
+    void matchesNaiveModelBeyondInitialCapacity() {
+        Random random = new Random(42);
+        PriceLevels<Entry> levels = new PriceLevels<>();
+        List<Entry> model = new ArrayList<>();
+        int sequence = 0;
+
+        for (int step = 0; step < 5_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 6 || model.isEmpty()) {
+                Entry entry = new Entry(random.nextInt(200), sequence++);
+                levels.add(entry.price, entry);
+                model.add(entry);
+            } else if (action < 8) {
+                Entry entry = model.remove(random.nextInt(model.size()));
+                assertThat(levels.remove(entry.price, entry)).isTrue();
+            } else if (random.nextBoolean()) {
+                long threshold = random.nextInt(200);
+                List<Entry> drained = new ArrayList<>();
+                levels.drainAtOrAbove(threshold, drained::add);
+                List<Entry> expected = model.stream()
+                        .filter(entry -> entry.price >= threshold)
+                        .sorted(Comparator.comparingLong((Entry entry) -> -entry.price)
+                                .thenComparingInt(entry -> entry.sequence))
+                        .toList();
+                assertThat(drained).containsExactlyElementsOf(expected);
+                model.removeAll(expected);
+            } else {
+                long threshold = random.nextInt(200);
+                List<Entry> drained = new ArrayList<>();
+                levels.drainAtOrBelow(threshold, drained::add);
+                List<Entry> expected = model.stream()
+                        .filter(entry -> entry.price <= threshold)
+                        .sorted(Comparator.comparingLong((Entry entry) -> entry.price)
+                                .thenComparingInt(entry -> entry.sequence))
+                        .toList();
+                assertThat(drained).containsExactlyElementsOf(expected);
+                model.removeAll(expected);
+            }
+            assertThat(levels.size()).isEqualTo(model.size());
+            assertThat(levels.levelCount()).isEqualTo((int) model.stream().mapToLong(entry -> entry.price).distinct().count());
+        }
+    }
+
+    private static final class Entry {
+        private final long price;
+        private final int sequence;
+
+        private Entry(long price, int sequence) {
+            this.price = price;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.stocker_back.stocker_back.util;
+
+import com.stocker_back.stocker_back.domain.Trade;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TradeSegmentCodecTest {
+
+    @Test
+    void roundTripsNegativeZeroAndLargeDeltas() {
+        List<Trade> trades = List.of(
+                trade(1_700_000_000_000L, 1_700_000_000_050L, 189_250_000L, 100, 0L),
+                // 같은 시각, 가격 하락 (음수 delta)
+                trade(1_700_000_000_000L, 1_700_000_000_040L, 1L, 0, 0L),
+                // 시각 역행 (늦게 도착한 거래)
+                trade(1_699_999_999_000L, 1_700_000_000_100L, 0L, 1, 1L << 1),
+                // long 범위 끝값 (delta가 오버플로해도 복원되어야 함)
+                trade(Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, -1L),
+                trade(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, 0, 0L));
+
+        List<Trade> decoded = roundTrip(trades);
+
+        assertSameTrades(decoded, trades);
+    }
+
+    @Test
+    void sharesDictionaryEntriesForRepeatedConditions() {
+        long regular = TradeConditions.encode(List.of("1", "12"));
+        long oddLot = TradeConditions.encode(List.of("37"));
+        List<Trade> trades = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            trades.add(trade(1_700_000_000_000L + i, 1_700_000_000_000L + i, 150_000_000L + (i % 7) - 3, i,
+                    i % 3 == 0 ? oddLot : regular));
+        }
+
+        byte[] encoded = TradeSegmentCodec.encode(trades);
+        List<Trade> decoded = TradeSegmentCodec.decode(ByteBuffer.wrap(encoded), "AAPL");
+
+        assertSameTrades(decoded, trades);
+        // 조건 컬럼은 거래당 사전 인덱스 1바이트 (비트셋 자체는 사전에 한 번만 저장)
+        assertThat(encoded.length).isLessThan(trades.size() * 8);
+    }
+
+    @Test
+    void roundTripsHighestConditionBit() {
+        long bits = TradeConditions.encode(List.of("0", "63"));
+        List<Trade> decoded = roundTrip(List.of(trade(1L, 1L, 1L, 1L, bits)));
+
+        assertThat(decoded.get(0).getConditionBits()).isEqualTo(bits);
+        assertThat(decoded.get(0).getConditions()).containsExactly("0", "63");
+    }
+
+    @Test
+    void roundTripsEmptySegment() {
+        assertThat(roundTrip(List.of())).isEmpty();
+    }
+
+    @Test
+    void rejectsUnknownMagicAndVersion() {
+        byte[] encoded = TradeSegmentCodec.encode(List.of(trade(1L, 1L, 1L, 1L, 0L)));
+
+        byte[] badMagic = encoded.clone();
+        badMagic[0] ^= 0x01;
+        assertThatThrownBy(() -> TradeSegmentCodec.decode(ByteBuffer.wrap(badMagic), "AAPL"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        byte[] badVersion = encoded.clone();
+        badVersion[4] = 1;
+        assertThatThrownBy(() -> TradeSegmentCodec.decode(ByteBuffer.wrap(badVersion), "AAPL"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+    }
+
+    @Test
+    void countsConditionCodesThatDoNotFitTheBitset() {
+        long before = TradeConditions.getDroppedCount();
+
+        long bits = TradeConditions.encode(List.of("1", "64", "100", "X", " 12 ", ""));
+
+        assertThat(TradeConditions.toList(bits)).containsExactly("1", "12");
+        assertThat(TradeConditions.getDroppedCount() - before).isEqualTo(4);
+        assertThat(TradeConditions.encode(null)).isZero();
+        assertThat(TradeConditions.toList(0L)).isEmpty();
+    }
+
+    // ===== Private Helper Methods =====
+
+    private static List<Trade> roundTrip(List<Trade> trades) {
+        return TradeSegmentCodec.decode(ByteBuffer.wrap(TradeSegmentCodec.encode(trades)), "AAPL");
+    }
+
+    private static Trade trade(long timestamp, long receivedAt, long priceMicros, long volume, long conditionBits) {
+        return Trade.builder()
+                .symbol("AAPL")
+                .timestamp(timestamp)
+                .receivedAt(receivedAt)
+                .priceMicros(priceMicros)
+                .volume(volume)
+                .conditionBits(conditionBits)
+                .build();
+    }
+
+    private static void assertSameTrades(List<Trade> actual, List<Trade> expected) {
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            Trade a = actual.get(i);
+            Trade e = expected.get(i);
+            assertThat(a.getSymbol()).isEqualTo(e.getSymbol());
+            assertThat(a.getTimestamp()).as("timestamp[%d]", i).isEqualTo(e.getTimestamp());
+            assertThat(a.getReceivedAt()).as("receivedAt[%d]", i).isEqualTo(e.getReceivedAt());
+            assertThat(a.getPriceMicros()).as("priceMicros[%d]", i).isEqualTo(e.getPriceMicros());
+            assertThat(a.getVolume()).as("volume[%d]", i).isEqualTo(e.getVolume());
+            assertThat(a.getConditionBits()).as("conditionBits[%d]", i).isEqualTo(e.getConditionBits());
+        }
+    }
+}